@@ -40,6 +40,10 @@ public class BalanceTickerView extends TickerView implements Animator.AnimatorLi
     private boolean shouldColorAnimate;
     private int colorAnimateDirection;
 
+    // The displayed balance, and a buffer it's formatted into; fits "$-2147483648"
+    private int value;
+    private final char[] valueChars = new char[12];
+
     public BalanceTickerView(Context context) {
         super(context);
         init(context, null, 0, 0);
@@ -85,36 +89,71 @@ public class BalanceTickerView extends TickerView implements Animator.AnimatorLi
      * and the existing one. If the new value is a larger number than the existing value, the increment
      * color is chosen. If the new value is smaller than the existing value, the decrement color is chosen.
      *
-     * @param text
+     * Prefer {@link #setValue(int, boolean, boolean)}, which skips building and parsing the text.
+     *
+     * @param text a balance formatted as "$%d"
      * @param animate
      * @param colorAnimate
      */
     public void setText(String text, boolean animate, boolean colorAnimate) {
+        setValue(Integer.parseInt(text.substring(text.indexOf('$') + 1)), animate, colorAnimate);
+    }
+
+    /**
+     * Displays a balance as "$" followed by its digits (i.e. "$1500" or "$-50"). The value is written
+     * into a buffer this view reuses and handed straight to the ticker, so updating a balance doesn't
+     * format, split or parse any strings.
+     *
+     * See {@link #setText(String, boolean, boolean)} for how colorAnimate picks the text color.
+     *
+     * @param value balance to display
+     * @param animate whether to animate to the new value
+     * @param colorAnimate whether to change the text color while animating
+     */
+    public void setValue(int value, boolean animate, boolean colorAnimate) {
         if (colorAnimate) {
             shouldColorAnimate = true;
             // figure out if we're going up or down
-            int existingVal = this.getSimpleValue();
-            int newVal = Integer.parseInt(text.split("\\$")[1]);
-            if (newVal > existingVal) {
+            if (value > this.value) {
                 colorAnimateDirection = COLOR_ANIMATE_DIRECTION_INC;
-            } else if (newVal < existingVal) {
+            } else if (value < this.value) {
                 colorAnimateDirection = COLOR_ANIMATE_DIRECTION_DEC;
             } else {
                 shouldColorAnimate = false;
             }
+        }
+        this.value = value;
+        int length = formatValue(value);
+        setText(valueChars, length, animate);
+    }
 
+    /**
+     * Writes "$" and value's digits at the end of valueChars, then moves them to the front.
+     * @return length of the text
+     */
+    private int formatValue(int value) {
+        long v = Math.abs((long) value);
+        int i = valueChars.length;
+        do {
+            valueChars[--i] = (char) ('0' + (v % 10));
+            v /= 10;
+        } while (v > 0);
+        if (value < 0) {
+            valueChars[--i] = '-';
         }
-        setText(text, animate);
+        valueChars[--i] = '$';
+        int length = valueChars.length - i;
+        System.arraycopy(valueChars, i, valueChars, 0, length);
+        return length;
     }
 
     /**
      * Returns the number that this BalanceTickerView is currently displaying as an integer.
      * Prefer this method over getText() to avoid having to manually strip out the dollar sign all the time.
-     * @return display value as an integer
+     * @return display value as an integer, as last set by {@link #setValue(int, boolean, boolean)}
      */
     public int getSimpleValue() {
-        String s = this.getText().split("\\$")[1];
-        return Integer.parseInt(s);
+        return value;
     }
 
 
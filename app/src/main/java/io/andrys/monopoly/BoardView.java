@@ -0,0 +1,242 @@
+package io.andrys.monopoly;
+
+/**
+ * BoardView.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
+import android.animation.ValueAnimator;
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.Nullable;
+import android.util.AttributeSet;
+import android.util.TypedValue;
+import android.view.View;
+import android.view.animation.AccelerateDecelerateInterpolator;
+
+import java.util.Arrays;
+
+/**
+ * Draws the whole board in a single view: every tile, the tint of whoever owns it, its houses or hotel,
+ * and every player's token.
+ *
+ * The board is a small {@link BoardModel} (an owner color and a level of development for each position, and
+ * a position for each token) that the game updates through {@link #setProperty(int, Player, int)} and the
+ * token methods. Each frame the model hands back a draw list w/ the bounds of every image already worked
+ * out, so building a house or moving a token only updates the model and redraws; nothing is added to the
+ * view hierarchy and nothing is laid out again, no matter how developed the board gets.
+ */
+public class BoardView extends View {
+    private final String TAG = this.getClass().getSimpleName();
+
+    private static final int HOUSE_SIZE_DP = 7;
+    private static final int TOKEN_SIZE_DP = 10;
+    private static final long TOKEN_MOVE_DURATION_MILLIS = 300;
+
+    private final BoardModel model = new BoardModel();
+    private final float houseSize;
+    private final float tokenSize;
+
+    // Drawables; tokenDrawables is indexed like the model's tokens
+    private final Drawable[] tileDrawables = new Drawable[BoardGeometry.NUM_POSITIONS];
+    private Drawable houseDrawable;
+    private Drawable hotelDrawable;
+    private Drawable[] tokenDrawables = new Drawable[4];
+    private final Paint tintPaint = new Paint();
+
+    // Slides the model's moving token; only one token moves at a time
+    private final ValueAnimator tokenAnimator;
+    @Nullable private GameView.TokenMoveListener moveListener;
+
+    public BoardView(Context context) {
+        this(context, null);
+    }
+
+    public BoardView(Context context, AttributeSet attrs) {
+        super(context, attrs);
+        houseSize = TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, HOUSE_SIZE_DP, getResources().getDisplayMetrics());
+        tokenSize = TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, TOKEN_SIZE_DP, getResources().getDisplayMetrics());
+        tintPaint.setStyle(Paint.Style.FILL);
+
+        tokenAnimator = ValueAnimator.ofFloat(0f, 1f);
+        tokenAnimator.setDuration(TOKEN_MOVE_DURATION_MILLIS);
+        tokenAnimator.setInterpolator(new AccelerateDecelerateInterpolator());
+        tokenAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+            @Override
+            public void onAnimationUpdate(ValueAnimator animation) {
+                model.setMoveFraction(animation.getAnimatedFraction());
+                invalidate();
+            }
+        });
+        tokenAnimator.addListener(new AnimatorListenerAdapter() {
+            @Override
+            public void onAnimationEnd(Animator animation) {
+                finishMove();
+            }
+        });
+    }
+
+    /**
+     * Loads the images for every tile, house and hotel. Call once, before the board is shown.
+     * @param vam asset manager to load the images from
+     */
+    public void loadDrawables(VisualAssetManager vam) {
+        for (int p=0; p<BoardGeometry.NUM_POSITIONS; p++) {
+            tileDrawables[p] = vam.getTileDrawable(p);
+        }
+        houseDrawable = vam.getHouseDrawable();
+        hotelDrawable = vam.getHotelDrawable();
+        invalidate();
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        if ((w > 0) && (h > 0)) {
+            model.layout(w, h, houseSize, tokenSize);
+        }
+    }
+
+    /**
+     * Tints a property w/ its owner's color and shows its houses/hotel.
+     * @param position board position of the property
+     * @param owner Player that owns the property, or null if nobody does
+     * @param levelOfDevelopment 0 for no houses, 1-4 for that many houses and 5 for a hotel
+     */
+    public void setProperty(int position, @Nullable Player owner, int levelOfDevelopment) {
+        model.setProperty(position, (owner == null) ? BoardModel.NO_OWNER : owner.getTransparentColor(), levelOfDevelopment);
+        invalidate();
+    }
+
+    /**
+     * @return the level of development drawn at a position
+     */
+    public int getDevelopmentLevel(int position) {
+        return model.getDevelopmentLevel(position);
+    }
+
+    /**
+     * Places a new token on Go.
+     * @param tokenID id of the new token
+     * @param d image of the token
+     */
+    public void addToken(int tokenID, Drawable d) {
+        int index = model.addToken(tokenID);
+        if (index == tokenDrawables.length) {
+            tokenDrawables = Arrays.copyOf(tokenDrawables, index * 2);
+        }
+        tokenDrawables[index] = d;
+        invalidate();
+    }
+
+    /**
+     * Takes a token off the board (i.e. once its player has gone bankrupt).
+     */
+    public void removeToken(int tokenID) {
+        int moving = model.getMovingIndex();
+        if ((moving != -1) && (model.getTokenID(moving) == tokenID)) {
+            tokenAnimator.end();
+        }
+        int index = model.removeToken(tokenID);
+        if (index == -1) {
+            return;
+        }
+        int count = model.getTokenCount();
+        System.arraycopy(tokenDrawables, index + 1, tokenDrawables, index, count - index);
+        tokenDrawables[count] = null;
+        invalidate();
+    }
+
+    /**
+     * Slides a token to a new position. If another token is still moving, it's moved the rest of the way first.
+     * @param tokenID id of the token to move
+     * @param position board position in [0,39]
+     * @param listener notified once the token has arrived; can be null
+     */
+    public void moveToken(final int tokenID, final int position, @Nullable final GameView.TokenMoveListener listener) {
+        if (tokenAnimator.isRunning()) {
+            tokenAnimator.end();
+        }
+        boolean animate = isLaidOut();
+        model.moveToken(tokenID, position, animate);
+
+        if (!animate) {
+            // nothing to animate yet; the token will be drawn where it ended up
+            invalidate();
+            if (listener != null) {
+                post(new Runnable() {
+                    @Override
+                    public void run() {
+                        listener.onTokenMoved(tokenID, position);
+                    }
+                });
+            }
+            return;
+        }
+        moveListener = listener;
+        tokenAnimator.start();
+    }
+
+    private void finishMove() {
+        int index = model.finishMove();
+        if (index == -1) {
+            return;
+        }
+        int tokenID = model.getTokenID(index);
+        int position = model.getTokenPosition(index);
+        GameView.TokenMoveListener listener = moveListener;
+        moveListener = null;
+        invalidate();
+        if (listener != null) {
+            listener.onTokenMoved(tokenID, position);
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        tokenAnimator.cancel();
+        super.onDetachedFromWindow();
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        super.onDraw(canvas);
+        int ops = model.buildFrame();
+        int[] list = model.getDrawList();
+        for (int op=0; op<ops; op++) {
+            int i = op * BoardModel.OP_SIZE;
+            int argument = list[i + 1];
+            switch (list[i]) {
+                case BoardModel.OP_TILE:
+                    drawInBounds(canvas, tileDrawables[argument], list, i);
+                    break;
+                case BoardModel.OP_TINT:
+                    tintPaint.setColor(argument);
+                    canvas.drawRect(list[i + 2], list[i + 3], list[i + 4], list[i + 5], tintPaint);
+                    break;
+                case BoardModel.OP_HOUSE:
+                    drawInBounds(canvas, houseDrawable, list, i);
+                    break;
+                case BoardModel.OP_HOTEL:
+                    drawInBounds(canvas, hotelDrawable, list, i);
+                    break;
+                case BoardModel.OP_TOKEN:
+                    drawInBounds(canvas, tokenDrawables[argument], list, i);
+                    break;
+            }
+        }
+    }
+
+    private void drawInBounds(Canvas canvas, @Nullable Drawable d, int[] list, int i) {
+        if (d == null) {
+            return;
+        }
+        d.setBounds(list[i + 2], list[i + 3], list[i + 4], list[i + 5]);
+        d.draw(canvas);
+    }
+}
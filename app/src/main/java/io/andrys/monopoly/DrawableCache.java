@@ -0,0 +1,231 @@
+package io.andrys.monopoly;
+
+/**
+ * DrawableCache.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.BitmapFactory;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.DrawableRes;
+import android.util.Log;
+import android.util.LruCache;
+
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Keeps recently used drawables decoded so showing them again doesn't hit the disk.
+ *
+ * Entries are keyed by resource ID and hold each drawable's ConstantState, so every {@link #get(int)} hands back
+ * a new Drawable that shares the decoded bitmap (or parsed vector) w/ the cached one. The cache is bounded by the
+ * bytes its bitmaps take up rather than by a count, since a property card is thousands of times larger than a
+ * die face; the least recently used drawables are dropped first once it's full.
+ *
+ * {@link #preloadAsync(int[])} decodes drawables on a background thread ahead of time. Preloading only fills
+ * free space and never evicts anything, so a long preload list can't push out what the game is using. Bitmaps are
+ * measured from their headers before they're decoded, so one that won't fit is never decoded at all.
+ *
+ * There's one cache per process, so it stays warm when the activity is recreated.
+ */
+public class DrawableCache {
+    private final String TAG = this.getClass().getSimpleName();
+
+    // the share of the heap the cache can fill
+    private static final int HEAP_FRACTION = 8;
+    // what a drawable w/o a size of its own (i.e. a shape) is counted as
+    private static final int MIN_ENTRY_BYTES = 1024;
+
+    private static DrawableCache instance;
+
+    private final Context context;
+    private final Resources resources;
+    private final LruCache<Integer, Entry> cache;
+    private final ExecutorService loader;
+
+    // A cached drawable and how much memory it holds on to
+    private static class Entry {
+        final Drawable.ConstantState state;
+        final int bytes;
+
+        Entry(Drawable.ConstantState state, int bytes) {
+            this.state = state;
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * @return the process-wide cache, bounded to 1/8th of the heap
+     */
+    public static synchronized DrawableCache getInstance(Context context) {
+        if (instance == null) {
+            int maxBytes = (int) Math.min(Integer.MAX_VALUE, Runtime.getRuntime().maxMemory() / HEAP_FRACTION);
+            instance = new DrawableCache(context, maxBytes);
+        }
+        return instance;
+    }
+
+    /**
+     * @param context only its application context is kept
+     * @param maxBytes most memory the cached drawables can hold on to
+     */
+    public DrawableCache(Context context, int maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException(String.format("DrawableCache needs room for at least one byte, not '%d'!", maxBytes));
+        }
+        this.context = context.getApplicationContext();
+        this.resources = this.context.getResources();
+        this.cache = new LruCache<Integer, Entry>(maxBytes) {
+            @Override
+            protected int sizeOf(Integer key, Entry value) {
+                return value.bytes;
+            }
+        };
+        this.loader = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "DrawableLoader");
+                t.setDaemon(true);
+                t.setPriority(Thread.MIN_PRIORITY);
+                return t;
+            }
+        });
+    }
+
+    /**
+     * Returns a drawable, decoding it first if it isn't cached. The drawable shares its bitmap w/ every other
+     * drawable handed out for the same resource; call {@link Drawable#mutate()} before changing its state.
+     * @param id resource ID of the drawable
+     * @return a new Drawable instance
+     */
+    public Drawable get(@DrawableRes int id) {
+        Entry e = cache.get(id);
+        if (e != null) {
+            return e.state.newDrawable(resources);
+        }
+        Drawable d = context.getDrawable(id);
+        if (d == null) {
+            throw new IllegalArgumentException(String.format("No drawable exists for resource ID '%d'!", id));
+        }
+        Drawable.ConstantState state = d.getConstantState();
+        if (state != null) {
+            cache.put(id, new Entry(state, sizeOf(d)));
+        }
+        return d;
+    }
+
+    /**
+     * Decodes drawables on a background thread so the first {@link #get(int)} of each one is a cache hit.
+     * Stops early, w/o evicting anything, once the cache is full.
+     * @param ids resource IDs of the drawables to decode, most important first
+     */
+    public void preloadAsync(final int[] ids) {
+        loader.execute(new Runnable() {
+            @Override
+            public void run() {
+                preload(ids);
+            }
+        });
+    }
+
+    private void preload(int[] ids) {
+        long start = System.nanoTime();
+        int loaded = 0;
+        for (int id : ids) {
+            if (cache.get(id) != null) {
+                continue;
+            }
+            // don't decode what there's no room for
+            int estimate = estimateBytes(id);
+            if ((estimate > 0) && (cache.size() + estimate > cache.maxSize())) {
+                Log.v(TAG, String.format(Locale.US, "Stopped preloading at '%d'; the cache is full.", id));
+                break;
+            }
+            Drawable d = context.getDrawable(id);
+            Drawable.ConstantState state = (d == null) ? null : d.getConstantState();
+            if (state == null) {
+                continue;
+            }
+            if (!putIfRoom(id, new Entry(state, sizeOf(d)))) {
+                Log.v(TAG, String.format(Locale.US, "Stopped preloading at '%d'; the cache is full.", id));
+                break;
+            }
+            loaded++;
+        }
+        Log.v(TAG, String.format(Locale.US, "Preloaded %d drawables in %.1fms (%s).", loaded, (System.nanoTime() - start) / 1e6, this));
+    }
+
+    // LruCache locks on itself, so holding that same lock keeps a get() on the UI thread from filling the cache
+    // between the check and the put
+    private boolean putIfRoom(int id, Entry e) {
+        synchronized (cache) {
+            if (cache.get(id) != null) {
+                // get() beat us to it
+                return true;
+            }
+            if (cache.size() + e.bytes > cache.maxSize()) {
+                return false;
+            }
+            cache.put(id, e);
+            return true;
+        }
+    }
+
+    // How much memory a bitmap resource will take up once decoded, read from its header; -1 if it isn't a bitmap.
+    private int estimateBytes(@DrawableRes int id) {
+        BitmapFactory.Options opts = new BitmapFactory.Options();
+        opts.inJustDecodeBounds = true;
+        BitmapFactory.decodeResource(resources, id, opts);
+        if ((opts.outWidth <= 0) || (opts.outHeight <= 0)) {
+            return -1;
+        }
+        // bounds are already scaled to the screen's density; decoded bitmaps are ARGB_8888
+        long bytes = (long) opts.outWidth * opts.outHeight * 4;
+        return (int) Math.min(Integer.MAX_VALUE, bytes);
+    }
+
+    /**
+     * @return bytes held by the cached drawables
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * @return most bytes the cached drawables can hold on to
+     */
+    public int maxSize() {
+        return cache.maxSize();
+    }
+
+    /**
+     * Drops every cached drawable (i.e. when the system is low on memory).
+     */
+    public void evictAll() {
+        cache.evictAll();
+    }
+
+    // How much memory a decoded drawable holds on to; vectors are counted as the bitmap they're rasterized into.
+    private static int sizeOf(Drawable d) {
+        if (d instanceof BitmapDrawable) {
+            BitmapDrawable bd = (BitmapDrawable) d;
+            if (bd.getBitmap() != null) {
+                return bd.getBitmap().getAllocationByteCount();
+            }
+        }
+        long bytes = (long) d.getIntrinsicWidth() * d.getIntrinsicHeight() * 4;
+        return (int) Math.max(MIN_ENTRY_BYTES, Math.min(Integer.MAX_VALUE, bytes));
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "%dKB of %dKB used, %d hits, %d misses, %d evictions",
+                cache.size() / 1024, cache.maxSize() / 1024, cache.hitCount(), cache.missCount(), cache.evictionCount());
+    }
+}
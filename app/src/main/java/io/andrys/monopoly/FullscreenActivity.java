@@ -6,20 +6,11 @@ import android.app.DialogFragment;
 import android.app.Fragment;
 import android.app.FragmentTransaction;
 import android.graphics.Color;
-import android.graphics.PorterDuff;
-import android.graphics.drawable.Drawable;
 import android.support.annotation.Nullable;
-import android.support.constraint.ConstraintLayout;
-import android.support.constraint.ConstraintSet;
 import android.support.v7.app.AppCompatActivity;
 import android.os.Bundle;
-import android.transition.AutoTransition;
-import android.transition.Transition;
-import android.transition.TransitionManager;
 import android.util.Log;
 import android.util.SparseArray;
-import android.util.SparseIntArray;
-import android.util.TypedValue;
 import android.view.View;
 import android.widget.Button;
 import android.widget.EditText;
@@ -27,6 +18,7 @@ import android.widget.ImageView;
 import android.widget.SeekBar;
 import android.widget.TableLayout;
 import android.widget.TextView;
+import android.widget.Toast;
 
 import com.robinhood.ticker.TickerUtils;
 import com.robinhood.ticker.TickerView;
@@ -42,33 +34,38 @@ import java.util.Arrays;
 import java.util.Locale;
 import java.util.Random;
 
+import io.andrys.monopoly.audio.AudioEngine;
+import io.andrys.monopoly.audio.AudioEvent;
 import io.andrys.monopoly.states.InJailState;
 import io.andrys.monopoly.states.NewGameState;
+import io.andrys.monopoly.states.RollDiceState;
 import io.andrys.monopoly.states.UnownedPropertyState;
 
 /**
  * An example full-screen activity that shows and hides the system UI (i.e.
  * status bar and navigation/system bar) with user interaction.
+ *
+ * This is the on-device GameView; the game engine itself lives in the :core module.
  */
-public class FullscreenActivity extends AppCompatActivity {
+public class FullscreenActivity extends AppCompatActivity implements GameView {
     private final String TAG = this.getClass().getSimpleName();
 
     private Board board;
     public VisualAssetManager visualAssetManager;
     private GameEngine engine;
+    private AudioEngine audioEngine;
 
-    // Maps tokenIDs to their ImageViews that display their position on the board.
-    private SparseIntArray tokenIVMap;
-
-    // Maps board positions to drawables of houses/hotels drawn on top of them
-    private SparseArray<int[]> positionDevIDMap;
+    // writes the game to disk so it survives process death
+    private SaveGameStore saveGameStore;
+    // the game as of the last time the engine was waiting on a player; written out in onStop()
+    private SavedGame lastSave;
 
     // turn counter
     private int turnCount;
 
     // View references
     private View mContentView;
-    private ConstraintLayout boardPanelCL;
+    private BoardView boardView;
     private ScoreTableLayout scoreTableTL;
     private TextView turnCountTV;
 
@@ -87,14 +84,29 @@ public class FullscreenActivity extends AppCompatActivity {
                 | View.SYSTEM_UI_FLAG_LAYOUT_HIDE_NAVIGATION
                 | View.SYSTEM_UI_FLAG_HIDE_NAVIGATION);
 
+        // send the game engine's log messages to logcat
+        GameLog.setSink(new GameLog.Sink() {
+            @Override
+            public void log(int priority, String tag, String message, Throwable t) {
+                if (t != null) {
+                    message = message + '\n' + Log.getStackTraceString(t);
+                }
+                Log.println(priority, tag, message);
+            }
+        });
+
         // initialize singleton rendering objects
         visualAssetManager = new VisualAssetManager(this);
+        // decode the dice, tokens and property cards while the board is being set up
+        visualAssetManager.preloadAsync();
+        audioEngine = new AudioEngine(this);
+        audioEngine.start();
+        saveGameStore = SaveGameStore.getInstance(this);
 
         // init layout references and data structures
-        boardPanelCL = findViewById(R.id.root_cl);
+        boardView = findViewById(R.id.board_view);
+        boardView.loadDrawables(visualAssetManager);
         scoreTableTL = findViewById(R.id.score_table_tl);
-        tokenIVMap = new SparseIntArray();
-        positionDevIDMap = new SparseArray<>();
 
         // initialize turn counter & draw it on the screen
         turnCount = 0;
@@ -111,13 +123,40 @@ public class FullscreenActivity extends AppCompatActivity {
         super.onResume();
         // re-hide the system bars when this activity regains focus
         updateUI();
+        audioEngine.resume();
+    }
+
+    @Override
+    protected void onPause() {
+        super.onPause();
+        // no sound effects while we're in the background
+        audioEngine.pause();
+    }
+
+
+    @Override
+    protected void onStop() {
+        super.onStop();
+        // the process may be killed any time after this; get the game onto disk w/out blocking the UI thread
+        if (lastSave != null) {
+            saveGameStore.saveAsync(lastSave);
+        }
     }
 
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        // cached drawables are easy to decode again; give their memory back before the process is at risk
+        if (level >= TRIM_MEMORY_MODERATE) {
+            DrawableCache.getInstance(this).evictAll();
+        }
+    }
 
     @Override
     protected void onDestroy() {
         super.onDestroy();
         Log.v(TAG,"onDestroy() has just been called!");
+        audioEngine.shutdown();
 
         // tear down all references to this activity we've passed to other classes
         if (visualAssetManager != null) {
@@ -146,15 +185,22 @@ public class FullscreenActivity extends AppCompatActivity {
     }
 
     /**
-     * Builds the core game objects from scratch, creates a set of players (just me for now),
-     * and starts the game engine.
+     * Resumes the saved game if there is one. Otherwise, builds the core game objects from scratch,
+     * creates a set of players (just me for now), and starts the game engine.
      */
     protected void startGameEngine() {
+        // reads the table compiled from R.raw.property_data at build time (see :core:compilePropertyData)
+        ArrayList<Property> properties = PropertyBuilder.loadProperties();
+        SavedGame saved = saveGameStore.load();
+        if (saved != null) {
+            resumeGameEngine(saved, properties);
+            return;
+        }
         Log.v(TAG, "Starting the game engine now...");
 
         // build core objects
         Board b = new Board();
-        PropertyManager pm = new PropertyManager(this);
+        PropertyManager pm = new PropertyManager(properties);
 
         // build players and player list
         ArrayDeque<Player> players = new ArrayDeque<>();
@@ -183,6 +229,56 @@ public class FullscreenActivity extends AppCompatActivity {
 
     }
 
+    /**
+     * Puts a saved game back on the board and re-enters the state it was saved in.
+     * @param saved game to resume
+     * @param properties every purchasable Property on the board
+     */
+    private void resumeGameEngine(SavedGame saved, ArrayList<Property> properties) {
+        long start = System.nanoTime();
+        engine = new GameEngine(this);
+        turnCount = saved.getResumeTurnCount();
+        GameContext gc = saved.restore(engine, properties);
+
+        // draw the restored game; players are listed starting w/ whoever's turn it is
+        ArrayList<Player> seated = new ArrayList<>(gc.players.size() + 1);
+        seated.add(gc.activePlayer);
+        seated.addAll(gc.players);
+        SparseArray<Player> playersByToken = new SparseArray<>();
+        for (Player p : seated) {
+            playersByToken.put(p.getToken(), p);
+            scoreTableTL.addPlayerRow(p);
+            updatePlayerBalance(p);
+            drawTokenOntoBoard(p.getToken());
+            drawTokenAtPosition(p.getToken(), gc.board.getTokenPosition(p.getToken()), null);
+        }
+        setActivePlayer(gc.activePlayer);
+        for (int position=0; position<40; position++) {
+            int owner = gc.pm.ownerOrNone(position);
+            if (owner != PropertyAssignment.NO_OWNER) {
+                redrawPropertyAtPosition(position, playersByToken.get(owner), gc.pm.getDevelopmentLevelAtPosition(position));
+            }
+        }
+        int[] dice = gc.board.getDiceValues();
+        if (dice[0] > 0) {
+            drawDice(dice);
+        }
+        Log.v(TAG, String.format(Locale.US, "Resumed a game at turn %d in %.1fms.", saved.getTurnCount(), (System.nanoTime() - start) / 1e6));
+    }
+
+    // Remembers the game once the engine has finished entering its current state and is waiting on a player.
+    private void scheduleSave() {
+        mContentView.post(new Runnable() {
+            @Override
+            public void run() {
+                // the prompt may already have been answered and the game moved past it (i.e. to game over)
+                if (SavedGame.canCapture(engine)) {
+                    lastSave = SavedGame.capture(engine, turnCount);
+                }
+            }
+        });
+    }
+
     /**
      * Build (or re-build) all game and state objects from scratch to start a new game.
      */
@@ -237,6 +333,7 @@ public class FullscreenActivity extends AppCompatActivity {
         turnCountTV.setText(ts);
     }
 
+    @Override
     public void incrementTurnCount() {
         turnCount++;
         //repaintTurnCounter();
@@ -249,9 +346,88 @@ public class FullscreenActivity extends AppCompatActivity {
      * @param owner                 Player that owns the property
      * @param levelOfDevelopment    Level of development to render (pass 0 if not a street property!)
      */
+    @Override
     public void redrawPropertyAtPosition(int position, Player owner, int levelOfDevelopment) {
-        ImageView propertyIV = visualAssetManager.getIVForBoardPosition(position);
-        propertyIV.setColorFilter(owner.getTransparentColor(), PorterDuff.Mode.SRC_OVER);
+        boardView.setProperty(position, owner, levelOfDevelopment);
+    }
+
+    @Override
+    public void updatePlayerBalance(Player player) {
+        scoreTableTL.updatePlayerBalance(player, player.getBalance());
+    }
+
+    @Override
+    public void setActivePlayer(Player player) {
+        scoreTableTL.setActivePlayer(player);
+    }
+
+    @Override
+    public void drawDice(int[] diceValues) {
+        ImageView die1 = findViewById(R.id.die_1_iv);
+        ImageView die2 = findViewById(R.id.die_2_iv);
+        die1.setImageDrawable(visualAssetManager.getDieFace(diceValues[0]));
+        die2.setImageDrawable(visualAssetManager.getDieFace(diceValues[1]));
+    }
+
+    /**
+     * Lets the "Roll" button accept clicks, which are forwarded to the waiting RollDiceState.
+     * @param caller RollDiceState instance waiting on the active player
+     */
+    @Override
+    public void enableRollDice(final RollDiceState caller) {
+        final Button rollButton = findViewById(R.id.roll_dice_btn);
+        rollButton.setOnClickListener(new View.OnClickListener() {
+            @Override
+            public void onClick(View v) {
+                // prevent double clicks
+                rollButton.setEnabled(false);
+                caller.rollDice();
+            }
+        });
+        rollButton.setEnabled(true);
+        scheduleSave();
+    }
+
+    @Override
+    public void disableRollDice() {
+        Button rollButton = findViewById(R.id.roll_dice_btn);
+        rollButton.setOnClickListener(null);
+    }
+
+    /**
+     * Removes a bankrupt Player's token from the board.
+     * @param player Player who has just gone bankrupt
+     */
+    @Override
+    public void showPlayerBankrupt(Player player) {
+        boardView.removeToken(player.getToken());
+    }
+
+    @Override
+    public void showGameOver(Player winner) {
+        Toast.makeText(this, String.format("%s wins!", winner.getName()), Toast.LENGTH_LONG).show();
+
+        // nothing left to resume
+        lastSave = null;
+        saveGameStore.deleteAsync();
+    }
+
+    @Override
+    public void playSoundEffect(SoundEffect effect) {
+        switch (effect) {
+            case DICE_ROLL:
+                audioEngine.enqueueAudio(R.raw.diceroll, AudioEvent.PRIORITY_NORMAL);
+                break;
+            case PROPERTY_PURCHASED:
+                audioEngine.enqueueAudio(R.raw.cash_register_single_ding, AudioEvent.PRIORITY_LOW);
+                break;
+            case SENT_TO_JAIL:
+                audioEngine.enqueueAudio(R.raw.police_siren_short, AudioEvent.PRIORITY_HIGH);
+                break;
+            case FREED_FROM_JAIL:
+                audioEngine.enqueueAudio(R.raw.jail_freed, AudioEvent.PRIORITY_NORMAL);
+                break;
+        }
     }
 
     /**
@@ -260,7 +436,8 @@ public class FullscreenActivity extends AppCompatActivity {
      * @param position Board position of the property the player is currently on
      * @param shouldEnableBuyButton state of the buy button in the modal
      */
-    public void showPropertyActionModal(UnownedPropertyState caller, int position, boolean shouldEnableBuyButton) {
+    @Override
+    public void showPropertyActionModal(final UnownedPropertyState caller, int position, boolean shouldEnableBuyButton) {
         if (BuildConfig.DEBUG && ((position < 0) || (position >= 40))) {
             throw new AssertionError(String.format("showPropertyActionModal got an invalid position -> %d", position));
         }
@@ -285,10 +462,27 @@ public class FullscreenActivity extends AppCompatActivity {
         dialogFragment.setArguments(b);
 
         // the state that called this method should be sent click events
-        dialogFragment.setButtonListener(caller);
+        dialogFragment.setButtonListener(new PropertyActionDialogFragment.ButtonListener() {
+            @Override
+            public void onBuyButtonClicked(PropertyActionDialogFragment df, int position) {
+                df.dismiss();
+                caller.buyProperty(position);
+            }
+
+            @Override
+            public void onAuctionButtonClicked(PropertyActionDialogFragment df, int position) {
+                caller.auctionProperty(position);
+            }
+
+            @Override
+            public void onManageButtonClicked(PropertyActionDialogFragment df) {
+                caller.manageProperties();
+            }
+        });
 
         // present the dialog
         dialogFragment.show(ft, "propertyActionDialog");
+        scheduleSave();
     }
 
     /**
@@ -297,7 +491,8 @@ public class FullscreenActivity extends AppCompatActivity {
      * @param shouldEnableFineButton Should the "pay $50" button be enabled?
      * @param shouldEnableUseCardButton Should the "use get out of jail card" button be visible?
      */
-    public void showInJailActionModal(InJailState caller, boolean shouldEnableFineButton, boolean shouldEnableUseCardButton) {
+    @Override
+    public void showInJailActionModal(final InJailState caller, boolean shouldEnableFineButton, boolean shouldEnableUseCardButton) {
         FragmentTransaction ft = getFragmentManager().beginTransaction();
         Fragment prev = getFragmentManager().findFragmentByTag("jailActionDialog");
         if (prev != null) {
@@ -313,148 +508,50 @@ public class FullscreenActivity extends AppCompatActivity {
         dialogFragment.setArguments(b);
 
         // the state that called this method should be sent click events
-        dialogFragment.setButtonListener(caller);
-
-        // present the dialog
-        dialogFragment.show(ft, "jailActionDialog");
-    }
+        dialogFragment.setButtonListener(new InJailActionDialogFragment.ButtonListener() {
+            @Override
+            public void onRollButtonClicked(InJailActionDialogFragment df) {
+                caller.rollForDoubles();
+            }
 
-    /**
-     * Displays a new house drawable at a position on the board.
-     * @param position position in [0,39]
-     */
-    public void drawHouseAtPosition(int position) {
-        // don't do anything if there are already four houses on this property
-        if (positionDevIDMap.get(position, new int[0]).length == 4) {
-            throw new IllegalStateException(String.format("Position '%d' has the maximum amount of houses! Build a hotel instead!", position));
-        }
-        // get important building objects
-        ViewBuilder vb = ViewBuilder.getInstance();
-        ConstraintGenerator cg = ConstraintGenerator.getInstance();
-
-        // construct a new house IV for this side of the board this position is on
-        int[] existingHouseIDs = positionDevIDMap.get(position, new int[0]);
-        boolean propHasExistingHouses = !(existingHouseIDs.length == 0);
-        VisualAssetManager.BoardSide posBoardSide = visualAssetManager.getBoardSideForPosition(position);
-        ImageView houseIV = vb.buildHouseIV(this, posBoardSide, propHasExistingHouses);
-
-        // add the new house to the view & clone the existing layout
-        boardPanelCL.addView(houseIV);
-        ConstraintSet newSet = new ConstraintSet();
-        newSet.clone(boardPanelCL);
-
-        // calculate & apply new constraints for this house
-        int propID = visualAssetManager.getIVForBoardPosition(position).getId();
-        newSet = cg.calculateHouseConstraints(houseIV.getId(), existingHouseIDs, propID, posBoardSide, newSet);
-        newSet.applyTo(boardPanelCL);
-        houseIV.setVisibility(View.VISIBLE);
-
-        // Add the ID of the new house to this property's house cache
-        int numExistingHouses = existingHouseIDs.length;
-        int[] newHouseIDCache = new int[numExistingHouses+1];
-        for (int i=0; i<numExistingHouses; i++) {
-            newHouseIDCache[i] = existingHouseIDs[i];
-        }
-        newHouseIDCache[newHouseIDCache.length-1] = houseIV.getId();
-        positionDevIDMap.put(position, newHouseIDCache);
-    }
+            @Override
+            public void onPayButtonClicked(InJailActionDialogFragment df) {
+                df.dismiss();
+                caller.payFine();
+            }
 
-    /**
-     * Removes a house drawable from a position on the board
-     * @param position position in [0,39]
-     */
-    public void removeHouseAtPosition(int position) {
-        int[] existingHouseIDs = positionDevIDMap.get(position, new int[0]);
-        if (existingHouseIDs.length > 0) {
-            // get a reference to the last-built house so we can remove it
-            int rhsHouseID = existingHouseIDs[existingHouseIDs.length-1];
-            boardPanelCL.removeView(findViewById(rhsHouseID));
-            Log.v(TAG, String.format("Removed a house drawable at position '%d'.", position));
-
-            // store the remaining house IDs back in the cache if there are any.
-            int remainingHouseCount = existingHouseIDs.length-1;
-            if (remainingHouseCount > 0) {
-                int[] newHouseIDCache = new int[remainingHouseCount];
-                for (int i=0; i<remainingHouseCount; i++) {
-                    newHouseIDCache[i] = existingHouseIDs[i];
-                }
-                positionDevIDMap.put(position, newHouseIDCache);
-            } else {
-                // wipe out the cache for this property if we've removed all the houses
-                positionDevIDMap.delete(position);
+            @Override
+            public void onUseCardButtonClicked(InJailActionDialogFragment df) {
+                df.dismiss();
+                caller.useGetOutOfJailFreeCard();
             }
-        } else {
-            throw new IllegalArgumentException(String.format("Position '%d' has no house drawables that can be removed!", position));
-        }
+        });
+
+        // present the dialog
+        dialogFragment.show(ft, "jailActionDialog");
+        scheduleSave();
     }
 
     /**
-     * Initializes an ImageView for a token and places it on Go.
+     * Places a new token on Go.
      * @param tokenID
      */
+    @Override
     public void drawTokenOntoBoard(int tokenID) {
-        // create the new token
-        ImageView tokenIV = new ImageView(this);
-        tokenIV.setId(View.generateViewId());
-        Drawable d = visualAssetManager.getTokenDrawable(tokenID);
-        tokenIV.setImageDrawable(d);
-        tokenIV.setVisibility(View.INVISIBLE);
-        int tokenHeight = (int) TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, 10, this.getResources().getDisplayMetrics());
-        tokenIV.setLayoutParams(new ConstraintLayout.LayoutParams(tokenHeight, tokenHeight));
-
-        // add it to the board layout
-        boardPanelCL.addView(tokenIV);
-        ConstraintSet newSet = new ConstraintSet();
-        newSet.clone(boardPanelCL);
-
-        // center the new token on the Go space
-        newSet.centerHorizontally(tokenIV.getId(), R.id.tile_go_iv);
-        newSet.centerVertically(tokenIV.getId(), R.id.tile_go_iv);
-
-        // apply new constraints to board layout and display the new token
-        newSet.applyTo(boardPanelCL);
-        tokenIV.setVisibility(View.VISIBLE);
-
-        // add the *view ID* of this new IV to the map so it can be referenced by tokenID elsewhere
-        tokenIVMap.put(tokenID, tokenIV.getId());
-
+        boardView.addToken(tokenID, visualAssetManager.getTokenDrawable(tokenID));
     }
 
     // TODO: Now this method would make more sense semantically if it were called something like "moveTokenPosition" or "updateTokenPosition"
     /**
-     * Moves a token's ImageView to a specific position on the board.
+     * Slides a token to a specific position on the board.
      * @param tokenID
      * @param p
-     * @param listener a TransitionListener that should receive transition status notifications.
+     * @param listener notified once the token's move animation has finished.
      *                 This can be set to null to ignore transition events.
      */
-    public void drawTokenAtPosition(int tokenID, int p, @Nullable Transition.TransitionListener listener) {
-        // get a reference to the ImageView to re-locate
-        int viewID = tokenIVMap.get(tokenID);
-        ImageView tokenIV = findViewById(viewID);
-        //tokenIV.setVisibility(View.INVISIBLE);
-
-        // clear all assoc. constraints
-        ConstraintSet newSet = new ConstraintSet();
-        newSet.clone(boardPanelCL);
-        newSet.clear(viewID);
-
-        // new constraints will center the marker within the new tile on the board
-        ImageView newTileIV = visualAssetManager.getIVForBoardPosition(p);
-        int tokenHeight = (int) TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, 10, this.getResources().getDisplayMetrics());
-        newSet.constrainHeight(viewID, tokenHeight);
-        newSet.constrainWidth(viewID, tokenHeight);
-        newSet.centerVertically(viewID, newTileIV.getId());
-        newSet.centerHorizontally(viewID, newTileIV.getId());
-
-        // apply & animate changes
-        Transition t = new AutoTransition();
-        if (listener != null) {
-            t.addListener(listener);
-        }
-        TransitionManager.beginDelayedTransition(boardPanelCL, t);
-        newSet.applyTo(boardPanelCL);
-        tokenIV.setVisibility(View.VISIBLE);
+    @Override
+    public void drawTokenAtPosition(int tokenID, int p, @Nullable TokenMoveListener listener) {
+        boardView.moveToken(tokenID, p, listener);
     }
 
 
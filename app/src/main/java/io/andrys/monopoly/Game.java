@@ -7,7 +7,6 @@ package io.andrys.monopoly;
  */
 
 import android.app.Activity;
-import android.content.Context;
 import android.util.Log;
 
 import java.util.ArrayDeque;
@@ -33,7 +32,7 @@ public class Game {
     public Game(FullscreenActivity activity, Player[] players) {
         this.players = new ArrayDeque<>(Arrays.asList(players));
         this.board = new Board();
-        this.pm = new PropertyManager((Context)activity);
+        this.pm = new PropertyManager(PropertyBuilder.loadProperties(RawUtils.readRawResource(activity, R.raw.property_data)));
         this.gameActivity = activity;
     }
 
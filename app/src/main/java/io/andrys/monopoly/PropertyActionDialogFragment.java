@@ -3,7 +3,6 @@ package io.andrys.monopoly;
 import android.app.DialogFragment;
 import android.graphics.drawable.Drawable;
 import android.os.Bundle;
-import android.support.v4.content.ContextCompat;
 import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -54,7 +53,7 @@ public class PropertyActionDialogFragment extends DialogFragment implements View
 
         // load the property card imageview w/ the correct drawable for this position on the board.
         ImageView propertyCardIV = v.findViewById(R.id.property_card_container_iv);
-        Drawable d = ContextCompat.getDrawable(getActivity(), propertyDrawableID);
+        Drawable d = DrawableCache.getInstance(getActivity()).get(propertyDrawableID);
         propertyCardIV.setImageDrawable(d);
 
         // configure buttons
@@ -0,0 +1,167 @@
+package io.andrys.monopoly;
+
+/**
+ * SaveGameStore.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+import android.content.Context;
+import android.support.annotation.Nullable;
+import android.util.Log;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Keeps the game in progress on disk so it survives the process being killed.
+ *
+ * Saves are written on a single background thread, so they never block the UI thread and always land in
+ * the order they were requested. Each save goes to a temporary file that's renamed over the old one, so
+ * a crash mid-write leaves the previous save intact.
+ *
+ * There's one store per process, and it remembers the last game it was asked to save. A recreated activity
+ * therefore gets the save its predecessor queued in onStop() straight from memory, never the one before it,
+ * and never waits for that save to reach the disk. Only the first load in a new process reads the file,
+ * which the rename keeps whole even while a write is going on.
+ */
+public class SaveGameStore {
+    private final String TAG = this.getClass().getSimpleName();
+
+    private static final String FILE_NAME = "savegame.bin";
+
+    private final File saveFile;
+    private final File tempFile;
+    private final ExecutorService writer;
+
+    // the last game saved or loaded in this process; only meaningful once 'latestKnown' is set
+    private SavedGame latest;
+    private boolean latestKnown;
+
+    private static SaveGameStore instance;
+
+    /**
+     * @return the process-wide store
+     */
+    public static synchronized SaveGameStore getInstance(Context context) {
+        if (instance == null) {
+            instance = new SaveGameStore(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private SaveGameStore(Context context) {
+        this.saveFile = new File(context.getFilesDir(), FILE_NAME);
+        this.tempFile = new File(context.getFilesDir(), FILE_NAME + ".tmp");
+        this.writer = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "SaveGameWriter");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+    }
+
+    /**
+     * Returns the most recently saved game. It comes from memory if this process has saved or loaded one
+     * already, and otherwise from disk; saves are a few hundred bytes, so this is quick enough to call while
+     * the activity is being created. Never waits on saves that are still being written.
+     * @return the saved game, or null if there isn't one (or it can't be read)
+     */
+    @Nullable
+    public synchronized SavedGame load() {
+        if (!latestKnown) {
+            latest = read();
+            latestKnown = true;
+        }
+        return latest;
+    }
+
+    @Nullable
+    private SavedGame read() {
+        if (!saveFile.exists()) {
+            return null;
+        }
+        BufferedInputStream in = null;
+        try {
+            in = new BufferedInputStream(new FileInputStream(saveFile));
+            return SavedGame.readFrom(in);
+        } catch (IOException e) {
+            Log.e(TAG, "Couldn't read the saved game; starting a new one.", e);
+            return null;
+        } finally {
+            closeQuietly(in);
+        }
+    }
+
+    /**
+     * Writes a game to disk on the background thread.
+     * @param saved game to write; must not be modified afterwards
+     */
+    public void saveAsync(final SavedGame saved) {
+        synchronized (this) {
+            latest = saved;
+            latestKnown = true;
+        }
+        writer.execute(new Runnable() {
+            @Override
+            public void run() {
+                write(saved);
+            }
+        });
+    }
+
+    /**
+     * Deletes the saved game on the background thread (i.e. once the game is over).
+     */
+    public void deleteAsync() {
+        synchronized (this) {
+            latest = null;
+            latestKnown = true;
+        }
+        writer.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (saveFile.exists() && !saveFile.delete()) {
+                    Log.w(TAG, "Couldn't delete the saved game!");
+                }
+            }
+        });
+    }
+
+    private void write(SavedGame saved) {
+        FileOutputStream out = null;
+        try {
+            out = new FileOutputStream(tempFile);
+            saved.writeTo(out);
+            out.getFD().sync();
+            out.close();
+            out = null;
+            if (!tempFile.renameTo(saveFile)) {
+                Log.e(TAG, "Couldn't move the new save into place!");
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "Couldn't write the saved game!", e);
+        } finally {
+            closeQuietly(out);
+        }
+    }
+
+    private void closeQuietly(Closeable c) {
+        if (c != null) {
+            try {
+                c.close();
+            } catch (IOException e) {
+                Log.e(TAG, "Failed to close the saved game file", e);
+            }
+        }
+    }
+}
@@ -14,6 +14,7 @@ import android.widget.TableLayout;
 import android.widget.TableRow;
 import android.widget.TextView;
 
+import com.robinhood.ticker.ChoreographerAnimationClock;
 import com.robinhood.ticker.TickerUtils;
 import com.robinhood.ticker.TickerView;
 
@@ -86,8 +87,10 @@ public class ScoreTableLayout extends TableLayout {
         BalanceTickerView balanceTV = new BalanceTickerView(getContext(), Color.parseColor("#2DC55D"), Color.parseColor("#D22630"));
         balanceTV.setCharacterLists(TickerUtils.provideNumberList());
         balanceTV.setAnimationDuration(500);
+        // every row animates off the same frame callback
+        balanceTV.setAnimationClock(ChoreographerAnimationClock.getInstance());
         balanceTV.setId(View.generateViewId());
-        balanceTV.setText(String.format(Locale.US, "$%d", p.getBalance()));
+        balanceTV.setValue(p.getBalance(), false, false);
         TableRow.LayoutParams balanceLP = new TableRow.LayoutParams(TableRow.LayoutParams.WRAP_CONTENT, TableRow.LayoutParams.WRAP_CONTENT, BALANCE_LAYOUT_WEIGHT);
         balanceTV.setLayoutParams(balanceLP);
 
@@ -130,8 +133,10 @@ public class ScoreTableLayout extends TableLayout {
             int balanceTVID = views[INDEX_PLAYER_BALANCE];
             //TextView balanceTV = findViewById(balanceTVID);
             BalanceTickerView balanceTV = findViewById(balanceTVID);
-            balanceTV.setText(String.format(Locale.US, "$%d", newBalance), true, true);
-            Log.v(TAG, String.format("%s's display balance updated to %s", player.getName(), balanceTV.getText()));
+            balanceTV.setValue(newBalance, true, true);
+            if (Log.isLoggable(TAG, Log.VERBOSE)) {
+                Log.v(TAG, String.format("%s's display balance updated to %s", player.getName(), balanceTV.getText()));
+            }
         } else {
             throw new IllegalStateException(String.format(Locale.US, "No views stored in ScoreTable for player w/ token='%d'! writeViewsToModel() must be called before modifying display data on a ScoreTableLayout!", player.getToken()));
         }
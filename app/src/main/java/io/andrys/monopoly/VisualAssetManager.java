@@ -4,7 +4,9 @@ import android.app.Activity;
 import android.content.Context;
 import android.content.res.Resources;
 import android.graphics.drawable.Drawable;
-import android.widget.ImageView;
+import android.support.annotation.DrawableRes;
+
+import java.util.Arrays;
 
 /**
  * VisualAssetManager.java // Monopoly
@@ -15,9 +17,44 @@ import android.widget.ImageView;
  */
 public class VisualAssetManager {
     private Activity context;
+    private final DrawableCache drawableCache;
 
     public VisualAssetManager(Activity c) {
         this.context = c;
+        this.drawableCache = DrawableCache.getInstance(c);
+    }
+
+    /**
+     * Starts decoding the die faces, tokens, houses and property cards on a background thread, so the first
+     * roll and the first property modal don't wait on them. Call once the game starts.
+     */
+    public void preloadAsync() {
+        int[] ids = new int[DIE_FACE_IDS.length + TOKEN_DRAWABLE_IDS.length + 2 + PROPERTY_CARD_DRAWABLE_IDS.length];
+        int n = 0;
+        // the small, always-used ones first; the cards only load while there's room for them
+        for (int id : DIE_FACE_IDS) {
+            ids[n++] = id;
+        }
+        for (int id : TOKEN_DRAWABLE_IDS) {
+            ids[n++] = id;
+        }
+        ids[n++] = R.drawable.house4x;
+        ids[n++] = R.drawable.hotel4x;
+        // in position order, which is also the order a token first reaches them in
+        for (int id : PROPERTY_CARD_DRAWABLE_IDS) {
+            if (id != 0) {
+                ids[n++] = id;
+            }
+        }
+        drawableCache.preloadAsync(Arrays.copyOf(ids, n));
+    }
+
+    /**
+     * Returns a drawable through the shared cache.
+     * @param id resource ID of the drawable
+     */
+    public Drawable getDrawable(@DrawableRes int id) {
+        return drawableCache.get(id);
     }
 
     /**
@@ -40,154 +77,117 @@ public class VisualAssetManager {
         RIGHT
     }
 
+    /** The side of the board every position is on, indexed by position. */
+    private static final BoardSide[] BOARD_SIDES = new BoardSide[BoardGeometry.NUM_POSITIONS];
+
+    static {
+        for (int p=0; p<BoardGeometry.NUM_POSITIONS; p++) {
+            switch (BoardGeometry.sideOf(p)) {
+                case BoardGeometry.SIDE_BOTTOM:
+                    BOARD_SIDES[p] = BoardSide.BOTTOM;
+                    break;
+                case BoardGeometry.SIDE_LEFT:
+                    BOARD_SIDES[p] = BoardSide.LEFT;
+                    break;
+                case BoardGeometry.SIDE_TOP:
+                    BOARD_SIDES[p] = BoardSide.TOP;
+                    break;
+                default:
+                    BOARD_SIDES[p] = BoardSide.RIGHT;
+                    break;
+            }
+        }
+    }
+
     /**
      * Returns the side of the board that a space on the board is on.
      * @param position A valid board position in [0,39]
      * @return BoardSide
      */
     public BoardSide getBoardSideForPosition(int position) {
-        if ((position >= 0) && (position <= 10)) {
-            return BoardSide.BOTTOM;
-        } else if ((position >= 11) && (position <= 20)) {
-            return BoardSide.LEFT;
-        } else if ((position >= 21) && (position <= 30)) {
-            return BoardSide.TOP;
-        } else if ((position >= 31) && (position <= 39)) {
-            return BoardSide.RIGHT;
-        } else {
+        if ((position < 0) || (position >= BOARD_SIDES.length)) {
             throw new IllegalArgumentException(String.format("Can't get BoardSide for position '%d'; argument out of bounds!", position));
         }
+        return BOARD_SIDES[position];
     }
 
 
+    /** Die faces, indexed by value - 1. */
+    private static final int[] DIE_FACE_IDS = {
+            R.drawable.diceface_1,
+            R.drawable.diceface_2,
+            R.drawable.diceface_3,
+            R.drawable.diceface_4,
+            R.drawable.diceface_5,
+            R.drawable.diceface_6
+    };
+
     /**
      * Returns the Drawable of the face on a die associated with the passed value.
      * @param value An integer in [1,6].
      * @return
      */
     public Drawable getDieFace(int value) {
-        Drawable face;
-        switch(value) {
-            case 1:
-                face = context.getDrawable(R.drawable.diceface_1);
-                break;
-            case 2:
-                face = context.getDrawable(R.drawable.diceface_2);
-                break;
-            case 3:
-                face = context.getDrawable(R.drawable.diceface_3);
-                break;
-            case 4:
-                face = context.getDrawable(R.drawable.diceface_4);
-                break;
-            case 5:
-                face = context.getDrawable(R.drawable.diceface_5);
-                break;
-            case 6:
-                face = context.getDrawable(R.drawable.diceface_6);
-                break;
-            default:
-                throw new IllegalArgumentException(String.format("No die face exists for the passed value of '%d'!", value));
+        if ((value < 1) || (value > DIE_FACE_IDS.length)) {
+            throw new IllegalArgumentException(String.format("No die face exists for the passed value of '%d'!", value));
         }
-        return face;
+        return drawableCache.get(DIE_FACE_IDS[value - 1]);
     }
 
+    /** The property card for every position on the board, or 0 where the space isn't a property. */
+    private static final int[] PROPERTY_CARD_DRAWABLE_IDS = {
+            0,
+            R.drawable.pcard_mediterranean_avenue,
+            0,
+            R.drawable.pcard_baltic_avenue,
+            0,
+            R.drawable.pcard_reading_rr,
+            R.drawable.pcard_oriental_avenue,
+            0,
+            R.drawable.pcard_vermont_avenue,
+            R.drawable.pcard_connecticut_avenue,
+            0,
+            R.drawable.pcard_st_charles_place,
+            R.drawable.pcard_electric_company,
+            R.drawable.pcard_states_avenue,
+            R.drawable.pcard_virginia_avenue,
+            R.drawable.pcard_pennsylvania_rr,
+            R.drawable.pcard_st_james_place,
+            0,
+            R.drawable.pcard_tennessee_avenue,
+            R.drawable.pcard_new_york_avenue,
+            0,
+            R.drawable.pcard_kentucky_avenue,
+            0,
+            R.drawable.pcard_indiana_avenue,
+            R.drawable.pcard_illinois_avenue,
+            R.drawable.pcard_bando_rr,
+            R.drawable.pcard_atlantic_avenue,
+            R.drawable.pcard_ventnor_avenue,
+            R.drawable.pcard_water_works,
+            R.drawable.pcard_marvin_gardens,
+            0,
+            R.drawable.pcard_pacific_avenue,
+            R.drawable.pcard_north_carolina_avenue,
+            0,
+            R.drawable.pcard_pennsylvania_avenue,
+            R.drawable.pcard_short_line_rr,
+            0,
+            R.drawable.pcard_park_place,
+            0,
+            R.drawable.pcard_boardwalk
+    };
+
     /**
      * Returns the ID of the property card graphic for a position on the board.
      * @param p
      * @return
      */
     public int getPropertyCardDrawableID(int p) {
-        int id;
-        switch (p) {
-            case 1:
-                id = R.drawable.pcard_mediterranean_avenue;
-                break;
-            case 3:
-                id = R.drawable.pcard_baltic_avenue;
-                break;
-            case 5:
-                id = R.drawable.pcard_reading_rr;
-                break;
-            case 6:
-                id = R.drawable.pcard_oriental_avenue;
-                break;
-            case 8:
-                id = R.drawable.pcard_vermont_avenue;
-                break;
-            case 9:
-                id = R.drawable.pcard_connecticut_avenue;
-                break;
-            case 11:
-                id = R.drawable.pcard_st_charles_place;
-                break;
-            case 12:
-                id = R.drawable.pcard_electric_company;
-                break;
-            case 13:
-                id = R.drawable.pcard_states_avenue;
-                break;
-            case 14:
-                id = R.drawable.pcard_virginia_avenue;
-                break;
-            case 15:
-                id = R.drawable.pcard_pennsylvania_rr;
-                break;
-            case 16:
-                id = R.drawable.pcard_st_james_place;
-                break;
-            case 18:
-                id = R.drawable.pcard_tennessee_avenue;
-                break;
-            case 19:
-                id = R.drawable.pcard_new_york_avenue;
-                break;
-            case 21:
-                id = R.drawable.pcard_kentucky_avenue;
-                break;
-            case 23:
-                id = R.drawable.pcard_indiana_avenue;
-                break;
-            case 24:
-                id = R.drawable.pcard_illinois_avenue;
-                break;
-            case 25:
-                id = R.drawable.pcard_bando_rr;
-                break;
-            case 26:
-                id = R.drawable.pcard_atlantic_avenue;
-                break;
-            case 27:
-                id = R.drawable.pcard_ventnor_avenue;
-                break;
-            case 28:
-                id = R.drawable.pcard_water_works;
-                break;
-            case 29:
-                id = R.drawable.pcard_marvin_gardens;
-                break;
-            case 31:
-                id = R.drawable.pcard_pacific_avenue;
-                break;
-            case 32:
-                id = R.drawable.pcard_north_carolina_avenue;
-                break;
-            case 34:
-                id = R.drawable.pcard_pennsylvania_avenue;
-                break;
-            case 35:
-                id = R.drawable.pcard_short_line_rr;
-                break;
-            case 37:
-                id = R.drawable.pcard_park_place;
-                break;
-            case 39:
-                id = R.drawable.pcard_boardwalk;
-                break;
-            default:
-                throw new IllegalArgumentException(String.format("No property card exists for space at position '%d'!", p));
+        int id = ((p >= 0) && (p < PROPERTY_CARD_DRAWABLE_IDS.length)) ? PROPERTY_CARD_DRAWABLE_IDS[p] : 0;
+        if (id == 0) {
+            throw new IllegalArgumentException(String.format("No property card exists for space at position '%d'!", p));
         }
-
         return id;
     }
 
@@ -203,260 +203,100 @@ public class VisualAssetManager {
      * @return
      */
     public Drawable getPropertyCardDrawable(int p) {
-
-        Drawable card;
-        switch (p) {
-            case 1:
-                card = context.getDrawable(R.drawable.pcard_mediterranean_avenue);
-                break;
-            case 3:
-                card = context.getDrawable(R.drawable.pcard_baltic_avenue);
-                break;
-            case 5:
-                card = context.getDrawable(R.drawable.pcard_reading_rr);
-                break;
-            case 6:
-                card = context.getDrawable(R.drawable.pcard_oriental_avenue);
-                break;
-            case 8:
-                card = context.getDrawable(R.drawable.pcard_vermont_avenue);
-                break;
-            case 9:
-                card = context.getDrawable(R.drawable.pcard_connecticut_avenue);
-                break;
-            case 11:
-                card = context.getDrawable(R.drawable.pcard_st_charles_place);
-                break;
-            case 12:
-                card = context.getDrawable(R.drawable.pcard_electric_company);
-                break;
-            case 13:
-                card = context.getDrawable(R.drawable.pcard_states_avenue);
-                break;
-            case 14:
-                card = context.getDrawable(R.drawable.pcard_virginia_avenue);
-                break;
-            case 15:
-                card = context.getDrawable(R.drawable.pcard_pennsylvania_rr);
-                break;
-            case 16:
-                card = context.getDrawable(R.drawable.pcard_st_james_place);
-                break;
-            case 18:
-                card = context.getDrawable(R.drawable.pcard_tennessee_avenue);
-                break;
-            case 19:
-                card = context.getDrawable(R.drawable.pcard_new_york_avenue);
-                break;
-            case 21:
-                card = context.getDrawable(R.drawable.pcard_kentucky_avenue);
-                break;
-            case 23:
-                card = context.getDrawable(R.drawable.pcard_indiana_avenue);
-                break;
-            case 24:
-                card = context.getDrawable(R.drawable.pcard_illinois_avenue);
-                break;
-            case 25:
-                card = context.getDrawable(R.drawable.pcard_bando_rr);
-                break;
-            case 26:
-                card = context.getDrawable(R.drawable.pcard_atlantic_avenue);
-                break;
-            case 27:
-                card = context.getDrawable(R.drawable.pcard_ventnor_avenue);
-                break;
-            case 28:
-                card = context.getDrawable(R.drawable.pcard_water_works);
-                break;
-            case 29:
-                card = context.getDrawable(R.drawable.pcard_marvin_gardens);
-                break;
-            case 31:
-                card = context.getDrawable(R.drawable.pcard_pacific_avenue);
-                break;
-            case 32:
-                card = context.getDrawable(R.drawable.pcard_north_carolina_avenue);
-                break;
-            case 34:
-                card = context.getDrawable(R.drawable.pcard_pennsylvania_avenue);
-                break;
-            case 35:
-                card = context.getDrawable(R.drawable.pcard_short_line_rr);
-                break;
-            case 37:
-                card = context.getDrawable(R.drawable.pcard_park_place);
-                break;
-            case 39:
-                card = context.getDrawable(R.drawable.pcard_boardwalk);
-                break;
-            default:
-                throw new IllegalArgumentException(String.format("No property card exists for space at position '%d'!", p));
-        }
-
-        return card;
+        return drawableCache.get(getPropertyCardDrawableID(p));
     }
 
 
+    /** Player tokens, indexed by token ID - 1. */
+    private static final int[] TOKEN_DRAWABLE_IDS = {
+            R.drawable.green_oval,
+            R.drawable.blue_oval,
+            R.drawable.red_oval,
+            R.drawable.purple_oval
+    };
+
     /**
      * Returns the drawable representing a player token mapped to the token ID value provided.
      * @param tokenID
      * @return
      */
     public Drawable getTokenDrawable(int tokenID) {
-        Drawable token;
-        switch(tokenID) {
-            case 1:
-                token = context.getDrawable(R.drawable.green_oval);
-                break;
-            case 2:
-                token = context.getDrawable(R.drawable.blue_oval);
-                break;
-            case 3:
-                token = context.getDrawable(R.drawable.red_oval);
-                break;
-            case 4:
-                token = context.getDrawable(R.drawable.purple_oval);
-                break;
-            default:
-                throw new IllegalArgumentException(String.format("No drawable exists for the player token id '%d'!", tokenID));
+        if ((tokenID < 1) || (tokenID > TOKEN_DRAWABLE_IDS.length)) {
+            throw new IllegalArgumentException(String.format("No drawable exists for the player token id '%d'!", tokenID));
         }
-        return token;
+        return drawableCache.get(TOKEN_DRAWABLE_IDS[tokenID - 1]);
     }
 
+    /** The image of every tile on the board, indexed by position; tiles on each side are already rotated to face inwards. */
+    private static final int[] TILE_DRAWABLE_IDS = {
+            R.drawable.tile_go,
+            R.drawable.tile_mediterranean_avenue,
+            R.drawable.tile_cchest_bottom_side,
+            R.drawable.tile_baltic_avenue,
+            R.drawable.tile_income_tax,
+            R.drawable.tile_reading_rr,
+            R.drawable.tile_oriental_avenue,
+            R.drawable.tile_chance_bottom_side,
+            R.drawable.tile_vermont_avenue,
+            R.drawable.tile_connecticut_avenue,
+            R.drawable.tile_jail,
+            R.drawable.tile_st_charles_place,
+            R.drawable.tile_electric_company,
+            R.drawable.tile_states_avenue,
+            R.drawable.tile_virginia_avenue,
+            R.drawable.tile_pennsylvania_rr,
+            R.drawable.tile_st_james_place,
+            R.drawable.tile_cchest_left_side,
+            R.drawable.tile_tennessee_avenue,
+            R.drawable.tile_new_york_avenue,
+            R.drawable.tile_free_parking,
+            R.drawable.tile_kentucky_avenue,
+            R.drawable.tile_chance_top_side,
+            R.drawable.tile_indiana_avenue,
+            R.drawable.tile_illinois_avenue,
+            R.drawable.tile_bando_rr,
+            R.drawable.tile_atlantic_avenue,
+            R.drawable.tile_ventnor_avenue,
+            R.drawable.tile_water_works,
+            R.drawable.tile_marvin_gardens,
+            R.drawable.tile_go_to_jail,
+            R.drawable.tile_pacific_avenue,
+            R.drawable.tile_north_carolina_avenue,
+            R.drawable.tile_cchest_right_side,
+            R.drawable.tile_pennsylvania_avenue,
+            R.drawable.tile_short_line_rr,
+            R.drawable.tile_chance_right_side,
+            R.drawable.tile_park_place,
+            R.drawable.tile_luxury_tax,
+            R.drawable.tile_boardwalk
+    };
+
     /**
-     * Returns the ImageView that represents the 'p'th position on the board.
-     * A valid position is a number from 0 to 39 where 0 represents Go & 39 represents Boardwalk.
+     * Returns the image of the tile at a position on the board. Tiles are loaded once and kept by the
+     * BoardView, so they skip the drawable cache rather than crowd it.
      * @param p a non-negative integer in [0, 39]
      * @return
      */
-    public ImageView getIVForBoardPosition(int p) throws IllegalArgumentException {
-        ImageView iv;
-        switch (p) {
-            case 0:
-                iv = context.findViewById(R.id.tile_go_iv);
-                break;
-            case 1:
-                iv = context.findViewById(R.id.tile_medit_avenue_iv);
-                break;
-            case 2:
-                iv = context.findViewById(R.id.tile_cchest_bottom_iv);
-                break;
-            case 3:
-                iv = context.findViewById(R.id.title_baltic_avenue_iv);
-                break;
-            case 4:
-                iv = context.findViewById(R.id.title_income_tax_iv);
-                break;
-            case 5:
-                iv = context.findViewById(R.id.tile_reading_rr_iv);
-                break;
-            case 6:
-                iv = context.findViewById(R.id.tile_oriental_avenue_iv);
-                break;
-            case 7:
-                iv = context.findViewById(R.id.tile_chance_bottom_iv);
-                break;
-            case 8:
-                iv = context.findViewById(R.id.tile_vermont_avenue_iv);
-                break;
-            case 9:
-                iv = context.findViewById(R.id.tile_connecticut_avenue_iv);
-                break;
-            case 10:
-                iv = context.findViewById(R.id.tile_jail_iv);
-                break;
-            case 11:
-                iv = context.findViewById(R.id.tile_st_charles_place_iv);
-                break;
-            case 12:
-                iv = context.findViewById(R.id.tile_electric_company_iv);
-                break;
-            case 13:
-                iv = context.findViewById(R.id.tile_states_avenue_iv);
-                break;
-            case 14:
-                iv = context.findViewById(R.id.tile_virginia_avenue_iv);
-                break;
-            case 15:
-                iv = context.findViewById(R.id.tile_pennsylvania_rr_iv);
-                break;
-            case 16:
-                iv = context.findViewById(R.id.tile_st_james_place_iv);
-                break;
-            case 17:
-                iv = context.findViewById(R.id.tile_cchest_left_iv);
-                break;
-            case 18:
-                iv = context.findViewById(R.id.tile_tennessee_avenue_iv);
-                break;
-            case 19:
-                iv = context.findViewById(R.id.tile_new_york_avenue_iv);
-                break;
-            case 20:
-                iv = context.findViewById(R.id.tile_free_parking_iv);
-                break;
-            case 21:
-                iv = context.findViewById(R.id.tile_kentucky_avenue_iv);
-                break;
-            case 22:
-                iv = context.findViewById(R.id.tile_chance_top_iv);
-                break;
-            case 23:
-                iv = context.findViewById(R.id.tile_indiana_avenue_iv);
-                break;
-            case 24:
-                iv = context.findViewById(R.id.tile_illinois_avenue_iv);
-                break;
-            case 25:
-                iv = context.findViewById(R.id.tile_bando_rr_iv);
-                break;
-            case 26:
-                iv = context.findViewById(R.id.tile_atlantic_avenue_iv);
-                break;
-            case 27:
-                iv = context.findViewById(R.id.tile_ventnor_avenue_iv);
-                break;
-            case 28:
-                iv = context.findViewById(R.id.tile_water_works_iv);
-                break;
-            case 29:
-                iv = context.findViewById(R.id.tile_marvin_gardens_iv);
-                break;
-            case 30:
-                iv = context.findViewById(R.id.tile_go_to_jail_iv);
-                break;
-            case 31:
-                iv = context.findViewById(R.id.tile_pacific_avenue_iv);
-                break;
-            case 32:
-                iv = context.findViewById(R.id.tile_north_carolina_avenue_iv);
-                break;
-            case 33:
-                iv = context.findViewById(R.id.tile_cchest_right_iv);
-                break;
-            case 34:
-                iv = context.findViewById(R.id.tile_pennsylvania_avenue_iv);
-                break;
-            case 35:
-                iv = context.findViewById(R.id.tile_short_line_rr_iv);
-                break;
-            case 36:
-                iv = context.findViewById(R.id.tile_chance_right_iv);
-                break;
-            case 37:
-                iv = context.findViewById(R.id.tile_park_place_iv);
-                break;
-            case 38:
-                iv = context.findViewById(R.id.tile_luxury_tax_iv);
-                break;
-            case 39:
-                iv = context.findViewById(R.id.tile_boardwalk_iv);
-                break;
-            default:
-                throw new IllegalArgumentException(String.format("No tile exists at position '%d'!", p));
+    public Drawable getTileDrawable(int p) {
+        if ((p < 0) || (p >= TILE_DRAWABLE_IDS.length)) {
+            throw new IllegalArgumentException(String.format("No tile exists at position '%d'!", p));
         }
-        return iv;
+        return context.getDrawable(TILE_DRAWABLE_IDS[p]);
+    }
+
+    /**
+     * Returns the image drawn for each house on a property.
+     */
+    public Drawable getHouseDrawable() {
+        return drawableCache.get(R.drawable.house4x);
+    }
+
+    /**
+     * Returns the image drawn for a hotel on a property.
+     */
+    public Drawable getHotelDrawable() {
+        return drawableCache.get(R.drawable.hotel4x);
     }
 
+
 }
@@ -6,79 +6,51 @@ package io.andrys.monopoly.audio;
  * Copyright 2019 - All rights reserved
  */
 
-import android.content.Context;
-import android.content.res.AssetFileDescriptor;
-import android.media.MediaPlayer;
 import android.util.Log;
 
-import java.io.IOException;
-import java.util.concurrent.BlockingQueue;
-
-import io.andrys.monopoly.R;
-
 /**
  * Consumer thread used in the AudioEngine.
+ *
+ * Blocks on the shared queue while there's nothing to play, so an idle consumer costs no CPU. Runs until
+ * the queue is closed or the thread is interrupted, whichever comes first.
  */
-public class AudioConsumer extends Thread implements MediaPlayer.OnCompletionListener {
+public class AudioConsumer extends Thread {
 
     private final String TAG = String.format("%s[%s]", this.getClass().getSimpleName(), this.getShortCode());
 
-    private final Context context;
-    private final BlockingQueue<AudioEvent> queue;
-
-    private MediaPlayer mediaPlayer;
+    private final AudioEngine engine;
+    private final AudioEventQueue queue;
 
-    AudioConsumer(Context c, BlockingQueue q) {
-        this.context = c;
-        this.queue = q ;
+    AudioConsumer(AudioEngine engine, AudioEventQueue q, int index) {
+        super(String.format("AudioConsumer-%d", index));
+        this.engine = engine;
+        this.queue = q;
+        // never keep the process alive just to wait for sounds
+        setDaemon(true);
     }
 
     @Override
     public void run() {
         Log.i(TAG, "READY TO CONSUME AUDIO");
 
-        // Try to consume, thread should block if no data is available to get.
-        // Blocking might happen automatically. It might not. Who nose?
-        while (true) {
-            try {
-                // let this thread receive MediaPlayer completion events
-                mediaPlayer = new MediaPlayer();
-                mediaPlayer.setOnCompletionListener(this);
-
-                // pull data off BlockingQueue
+        // take() blocks until there's an event to play
+        try {
+            while (!isInterrupted()) {
+                // pull the most important waiting event off the queue; null means the engine shut down
                 AudioEvent ae = queue.take();
-                Log.i(TAG, String.format("consumed -> %s", ae.toString()));
-
-                // get a reference to the audio file to play as an AssetFileDescriptor
-                String resourceName = context.getResources().getResourceName(ae.resourceID);
-                AssetFileDescriptor afd = context.getResources().openRawResourceFd(ae.resourceID);
-                if (afd == null) {
-                    Log.e(TAG, String.format("Could not create AFD for %s; does the referenced file exist?", ae));
-                    continue;
+                if (ae == null) {
+                    break;
                 }
+                Log.i(TAG, String.format("consumed -> %s", ae.toString()));
 
-                // Prepare to play the audio file
-                mediaPlayer.setDataSource(afd.getFileDescriptor(), afd.getStartOffset(), afd.getLength());
-                afd.close();
-                mediaPlayer.prepare();
-
-                // fire the audio
-                Log.v(TAG, String.format("playing audio file %s", resourceName));
-                mediaPlayer.start();
-
-            } catch (InterruptedException e) {
-                Log.i(TAG, "Thread interrupted!");
-                e.printStackTrace();
-            } catch (IOException e) {
-                e.printStackTrace();
+                // fire the audio; the clip was decoded when the engine started
+                engine.play(ae);
             }
+        } catch (InterruptedException e) {
+            // shutdown() interrupts us; keep the flag set and fall through to exit
+            interrupt();
         }
-    }
-
-    // When a sound is finished playing, release the MediaPlayer that fired it
-    @Override
-    public void onCompletion(MediaPlayer mp) {
-        mp.release();
+        Log.i(TAG, "Finished consuming audio.");
     }
 
     /**
@@ -7,13 +7,16 @@ package io.andrys.monopoly.audio;
  */
 
 import android.content.Context;
+import android.media.AudioManager;
+import android.media.AudioTrack;
 import android.support.annotation.RawRes;
 import android.util.Log;
+import android.util.SparseIntArray;
 
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.io.IOException;
+
+import io.andrys.monopoly.R;
 
-// TODO: onDestroy cleanup methods!!
 /**
  * A threaded (asynchronous) audio engine designed around the producer/consumer model.
  *
@@ -21,36 +24,182 @@ import java.util.concurrent.BlockingQueue;
  * and passing the resource ID for an audio file in the /res/raw directory as an argument. This creates
  * an AudioEvent object which represents the request.
  *
- * AudioEvents are added to a shared queue that is processed by multiple threads (AudioConsumers).
- * When an AudioEvent is consumed by a thread 't', t instantiates a MediaPlayer, loads the requested
- * audio file into the player, plays the audio, then de-allocates the MediaPlayer.
+ * Every clip the game plays is decoded to PCM once, when the engine starts, and registered w/ an
+ * {@link AudioMixer} that has a fixed number of voices. AudioEvents are added to a shared {@link AudioEventQueue}
+ * that is processed by multiple threads (AudioConsumers); playing an event just starts one of the decoded clips
+ * on a voice at the event's gain, so nothing is opened, decoded or allocated per event. A single output
+ * thread (AudioOutput) mixes every voice into one AudioTrack, and high priority clips (the siren) duck the rest.
+ *
+ * The queue plays higher priority events first, merges repeats of the same clip that arrive within a short
+ * window, and drops the least important events when it fills up, so a burst of sounds never piles up.
+ *
+ * The engine follows its owner's lifecycle: {@link #start()} once, {@link #pause()} and {@link #resume()}
+ * as the owner leaves and returns to the foreground, and {@link #shutdown()} when the owner is destroyed.
+ * Consumers and the output thread are daemon threads that sleep while idle, and shutdown() stops them and
+ * releases the AudioTrack, so recreating the owner (i.e. on rotation) never leaves threads or decoded clips behind.
  */
 public class AudioEngine {
 
     private final String TAG = this.getClass().getSimpleName();
 
-    // Context used by all consumers
-    private Context context;
+    /** Every clip that's decoded when the engine starts. */
+    private static final int[] CLIPS = {
+            R.raw.diceroll,
+            R.raw.cash_register_ding,
+            R.raw.cash_register_single_ding,
+            R.raw.police_siren_full,
+            R.raw.police_siren_short,
+            R.raw.jail_freed
+    };
+
+    // Defaults for the consumer threads and the shared audio queue
+    public static final int DEFAULT_NUM_CONSUMERS = 2;
+    public static final int DEFAULT_QUEUE_CAPACITY = 10;
+    public static final long DEFAULT_COALESCE_WINDOW_MILLIS = 100;
 
     // The shared audio queue
-    final private int BLOCKING_QUEUE_CAPCITY = 10;
-    final private BlockingQueue<AudioEvent> audioQueue = new ArrayBlockingQueue<>(BLOCKING_QUEUE_CAPCITY);
+    private final AudioEventQueue audioQueue;
+
+    // Voices; this many clips can play at once
+    final private int MAX_VOICES = 4;
+    private final AudioMixer mixer;
+    private final int sampleRate;
+    // Maps raw resource IDs to their AudioMixer clip IDs; null until every clip is decoded
+    private volatile SparseIntArray clipIDs;
+    // Application context used to decode clips; dropped once they're decoded
+    private Context context;
 
     // Threads
-    private AudioConsumer ac1;
-    private AudioConsumer ac2;
+    private final AudioConsumer[] consumers;
+    private final AudioOutput output;
+
+    // Lifecycle
+    private boolean started;
+    private volatile boolean paused;
+    private boolean shutDown;
 
     /**
-     * Constructs a new AudioEngine instance and initializes two child AudioConsumers.
+     * Constructs a new AudioEngine instance w/ the default settings. Call {@link #start()} to start playing.
      * @param context
      */
     public AudioEngine(Context context) {
-        this.context = context;
-        this.ac1 = new AudioConsumer(context, audioQueue);
-        this.ac2 = new AudioConsumer(context, audioQueue);
-        this.ac1.start();
-        this.ac2.start();
-        Log.v(TAG, "AudioEngine started with 2 threads.");
+        this(context, DEFAULT_NUM_CONSUMERS, DEFAULT_QUEUE_CAPACITY, AudioEventQueue.OverflowPolicy.DROP_OLDEST, DEFAULT_COALESCE_WINDOW_MILLIS);
+    }
+
+    /**
+     * Constructs a new AudioEngine instance. Call {@link #start()} to start playing.
+     * @param context used to decode the clips; the engine only holds on to its application context
+     * @param numConsumers number of AudioConsumer threads
+     * @param queueCapacity maximum number of events waiting to be played
+     * @param overflowPolicy what to drop when the queue is full
+     * @param coalesceWindowMillis repeats of a clip this close together play once; 0 disables coalescing
+     */
+    public AudioEngine(Context context, int numConsumers, int queueCapacity, AudioEventQueue.OverflowPolicy overflowPolicy, long coalesceWindowMillis) {
+        if (numConsumers < 1) {
+            throw new IllegalArgumentException(String.format("AudioEngine needs at least one consumer, not '%d'!", numConsumers));
+        }
+        this.audioQueue = new AudioEventQueue(queueCapacity, overflowPolicy, coalesceWindowMillis);
+
+        this.context = context.getApplicationContext();
+        this.mixer = new AudioMixer(MAX_VOICES);
+        // mixing at the device's own rate spares the platform a resampling pass
+        this.sampleRate = AudioTrack.getNativeOutputSampleRate(AudioManager.STREAM_MUSIC);
+
+        this.output = new AudioOutput(this, mixer, sampleRate);
+        this.consumers = new AudioConsumer[numConsumers];
+        for (int i=0; i<numConsumers; i++) {
+            consumers[i] = new AudioConsumer(this, audioQueue, i);
+        }
+    }
+
+    /**
+     * Starts the consumer threads and the output thread, which decodes every clip before it starts playing.
+     * Call once, after construction.
+     */
+    public synchronized void start() {
+        if (started) {
+            throw new IllegalStateException("AudioEngine has already been started!");
+        }
+        started = true;
+        output.start();
+        for (AudioConsumer ac : consumers) {
+            ac.start();
+        }
+        Log.v(TAG, String.format("AudioEngine started with %d consumer threads at %dHz.", consumers.length, sampleRate));
+    }
+
+    /**
+     * Decodes every clip and registers it w/ the mixer. Called once, from the output thread.
+     * @return false if the engine was shut down before every clip was decoded
+     */
+    boolean loadClips() {
+        long start = System.nanoTime();
+        SparseIntArray ids = new SparseIntArray(CLIPS.length);
+        for (int resourceID : CLIPS) {
+            // shutdown() interrupts us; don't keep decoding for an engine that's gone
+            if (Thread.currentThread().isInterrupted()) {
+                Log.v(TAG, String.format("Shut down after decoding %d clips.", ids.size()));
+                context = null;
+                return false;
+            }
+            try {
+                ids.put(resourceID, mixer.addClip(ClipDecoder.decode(context, resourceID, sampleRate)));
+            } catch (IOException e) {
+                Log.e(TAG, String.format("Couldn't decode clip '%d'!", resourceID), e);
+            }
+        }
+        // publishes every clip to the consumers at once
+        clipIDs = ids;
+        context = null;
+        Log.v(TAG, String.format("Decoded %d clips in %dms.", ids.size(), (System.nanoTime() - start) / 1000000L));
+        return true;
+    }
+
+    /**
+     * Silences the engine while its owner is in the background: whatever is playing is paused, anything
+     * still waiting is dropped, and new events are turned away until {@link #resume()}.
+     */
+    public synchronized void pause() {
+        if (shutDown || paused) {
+            return;
+        }
+        paused = true;
+        audioQueue.clear();
+        output.pauseOutput();
+    }
+
+    /**
+     * Picks up whatever was playing when {@link #pause()} was called and accepts events again.
+     */
+    public synchronized void resume() {
+        if (shutDown || !paused) {
+            return;
+        }
+        paused = false;
+        output.resumeOutput();
+    }
+
+    /**
+     * Stops every consumer thread and the output thread, which releases the AudioTrack. The engine can't be used afterwards;
+     * calling this more than once is harmless.
+     *
+     * Only signals the threads and returns right away, so it's safe to call from onDestroy(). They're daemon threads
+     * that exit on their own once they see the closed queue or the interrupt (the output thread between clips if
+     * it's still decoding).
+     */
+    public synchronized void shutdown() {
+        if (shutDown) {
+            return;
+        }
+        shutDown = true;
+        // wakes every consumer blocked in take()
+        audioQueue.close();
+        mixer.stopAll();
+        for (AudioConsumer ac : consumers) {
+            ac.interrupt();
+        }
+        output.interrupt();
+        Log.v(TAG, String.format("AudioEngine shut down (%s).", audioQueue));
     }
 
     /**
@@ -58,12 +207,67 @@ public class AudioEngine {
      * @param resourceID identifier of an audio resource in /res/raw/
      */
     public void enqueueAudio(@RawRes int resourceID) {
-        AudioEvent ae = new AudioEvent(resourceID);
+        enqueueAudio(resourceID, AudioEvent.PRIORITY_NORMAL);
+    }
+
+    /**
+     * Adds a request to play an audio file to the audio engine's shared queue.
+     * @param resourceID identifier of an audio resource in /res/raw/
+     * @param priority one of the AudioEvent.PRIORITY_* constants
+     */
+    public void enqueueAudio(@RawRes int resourceID, int priority) {
+        enqueueAudio(resourceID, priority, 1f);
+    }
+
+    /**
+     * Adds a request to play an audio file to the audio engine's shared queue.
+     * @param resourceID identifier of an audio resource in /res/raw/
+     * @param priority one of the AudioEvent.PRIORITY_* constants; PRIORITY_HIGH clips duck everything else
+     * @param gain volume of the clip; 1 plays it as recorded
+     */
+    public void enqueueAudio(@RawRes int resourceID, int priority, float gain) {
+        if (paused) {
+            return;
+        }
+        AudioEvent ae = new AudioEvent(resourceID, priority, gain);
         boolean wasAdded = audioQueue.offer(ae);
         if (!wasAdded) {
-            Log.v(TAG, String.format(TAG, "Discarded %s; shared AudioEvent queue is full!", ae.toString()));
+            Log.v(TAG, String.format("Skipped %s; it was coalesced or the queue is full (%s).", ae.toString(), audioQueue));
         }
     }
 
+    /**
+     * @return the shared queue, for its counters
+     */
+    public AudioEventQueue getQueue() {
+        return audioQueue;
+    }
 
+    /**
+     * Starts an event's clip on a free voice. Called from the AudioConsumer threads; doesn't block.
+     * @param ae event to play
+     */
+    void play(AudioEvent ae) {
+        if (paused) {
+            // taken just before pause() cleared the queue
+            return;
+        }
+        SparseIntArray ids = clipIDs;
+        if (ids == null) {
+            Log.w(TAG, String.format("Couldn't start %s; clips are still decoding.", ae));
+            return;
+        }
+        int clipID = ids.get(ae.resourceID, -1);
+        if (clipID == -1) {
+            Log.e(TAG, String.format("%s refers to a clip that wasn't decoded!", ae));
+            return;
+        }
+        boolean ducks = ae.priority >= AudioEvent.PRIORITY_HIGH;
+        if (mixer.trigger(clipID, ae.gain, ducks)) {
+            audioQueue.recordPlayed();
+        } else {
+            // every voice is busy w/ a clip that ducks
+            Log.w(TAG, String.format("Couldn't start %s; no voice available.", ae));
+        }
+    }
 }
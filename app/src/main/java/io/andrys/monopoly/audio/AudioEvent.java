@@ -17,18 +17,62 @@ public class AudioEvent {
 
     private final String TAG = String.format("%s[%s]", this.getClass().getSimpleName(), this.getShortCode());
 
+    /** Background sounds that can be dropped first (i.e. cash dings). */
+    public static final int PRIORITY_LOW = 0;
+    public static final int PRIORITY_NORMAL = 1;
+    /** Sounds that announce something important (i.e. the jail siren). */
+    public static final int PRIORITY_HIGH = 2;
+
     int eventID;
+    // milliseconds on a monotonic clock; only meaningful relative to other events
     long ts;
     int resourceID;
+    int priority;
+    // volume; 1 plays the clip as recorded
+    float gain;
+    // arrival order, stamped by the AudioEventQueue
+    long sequence;
 
     /**
      * Creates a new event that plays the audio file specified by its raw resource ID.
      * @param resourceID
      */
     public AudioEvent(@RawRes int resourceID) {
+        this(resourceID, PRIORITY_NORMAL);
+    }
+
+    /**
+     * Creates a new event that plays the audio file specified by its raw resource ID.
+     * @param resourceID
+     * @param priority one of the PRIORITY_* constants; higher priority events are played first and dropped last
+     */
+    public AudioEvent(@RawRes int resourceID, int priority) {
+        this(resourceID, priority, 1f);
+    }
+
+    /**
+     * Creates a new event that plays the audio file specified by its raw resource ID.
+     * @param resourceID
+     * @param priority one of the PRIORITY_* constants; higher priority events are played first and dropped last
+     * @param gain volume of the clip; 1 plays it as recorded
+     */
+    public AudioEvent(@RawRes int resourceID, int priority, float gain) {
+        this(resourceID, priority, gain, System.nanoTime() / 1000000L);
+    }
+
+    AudioEvent(@RawRes int resourceID, int priority, long ts) {
+        this(resourceID, priority, 1f, ts);
+    }
+
+    AudioEvent(@RawRes int resourceID, int priority, float gain, long ts) {
+        if (gain < 0f) {
+            throw new IllegalArgumentException(String.format("Gain '%f' can't be negative!", gain));
+        }
         this.eventID = getShortCode();
-        this.ts = System.currentTimeMillis() / 1000L;
+        this.ts = ts;
         this.resourceID = resourceID;
+        this.priority = priority;
+        this.gain = gain;
     }
 
     /**
@@ -45,6 +89,8 @@ public class AudioEvent {
                 "eventID=" + eventID +
                 ", ts=" + ts +
                 ", resID=" + resourceID +
+                ", priority=" + priority +
+                ", gain=" + gain +
                 '}';
     }
 }
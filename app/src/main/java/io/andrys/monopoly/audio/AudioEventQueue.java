@@ -0,0 +1,274 @@
+package io.andrys.monopoly.audio;
+
+/**
+ * AudioEventQueue.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The bounded queue between code that wants a sound played and the AudioConsumers that play it.
+ *
+ * - Higher priority events are taken first; events of equal priority are taken in the order they arrived.
+ * - An event for a clip that was already accepted less than 'coalesceWindowMillis' ago is coalesced into
+ *   the earlier one (i.e. dropped), so a burst of identical dings plays once.
+ * - When the queue is full, the lowest priority event goes. If several are tied for lowest (counting the
+ *   new event), the {@link OverflowPolicy} picks the oldest or the newest of them.
+ *
+ * Counts of what happened to every event are kept for diagnostics (see {@link #getEnqueuedCount()} etc).
+ * Holds at most a handful of events, so every operation is a short linear scan under one lock.
+ */
+public class AudioEventQueue {
+
+    private final String TAG = this.getClass().getSimpleName();
+
+    /** Which event to drop when the queue is full and several events are tied for lowest priority. */
+    public enum OverflowPolicy {
+        /** Drop the event that's been waiting longest; stale sounds go first. */
+        DROP_OLDEST,
+        /** Drop the event that arrived last; sounds already waiting keep their place. */
+        DROP_NEWEST
+    }
+
+    private final AudioEvent[] events;
+    private int size;
+    private final OverflowPolicy policy;
+    private final long coalesceWindowMillis;
+
+    // time each clip was last accepted, for coalescing; there are only a few distinct clips
+    private int[] recentResourceIDs;
+    private long[] recentTimes;
+    private int recentCount;
+
+    // stamps events w/ their arrival order
+    private long nextSequence;
+
+    // once closed, nothing is accepted and take() stops waiting
+    private boolean closed;
+
+    private long enqueuedCount;
+    private long droppedCount;
+    private long coalescedCount;
+    private long playedCount;
+
+    /**
+     * @param capacity maximum number of events waiting at once
+     * @param policy what to drop when the queue is full
+     * @param coalesceWindowMillis events for the same clip this close together are merged; 0 disables coalescing
+     */
+    public AudioEventQueue(int capacity, OverflowPolicy policy, long coalesceWindowMillis) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException(String.format("Queue capacity '%d' must be positive!", capacity));
+        }
+        if (coalesceWindowMillis < 0) {
+            throw new IllegalArgumentException(String.format("Coalescing window '%d' can't be negative!", coalesceWindowMillis));
+        }
+        this.events = new AudioEvent[capacity];
+        this.size = 0;
+        this.policy = policy;
+        this.coalesceWindowMillis = coalesceWindowMillis;
+        this.recentResourceIDs = new int[8];
+        this.recentTimes = new long[8];
+        this.recentCount = 0;
+    }
+
+    /**
+     * Adds an event, coalescing it or dropping something if need be. Never blocks.
+     * @param ae event to add
+     * @return true if 'ae' is now waiting to be played
+     */
+    public synchronized boolean offer(AudioEvent ae) {
+        if (closed) {
+            droppedCount++;
+            return false;
+        }
+        if (isCoalesced(ae)) {
+            coalescedCount++;
+            return false;
+        }
+
+        if (size == events.length) {
+            int victim = pickVictim(ae);
+            droppedCount++;
+            if (victim == -1) {
+                // the new event is the one to drop
+                return false;
+            }
+            removeAt(victim);
+        }
+
+        ae.sequence = nextSequence++;
+        events[size++] = ae;
+        rememberAccepted(ae);
+        enqueuedCount++;
+        notifyAll();
+        return true;
+    }
+
+    // True if the same clip was accepted less than coalesceWindowMillis before 'ae' was created.
+    private boolean isCoalesced(AudioEvent ae) {
+        if (coalesceWindowMillis == 0) {
+            return false;
+        }
+        for (int i=0; i<recentCount; i++) {
+            if (recentResourceIDs[i] == ae.resourceID) {
+                return (ae.ts - recentTimes[i]) < coalesceWindowMillis;
+            }
+        }
+        return false;
+    }
+
+    private void rememberAccepted(AudioEvent ae) {
+        for (int i=0; i<recentCount; i++) {
+            if (recentResourceIDs[i] == ae.resourceID) {
+                recentTimes[i] = ae.ts;
+                return;
+            }
+        }
+        if (recentCount == recentResourceIDs.length) {
+            recentResourceIDs = Arrays.copyOf(recentResourceIDs, recentCount * 2);
+            recentTimes = Arrays.copyOf(recentTimes, recentCount * 2);
+        }
+        recentResourceIDs[recentCount] = ae.resourceID;
+        recentTimes[recentCount++] = ae.ts;
+    }
+
+    // Returns the index of the queued event to drop to make room for 'incoming', or -1 to drop 'incoming'.
+    private int pickVictim(AudioEvent incoming) {
+        int lowest = Integer.MAX_VALUE;
+        for (int i=0; i<size; i++) {
+            lowest = Math.min(lowest, events[i].priority);
+        }
+        if (incoming.priority < lowest) {
+            return -1;
+        }
+        if ((incoming.priority == lowest) && (policy == OverflowPolicy.DROP_NEWEST)) {
+            return -1;
+        }
+        // the oldest (DROP_OLDEST) or newest (DROP_NEWEST) event of the lowest priority
+        int victim = -1;
+        for (int i=0; i<size; i++) {
+            if (events[i].priority != lowest) {
+                continue;
+            }
+            if ((victim == -1)
+                    || ((policy == OverflowPolicy.DROP_OLDEST) && (events[i].sequence < events[victim].sequence))
+                    || ((policy == OverflowPolicy.DROP_NEWEST) && (events[i].sequence > events[victim].sequence))) {
+                victim = i;
+            }
+        }
+        return victim;
+    }
+
+    private AudioEvent removeAt(int i) {
+        AudioEvent ae = events[i];
+        System.arraycopy(events, i + 1, events, i, size - i - 1);
+        events[--size] = null;
+        return ae;
+    }
+
+    // Index of the highest priority event, taking the earliest of any ties.
+    private int indexOfNext() {
+        int next = 0;
+        for (int i=1; i<size; i++) {
+            if ((events[i].priority > events[next].priority)
+                    || ((events[i].priority == events[next].priority) && (events[i].sequence < events[next].sequence))) {
+                next = i;
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Removes the highest priority event, waiting for one to arrive if the queue is empty.
+     * @return next event to play, or null once the queue has been closed
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    public synchronized AudioEvent take() throws InterruptedException {
+        while ((size == 0) && !closed) {
+            wait();
+        }
+        return closed ? null : removeAt(indexOfNext());
+    }
+
+    /**
+     * Removes the highest priority event, waiting up to 'timeout' for one to arrive.
+     * @return next event to play, or null if none arrived in time
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    public synchronized AudioEvent poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while ((size == 0) && !closed) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return null;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        return closed ? null : removeAt(indexOfNext());
+    }
+
+    /**
+     * Drops every waiting event (they count as dropped).
+     */
+    public synchronized void clear() {
+        droppedCount += size;
+        while (size > 0) {
+            events[--size] = null;
+        }
+    }
+
+    /**
+     * Drops every waiting event, turns away every later one, and wakes up every thread blocked in
+     * {@link #take()} so it can exit.
+     */
+    public synchronized void close() {
+        clear();
+        closed = true;
+        notifyAll();
+    }
+
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Counts an event that was taken off this queue and actually started playing.
+     */
+    public synchronized void recordPlayed() {
+        playedCount++;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /** @return number of events accepted into the queue */
+    public synchronized long getEnqueuedCount() {
+        return enqueuedCount;
+    }
+
+    /** @return number of events thrown away because the queue was full (or cleared) */
+    public synchronized long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /** @return number of events merged into an earlier event for the same clip */
+    public synchronized long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    /** @return number of events that started playing */
+    public synchronized long getPlayedCount() {
+        return playedCount;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("AudioEventQueue{size=%d, enqueued=%d, dropped=%d, coalesced=%d, played=%d}",
+                size, enqueuedCount, droppedCount, coalescedCount, playedCount);
+    }
+}
@@ -0,0 +1,136 @@
+package io.andrys.monopoly.audio;
+
+/**
+ * AudioOutput.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+import android.media.AudioAttributes;
+import android.media.AudioFormat;
+import android.media.AudioTrack;
+import android.os.Build;
+import android.util.Log;
+
+/**
+ * Output thread used in the AudioEngine; the only thread that touches the AudioTrack.
+ *
+ * Decodes every clip, then has the AudioMixer render one block at a time into a PcmRingBuffer and drains it
+ * into a single streaming AudioTrack sized at the device's minimum buffer. A block is only mixed once the
+ * previous one has been handed to the track, so a clip triggered mid-playback waits behind at most one block
+ * (~5ms at 48kHz) plus the track's own buffer. On Android O and up the track also asks for the low latency
+ * output path, which shrinks that buffer on devices that have one. When nothing is playing the thread waits
+ * on the mixer, so it costs no CPU between sound effects.
+ */
+class AudioOutput extends Thread {
+
+    private final String TAG = this.getClass().getSimpleName();
+
+    private final AudioEngine engine;
+    private final AudioMixer mixer;
+    private final int sampleRate;
+    private final PcmRingBuffer ring;
+    private final short[] writeBuffer;
+
+    // guarded by this
+    private boolean paused;
+
+    AudioOutput(AudioEngine engine, AudioMixer mixer, int sampleRate) {
+        super("AudioOutput");
+        this.engine = engine;
+        this.mixer = mixer;
+        this.sampleRate = sampleRate;
+        // one block; bounds how far ahead of the track the mixer runs
+        this.ring = new PcmRingBuffer(mixer.getBlockFrames());
+        this.writeBuffer = new short[mixer.getBlockFrames()];
+        setDaemon(true);
+    }
+
+    @Override
+    public void run() {
+        if (!engine.loadClips()) {
+            Log.i(TAG, "Shut down before any audio was written.");
+            return;
+        }
+
+        int minBytes = AudioTrack.getMinBufferSize(sampleRate, AudioFormat.CHANNEL_OUT_MONO, AudioFormat.ENCODING_PCM_16BIT);
+        AudioTrack.Builder builder = new AudioTrack.Builder()
+                .setAudioAttributes(new AudioAttributes.Builder()
+                        .setUsage(AudioAttributes.USAGE_GAME)
+                        .setContentType(AudioAttributes.CONTENT_TYPE_SONIFICATION)
+                        .build())
+                .setAudioFormat(new AudioFormat.Builder()
+                        .setEncoding(AudioFormat.ENCODING_PCM_16BIT)
+                        .setSampleRate(sampleRate)
+                        .setChannelMask(AudioFormat.CHANNEL_OUT_MONO)
+                        .build())
+                // the smallest buffer the device allows (never less than one block, which it always is in practice)
+                .setBufferSizeInBytes(Math.max(minBytes, writeBuffer.length * 2))
+                .setTransferMode(AudioTrack.MODE_STREAM);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            builder.setPerformanceMode(AudioTrack.PERFORMANCE_MODE_LOW_LATENCY);
+        }
+        AudioTrack track;
+        try {
+            track = builder.build();
+        } catch (UnsupportedOperationException | IllegalArgumentException e) {
+            // i.e. there's no audio output on this device; the game carries on w/out sound
+            Log.e(TAG, "Couldn't create an AudioTrack; sound effects are disabled.", e);
+            return;
+        }
+        Log.v(TAG, String.format("Writing %dHz mono to a %d byte AudioTrack.", sampleRate, track.getBufferSizeInFrames() * 2));
+
+        try {
+            track.play();
+            while (!isInterrupted()) {
+                if (isPaused()) {
+                    track.pause();
+                    awaitResumed();
+                    track.play();
+                }
+                if (mixer.getActiveVoices() > 0) {
+                    // only mix the next block once the last one is on its way to the track
+                    if (ring.available() < writeBuffer.length) {
+                        mixer.renderInto(ring);
+                    }
+                } else if (ring.available() == 0) {
+                    // nothing left to play; let the track drain and sleep until the next clip starts
+                    mixer.awaitActive();
+                    continue;
+                }
+                int n = ring.read(writeBuffer, 0, writeBuffer.length);
+                // blocks until the track has room
+                track.write(writeBuffer, 0, n);
+            }
+        } catch (InterruptedException e) {
+            // shutdown() interrupts us; keep the flag set and fall through to exit
+            interrupt();
+        } finally {
+            track.stop();
+            track.release();
+        }
+        Log.i(TAG, "Finished writing audio.");
+    }
+
+    private synchronized boolean isPaused() {
+        return paused;
+    }
+
+    private synchronized void awaitResumed() throws InterruptedException {
+        while (paused) {
+            wait();
+        }
+    }
+
+    /**
+     * Stops writing to the track until {@link #resumeOutput()}; whatever was playing picks up where it left off.
+     */
+    synchronized void pauseOutput() {
+        paused = true;
+    }
+
+    synchronized void resumeOutput() {
+        paused = false;
+        notifyAll();
+    }
+}
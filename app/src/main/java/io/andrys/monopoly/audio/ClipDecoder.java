@@ -0,0 +1,121 @@
+package io.andrys.monopoly.audio;
+
+/**
+ * ClipDecoder.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.media.MediaCodec;
+import android.media.MediaExtractor;
+import android.media.MediaFormat;
+import android.support.annotation.RawRes;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.util.Arrays;
+
+/**
+ * Decodes a compressed clip in /res/raw into the mono 16-bit PCM the AudioMixer plays.
+ */
+class ClipDecoder {
+    final private static String TAG = "ClipDecoder";
+
+    // how long to wait on the codec for a buffer, in microseconds
+    private static final long TIMEOUT_US = 10000;
+
+    private ClipDecoder() {}
+
+    /**
+     * Decodes a clip. Takes a few milliseconds per second of audio, so don't call it on the UI thread.
+     * @param context used to open the resource
+     * @param resourceID identifier of an audio resource in /res/raw/
+     * @param outputRate sample rate to convert the clip to, in Hz
+     * @return mono 16-bit samples at 'outputRate'
+     * @throws IOException if the resource can't be opened or has no audio in it
+     */
+    static short[] decode(Context context, @RawRes int resourceID, int outputRate) throws IOException {
+        MediaExtractor extractor = new MediaExtractor();
+        MediaCodec codec = null;
+        try {
+            AssetFileDescriptor afd = context.getResources().openRawResourceFd(resourceID);
+            try {
+                extractor.setDataSource(afd.getFileDescriptor(), afd.getStartOffset(), afd.getLength());
+            } finally {
+                afd.close();
+            }
+
+            MediaFormat format = null;
+            for (int t=0; t<extractor.getTrackCount(); t++) {
+                MediaFormat f = extractor.getTrackFormat(t);
+                if (f.getString(MediaFormat.KEY_MIME).startsWith("audio/")) {
+                    extractor.selectTrack(t);
+                    format = f;
+                    break;
+                }
+            }
+            if (format == null) {
+                throw new IOException(String.format("Resource '%d' has no audio track!", resourceID));
+            }
+            int channels = format.getInteger(MediaFormat.KEY_CHANNEL_COUNT);
+            int sampleRate = format.getInteger(MediaFormat.KEY_SAMPLE_RATE);
+
+            codec = MediaCodec.createDecoderByType(format.getString(MediaFormat.KEY_MIME));
+            codec.configure(format, null, null, 0);
+            codec.start();
+
+            // room for about a second to start w/
+            short[] pcm = new short[sampleRate * channels];
+            int count = 0;
+            MediaCodec.BufferInfo info = new MediaCodec.BufferInfo();
+            boolean inputDone = false;
+            boolean outputDone = false;
+            while (!outputDone) {
+                if (!inputDone) {
+                    int in = codec.dequeueInputBuffer(TIMEOUT_US);
+                    if (in >= 0) {
+                        int size = extractor.readSampleData(codec.getInputBuffer(in), 0);
+                        if (size < 0) {
+                            codec.queueInputBuffer(in, 0, 0, 0, MediaCodec.BUFFER_FLAG_END_OF_STREAM);
+                            inputDone = true;
+                        } else {
+                            codec.queueInputBuffer(in, 0, size, extractor.getSampleTime(), 0);
+                            extractor.advance();
+                        }
+                    }
+                }
+
+                int out = codec.dequeueOutputBuffer(info, TIMEOUT_US);
+                if (out >= 0) {
+                    ByteBuffer bytes = codec.getOutputBuffer(out);
+                    bytes.position(info.offset);
+                    bytes.limit(info.offset + info.size);
+                    ShortBuffer samples = bytes.slice().order(ByteOrder.nativeOrder()).asShortBuffer();
+                    int n = samples.remaining();
+                    if (count + n > pcm.length) {
+                        pcm = Arrays.copyOf(pcm, Math.max(pcm.length * 2, count + n));
+                    }
+                    samples.get(pcm, count, n);
+                    count += n;
+                    codec.releaseOutputBuffer(out, false);
+                    outputDone = (info.flags & MediaCodec.BUFFER_FLAG_END_OF_STREAM) != 0;
+                } else if (out == MediaCodec.INFO_OUTPUT_FORMAT_CHANGED) {
+                    MediaFormat decoded = codec.getOutputFormat();
+                    channels = decoded.getInteger(MediaFormat.KEY_CHANNEL_COUNT);
+                    sampleRate = decoded.getInteger(MediaFormat.KEY_SAMPLE_RATE);
+                }
+            }
+            return PcmUtils.toMono(pcm, count, channels, sampleRate, outputRate);
+        } finally {
+            if (codec != null) {
+                codec.stop();
+                codec.release();
+            }
+            extractor.release();
+        }
+    }
+}
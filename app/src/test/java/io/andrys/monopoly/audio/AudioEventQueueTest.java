@@ -0,0 +1,185 @@
+package io.andrys.monopoly.audio;
+
+/**
+ * AudioEventQueueTest.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class AudioEventQueueTest {
+
+    private static final int DICE = 1;
+    private static final int DING = 2;
+    private static final int SIREN = 3;
+    private static final int FREED = 4;
+
+    private static AudioEvent event(int resourceID, int priority, long ts) {
+        return new AudioEvent(resourceID, priority, ts);
+    }
+
+    @Test
+    public void higherPriorityIsTakenFirst() throws InterruptedException {
+        AudioEventQueue q = new AudioEventQueue(4, AudioEventQueue.OverflowPolicy.DROP_OLDEST, 0);
+        AudioEvent ding = event(DING, AudioEvent.PRIORITY_LOW, 0);
+        AudioEvent dice = event(DICE, AudioEvent.PRIORITY_NORMAL, 1);
+        AudioEvent siren = event(SIREN, AudioEvent.PRIORITY_HIGH, 2);
+        q.offer(ding);
+        q.offer(dice);
+        q.offer(siren);
+
+        assertSame(siren, q.take());
+        assertSame(dice, q.take());
+        assertSame(ding, q.take());
+        assertEquals(0, q.size());
+    }
+
+    @Test
+    public void equalPriorityIsFirstInFirstOut() throws InterruptedException {
+        AudioEventQueue q = new AudioEventQueue(4, AudioEventQueue.OverflowPolicy.DROP_OLDEST, 0);
+        AudioEvent first = event(DICE, AudioEvent.PRIORITY_NORMAL, 0);
+        AudioEvent second = event(FREED, AudioEvent.PRIORITY_NORMAL, 0);
+        AudioEvent third = event(DICE, AudioEvent.PRIORITY_NORMAL, 0);
+        q.offer(first);
+        q.offer(second);
+        q.offer(third);
+
+        assertSame(first, q.take());
+        assertSame(second, q.take());
+        assertSame(third, q.take());
+    }
+
+    @Test
+    public void repeatsWithinWindowAreCoalesced() {
+        AudioEventQueue q = new AudioEventQueue(8, AudioEventQueue.OverflowPolicy.DROP_OLDEST, 100);
+        assertTrue(q.offer(event(DING, AudioEvent.PRIORITY_LOW, 1000)));
+        assertFalse(q.offer(event(DING, AudioEvent.PRIORITY_LOW, 1050)));
+        // a different clip isn't affected
+        assertTrue(q.offer(event(DICE, AudioEvent.PRIORITY_NORMAL, 1060)));
+        // the window is measured from the last accepted event, not the last coalesced one
+        assertTrue(q.offer(event(DING, AudioEvent.PRIORITY_LOW, 1100)));
+
+        assertEquals(3, q.size());
+        assertEquals(3, q.getEnqueuedCount());
+        assertEquals(1, q.getCoalescedCount());
+        assertEquals(0, q.getDroppedCount());
+    }
+
+    @Test
+    public void dropOldestEvictsOldestOfLowestPriority() throws InterruptedException {
+        AudioEventQueue q = new AudioEventQueue(3, AudioEventQueue.OverflowPolicy.DROP_OLDEST, 0);
+        AudioEvent oldDing = event(DING, AudioEvent.PRIORITY_LOW, 0);
+        AudioEvent dice = event(DICE, AudioEvent.PRIORITY_NORMAL, 1);
+        AudioEvent newDing = event(DING, AudioEvent.PRIORITY_LOW, 2);
+        AudioEvent lateDing = event(DING, AudioEvent.PRIORITY_LOW, 3);
+        q.offer(oldDing);
+        q.offer(dice);
+        q.offer(newDing);
+
+        assertTrue(q.offer(lateDing));
+        assertEquals(1, q.getDroppedCount());
+        assertSame(dice, q.take());
+        assertSame(newDing, q.take());
+        assertSame(lateDing, q.take());
+    }
+
+    @Test
+    public void dropNewestRejectsIncomingTie() throws InterruptedException {
+        AudioEventQueue q = new AudioEventQueue(2, AudioEventQueue.OverflowPolicy.DROP_NEWEST, 0);
+        AudioEvent first = event(DICE, AudioEvent.PRIORITY_NORMAL, 0);
+        AudioEvent second = event(FREED, AudioEvent.PRIORITY_NORMAL, 1);
+        q.offer(first);
+        q.offer(second);
+
+        assertFalse(q.offer(event(DICE, AudioEvent.PRIORITY_NORMAL, 2)));
+        assertEquals(1, q.getDroppedCount());
+        assertSame(first, q.take());
+        assertSame(second, q.take());
+    }
+
+    @Test
+    public void higherPriorityAlwaysMakesRoom() throws InterruptedException {
+        for (AudioEventQueue.OverflowPolicy policy : AudioEventQueue.OverflowPolicy.values()) {
+            AudioEventQueue q = new AudioEventQueue(2, policy, 0);
+            AudioEvent ding = event(DING, AudioEvent.PRIORITY_LOW, 0);
+            AudioEvent dice = event(DICE, AudioEvent.PRIORITY_NORMAL, 1);
+            AudioEvent siren = event(SIREN, AudioEvent.PRIORITY_HIGH, 2);
+            q.offer(ding);
+            q.offer(dice);
+
+            assertTrue(q.offer(siren));
+            assertSame(siren, q.take());
+            assertSame(dice, q.take());
+            assertEquals(0, q.size());
+        }
+    }
+
+    @Test
+    public void lowerPriorityIsDroppedWhenFull() {
+        AudioEventQueue q = new AudioEventQueue(1, AudioEventQueue.OverflowPolicy.DROP_OLDEST, 0);
+        q.offer(event(SIREN, AudioEvent.PRIORITY_HIGH, 0));
+
+        assertFalse(q.offer(event(DING, AudioEvent.PRIORITY_LOW, 1)));
+        assertEquals(1, q.getEnqueuedCount());
+        assertEquals(1, q.getDroppedCount());
+    }
+
+    @Test
+    public void pollTimesOutWhenEmpty() throws InterruptedException {
+        AudioEventQueue q = new AudioEventQueue(1, AudioEventQueue.OverflowPolicy.DROP_OLDEST, 0);
+        assertNull(q.poll(1, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void countersTrackEveryEvent() {
+        AudioEventQueue q = new AudioEventQueue(2, AudioEventQueue.OverflowPolicy.DROP_OLDEST, 50);
+        q.offer(event(DICE, AudioEvent.PRIORITY_NORMAL, 0));
+        q.offer(event(DICE, AudioEvent.PRIORITY_NORMAL, 10));
+        q.offer(event(DING, AudioEvent.PRIORITY_LOW, 20));
+        q.offer(event(FREED, AudioEvent.PRIORITY_NORMAL, 30));
+        q.recordPlayed();
+        q.clear();
+
+        assertEquals(3, q.getEnqueuedCount());
+        assertEquals(1, q.getCoalescedCount());
+        // the ding made room for FREED, then clear() threw away the other two
+        assertEquals(3, q.getDroppedCount());
+        assertEquals(1, q.getPlayedCount());
+        assertEquals(0, q.size());
+    }
+
+    @Test
+    public void closeReleasesBlockedTakers() throws InterruptedException {
+        final AudioEventQueue q = new AudioEventQueue(2, AudioEventQueue.OverflowPolicy.DROP_OLDEST, 0);
+        final AudioEvent[] taken = new AudioEvent[1];
+        taken[0] = event(DICE, AudioEvent.PRIORITY_NORMAL, 0);
+        Thread taker = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    taken[0] = q.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        taker.start();
+        q.close();
+        taker.join(1000);
+
+        assertFalse(taker.isAlive());
+        assertNull(taken[0]);
+        assertTrue(q.isClosed());
+        assertFalse(q.offer(event(DING, AudioEvent.PRIORITY_LOW, 1)));
+        assertEquals(1, q.getDroppedCount());
+    }
+}
@@ -0,0 +1,90 @@
+package io.andrys.monopoly.benchmarks;
+
+/**
+ * AudioMixerBenchmark.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import io.andrys.monopoly.audio.AudioMixer;
+import io.andrys.monopoly.audio.PcmRingBuffer;
+
+/**
+ * Mixing one block of audio, which the output thread does every few milliseconds while a sound effect plays.
+ * The voices are restarted whenever their clip runs out, so 'activeVoices' are always playing; one voice
+ * ducks the others when 'ducking' is set.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AudioMixerBenchmark {
+
+    private static final int VOICES = 4;
+    // ~1.4s at 48kHz
+    private static final int CLIP_FRAMES = 1 << 16;
+
+    @Param({"1", "4"})
+    public int activeVoices;
+
+    @Param({"false", "true"})
+    public boolean ducking;
+
+    private AudioMixer mixer;
+    private int clipID;
+    private short[] out;
+    private PcmRingBuffer ring;
+    private short[] drain;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(1);
+        short[] clip = new short[CLIP_FRAMES];
+        for (int i=0; i<clip.length; i++) {
+            clip[i] = (short) (random.nextInt(16384) - 8192);
+        }
+        mixer = new AudioMixer(VOICES);
+        clipID = mixer.addClip(clip);
+        triggerVoices();
+        out = new short[mixer.getBlockFrames()];
+        ring = new PcmRingBuffer(1024);
+        drain = new short[mixer.getBlockFrames()];
+    }
+
+    // every voice starts together, so they all run out together
+    private void triggerVoices() {
+        for (int v=0; v<activeVoices; v++) {
+            mixer.trigger(clipID, 0.8f, ducking && (v == 0));
+        }
+    }
+
+    @Benchmark
+    public short[] renderBlock() {
+        if (mixer.getActiveVoices() == 0) {
+            triggerVoices();
+        }
+        mixer.render(out, 0, out.length);
+        return out;
+    }
+
+    @Benchmark
+    public int renderIntoRing() {
+        if (mixer.getActiveVoices() == 0) {
+            triggerVoices();
+        }
+        int n = mixer.renderInto(ring);
+        ring.read(drain, 0, drain.length);
+        return n;
+    }
+}
@@ -0,0 +1,103 @@
+package io.andrys.monopoly.benchmarks;
+
+/**
+ * BenchmarkFixtures.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+
+import io.andrys.monopoly.Board;
+import io.andrys.monopoly.GameContext;
+import io.andrys.monopoly.Player;
+import io.andrys.monopoly.Property;
+import io.andrys.monopoly.PropertyBuilder;
+import io.andrys.monopoly.PropertyManager;
+import io.andrys.monopoly.XoroshiroDiceSource;
+
+/**
+ * Shared setup for the benchmarks: a mid-game board w/ three players and most properties owned.
+ */
+public final class BenchmarkFixtures {
+
+    public static final int TOKEN_A = 1;
+    public static final int TOKEN_B = 2;
+    public static final int TOKEN_C = 3;
+
+    /** Park Place and Boardwalk; both owned by token A. */
+    public static final int[] MONOPOLY_POSITIONS = {37, 39};
+    /** Unowned property positions. */
+    public static final int[] UNOWNED_POSITIONS = {1, 3, 6};
+
+    private static ArrayList<Property> properties = null;
+
+    private BenchmarkFixtures() {}
+
+    /**
+     * @return every property on the board, parsed once and shared by all fixtures
+     */
+    public static synchronized ArrayList<Property> properties() {
+        if (properties == null) {
+            properties = PropertyBuilder.loadProperties();
+        }
+        return properties;
+    }
+
+    /**
+     * Builds a PropertyManager where token A holds the dark blue monopoly, token B holds every railroad,
+     * token C holds both utilities, the remaining streets are dealt out round-robin, and a few are unowned.
+     * @return PropertyManager
+     */
+    public static PropertyManager midGamePropertyManager() {
+        PropertyManager pm = new PropertyManager(properties());
+        int[] tokens = {TOKEN_A, TOKEN_B, TOKEN_C};
+        int next = 0;
+        for (Property p : properties()) {
+            int pos = p.getPosition();
+            if (contains(UNOWNED_POSITIONS, pos)) {
+                continue;
+            }
+            int owner;
+            if (contains(MONOPOLY_POSITIONS, pos)) {
+                owner = TOKEN_A;
+            } else if (pos % 10 == 5) {
+                owner = TOKEN_B;
+            } else if ((pos == 12) || (pos == 28)) {
+                owner = TOKEN_C;
+            } else {
+                owner = tokens[next++ % tokens.length];
+            }
+            pm.assignPropertyToOwner(pos, owner);
+        }
+        return pm;
+    }
+
+    /**
+     * Builds a GameContext over {@link #midGamePropertyManager()} w/ player A active and the dice already rolled.
+     * @param seed seed for the dice
+     * @return GameContext
+     */
+    public static GameContext midGameContext(long seed) {
+        Board board = new Board(new XoroshiroDiceSource(seed));
+        ArrayDeque<Player> players = new ArrayDeque<>();
+        Player a = new Player("A", TOKEN_A, 0xFF000000);
+        players.add(new Player("B", TOKEN_B, 0xFF000000));
+        players.add(new Player("C", TOKEN_C, 0xFF000000));
+        board.addPlayerToken(TOKEN_A);
+        board.addPlayerToken(TOKEN_B);
+        board.addPlayerToken(TOKEN_C);
+        board.rollDice();
+        return new GameContext(board.getDiceValues(), a, players, board, midGamePropertyManager());
+    }
+
+    private static boolean contains(int[] values, int v) {
+        for (int x : values) {
+            if (x == v) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,52 @@
+package io.andrys.monopoly.benchmarks;
+
+/**
+ * BoardBenchmark.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+import io.andrys.monopoly.Board;
+
+/**
+ * Token movement and space lookups; both run at least once for every roll.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BoardBenchmark {
+
+    private Board board;
+    private int position;
+
+    @Setup
+    public void setup() {
+        board = new Board();
+        board.addPlayerToken(BenchmarkFixtures.TOKEN_A);
+        board.addPlayerToken(BenchmarkFixtures.TOKEN_B);
+        position = 0;
+    }
+
+    @Benchmark
+    public int incrementTokenPosition() {
+        // 7 is coprime w/ 40, so the token visits every space
+        board.incrementTokenPosition(BenchmarkFixtures.TOKEN_B, 7);
+        return board.getTokenPosition(BenchmarkFixtures.TOKEN_B);
+    }
+
+    @Benchmark
+    public Board.SpaceType getSpaceTypeForPosition() {
+        position = (position + 7) % 40;
+        return board.getSpaceTypeForPosition(position);
+    }
+}
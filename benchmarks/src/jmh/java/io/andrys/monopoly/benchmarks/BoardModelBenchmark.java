@@ -0,0 +1,97 @@
+package io.andrys.monopoly.benchmarks;
+
+/**
+ * BoardModelBenchmark.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+import io.andrys.monopoly.BoardGeometry;
+import io.andrys.monopoly.BoardModel;
+
+/**
+ * The board view's work for each move, each house and each frame, on boards w/ more and more houses built.
+ * Every benchmark runs the {@link BoardModel} that BoardView delegates to: 'moveToken' and 'buildHouse'
+ * are the calls it makes before it invalidates, 'frame' is the draw list its onDraw paints from (w/ a
+ * token halfway through a slide), and 'layout' runs once per size change.
+ *
+ * Painting the draw list needs a device and isn't measured here.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BoardModelBenchmark {
+
+    private static final int[] STREET_POSITIONS = {
+            1, 3, 6, 8, 9, 11, 13, 14, 16, 18, 19, 21, 23, 24, 26, 27, 29, 31, 32, 34, 37, 39
+    };
+    private static final int NUM_TOKENS = 4;
+    private static final int OWNER_COLOR = 0x4BFF0000;
+
+    // houses on the board; 88 is four on every street
+    @Param({"0", "32", "88"})
+    public int houses;
+
+    private final BoardModel model = new BoardModel();
+    private final int[] tokenPositions = new int[NUM_TOKENS];
+    private int nextStreet;
+    private int nextToken;
+
+    @Setup
+    public void setup() {
+        model.layout(1080f, 1080f, 19f, 27f);
+        int remaining = houses;
+        for (int i=0; i<STREET_POSITIONS.length; i++) {
+            int built = Math.min(BoardGeometry.MAX_HOUSES, remaining);
+            model.setProperty(STREET_POSITIONS[i], OWNER_COLOR, built);
+            remaining -= built;
+        }
+        for (int t=0; t<NUM_TOKENS; t++) {
+            model.addToken(t);
+        }
+        model.moveToken(0, 7, true);
+        model.setMoveFraction(0.5f);
+    }
+
+    @Benchmark
+    public int moveToken() {
+        nextToken = (nextToken + 1) % NUM_TOKENS;
+        // 7 is coprime w/ 40, so every token visits every space
+        int position = (tokenPositions[nextToken] + 7) % BoardGeometry.NUM_POSITIONS;
+        tokenPositions[nextToken] = position;
+        model.moveToken(nextToken, position, true);
+        return position;
+    }
+
+    @Benchmark
+    public int buildHouse() {
+        nextStreet = (nextStreet + 1) % STREET_POSITIONS.length;
+        int position = STREET_POSITIONS[nextStreet];
+        // build up to a hotel and back down, so the board stays as developed as it started on average
+        int level = (model.getDevelopmentLevel(position) + 1) % (BoardModel.HOTEL_LEVEL + 1);
+        model.setProperty(position, OWNER_COLOR, level);
+        return level;
+    }
+
+    @Benchmark
+    public int frame() {
+        return model.buildFrame();
+    }
+
+    @Benchmark
+    public boolean layout() {
+        model.layout(1080f, 1080f, 19f, 27f);
+        return model.isLaidOut();
+    }
+}
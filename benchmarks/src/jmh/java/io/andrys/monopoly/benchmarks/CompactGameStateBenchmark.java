@@ -0,0 +1,57 @@
+package io.andrys.monopoly.benchmarks;
+
+/**
+ * CompactGameStateBenchmark.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+import io.andrys.monopoly.CompactGameState;
+import io.andrys.monopoly.GameContext;
+
+/**
+ * Cost of branching a game: copying a CompactGameState vs. capturing or rebuilding the object graph.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CompactGameStateBenchmark {
+
+    private GameContext gc;
+    private CompactGameState source;
+    private CompactGameState target;
+
+    @Setup
+    public void setup() {
+        gc = BenchmarkFixtures.midGameContext(42L);
+        source = CompactGameState.capture(gc);
+        target = source.copy();
+    }
+
+    @Benchmark
+    public CompactGameState copyFrom() {
+        target.copyFrom(source);
+        return target;
+    }
+
+    @Benchmark
+    public CompactGameState readFrom() {
+        target.readFrom(gc);
+        return target;
+    }
+
+    @Benchmark
+    public GameContext toGameContext() {
+        return source.toGameContext(BenchmarkFixtures.properties());
+    }
+}
@@ -0,0 +1,70 @@
+package io.andrys.monopoly.benchmarks;
+
+/**
+ * DiceBenchmark.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import io.andrys.monopoly.Board;
+import io.andrys.monopoly.XoroshiroDiceSource;
+
+/**
+ * Dice rolls; every turn of a simulated game makes at least one. Compares java.util.Random (what the
+ * dice used to roll from) w/ XoroshiroDiceSource, one roll at a time and in batches.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DiceBenchmark {
+
+    private static final int BATCH = 256;
+
+    private Random random;
+    private XoroshiroDiceSource xoroshiro;
+    private Board board;
+    private int[] faces;
+
+    @Setup
+    public void setup() {
+        random = new Random(1);
+        xoroshiro = new XoroshiroDiceSource(1);
+        board = new Board(new XoroshiroDiceSource(1));
+        faces = new int[BATCH];
+    }
+
+    @Benchmark
+    public int randomNextInt() {
+        return random.nextInt(6) + 1;
+    }
+
+    @Benchmark
+    public int xoroshiroNextFace() {
+        return xoroshiro.nextFace();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int[] xoroshiroFill() {
+        xoroshiro.fill(faces, 0, BATCH);
+        return faces;
+    }
+
+    @Benchmark
+    public int boardRollDice() {
+        board.rollDice();
+        return board.getDiceSum();
+    }
+}
@@ -0,0 +1,121 @@
+package io.andrys.monopoly.benchmarks;
+
+/**
+ * LevenshteinUtilsBenchmark.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+import com.robinhood.ticker.LevenshteinUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Column diffing in the ticker, which runs every time a balance on the score table changes. The
+ * '_buffered' variants reuse their scratch space and action array the way TickerColumnManager does,
+ * and should allocate nothing (see the gc profiler's alloc.rate.norm). The 'inPlace' variants are
+ * the check TickerColumnManager runs first, which spares same-width updates the full pass.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LevenshteinUtilsBenchmark {
+
+    private Set<Character> supported;
+    private long[] supportedBits;
+    private LevenshteinUtils.Scratch scratch;
+    private int[] actions;
+
+    // a typical rent payment: same width, a couple of digits change
+    private char[] sameLengthSource;
+    private char[] sameLengthTarget;
+    // crossing a power of ten adds a column
+    private char[] lengthChangeSource;
+    private char[] lengthChangeTarget;
+    // the score table's format: a rent payment, then a $200 pass of Go
+    private char[] rentSource;
+    private char[] rentTarget;
+    private char[] goSource;
+    private char[] goTarget;
+
+    @Setup
+    public void setup() {
+        supported = new HashSet<>();
+        for (char c : "0123456789".toCharArray()) {
+            supported.add(c);
+        }
+        supportedBits = LevenshteinUtils.toCharacterBitSet(supported);
+        scratch = new LevenshteinUtils.Scratch();
+        actions = new int[32];
+        sameLengthSource = "$2,500".toCharArray();
+        sameLengthTarget = "$2,350".toCharArray();
+        lengthChangeSource = "$950".toCharArray();
+        lengthChangeTarget = "$1,150".toCharArray();
+        rentSource = "$1500".toCharArray();
+        rentTarget = "$1450".toCharArray();
+        goSource = "$1286".toCharArray();
+        goTarget = "$1486".toCharArray();
+    }
+
+    @Benchmark
+    public int[] computeColumnActions_sameLength() {
+        return LevenshteinUtils.computeColumnActions(sameLengthSource, sameLengthTarget, supported);
+    }
+
+    @Benchmark
+    public int[] computeColumnActions_lengthChange() {
+        return LevenshteinUtils.computeColumnActions(lengthChangeSource, lengthChangeTarget, supported);
+    }
+
+    @Benchmark
+    public int computeColumnActions_sameLength_buffered() {
+        return LevenshteinUtils.computeColumnActions(sameLengthSource, sameLengthSource.length,
+                sameLengthTarget, sameLengthTarget.length, supportedBits, scratch, actions);
+    }
+
+    @Benchmark
+    public int computeColumnActions_lengthChange_buffered() {
+        return LevenshteinUtils.computeColumnActions(lengthChangeSource, lengthChangeSource.length,
+                lengthChangeTarget, lengthChangeTarget.length, supportedBits, scratch, actions);
+    }
+
+    @Benchmark
+    public int computeColumnActions_rent_buffered() {
+        return LevenshteinUtils.computeColumnActions(rentSource, rentSource.length,
+                rentTarget, rentTarget.length, supportedBits, scratch, actions);
+    }
+
+    @Benchmark
+    public boolean isInPlaceUpdate_rent() {
+        return LevenshteinUtils.isInPlaceUpdate(rentSource, rentSource.length,
+                rentTarget, rentTarget.length, supportedBits);
+    }
+
+    @Benchmark
+    public int computeColumnActions_go_buffered() {
+        return LevenshteinUtils.computeColumnActions(goSource, goSource.length,
+                goTarget, goTarget.length, supportedBits, scratch, actions);
+    }
+
+    @Benchmark
+    public boolean isInPlaceUpdate_go() {
+        return LevenshteinUtils.isInPlaceUpdate(goSource, goSource.length,
+                goTarget, goTarget.length, supportedBits);
+    }
+
+    @Benchmark
+    public boolean isInPlaceUpdate_sameLength() {
+        return LevenshteinUtils.isInPlaceUpdate(sameLengthSource, sameLengthSource.length,
+                sameLengthTarget, sameLengthTarget.length, supportedBits);
+    }
+}
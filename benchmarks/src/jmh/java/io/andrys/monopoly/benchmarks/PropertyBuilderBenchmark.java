@@ -0,0 +1,79 @@
+package io.andrys.monopoly.benchmarks;
+
+/**
+ * PropertyBuilderBenchmark.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import io.andrys.monopoly.Property;
+import io.andrys.monopoly.PropertyBuilder;
+import io.andrys.monopoly.PropertyTable;
+
+/**
+ * Loading the property table, which happens once per game (and once per simulated game).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PropertyBuilderBenchmark {
+
+    private String propertyJSON;
+    private byte[] propertyTable;
+
+    @Setup
+    public void setup() throws IOException {
+        InputStream in = PropertyBuilder.class.getResourceAsStream("/property_data.json");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buf = new byte[4096];
+        int n;
+        while ((n = in.read(buf)) != -1) {
+            out.write(buf, 0, n);
+        }
+        in.close();
+        propertyJSON = out.toString("UTF-8");
+
+        out.reset();
+        PropertyTable.write(PropertyBuilder.loadProperties(propertyJSON), out);
+        propertyTable = out.toByteArray();
+    }
+
+    /** Reads the bundled resource: the compiled table when it's on the classpath, otherwise the JSON. */
+    @Benchmark
+    public ArrayList<Property> loadProperties() {
+        return PropertyBuilder.loadProperties();
+    }
+
+    /** Parses JSON that's already in memory, like the app does after reading res/raw. */
+    @Benchmark
+    public ArrayList<Property> loadPropertiesFromString() {
+        return PropertyBuilder.loadProperties(propertyJSON);
+    }
+
+    /** Reads the JSON resource, skipping the compiled table. */
+    @Benchmark
+    public ArrayList<Property> loadPropertiesFromJSONResource() {
+        return PropertyBuilder.loadPropertiesFromJSONResource();
+    }
+
+    /** Decodes a compiled table that's already in memory. */
+    @Benchmark
+    public ArrayList<Property> readPropertyTable() throws IOException {
+        return PropertyTable.read(new ByteArrayInputStream(propertyTable));
+    }
+}
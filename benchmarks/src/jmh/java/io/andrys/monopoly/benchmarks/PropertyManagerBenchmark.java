@@ -0,0 +1,78 @@
+package io.andrys.monopoly.benchmarks;
+
+/**
+ * PropertyManagerBenchmark.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+import io.andrys.monopoly.PropertyManager;
+import io.andrys.monopoly.exceptions.UnownedPropertyException;
+
+/**
+ * Ownership queries, which the rent calculations and the roll state make on every landing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PropertyManagerBenchmark {
+
+    private PropertyManager pm;
+    private int position;
+    private int[] snapshot = new int[40];
+
+    @Setup
+    public void setup() {
+        pm = BenchmarkFixtures.midGamePropertyManager();
+        position = 0;
+    }
+
+    @Benchmark
+    public boolean isPropertyOwned() {
+        // sweeps every position, including ones w/ no property
+        position = (position + 7) % 40;
+        return pm.isPropertyOwned(position);
+    }
+
+    @Benchmark
+    public int getPropertyOwner_owned() throws UnownedPropertyException {
+        return pm.getPropertyOwner(BenchmarkFixtures.MONOPOLY_POSITIONS[0]);
+    }
+
+    @Benchmark
+    public int ownerOrNone() {
+        position = (position + 7) % 40;
+        return pm.ownerOrNone(position);
+    }
+
+    @Benchmark
+    public int[] ownerSnapshot() {
+        return pm.ownerSnapshot(snapshot);
+    }
+
+    @Benchmark
+    public int getRentDue() {
+        position = (position + 7) % 40;
+        return pm.getRentDue(position, 7);
+    }
+
+    /** The bank owns this one, so every call throws; ownerOrNone() is the cheap way to ask. */
+    @Benchmark
+    public int getPropertyOwner_unowned() {
+        try {
+            return pm.getPropertyOwner(BenchmarkFixtures.UNOWNED_POSITIONS[0]);
+        } catch (UnownedPropertyException e) {
+            return -1;
+        }
+    }
+}
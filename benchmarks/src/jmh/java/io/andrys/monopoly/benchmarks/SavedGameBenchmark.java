@@ -0,0 +1,72 @@
+package io.andrys.monopoly.benchmarks;
+
+/**
+ * SavedGameBenchmark.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+import io.andrys.monopoly.Board;
+import io.andrys.monopoly.HeadlessGame;
+import io.andrys.monopoly.Player;
+import io.andrys.monopoly.PropertyManager;
+import io.andrys.monopoly.SavedGame;
+import io.andrys.monopoly.SimplePlayerStrategy;
+import io.andrys.monopoly.XoroshiroDiceSource;
+
+/**
+ * Saving and resuming a game that's 200 turns in. resume covers everything the activity does on a cold
+ * start before drawing: parsing the save and rebuilding the game into the right state.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SavedGameBenchmark {
+
+    private HeadlessGame game;
+    private byte[] saveBytes;
+    private ByteArrayOutputStream out;
+
+    @Setup
+    public void setup() throws IOException {
+        ArrayDeque<Player> players = new ArrayDeque<>();
+        players.add(new Player("A", BenchmarkFixtures.TOKEN_A, 0xFF000000));
+        players.add(new Player("B", BenchmarkFixtures.TOKEN_B, 0xFF000000));
+        players.add(new Player("C", BenchmarkFixtures.TOKEN_C, 0xFF000000));
+        game = new HeadlessGame(players, new Board(new XoroshiroDiceSource(42L)),
+                new PropertyManager(BenchmarkFixtures.properties()), new SimplePlayerStrategy());
+        game.start();
+        game.playTurns(200);
+
+        out = new ByteArrayOutputStream(1024);
+        game.save().writeTo(out);
+        saveBytes = out.toByteArray();
+    }
+
+    @Benchmark
+    public int save() throws IOException {
+        out.reset();
+        game.save().writeTo(out);
+        return out.size();
+    }
+
+    @Benchmark
+    public HeadlessGame resume() throws IOException {
+        SavedGame saved = SavedGame.readFrom(new ByteArrayInputStream(saveBytes));
+        return HeadlessGame.resume(saved, BenchmarkFixtures.properties(), new SimplePlayerStrategy());
+    }
+}
@@ -0,0 +1,101 @@
+package io.andrys.monopoly.benchmarks;
+
+/**
+ * TickerAnimationClockBenchmark.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+import com.robinhood.ticker.TickerAnimationClock;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One animation frame of the score table w/ every row's balance animating at once. 'shared' is one
+ * clock driving every row from a single frame callback; 'perView' gives each row its own clock and
+ * callback, the way a per-view animator does. Each frame's time is 16ms after the last, and a row
+ * restarts its animation when it ends, so the rows never run out.
+ *
+ * Only the clock's bookkeeping is measured here; the Choreographer and drawing costs it saves on a
+ * device aren't.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TickerAnimationClockBenchmark {
+
+    private static final long FRAME_NANOS = 16000000L;
+    // the score table's balance animation
+    private static final long DURATION_MILLIS = 500;
+
+    @Param({"4", "8", "16"})
+    public int rows;
+
+    private BenchmarkClock shared;
+    private BenchmarkClock[] perView;
+    private long frameTime;
+
+    @Setup
+    public void setup() {
+        shared = new BenchmarkClock();
+        perView = new BenchmarkClock[rows];
+        for (int i=0; i<rows; i++) {
+            // stagger the rows so they don't all restart on the same frame
+            shared.start(new Row(shared), i * 10, DURATION_MILLIS);
+            perView[i] = new BenchmarkClock();
+            perView[i].start(new Row(perView[i]), i * 10, DURATION_MILLIS);
+        }
+    }
+
+    @Benchmark
+    public float shared() {
+        frameTime += FRAME_NANOS;
+        shared.doFrame(frameTime);
+        return shared.progress;
+    }
+
+    @Benchmark
+    public float perView() {
+        frameTime += FRAME_NANOS;
+        float progress = 0;
+        for (BenchmarkClock clock : perView) {
+            clock.doFrame(frameTime);
+            progress += clock.progress;
+        }
+        return progress;
+    }
+
+    private static class BenchmarkClock extends TickerAnimationClock {
+        float progress;
+
+        @Override
+        protected void scheduleFrame() {
+            // frames are driven by the benchmark
+        }
+    }
+
+    private static class Row implements TickerAnimationClock.Client {
+        private final BenchmarkClock clock;
+
+        Row(BenchmarkClock clock) {
+            this.clock = clock;
+        }
+
+        @Override
+        public void onAnimationFrame(float fraction) {
+            clock.progress += fraction;
+            if (fraction == 1f) {
+                clock.start(this, 0, DURATION_MILLIS);
+            }
+        }
+    }
+}
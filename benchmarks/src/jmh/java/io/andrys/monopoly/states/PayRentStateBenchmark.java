@@ -0,0 +1,74 @@
+package io.andrys.monopoly.states;
+
+/**
+ * PayRentStateBenchmark.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+import io.andrys.monopoly.GameContext;
+import io.andrys.monopoly.GameEngine;
+import io.andrys.monopoly.HeadlessGameView;
+import io.andrys.monopoly.RailroadProperty;
+import io.andrys.monopoly.StreetProperty;
+import io.andrys.monopoly.UtilityProperty;
+import io.andrys.monopoly.benchmarks.BenchmarkFixtures;
+
+/**
+ * Rent calculations for each kind of property. This lives in the states package because the
+ * calculate*Rent methods are package-private.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PayRentStateBenchmark {
+
+    private PayRentState state;
+    private StreetProperty monopolyStreet;
+    private StreetProperty plainStreet;
+    private RailroadProperty railroad;
+    private UtilityProperty utility;
+    private int plainStreetOwner;
+
+    @Setup
+    public void setup() throws Exception {
+        GameContext gc = BenchmarkFixtures.midGameContext(42L);
+        state = new PayRentState(new GameEngine(new HeadlessGameView()), gc);
+
+        monopolyStreet = (StreetProperty) gc.pm.inspectProperty(BenchmarkFixtures.MONOPOLY_POSITIONS[1]);
+        plainStreet = (StreetProperty) gc.pm.inspectProperty(11);
+        plainStreetOwner = gc.pm.getPropertyOwner(11);
+        railroad = (RailroadProperty) gc.pm.inspectProperty(5);
+        utility = (UtilityProperty) gc.pm.inspectProperty(12);
+    }
+
+    @Benchmark
+    public int calculateStreetRent_monopoly() {
+        return state.calculateStreetRent(BenchmarkFixtures.TOKEN_A, monopolyStreet);
+    }
+
+    @Benchmark
+    public int calculateStreetRent_plain() {
+        return state.calculateStreetRent(plainStreetOwner, plainStreet);
+    }
+
+    @Benchmark
+    public int calculateRailroadRent() {
+        return state.calculateRailroadRent(BenchmarkFixtures.TOKEN_B, railroad);
+    }
+
+    @Benchmark
+    public int calculateUtilityRent() {
+        return state.calculateUtilityRent(BenchmarkFixtures.TOKEN_C, utility);
+    }
+}
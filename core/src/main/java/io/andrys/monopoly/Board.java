@@ -1,15 +1,6 @@
 package io.andrys.monopoly;
 
-import android.content.Context;
-import android.util.Log;
-import android.util.SparseArray;
-import android.util.SparseIntArray;
-import android.widget.Space;
-
-import java.util.ArrayDeque;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 
 /**
  * Board.java // Monopoly
@@ -39,18 +30,31 @@ public class Board {
     public final int POSITION_JAIL = 10;
     public final int POSITION_BOARDWALK = 39;
 
-    /** Keeps track of each token's position on the board by its tokenID. */
-    private SparseIntArray tokenPositionMap;
+    /** Keeps track of each token's position on the board, indexed by tokenID. Tokens not on the board hold -1. */
+    private int[] tokenPositionMap;
     /** Mapping of each position on the board to its SpaceType. */
-    private SparseArray<SpaceType> positionTypeMap;
+    private SpaceType[] positionTypeMap;
 
+    private DiceSource diceSource;
     private Die d1;
     private Die d2;
 
+    // records token moves and dice rolls while non-null (see GameJournal#record)
+    GameJournal journal;
+
     public Board() {
-        this.d1 = new Die();
-        this.d2 = new Die();
-        this.tokenPositionMap = new SparseIntArray();
+        this(new XoroshiroDiceSource());
+    }
+
+    /**
+     * Creates a board whose dice both roll from 'source'. Seed the source to replay the same game.
+     * @param source source of die faces; only this board should use it
+     */
+    public Board(DiceSource source) {
+        this.diceSource = source;
+        this.d1 = new Die(source);
+        this.d2 = new Die(source);
+        this.tokenPositionMap = new int[0];
         this.positionTypeMap = buildSpaceTypeMap();
     }
 
@@ -61,39 +65,39 @@ public class Board {
     /**
      * Constructs the (board position -> SpaceType) mapping which contains one element each of the 40 spaces on the board.
      * Use this to determine what kind of space a token has landed on in O(1).
-     * @return SparseArray<SpaceType> positionTypeMap
+     * @return SpaceType[] positionTypeMap
      */
-    private SparseArray<SpaceType> buildSpaceTypeMap() {
-        SparseArray<SpaceType> positionTypeMap = new SparseArray<>(NUM_BOARD_POSITIONS);
+    private SpaceType[] buildSpaceTypeMap() {
+        SpaceType[] positionTypeMap = new SpaceType[NUM_BOARD_POSITIONS];
 
         // iterate over each non-property category position to determine which type to assign each position.
         for (int i=0; i<NUM_BOARD_POSITIONS; i++) {
             if (Arrays.binarySearch(POSITIONS_CHANCE, i) >= 0) {
-                positionTypeMap.append(i, SpaceType.CHANCE);
+                positionTypeMap[i] = SpaceType.CHANCE;
             } else if (Arrays.binarySearch(POSITIONS_CCHEST, i) >= 0) {
-                positionTypeMap.append(i, SpaceType.COMMUNITY_CHEST);
+                positionTypeMap[i] = SpaceType.COMMUNITY_CHEST;
             } else if (Arrays.binarySearch(POSITIONS_TAX, i) >= 0) {
                 if (i == 4) {
-                    positionTypeMap.append(i, SpaceType.INCOME_TAX);
+                    positionTypeMap[i] = SpaceType.INCOME_TAX;
                 } else {
-                    positionTypeMap.append(i, SpaceType.LUXURY_TAX);
+                    positionTypeMap[i] = SpaceType.LUXURY_TAX;
                 }
             } else if (Arrays.binarySearch(POSITIONS_CORNER, i) >= 0) {
                 // I tried as hard as I could to eliminate magic numbers here
                 //  w/out adding unnecessary bulk to this class but I just couldn't swing it
                 if (i == 0) {
-                    positionTypeMap.append(i, SpaceType.GO);
+                    positionTypeMap[i] = SpaceType.GO;
                 } else if (i == 10) {
-                    positionTypeMap.append(i, SpaceType.JAIL);
+                    positionTypeMap[i] = SpaceType.JAIL;
                 } else if (i == 20) {
-                    positionTypeMap.append(i, SpaceType.FREE_PARKING);
+                    positionTypeMap[i] = SpaceType.FREE_PARKING;
                 } else if (i == 30) {
-                    positionTypeMap.append(i, SpaceType.GO_TO_JAIL);
+                    positionTypeMap[i] = SpaceType.GO_TO_JAIL;
                 }
             }
             // values not caught already are definitely properties.
             else {
-                positionTypeMap.append(i, SpaceType.PROPERTY);
+                positionTypeMap[i] = SpaceType.PROPERTY;
             }
         }
         return positionTypeMap;
@@ -104,10 +108,44 @@ public class Board {
      * @param tokenID
      */
     public void addPlayerToken(int tokenID) {
-        if (tokenPositionMap.get(tokenID, -1) != -1) {
+        if (tokenID < 0) {
+            throw new IllegalArgumentException(String.format("TokenID '%d' is invalid; token IDs must be non-negative!", tokenID));
+        }
+        if (lookupTokenPosition(tokenID) != -1) {
             throw new IllegalArgumentException(String.format("TokenID '%d' already exists in this game; each player must use a different token!", tokenID));
         }
-        tokenPositionMap.append(tokenID, 0);
+        // grow the position map so it can be indexed by this token
+        if (tokenID >= tokenPositionMap.length) {
+            int oldLength = tokenPositionMap.length;
+            tokenPositionMap = Arrays.copyOf(tokenPositionMap, tokenID + 1);
+            Arrays.fill(tokenPositionMap, oldLength, tokenPositionMap.length, -1);
+        }
+        tokenPositionMap[tokenID] = 0;
+        if (journal != null) {
+            journal.append(GameJournal.TOKEN_POSITION, tokenID, 0);
+        }
+    }
+
+    /**
+     * Takes a token off of this board (i.e. its player has gone bankrupt).
+     * @param tokenID id of token to remove
+     */
+    public void removePlayerToken(int tokenID) {
+        if (lookupTokenPosition(tokenID) == -1) {
+            throw new IllegalArgumentException(String.format("TokenID '%d' does not exist on this board!", tokenID));
+        }
+        tokenPositionMap[tokenID] = -1;
+        if (journal != null) {
+            journal.append(GameJournal.TOKEN_POSITION, tokenID, -1);
+        }
+    }
+
+    // Returns the position of a token, or -1 if the token is not on this board.
+    int lookupTokenPosition(int tokenID) {
+        if ((tokenID < 0) || (tokenID >= tokenPositionMap.length)) {
+            return -1;
+        }
+        return tokenPositionMap[tokenID];
     }
 
 
@@ -119,11 +157,14 @@ public class Board {
      */
     public void incrementTokenPosition(int tokenID, int p) {
         if (p >= 0) {
-            int currentPos = tokenPositionMap.get(tokenID, -1);
+            int currentPos = lookupTokenPosition(tokenID);
             if (currentPos != -1) {
                 int newPos = (currentPos + p) % 40;
                 // replace the existing tokenID -> pos mapping w/ this one, which has the updated position as its value.
-                tokenPositionMap.put(tokenID, newPos);
+                tokenPositionMap[tokenID] = newPos;
+                if (journal != null) {
+                    journal.append(GameJournal.TOKEN_POSITION, tokenID, newPos);
+                }
             } else {
                 // token does not exist on the board; complain and do nothing
                 throw new IllegalArgumentException(String.format("TokenID '%d' does not exist on this board!", tokenID));
@@ -142,9 +183,12 @@ public class Board {
         if ((p < 0) || (p > 39)) {
             throw new IllegalArgumentException(String.format("'%d' is an invalid board position! A valid board position is in [0,39].", p));
         } else {
-            int currentPos = tokenPositionMap.get(tokenID, -1);
+            int currentPos = lookupTokenPosition(tokenID);
             if (currentPos != -1) {
-                tokenPositionMap.put(tokenID, p);
+                tokenPositionMap[tokenID] = p;
+                if (journal != null) {
+                    journal.append(GameJournal.TOKEN_POSITION, tokenID, p);
+                }
             } else {
                 throw new IllegalArgumentException(String.format("TokenID '%d' does not exist on this board!", tokenID));
             }
@@ -157,7 +201,7 @@ public class Board {
      * @return
      */
     public int getTokenPosition(int tokenID) {
-        int pos = tokenPositionMap.get(tokenID, -1);
+        int pos = lookupTokenPosition(tokenID);
         if (pos == -1) {
             throw new IllegalArgumentException(String.format("TokenID '%d' does not exist on this board!", tokenID));
         }
@@ -173,13 +217,44 @@ public class Board {
         if ((p < 0) || (p > 39)) {
             throw new IllegalArgumentException(String.format("'%d' is an invalid board position! A valid board position is in [0,39].", p));
         } else {
-            return positionTypeMap.get(p);
+            return positionTypeMap[p];
         }
     }
 
     public void rollDice() {
         d1.roll();
         d2.roll();
+        if (journal != null) {
+            journal.append(GameJournal.DICE, d1.value, d2.value);
+        }
+    }
+
+    // Puts the dice back the way they were (i.e. when restoring a saved game).
+    void setDiceValues(int[] values) {
+        d1.value = values[0];
+        d2.value = values[1];
+        if (journal != null) {
+            journal.append(GameJournal.DICE, d1.value, d2.value);
+        }
+    }
+
+    /**
+     * Rolls many pairs of dice at once w/out touching the dice on the board; out[2i] and out[2i+1] are the
+     * values of the i'th roll. Handy for simulations that want their rolls up front.
+     * @param out array to fill; must have an even length
+     */
+    public void rollDiceBatch(int[] out) {
+        if ((out.length % 2) != 0) {
+            throw new IllegalArgumentException(String.format("Can't fill pairs of dice into an array of length %d!", out.length));
+        }
+        diceSource.fill(out, 0, out.length);
+    }
+
+    /**
+     * @return the DiceSource this board's dice roll from
+     */
+    public DiceSource getDiceSource() {
+        return diceSource;
     }
 
     public int[] getDiceValues() {
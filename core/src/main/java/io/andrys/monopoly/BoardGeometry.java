@@ -0,0 +1,243 @@
+package io.andrys.monopoly;
+
+/**
+ * BoardGeometry.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+/**
+ * Where everything on the board is drawn: the bounds of every tile, the slots its houses and hotel go in,
+ * and the spot tokens stand on, all in pixels and indexed by board position.
+ *
+ * The board is 37 units square: two 5-unit corners and nine 3-unit tiles along each side, the same
+ * proportions the board's images are cut to. {@link #layout(float, float, float, float)} works out every
+ * position at once, so nothing needs to be measured again until the board is resized; looking anything up
+ * afterwards is an array read.
+ *
+ * Has no Android dependencies, so the board view, tests and benchmarks all share it.
+ */
+public class BoardGeometry {
+    private final String TAG = this.getClass().getSimpleName();
+
+    public static final int NUM_POSITIONS = 40;
+    public static final int MAX_HOUSES = 4;
+
+    // Board sides; corners count as part of the side they start
+    public static final int SIDE_BOTTOM = 0;
+    public static final int SIDE_LEFT = 1;
+    public static final int SIDE_TOP = 2;
+    public static final int SIDE_RIGHT = 3;
+
+    // Proportions of the board, in units
+    private static final int BOARD_UNITS = 37;
+    private static final int CORNER_UNITS = 5;
+    private static final int TILE_UNITS = 3;
+
+    // How far across the colored stripe houses sit; the stripe runs along each tile's inner edge
+    private static final float HOUSE_STRIPE_BIAS = 0.05f;
+
+    // Every rect is stored as 4 floats: left, top, right, bottom
+    private final float[] tileRects = new float[NUM_POSITIONS * 4];
+    private final float[] houseRects = new float[NUM_POSITIONS * MAX_HOUSES * 4];
+    private final float[] hotelRects = new float[NUM_POSITIONS * 4];
+    private final float[] centers = new float[NUM_POSITIONS * 2];
+    private static final int[] SIDES = new int[NUM_POSITIONS];
+
+    static {
+        for (int p=0; p<NUM_POSITIONS; p++) {
+            if (p <= 10) {
+                SIDES[p] = SIDE_BOTTOM;
+            } else if (p <= 20) {
+                SIDES[p] = SIDE_LEFT;
+            } else if (p <= 30) {
+                SIDES[p] = SIDE_TOP;
+            } else {
+                SIDES[p] = SIDE_RIGHT;
+            }
+        }
+    }
+
+    private float width;
+    private float height;
+
+    /**
+     * @param position A valid board position in [0,39]
+     * @return one of the SIDE_* constants
+     */
+    public static int sideOf(int position) {
+        checkPosition(position);
+        return SIDES[position];
+    }
+
+    /**
+     * Works out where everything on the board goes. Call whenever the board changes size.
+     * @param width width of the board in pixels
+     * @param height height of the board in pixels
+     * @param houseSize width and height of a house or hotel in pixels
+     * @param houseSpacing gap between neighboring houses in pixels
+     */
+    public void layout(float width, float height, float houseSize, float houseSpacing) {
+        if ((width <= 0) || (height <= 0)) {
+            throw new IllegalArgumentException(String.format("Can't lay out a %.1fx%.1f board!", width, height));
+        }
+        this.width = width;
+        this.height = height;
+        final float ux = width / BOARD_UNITS;
+        final float uy = height / BOARD_UNITS;
+
+        for (int p=0; p<NUM_POSITIONS; p++) {
+            // tile bounds in units, going counter-clockwise from Go in the bottom right corner
+            int l, t, r, b;
+            switch (SIDES[p]) {
+                case SIDE_BOTTOM:
+                    t = BOARD_UNITS - CORNER_UNITS;
+                    b = BOARD_UNITS;
+                    if (p == 0) {
+                        l = BOARD_UNITS - CORNER_UNITS;
+                        r = BOARD_UNITS;
+                    } else if (p == 10) {
+                        l = 0;
+                        r = CORNER_UNITS;
+                    } else {
+                        l = BOARD_UNITS - CORNER_UNITS - TILE_UNITS * p;
+                        r = l + TILE_UNITS;
+                    }
+                    break;
+                case SIDE_LEFT:
+                    l = 0;
+                    r = CORNER_UNITS;
+                    if (p == 20) {
+                        t = 0;
+                        b = CORNER_UNITS;
+                    } else {
+                        t = BOARD_UNITS - CORNER_UNITS - TILE_UNITS * (p - 10);
+                        b = t + TILE_UNITS;
+                    }
+                    break;
+                case SIDE_TOP:
+                    t = 0;
+                    b = CORNER_UNITS;
+                    if (p == 30) {
+                        l = BOARD_UNITS - CORNER_UNITS;
+                        r = BOARD_UNITS;
+                    } else {
+                        l = CORNER_UNITS + TILE_UNITS * (p - 21);
+                        r = l + TILE_UNITS;
+                    }
+                    break;
+                default:
+                    l = BOARD_UNITS - CORNER_UNITS;
+                    r = BOARD_UNITS;
+                    t = CORNER_UNITS + TILE_UNITS * (p - 31);
+                    b = t + TILE_UNITS;
+                    break;
+            }
+            final float left = l * ux;
+            final float top = t * uy;
+            final float right = r * ux;
+            final float bottom = b * uy;
+            setRect(tileRects, p, left, top, right, bottom);
+            centers[p * 2] = (left + right) / 2f;
+            centers[p * 2 + 1] = (top + bottom) / 2f;
+            layoutHouses(p, left, top, right, bottom, houseSize, houseSpacing);
+        }
+    }
+
+    // Houses line up along the colored stripe starting from its left (or top) end, and a hotel sits in the middle of it
+    private void layoutHouses(int p, float left, float top, float right, float bottom, float size, float spacing) {
+        final int side = SIDES[p];
+        final boolean horizontal = (side == SIDE_BOTTOM) || (side == SIDE_TOP);
+        // distance from the tile's edge to the stripe's row of houses
+        final float across = horizontal ? (bottom - top - size) : (right - left - size);
+        final float inset;
+        if ((side == SIDE_BOTTOM) || (side == SIDE_RIGHT)) {
+            // the stripe is on the top/left edge
+            inset = across * HOUSE_STRIPE_BIAS;
+        } else {
+            inset = across * (1f - HOUSE_STRIPE_BIAS);
+        }
+        final float rowLength = MAX_HOUSES * size + (MAX_HOUSES - 1) * spacing;
+        final float tileLength = horizontal ? (right - left) : (bottom - top);
+        final float start = Math.max(0f, (tileLength - rowLength) / 2f);
+
+        for (int h=0; h<MAX_HOUSES; h++) {
+            final float along = start + h * (size + spacing);
+            final int index = p * MAX_HOUSES + h;
+            if (horizontal) {
+                setRect(houseRects, index, left + along, top + inset, left + along + size, top + inset + size);
+            } else {
+                setRect(houseRects, index, left + inset, top + along, left + inset + size, top + along + size);
+            }
+        }
+        final float middle = (tileLength - size) / 2f;
+        if (horizontal) {
+            setRect(hotelRects, p, left + middle, top + inset, left + middle + size, top + inset + size);
+        } else {
+            setRect(hotelRects, p, left + inset, top + middle, left + inset + size, top + middle + size);
+        }
+    }
+
+    private static void setRect(float[] rects, int index, float left, float top, float right, float bottom) {
+        final int i = index * 4;
+        rects[i] = left;
+        rects[i + 1] = top;
+        rects[i + 2] = right;
+        rects[i + 3] = bottom;
+    }
+
+    /**
+     * @throws IllegalArgumentException if 'position' isn't a position on the board
+     */
+    public static void checkPosition(int position) {
+        if ((position < 0) || (position >= NUM_POSITIONS)) {
+            throw new IllegalArgumentException(String.format("No tile exists at position '%d'!", position));
+        }
+    }
+
+    public float getWidth() {
+        return width;
+    }
+
+    public float getHeight() {
+        return height;
+    }
+
+    /**
+     * @return the bounds of every tile as [left, top, right, bottom] runs, 4 floats per position; don't modify it
+     */
+    public float[] getTileRects() {
+        return tileRects;
+    }
+
+    /**
+     * @return the bounds of every house slot, 4 floats per slot and {@link #MAX_HOUSES} slots per position,
+     *         in the order houses are built; don't modify it
+     */
+    public float[] getHouseRects() {
+        return houseRects;
+    }
+
+    /**
+     * @return the bounds of every position's hotel, 4 floats per position; don't modify it
+     */
+    public float[] getHotelRects() {
+        return hotelRects;
+    }
+
+    /**
+     * @return the x coordinate of the middle of a tile, where tokens stand
+     */
+    public float getCenterX(int position) {
+        checkPosition(position);
+        return centers[position * 2];
+    }
+
+    /**
+     * @return the y coordinate of the middle of a tile, where tokens stand
+     */
+    public float getCenterY(int position) {
+        checkPosition(position);
+        return centers[position * 2 + 1];
+    }
+}
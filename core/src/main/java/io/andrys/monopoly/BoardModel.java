@@ -0,0 +1,274 @@
+package io.andrys.monopoly;
+
+/**
+ * BoardModel.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+import java.util.Arrays;
+
+/**
+ * Everything the board view draws, minus the images: an owner color and a level of development for each
+ * position, a position for each token, and the token that's sliding between spaces, if any.
+ *
+ * {@link #buildFrame()} turns the model into a draw list, one op per image or tint in the order they're
+ * painted, w/ the pixel bounds of each already worked out from the {@link BoardGeometry}. The view only
+ * has to walk the list and paint. Updating the model is an array write, so its cost doesn't depend on how
+ * developed the board is; a frame grows only w/ the houses it draws.
+ *
+ * Has no Android dependencies, so the board view and the benchmarks run the same code.
+ */
+public class BoardModel {
+    public static final int HOTEL_LEVEL = 5;
+    public static final int NO_OWNER = 0;
+
+    // Draw ops; each takes OP_SIZE ints in the draw list: op, argument, left, top, right, bottom
+    public static final int OP_TILE = 0;     // argument: board position
+    public static final int OP_TINT = 1;     // argument: ARGB color
+    public static final int OP_HOUSE = 2;    // argument: board position
+    public static final int OP_HOTEL = 3;    // argument: board position
+    public static final int OP_TOKEN = 4;    // argument: token index
+    public static final int OP_SIZE = 6;
+
+    // every tile, a tint and a hotel or up to four houses on each, and a handful of tokens
+    private static final int INITIAL_OPS = BoardGeometry.NUM_POSITIONS * (2 + BoardGeometry.MAX_HOUSES) + 8;
+
+    private final BoardGeometry geometry = new BoardGeometry();
+    private float tokenSize;
+
+    // Board model, indexed by position
+    private final int[] ownerColors = new int[BoardGeometry.NUM_POSITIONS];
+    private final int[] developmentLevels = new int[BoardGeometry.NUM_POSITIONS];
+
+    // Tokens, in the order they were added
+    private int tokenCount;
+    private int[] tokenIDs = new int[4];
+    private int[] tokenPositions = new int[4];
+
+    // The token that's currently moving; only one token moves at a time
+    private int movingIndex = -1;
+    private int movingFrom;
+    private float movingFraction;
+
+    private int[] drawList = new int[INITIAL_OPS * OP_SIZE];
+
+    /**
+     * Works out where everything goes. Call whenever the board changes size.
+     * @param width width of the board in pixels
+     * @param height height of the board in pixels
+     * @param houseSize width and height of a house or hotel in pixels
+     * @param tokenSize width and height of a token in pixels
+     */
+    public void layout(float width, float height, float houseSize, float tokenSize) {
+        geometry.layout(width, height, houseSize, 0f);
+        this.tokenSize = tokenSize;
+    }
+
+    /**
+     * @return true once {@link #layout(float, float, float, float)} has been called
+     */
+    public boolean isLaidOut() {
+        return geometry.getWidth() > 0;
+    }
+
+    /**
+     * Tints a property w/ its owner's color and sets how many houses it has.
+     * @param position board position of the property
+     * @param ownerColor ARGB color to tint the tile w/, or {@link #NO_OWNER} if nobody owns it
+     * @param levelOfDevelopment 0 for no houses, 1-4 for that many houses and 5 for a hotel
+     */
+    public void setProperty(int position, int ownerColor, int levelOfDevelopment) {
+        BoardGeometry.checkPosition(position);
+        if ((levelOfDevelopment < 0) || (levelOfDevelopment > HOTEL_LEVEL)) {
+            throw new IllegalArgumentException(String.format("Can't draw level of development '%d' at position '%d'!", levelOfDevelopment, position));
+        }
+        ownerColors[position] = ownerColor;
+        developmentLevels[position] = levelOfDevelopment;
+    }
+
+    /**
+     * @return the level of development drawn at a position
+     */
+    public int getDevelopmentLevel(int position) {
+        BoardGeometry.checkPosition(position);
+        return developmentLevels[position];
+    }
+
+    /**
+     * Places a new token on Go.
+     * @param tokenID id of the new token
+     * @return the new token's index, which it keeps until a token before it is removed
+     */
+    public int addToken(int tokenID) {
+        if (indexOfToken(tokenID) != -1) {
+            throw new IllegalStateException(String.format("Token '%d' is already on the board!", tokenID));
+        }
+        if (tokenCount == tokenIDs.length) {
+            tokenIDs = Arrays.copyOf(tokenIDs, tokenCount * 2);
+            tokenPositions = Arrays.copyOf(tokenPositions, tokenCount * 2);
+        }
+        tokenIDs[tokenCount] = tokenID;
+        tokenPositions[tokenCount] = 0;
+        return tokenCount++;
+    }
+
+    /**
+     * Takes a token off the board; tokens after it move down one index. Stops it first if it's moving.
+     * @return the index the token had, or -1 if it wasn't on the board
+     */
+    public int removeToken(int tokenID) {
+        int index = indexOfToken(tokenID);
+        if (index == -1) {
+            return -1;
+        }
+        if (index == movingIndex) {
+            movingIndex = -1;
+        } else if (movingIndex > index) {
+            movingIndex--;
+        }
+        int remaining = tokenCount - index - 1;
+        System.arraycopy(tokenIDs, index + 1, tokenIDs, index, remaining);
+        System.arraycopy(tokenPositions, index + 1, tokenPositions, index, remaining);
+        tokenCount--;
+        return index;
+    }
+
+    /**
+     * Puts a token on a new position and starts it sliding there from where it was; advance the slide w/
+     * {@link #setMoveFraction(float)}. Whatever token was moving before is dropped where it was headed.
+     * @param tokenID id of the token to move
+     * @param position board position in [0,39]
+     * @param animate false to put the token straight on 'position'
+     */
+    public void moveToken(int tokenID, int position, boolean animate) {
+        BoardGeometry.checkPosition(position);
+        int index = indexOfToken(tokenID);
+        if (index == -1) {
+            throw new IllegalArgumentException(String.format("Token '%d' isn't on the board!", tokenID));
+        }
+        movingFrom = tokenPositions[index];
+        tokenPositions[index] = position;
+        movingIndex = animate ? index : -1;
+        movingFraction = 0f;
+    }
+
+    /**
+     * @param fraction how far the moving token is along its slide, in [0,1]
+     */
+    public void setMoveFraction(float fraction) {
+        movingFraction = fraction;
+    }
+
+    /**
+     * Ends the current slide, leaving the token where it was headed.
+     * @return the index of the token that was moving, or -1 if none was
+     */
+    public int finishMove() {
+        int index = movingIndex;
+        movingIndex = -1;
+        return index;
+    }
+
+    /**
+     * @return the index of the token that's moving, or -1 if none is
+     */
+    public int getMovingIndex() {
+        return movingIndex;
+    }
+
+    public int getTokenCount() {
+        return tokenCount;
+    }
+
+    public int getTokenID(int index) {
+        return tokenIDs[index];
+    }
+
+    public int getTokenPosition(int index) {
+        return tokenPositions[index];
+    }
+
+    private int indexOfToken(int tokenID) {
+        for (int i=0; i<tokenCount; i++) {
+            if (tokenIDs[i] == tokenID) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Fills the draw list (see {@link #getDrawList()}) w/ everything on the board, bottom layer first:
+     * each tile followed by its tint and buildings, then the tokens.
+     * @return number of ops in the draw list
+     */
+    public int buildFrame() {
+        if (!isLaidOut()) {
+            return 0;
+        }
+        int needed = (BoardGeometry.NUM_POSITIONS * (2 + BoardGeometry.MAX_HOUSES) + tokenCount) * OP_SIZE;
+        if (drawList.length < needed) {
+            drawList = new int[needed];
+        }
+        final float[] tiles = geometry.getTileRects();
+        final float[] houses = geometry.getHouseRects();
+        final float[] hotels = geometry.getHotelRects();
+        int ops = 0;
+        for (int p=0; p<BoardGeometry.NUM_POSITIONS; p++) {
+            ops = putRect(ops, OP_TILE, p, tiles, p);
+            if (ownerColors[p] != NO_OWNER) {
+                ops = putRect(ops, OP_TINT, ownerColors[p], tiles, p);
+            }
+            int level = developmentLevels[p];
+            if (level == HOTEL_LEVEL) {
+                ops = putRect(ops, OP_HOTEL, p, hotels, p);
+            } else {
+                for (int h=0; h<level; h++) {
+                    ops = putRect(ops, OP_HOUSE, p, houses, p * BoardGeometry.MAX_HOUSES + h);
+                }
+            }
+        }
+
+        final int half = Math.round(tokenSize / 2f);
+        for (int t=0; t<tokenCount; t++) {
+            int to = tokenPositions[t];
+            float x = geometry.getCenterX(to);
+            float y = geometry.getCenterY(to);
+            if (t == movingIndex) {
+                // slide in a straight line from where the token started
+                float fromX = geometry.getCenterX(movingFrom);
+                float fromY = geometry.getCenterY(movingFrom);
+                x = fromX + (x - fromX) * movingFraction;
+                y = fromY + (y - fromY) * movingFraction;
+            }
+            int cx = Math.round(x);
+            int cy = Math.round(y);
+            ops = put(ops, OP_TOKEN, t, cx - half, cy - half, cx + half, cy + half);
+        }
+        return ops;
+    }
+
+    private int putRect(int op, int code, int argument, float[] rects, int index) {
+        int i = index * 4;
+        return put(op, code, argument, Math.round(rects[i]), Math.round(rects[i + 1]), Math.round(rects[i + 2]), Math.round(rects[i + 3]));
+    }
+
+    private int put(int op, int code, int argument, int left, int top, int right, int bottom) {
+        int i = op * OP_SIZE;
+        drawList[i] = code;
+        drawList[i + 1] = argument;
+        drawList[i + 2] = left;
+        drawList[i + 3] = top;
+        drawList[i + 4] = right;
+        drawList[i + 5] = bottom;
+        return op + 1;
+    }
+
+    /**
+     * @return the ops written by the last {@link #buildFrame()}, {@link #OP_SIZE} ints each; don't modify it
+     */
+    public int[] getDrawList() {
+        return drawList;
+    }
+}
@@ -0,0 +1,346 @@
+package io.andrys.monopoly;
+
+/**
+ * CompactGameState.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * The whole state of a game in a handful of primitive arrays, instead of the Player, Board and
+ * PropertyManager object graph that GameContext points at.
+ *
+ * Per-player arrays are indexed by seat, w/ seats in turn order; per-position arrays are indexed by
+ * board position. Copying one CompactGameState into another ({@link #copyFrom(CompactGameState)}) is a
+ * few System.arraycopy calls and allocates nothing, which makes it cheap to branch a game for search or
+ * to reset a simulation.
+ *
+ * The existing states still run on GameContexts; use {@link #capture(GameContext)} and
+ * {@link #toGameContext(ArrayList)} to move between the two.
+ */
+public class CompactGameState {
+    private final String TAG = this.getClass().getSimpleName();
+
+    public static final int NUM_POSITIONS = 40;
+
+    // seat metadata; never changes during a game, so copies share these arrays
+    private final String[] names;
+    private final int[] colors;
+
+    // per seat
+    public final int[] tokens;
+    public final int[] balances;
+    public final int[] positions;
+    public final boolean[] inJail;
+    public final int[] jailCards;
+
+    // per board position
+    public final int[] owners;
+    public final int[] developmentLevels;
+    public final boolean[] mortgaged;
+
+    public final int[] diceValues;
+    /** Seat of the player whose turn it is. */
+    public int activeSeat;
+
+    /**
+     * Creates an empty state for 'numPlayers' players; fill it in w/ {@link #readFrom(GameContext)} or
+     * {@link #copyFrom(CompactGameState)}.
+     * @param names display name of each seat's player, in turn order
+     * @param colors color of each seat's player, in turn order
+     */
+    public CompactGameState(String[] names, int[] colors) {
+        if (names.length != colors.length) {
+            throw new IllegalArgumentException(String.format("Got %d names but %d colors!", names.length, colors.length));
+        }
+        int numPlayers = names.length;
+        this.names = names;
+        this.colors = colors;
+        this.tokens = new int[numPlayers];
+        this.balances = new int[numPlayers];
+        this.positions = new int[numPlayers];
+        this.inJail = new boolean[numPlayers];
+        this.jailCards = new int[numPlayers];
+        this.owners = new int[NUM_POSITIONS];
+        this.developmentLevels = new int[NUM_POSITIONS];
+        this.mortgaged = new boolean[NUM_POSITIONS];
+        this.diceValues = new int[2];
+        this.activeSeat = 0;
+    }
+
+    /**
+     * Builds a CompactGameState from a GameContext. The active player takes seat 0 and the rest follow
+     * in turn order. Before the game has started (no active player yet), the first player in line takes seat 0.
+     * @param gc GameContext to copy
+     * @return a new CompactGameState
+     */
+    public static CompactGameState capture(GameContext gc) {
+        int numPlayers = countPlayers(gc);
+        String[] names = new String[numPlayers];
+        int[] colors = new int[numPlayers];
+        int seat = 0;
+        if (gc.activePlayer != null) {
+            names[seat] = gc.activePlayer.getName();
+            colors[seat++] = gc.activePlayer.getOpaqueColor();
+        }
+        for (Player p : gc.players) {
+            names[seat] = p.getName();
+            colors[seat++] = p.getOpaqueColor();
+        }
+        CompactGameState state = new CompactGameState(names, colors);
+        state.readFrom(gc);
+        return state;
+    }
+
+    /**
+     * Overwrites this state w/ the contents of a GameContext that has the same number of players.
+     * The active player takes seat 0 and the rest follow in turn order.
+     * @param gc GameContext to copy
+     */
+    public void readFrom(GameContext gc) {
+        if (countPlayers(gc) != tokens.length) {
+            throw new IllegalArgumentException(String.format("Can't read a %d player game into a %d player state!", countPlayers(gc), tokens.length));
+        }
+        int seat = 0;
+        if (gc.activePlayer != null) {
+            readPlayer(seat++, gc.activePlayer, gc.board);
+        }
+        for (Player p : gc.players) {
+            readPlayer(seat++, p, gc.board);
+        }
+        gc.pm.ownerSnapshot(owners);
+        gc.pm.developmentSnapshot(developmentLevels);
+        gc.pm.mortgageSnapshot(mortgaged);
+        int[] dice = gc.board.getDiceValues();
+        diceValues[0] = dice[0];
+        diceValues[1] = dice[1];
+        activeSeat = 0;
+    }
+
+    private static int countPlayers(GameContext gc) {
+        return gc.players.size() + ((gc.activePlayer != null) ? 1 : 0);
+    }
+
+    private void readPlayer(int seat, Player p, Board board) {
+        tokens[seat] = p.getToken();
+        balances[seat] = p.getBalance();
+        // -1 until NewGameState puts the token on the board
+        positions[seat] = board.lookupTokenPosition(p.getToken());
+        inJail[seat] = p.isInJail();
+        jailCards[seat] = p.getGetOutOfJailFreeCount();
+    }
+
+    /**
+     * Builds a new GameContext (w/ its own Players, Board and PropertyManager) that matches this state,
+     * so the existing GameStates can pick up where this state leaves off. Seats whose position is -1 (players
+     * who've gone bankrupt) are left out of the game.
+     * @param properties every purchasable Property on the board
+     * @return a new GameContext whose active player is the one in {@link #activeSeat}, or the next seat in
+     *         turn order if that player has gone bankrupt
+     * @throws IllegalStateException if every seat has gone bankrupt
+     */
+    public GameContext toGameContext(ArrayList<Property> properties) {
+        Board board = new Board();
+        PropertyManager pm = new PropertyManager(properties);
+        ArrayDeque<Player> players = new ArrayDeque<>(tokens.length);
+        Player active = null;
+
+        // rebuild the players starting from the active seat so the deque ends up in turn order
+        for (int i=0; i<tokens.length; i++) {
+            int seat = (activeSeat + i) % tokens.length;
+            if (positions[seat] < 0) {
+                continue;
+            }
+            Player p = new Player(names[seat], tokens[seat], colors[seat]);
+            p.addToBalance(balances[seat] - p.getBalance());
+            p.setIsInJail(inJail[seat]);
+            for (int c=0; c<jailCards[seat]; c++) {
+                p.addGetOutOfJailFree();
+            }
+            board.addPlayerToken(tokens[seat]);
+            board.setTokenPosition(tokens[seat], positions[seat]);
+            // the active seat's player may have just gone bankrupt; play passes to the next one still in
+            if (active == null) {
+                active = p;
+            } else {
+                players.add(p);
+            }
+        }
+        if (active == null) {
+            throw new IllegalStateException("Every player in this state has gone bankrupt!");
+        }
+        board.setDiceValues(diceValues);
+
+        for (int pos=0; pos<NUM_POSITIONS; pos++) {
+            if (owners[pos] != PropertyAssignment.NO_OWNER) {
+                pm.assignPropertyToOwner(pos, owners[pos]);
+            }
+            if (developmentLevels[pos] > 0) {
+                pm.updateDevelopmentLevelAtPosition(pos, developmentLevels[pos]);
+            }
+            if (mortgaged[pos]) {
+                pm.updateMortgagedAtPosition(pos, true);
+            }
+        }
+        return new GameContext(diceValues.clone(), active, players, board, pm);
+    }
+
+    /**
+     * Overwrites this state w/ another one for the same players. Allocates nothing.
+     * @param other state to copy
+     */
+    public void copyFrom(CompactGameState other) {
+        if (other.tokens.length != tokens.length) {
+            throw new IllegalArgumentException(String.format("Can't copy a %d player state into a %d player state!", other.tokens.length, tokens.length));
+        }
+        int n = tokens.length;
+        System.arraycopy(other.tokens, 0, tokens, 0, n);
+        System.arraycopy(other.balances, 0, balances, 0, n);
+        System.arraycopy(other.positions, 0, positions, 0, n);
+        System.arraycopy(other.inJail, 0, inJail, 0, n);
+        System.arraycopy(other.jailCards, 0, jailCards, 0, n);
+        System.arraycopy(other.owners, 0, owners, 0, NUM_POSITIONS);
+        System.arraycopy(other.developmentLevels, 0, developmentLevels, 0, NUM_POSITIONS);
+        System.arraycopy(other.mortgaged, 0, mortgaged, 0, NUM_POSITIONS);
+        System.arraycopy(other.diceValues, 0, diceValues, 0, 2);
+        activeSeat = other.activeSeat;
+    }
+
+    /**
+     * Writes this state in a compact binary form; read it back w/ {@link #read(DataInput)}.
+     * @param out destination
+     * @throws IOException if 'out' can't be written to
+     */
+    public void write(DataOutput out) throws IOException {
+        out.writeByte(tokens.length);
+        for (int seat=0; seat<tokens.length; seat++) {
+            out.writeUTF(names[seat]);
+            out.writeInt(colors[seat]);
+            out.writeInt(tokens[seat]);
+            out.writeInt(balances[seat]);
+            out.writeByte(positions[seat]);
+            out.writeBoolean(inJail[seat]);
+            out.writeByte(jailCards[seat]);
+        }
+        for (int pos=0; pos<NUM_POSITIONS; pos++) {
+            out.writeByte(owners[pos]);
+            out.writeByte(developmentLevels[pos]);
+            out.writeBoolean(mortgaged[pos]);
+        }
+        out.writeByte(diceValues[0]);
+        out.writeByte(diceValues[1]);
+        out.writeByte(activeSeat);
+    }
+
+    /**
+     * Reads a state written by {@link #write(DataOutput)}.
+     * @param in source
+     * @return a new CompactGameState
+     * @throws IOException if 'in' can't be read or ends early
+     */
+    public static CompactGameState read(DataInput in) throws IOException {
+        int numPlayers = in.readByte();
+        String[] names = new String[numPlayers];
+        int[] colors = new int[numPlayers];
+        int[] tokens = new int[numPlayers];
+        int[] balances = new int[numPlayers];
+        int[] positions = new int[numPlayers];
+        boolean[] inJail = new boolean[numPlayers];
+        int[] jailCards = new int[numPlayers];
+        for (int seat=0; seat<numPlayers; seat++) {
+            names[seat] = in.readUTF();
+            colors[seat] = in.readInt();
+            tokens[seat] = in.readInt();
+            balances[seat] = in.readInt();
+            positions[seat] = in.readByte();
+            inJail[seat] = in.readBoolean();
+            jailCards[seat] = in.readByte();
+        }
+        CompactGameState state = new CompactGameState(names, colors);
+        System.arraycopy(tokens, 0, state.tokens, 0, numPlayers);
+        System.arraycopy(balances, 0, state.balances, 0, numPlayers);
+        System.arraycopy(positions, 0, state.positions, 0, numPlayers);
+        System.arraycopy(inJail, 0, state.inJail, 0, numPlayers);
+        System.arraycopy(jailCards, 0, state.jailCards, 0, numPlayers);
+        for (int pos=0; pos<NUM_POSITIONS; pos++) {
+            state.owners[pos] = in.readByte();
+            state.developmentLevels[pos] = in.readByte();
+            state.mortgaged[pos] = in.readBoolean();
+        }
+        state.diceValues[0] = in.readByte();
+        state.diceValues[1] = in.readByte();
+        state.activeSeat = in.readByte();
+        return state;
+    }
+
+    /**
+     * @return an independent copy of this state
+     */
+    public CompactGameState copy() {
+        CompactGameState c = new CompactGameState(names, colors);
+        c.copyFrom(this);
+        return c;
+    }
+
+    public int getNumPlayers() {
+        return tokens.length;
+    }
+
+    public String getName(int seat) {
+        return names[seat];
+    }
+
+    public int getColor(int seat) {
+        return colors[seat];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CompactGameState)) {
+            return false;
+        }
+        CompactGameState s = (CompactGameState) o;
+        return (activeSeat == s.activeSeat)
+                && Arrays.equals(names, s.names)
+                && Arrays.equals(colors, s.colors)
+                && Arrays.equals(tokens, s.tokens)
+                && Arrays.equals(balances, s.balances)
+                && Arrays.equals(positions, s.positions)
+                && Arrays.equals(inJail, s.inJail)
+                && Arrays.equals(jailCards, s.jailCards)
+                && Arrays.equals(owners, s.owners)
+                && Arrays.equals(developmentLevels, s.developmentLevels)
+                && Arrays.equals(mortgaged, s.mortgaged)
+                && Arrays.equals(diceValues, s.diceValues);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = activeSeat;
+        h = 31 * h + Arrays.hashCode(balances);
+        h = 31 * h + Arrays.hashCode(positions);
+        h = 31 * h + Arrays.hashCode(owners);
+        h = 31 * h + Arrays.hashCode(developmentLevels);
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return "CompactGameState{" +
+                "tokens=" + Arrays.toString(tokens) +
+                ", balances=" + Arrays.toString(balances) +
+                ", positions=" + Arrays.toString(positions) +
+                ", activeSeat=" + activeSeat +
+                '}';
+    }
+}
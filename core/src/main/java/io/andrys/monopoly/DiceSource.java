@@ -0,0 +1,35 @@
+package io.andrys.monopoly;
+
+/**
+ * DiceSource.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+/**
+ * Supplies die faces to a Board. A DiceSource isn't thread-safe; give every thread its own,
+ * using {@link #split()} to derive them from one seeded parent.
+ */
+public interface DiceSource {
+
+    /**
+     * @return a die face in [1,6]
+     */
+    int nextFace();
+
+    /**
+     * Fills faces[offset .. offset+length) w/ die faces in [1,6]. This is cheaper than calling
+     * {@link #nextFace()} 'length' times, but doesn't produce the same sequence.
+     * @param faces array to fill
+     * @param offset first index to fill
+     * @param length number of faces to roll
+     */
+    void fill(int[] faces, int offset, int length);
+
+    /**
+     * Creates a new, independent DiceSource seeded from this one. Splitting a seeded source the same
+     * way always yields the same children, so parallel work stays reproducible.
+     * @return a new DiceSource
+     */
+    DiceSource split();
+}
@@ -1,25 +1,25 @@
 package io.andrys.monopoly;
 
-import android.content.Context;
-import android.content.res.Resources;
-import android.graphics.drawable.Drawable;
-
-import java.util.Random;
-
 /**
  * Die.java // Monopoly
  * Tony Andrys (tony@andrys.io)
  * Copyright 2019 - All rights reserved
  */
 public class Die {
-    Context context;
     int value;
-    Drawable face;
-    Random r;
+    DiceSource source;
 
     public Die() {
+        this(new XoroshiroDiceSource());
+    }
+
+    /**
+     * Creates a die that draws its rolls from 'source'; pass a seeded source to get a repeatable sequence of rolls.
+     * @param source source of die faces; can be shared w/ other dice on the same thread
+     */
+    public Die(DiceSource source) {
         this.value = 0;
-        this.r = new Random();
+        this.source = source;
     }
 
     /**
@@ -27,8 +27,8 @@ public class Die {
      */
     public void roll() {
 
-            // Generate a random number from [1-7).
-            this.value = (r.nextInt(6)) + 1;
+            // Draw a new face in [1,6].
+            this.value = source.nextFace();
 
             // Get the new face for this die and store it.
             //this.face = getFace();
@@ -6,8 +6,6 @@ package io.andrys.monopoly;
  * Copyright 2019 - All rights reserved
  */
 
-import android.content.Context;
-
 import java.util.ArrayDeque;
 import java.util.Arrays;
 
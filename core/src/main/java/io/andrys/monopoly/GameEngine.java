@@ -11,13 +11,9 @@ package io.andrys.monopoly;
  * game context appropriately,
  */
 
-import android.support.annotation.RawRes;
-import android.util.Log;
-
 import java.util.ArrayDeque;
 import java.util.EmptyStackException;
 
-import io.andrys.monopoly.audio.AudioEngine;
 import io.andrys.monopoly.states.GameState;
 
 /**
@@ -31,32 +27,33 @@ import io.andrys.monopoly.states.GameState;
  *     function onStateExit()
  * }
  *
- * It'll also need a way to send view updates to FullScreenActivity, so the activity will prob need to be
- * passed in GameEngine's constructor
+ * View updates are sent to the GameView passed in GameEngine's constructor, so the engine itself never
+ * depends on Android and can run headless (see {@link HeadlessGameView}).
  */
 public class GameEngine {
     private final String TAG = this.getClass().getSimpleName();
 
-    FullscreenActivity activity;
+    GameView view;
 
     // The "current" state is always at the top of the stack.
     // Popping the current state off the stack will transition to the one below it, and the popped
     // state will be destroyed.
     // Pushing a new state onto the stack
     ArrayDeque<GameState> stateStack;
-    private AudioEngine audioEngine;
 
     boolean isRunning;
 
-    public GameEngine(FullscreenActivity activity) {
-        this.activity = activity;
+    // records transitions while non-null (see GameJournal#record)
+    GameJournal journal;
+
+    public GameEngine(GameView view) {
+        this.view = view;
         this.stateStack = new ArrayDeque<GameState>();
-        this.audioEngine = new AudioEngine(activity.getApplicationContext());
         this.isRunning = true;
     }
 
-    public void playAudio(@RawRes int audioResourceID) {
-        this.audioEngine.enqueueAudio(audioResourceID);
+    public void playAudio(SoundEffect effect) {
+        this.view.playSoundEffect(effect);
     }
 
     /**
@@ -65,6 +62,13 @@ public class GameEngine {
      * @param newState
      */
     public void pushState(GameState newState) {
+        if (journal != null) {
+            journal.appendState(GameJournal.STATE_PUSH, newState);
+        }
+        enterState(newState);
+    }
+
+    private void enterState(GameState newState) {
         // transition out of the old state if one exists
         if (stateStack.size() > 0) {
             stateStack.peek().onStateExit();
@@ -84,6 +88,13 @@ public class GameEngine {
      * The popped state is destroyed. (though we could return it here if necessary?)
      */
     public void popState() {
+        if (journal != null) {
+            journal.append(GameJournal.STATE_POP, GameJournal.NO_SUBJECT, 0);
+        }
+        leaveState();
+    }
+
+    private void leaveState() {
         try {
             assert stateStack.peek() != null;
             // transition out of the current state
@@ -99,9 +110,9 @@ public class GameEngine {
                 isRunning = false;
             }
         } catch (EmptyStackException e) {
-            Log.e(TAG, "Cannot pop an empty state stack!");
+            GameLog.e(TAG, "Cannot pop an empty state stack!");
         } catch (NullPointerException e) {
-            Log.e(TAG, "popState() tried to peek() an empty stack!");
+            GameLog.e(TAG, "popState() tried to peek() an empty stack!");
         }
     }
 
@@ -110,10 +121,13 @@ public class GameEngine {
      * @param s State to transition to
      */
     public void changeState(GameState s) {
+        if (journal != null) {
+            journal.appendState(GameJournal.STATE_CHANGE, s);
+        }
         if (stateStack.size() > 0) {
-            popState();
+            leaveState();
         }
-        pushState(s);
+        enterState(s);
     }
 
     /**
@@ -122,23 +136,38 @@ public class GameEngine {
     public void clearStack() {
         int deletedStates = stateStack.size();
         stateStack.clear();
-        Log.v(TAG, String.format("Cleared '%d' states from the stack.", deletedStates));
+        GameLog.v(TAG, "Cleared '%d' states from the stack.", deletedStates);
     }
 
     private void reportStatus() {
         if (this.isRunning) {
-            Log.v(TAG, "Engine is running.");
+            GameLog.v(TAG, "Engine is running.");
         } else {
-            Log.v(TAG, "Engine has stopped.");
+            GameLog.v(TAG, "Engine has stopped.");
         }
     }
 
     /**
-     * Returns the Activity instance that holds the game views.
-     * Right now, that's a Fullscreen activity.
-     * @return FullscreenActivity
+     * Returns the state at the top of the stack (the "current" state), or null if the stack is empty.
+     * @return GameState
+     */
+    public GameState getCurrentState() {
+        return stateStack.peek();
+    }
+
+    /**
+     * @return true until the last state has been popped off the stack
+     */
+    public boolean isRunning() {
+        return this.isRunning;
+    }
+
+    /**
+     * Returns the GameView that renders this game.
+     * On device, that's a FullscreenActivity.
+     * @return GameView
      */
-    public FullscreenActivity getActivity() {
-        return this.activity;
+    public GameView getView() {
+        return this.view;
     }
 }
@@ -0,0 +1,276 @@
+package io.andrys.monopoly;
+
+/**
+ * GameJournal.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import io.andrys.monopoly.states.BankruptcyState;
+import io.andrys.monopoly.states.EmptyState;
+import io.andrys.monopoly.states.EndTurnState;
+import io.andrys.monopoly.states.GameOverState;
+import io.andrys.monopoly.states.GameState;
+import io.andrys.monopoly.states.InJailState;
+import io.andrys.monopoly.states.NewGameState;
+import io.andrys.monopoly.states.PayRentState;
+import io.andrys.monopoly.states.RollDiceState;
+import io.andrys.monopoly.states.UnownedPropertyState;
+
+/**
+ * An append-only record of everything that happens in a game: every state transition the GameEngine makes,
+ * and every change to a Player's cash or jail status, a token's position, the dice, or a property's owner,
+ * development level or mortgage.
+ *
+ * Each event is packed into a single long (see {@link #pack(int, int, int)}), so recording one is an
+ * array store and the journal costs 8 bytes per event in memory and on disk. Start recording w/
+ * {@link #record(GameEngine, GameContext)}; use a {@link JournalReplayer} to rebuild the game at any turn.
+ *
+ * Event layout: [type:8][subject:8][unused:16][value:32]. The subject is a token or board position,
+ * and the value is an amount, position, owner token or state code depending on the type.
+ */
+public class GameJournal {
+    private final String TAG = this.getClass().getSimpleName();
+
+    // "MJNL"
+    private static final int MAGIC = 0x4D4A4E4C;
+    private static final int VERSION = 1;
+
+    // event types
+    public static final int STATE_PUSH = 1;       // subject=active token, value=state code
+    public static final int STATE_POP = 2;        // subject=NO_SUBJECT, value=0
+    public static final int STATE_CHANGE = 3;     // subject=active token, value=state code
+    public static final int BALANCE_ADD = 4;      // subject=token, value=amount
+    public static final int BALANCE_DEDUCT = 5;   // subject=token, value=amount
+    public static final int TOKEN_POSITION = 6;   // subject=token, value=new position (-1 when removed)
+    public static final int JAIL = 7;             // subject=token, value=1 if jailed, 0 if released
+    public static final int JAIL_CARDS = 8;       // subject=token, value=change in card count
+    public static final int DICE = 9;             // subject=first die, value=second die
+    public static final int OWNER = 10;           // subject=position, value=owner token or NO_OWNER
+    public static final int DEVELOPMENT = 11;     // subject=position, value=development level
+    public static final int MORTGAGE = 12;        // subject=position, value=1 if mortgaged, 0 if not
+
+    // state codes for STATE_PUSH and STATE_CHANGE
+    public static final int STATE_OTHER = 0;
+    public static final int STATE_NEW_GAME = 1;
+    public static final int STATE_ROLL_DICE = 2;
+    public static final int STATE_UNOWNED_PROPERTY = 3;
+    public static final int STATE_PAY_RENT = 4;
+    public static final int STATE_END_TURN = 5;
+    public static final int STATE_IN_JAIL = 6;
+    public static final int STATE_BANKRUPTCY = 7;
+    public static final int STATE_GAME_OVER = 8;
+    public static final int STATE_EMPTY = 9;
+
+    /** Subject of events that aren't about a particular token or position. */
+    public static final int NO_SUBJECT = 0xFF;
+
+    private final CompactGameState initialState;
+    private long[] events;
+    private int size;
+
+    /**
+     * Creates an empty journal for a game that looks like 'initialState'. Most callers want
+     * {@link #record(GameEngine, GameContext)} instead.
+     * @param initialState the game as it was before the first event; the journal keeps a copy
+     */
+    public GameJournal(CompactGameState initialState) {
+        for (int token : initialState.tokens) {
+            if ((token < 0) || (token >= NO_SUBJECT)) {
+                throw new IllegalArgumentException(String.format("Can't journal token '%d'; tokens must be in [0,%d)!", token, NO_SUBJECT));
+            }
+        }
+        this.initialState = initialState.copy();
+        this.events = new long[1024];
+        this.size = 0;
+    }
+
+    /**
+     * Starts journaling a game. Call this before the game starts (or any time the engine is waiting on a
+     * player) and every later transition and mutation is recorded.
+     * @param engine GameEngine running the game
+     * @param gc context of the engine's current state (or the context NewGameState will be built w/)
+     * @return a journal that's now recording
+     */
+    public static GameJournal record(GameEngine engine, GameContext gc) {
+        GameJournal journal = new GameJournal(CompactGameState.capture(gc));
+        engine.journal = journal;
+        gc.board.journal = journal;
+        gc.pm.journal = journal;
+        if (gc.activePlayer != null) {
+            gc.activePlayer.journal = journal;
+        }
+        for (Player p : gc.players) {
+            p.journal = journal;
+        }
+        return journal;
+    }
+
+    /**
+     * Stops journaling a game that {@link #record(GameEngine, GameContext)} was called on.
+     * @param engine GameEngine running the game
+     * @param gc context of the engine's current state
+     */
+    public static void stop(GameEngine engine, GameContext gc) {
+        engine.journal = null;
+        gc.board.journal = null;
+        gc.pm.journal = null;
+        if (gc.activePlayer != null) {
+            gc.activePlayer.journal = null;
+        }
+        for (Player p : gc.players) {
+            p.journal = null;
+        }
+    }
+
+    /**
+     * Packs an event into a long.
+     * @param type event type (i.e. {@link #BALANCE_ADD})
+     * @param subject token or board position in [0,255]
+     * @param value amount, position, token or state code
+     * @return packed event
+     */
+    public static long pack(int type, int subject, int value) {
+        return ((long) type << 56) | ((long) (subject & 0xFF) << 48) | (value & 0xFFFFFFFFL);
+    }
+
+    public static int typeOf(long event) {
+        return (int) (event >>> 56);
+    }
+
+    public static int subjectOf(long event) {
+        return (int) (event >>> 48) & 0xFF;
+    }
+
+    public static int valueOf(long event) {
+        return (int) event;
+    }
+
+    /**
+     * Appends one event.
+     * @param type event type (i.e. {@link #BALANCE_ADD})
+     * @param subject token or board position
+     * @param value amount, position, token or state code
+     */
+    public void append(int type, int subject, int value) {
+        if (size == events.length) {
+            events = Arrays.copyOf(events, size * 2);
+        }
+        events[size++] = pack(type, subject, value);
+    }
+
+    // Records a state transition; the subject is the token of the new state's active player.
+    void appendState(int type, GameState s) {
+        GameContext gc = s.getGameContext();
+        int token = ((gc != null) && (gc.activePlayer != null)) ? gc.activePlayer.getToken() : NO_SUBJECT;
+        append(type, token, stateCode(s));
+    }
+
+    /**
+     * @param s any GameState
+     * @return the code journal events use for the state's class (i.e. {@link #STATE_ROLL_DICE})
+     */
+    public static int stateCode(GameState s) {
+        if (s instanceof RollDiceState) {
+            return STATE_ROLL_DICE;
+        } else if (s instanceof EndTurnState) {
+            return STATE_END_TURN;
+        } else if (s instanceof UnownedPropertyState) {
+            return STATE_UNOWNED_PROPERTY;
+        } else if (s instanceof PayRentState) {
+            return STATE_PAY_RENT;
+        } else if (s instanceof InJailState) {
+            return STATE_IN_JAIL;
+        } else if (s instanceof NewGameState) {
+            return STATE_NEW_GAME;
+        } else if (s instanceof BankruptcyState) {
+            return STATE_BANKRUPTCY;
+        } else if (s instanceof GameOverState) {
+            return STATE_GAME_OVER;
+        } else if (s instanceof EmptyState) {
+            return STATE_EMPTY;
+        }
+        return STATE_OTHER;
+    }
+
+    /**
+     * @return the game as it was before the first event; don't modify it
+     */
+    public CompactGameState getInitialState() {
+        return initialState;
+    }
+
+    /**
+     * @return number of events recorded so far
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param i index of an event in [0,size())
+     * @return the packed event
+     */
+    public long get(int i) {
+        if ((i < 0) || (i >= size)) {
+            throw new IllegalArgumentException(String.format("Event '%d' doesn't exist; the journal holds %d events!", i, size));
+        }
+        return events[i];
+    }
+
+    /**
+     * Writes the initial state and every event recorded so far to 'out'.
+     * @param out destination; not closed
+     * @throws IOException if 'out' can't be written to
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(out));
+        dos.writeInt(MAGIC);
+        dos.writeInt(VERSION);
+        initialState.write(dos);
+        dos.writeInt(size);
+        for (int i=0; i<size; i++) {
+            dos.writeLong(events[i]);
+        }
+        dos.flush();
+    }
+
+    /**
+     * Reads a journal written by {@link #writeTo(OutputStream)}. Reads no further than the end of the journal,
+     * so whatever follows it in 'in' is left for the caller; buffer 'in' if it's a file.
+     * @param in source; not closed
+     * @return a journal that isn't attached to any game
+     * @throws IOException if 'in' isn't a journal or ends early
+     */
+    public static GameJournal readFrom(InputStream in) throws IOException {
+        DataInputStream dis = new DataInputStream(in);
+        if (dis.readInt() != MAGIC) {
+            throw new IOException("Not a game journal!");
+        }
+        int version = dis.readInt();
+        if (version != VERSION) {
+            throw new IOException(String.format("Unsupported journal version '%d'!", version));
+        }
+        GameJournal journal = new GameJournal(CompactGameState.read(dis));
+        int count = dis.readInt();
+        journal.events = new long[Math.max(count, 16)];
+        for (int i=0; i<count; i++) {
+            journal.events[i] = dis.readLong();
+        }
+        journal.size = count;
+        return journal;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GameJournal{players=%d, events=%d}", initialState.getNumPlayers(), size);
+    }
+}
@@ -0,0 +1,102 @@
+package io.andrys.monopoly;
+
+/**
+ * GameLog.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+import java.util.Locale;
+
+/**
+ * Logging facade used by the game engine so it does not depend on android.util.Log.
+ *
+ * Messages are dropped until a Sink is installed with {@link #setSink(Sink)}. The Android app installs
+ * a sink that forwards to logcat; headless simulations leave it unset, so format strings are never
+ * expanded and logging costs next to nothing.
+ */
+public final class GameLog {
+
+    /** Priority constants; these match the values used by android.util.Log. */
+    public static final int VERBOSE = 2;
+    public static final int INFO = 4;
+    public static final int WARN = 5;
+    public static final int ERROR = 6;
+
+    /**
+     * Receives every message logged by the engine.
+     */
+    public interface Sink {
+        void log(int priority, String tag, String message, Throwable t);
+    }
+
+    private static volatile Sink sink = null;
+
+    private GameLog() {}
+
+    /**
+     * Installs the object that should receive log messages. Pass null to silence logging.
+     * @param s a Sink, or null
+     */
+    public static void setSink(Sink s) {
+        sink = s;
+    }
+
+    /**
+     * @return true if a Sink is installed and messages will be written somewhere.
+     */
+    public static boolean isEnabled() {
+        return sink != null;
+    }
+
+    public static void v(String tag, String message) {
+        write(VERBOSE, tag, message, null);
+    }
+
+    public static void v(String tag, String format, Object... args) {
+        writeFormatted(VERBOSE, tag, format, args);
+    }
+
+    public static void i(String tag, String message) {
+        write(INFO, tag, message, null);
+    }
+
+    public static void i(String tag, String format, Object... args) {
+        writeFormatted(INFO, tag, format, args);
+    }
+
+    public static void w(String tag, String message) {
+        write(WARN, tag, message, null);
+    }
+
+    public static void w(String tag, String format, Object... args) {
+        writeFormatted(WARN, tag, format, args);
+    }
+
+    public static void e(String tag, String message) {
+        write(ERROR, tag, message, null);
+    }
+
+    public static void e(String tag, String message, Throwable t) {
+        write(ERROR, tag, message, t);
+    }
+
+    public static void e(String tag, String format, Object... args) {
+        writeFormatted(ERROR, tag, format, args);
+    }
+
+    private static void write(int priority, String tag, String message, Throwable t) {
+        Sink s = sink;
+        if (s != null) {
+            s.log(priority, tag, message, t);
+        }
+    }
+
+    // format strings are only expanded if someone is listening
+    private static void writeFormatted(int priority, String tag, String format, Object[] args) {
+        Sink s = sink;
+        if (s != null) {
+            s.log(priority, tag, String.format(Locale.US, format, args), null);
+        }
+    }
+}
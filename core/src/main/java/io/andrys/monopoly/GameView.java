@@ -0,0 +1,99 @@
+package io.andrys.monopoly;
+
+/**
+ * GameView.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+import io.andrys.monopoly.states.InJailState;
+import io.andrys.monopoly.states.RollDiceState;
+import io.andrys.monopoly.states.UnownedPropertyState;
+
+/**
+ * View contract methods to be triggered by the presenter layer.
+ *
+ * GameStates never touch a UI toolkit directly; everything they want to show the players goes through
+ * the GameView passed to the GameEngine. FullscreenActivity is the on-device renderer, while
+ * {@link HeadlessGameView} lets the engine run on a plain JVM with nothing on screen.
+ *
+ * Methods that ask a player to make a choice hand the waiting state to the view; the view must call
+ * back into that state (i.e. {@link RollDiceState#rollDice()}) once the player has decided.
+ */
+public interface GameView {
+
+    /**
+     * Receives a callback when a token has finished moving to its new position.
+     */
+    interface TokenMoveListener {
+        void onTokenMoved(int tokenID, int position);
+    }
+
+    /** Places a new token on Go. */
+    void drawTokenOntoBoard(int tokenID);
+
+    /**
+     * Moves a token to a position on the board.
+     * @param tokenID id of token to move
+     * @param position board position in [0,39]
+     * @param listener notified once the token has arrived; can be null
+     */
+    void drawTokenAtPosition(int tokenID, int position, TokenMoveListener listener);
+
+    /** Repaints both dice w/ the values that were just rolled. */
+    void drawDice(int[] diceValues);
+
+    /**
+     * Tints a property w/ its owner's color and re-draws its houses/hotel.
+     * @param position board position of the property
+     * @param owner Player that owns the property
+     * @param levelOfDevelopment level of development to render (0 if not a street property)
+     */
+    void redrawPropertyAtPosition(int position, Player owner, int levelOfDevelopment);
+
+    /** Shows a Player's current balance. */
+    void updatePlayerBalance(Player player);
+
+    /** Highlights the Player whose turn it is. */
+    void setActivePlayer(Player player);
+
+    /** Called once at the start of every turn. */
+    void incrementTurnCount();
+
+    /** Lets the active player roll the dice; the view calls {@link RollDiceState#rollDice()} when they do. */
+    void enableRollDice(RollDiceState caller);
+
+    /** Stops accepting rolls from the active player. */
+    void disableRollDice();
+
+    /**
+     * Asks the active player what to do w/ the unowned property they're standing on.
+     * @param caller state waiting for the player's decision
+     * @param position board position of the property
+     * @param shouldEnableBuyButton true if the player can afford the property
+     */
+    void showPropertyActionModal(UnownedPropertyState caller, int position, boolean shouldEnableBuyButton);
+
+    /**
+     * Asks the active player how they would like to get out of jail.
+     * @param caller state waiting for the player's decision
+     * @param shouldEnableFineButton true if the player can afford the fine
+     * @param shouldEnableUseCardButton true if the player holds a get out of jail free card
+     */
+    void showInJailActionModal(InJailState caller, boolean shouldEnableFineButton, boolean shouldEnableUseCardButton);
+
+    /**
+     * Takes a bankrupt Player's token off the board.
+     * @param player Player who has just gone bankrupt
+     */
+    void showPlayerBankrupt(Player player);
+
+    /**
+     * Announces the last Player standing.
+     * @param winner Player who won the game
+     */
+    void showGameOver(Player winner);
+
+    /** Plays a sound effect, if this view can make noise. */
+    void playSoundEffect(SoundEffect effect);
+}
@@ -0,0 +1,161 @@
+package io.andrys.monopoly;
+
+/**
+ * HeadlessGame.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+
+import io.andrys.monopoly.states.NewGameState;
+
+/**
+ * Sets up and plays a game of Monopoly w/ nothing on screen, using a {@link HeadlessGameView}.
+ *
+ *     HeadlessGame game = new HeadlessGame(players);
+ *     game.start();
+ *     game.playTurns(100);
+ *
+ * See {@link io.andrys.monopoly.simulation.MonteCarloSimulator} for running many games at once.
+ */
+public class HeadlessGame {
+    private final String TAG = this.getClass().getSimpleName();
+
+    private final HeadlessGameView view;
+    private final GameEngine engine;
+    private final GameContext gc;
+
+    /**
+     * Builds a new game using the property data bundled w/ the core module.
+     * @param players Players in turn order
+     */
+    public HeadlessGame(ArrayDeque<Player> players) {
+        this(players, new Board(), new PropertyManager(PropertyBuilder.loadProperties()), new SimplePlayerStrategy());
+    }
+
+    /**
+     * Builds a new game from parts the caller owns. Nothing here is shared w/ other games, so separate
+     * HeadlessGames can be played on separate threads.
+     * @param players Players in turn order
+     * @param board Board to play on; seed its dice to replay the same game
+     * @param pm PropertyManager w/ every property owned by the bank
+     * @param strategy makes decisions for every Player (see {@link HeadlessGameView#setStrategy(int, PlayerStrategy)})
+     */
+    public HeadlessGame(ArrayDeque<Player> players, Board board, PropertyManager pm, PlayerStrategy strategy) {
+        this.view = new HeadlessGameView(strategy);
+        this.engine = new GameEngine(view);
+        this.gc = new GameContext(new int[]{1,1}, null, players, board, pm);
+    }
+
+    private HeadlessGame(HeadlessGameView view, GameEngine engine, GameContext gc) {
+        this.view = view;
+        this.engine = engine;
+        this.gc = gc;
+    }
+
+    /**
+     * Picks a saved game back up; it's waiting on the same prompt it was saved at.
+     * @param saved game to resume
+     * @param properties every purchasable Property on the board
+     * @param strategy makes decisions for every Player
+     * @return a running HeadlessGame
+     */
+    public static HeadlessGame resume(SavedGame saved, ArrayList<Property> properties, PlayerStrategy strategy) {
+        HeadlessGameView view = new HeadlessGameView(strategy);
+        GameEngine engine = new GameEngine(view);
+        view.setTurnCount(saved.getResumeTurnCount());
+        GameContext gc = saved.restore(engine, properties);
+        return new HeadlessGame(view, engine, gc);
+    }
+
+    /**
+     * Freezes this game so it can be resumed later (see {@link #resume(SavedGame, ArrayList, PlayerStrategy)}).
+     * @return a SavedGame that shares nothing w/ this game
+     */
+    public SavedGame save() {
+        return SavedGame.capture(engine, view.getTurnCount());
+    }
+
+    /**
+     * Starts journaling this game (see {@link GameJournal}). Call before {@link #start()} so turn numbers in
+     * the journal match {@link #getTurnCount()}.
+     * @return a journal that's now recording
+     */
+    public GameJournal recordJournal() {
+        GameContext current = getCurrentContext();
+        return GameJournal.record(engine, (current != null) ? current : gc);
+    }
+
+    /**
+     * Puts every player's token on Go and waits for the first player to roll.
+     */
+    public void start() {
+        engine.pushState(new NewGameState(engine, gc));
+    }
+
+    /**
+     * Answers the prompt the game is waiting on (a roll, a purchase, or leaving jail).
+     * @return false if the game can't go any further
+     */
+    public boolean advance() {
+        return view.resolvePendingPrompt();
+    }
+
+    /**
+     * Keeps advancing the game until 'turns' more turns have started or the game gets stuck.
+     * @param turns number of turns to play
+     * @return number of turns that were actually started
+     */
+    public int playTurns(int turns) {
+        int target = view.getTurnCount() + turns;
+        int start = view.getTurnCount();
+        while (view.getTurnCount() < target && advance()) {
+            // each advance() runs the engine until it waits on a player again
+        }
+        return view.getTurnCount() - start;
+    }
+
+    /**
+     * Plays until one player is left standing, the game gets stuck, or 'maxTurns' turns have started.
+     * @param maxTurns upper limit on the total number of turns in this game
+     * @return true if the game finished w/ a winner
+     */
+    public boolean playToCompletion(int maxTurns) {
+        while ((view.getTurnCount() < maxTurns) && advance()) {
+            // each advance() runs the engine until it waits on a player again
+        }
+        return isGameOver();
+    }
+
+    /**
+     * @return true once a player has won
+     */
+    public boolean isGameOver() {
+        return view.getWinner() != null;
+    }
+
+    public int getTurnCount() {
+        return view.getTurnCount();
+    }
+
+    public GameEngine getEngine() {
+        return engine;
+    }
+
+    public HeadlessGameView getView() {
+        return view;
+    }
+
+    /**
+     * Returns the context of the state the engine is currently in.
+     * @return GameContext, or null before the game has started
+     */
+    public GameContext getCurrentContext() {
+        if (engine.getCurrentState() == null) {
+            return null;
+        }
+        return engine.getCurrentState().getGameContext();
+    }
+}
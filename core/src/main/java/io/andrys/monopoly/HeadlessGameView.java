@@ -0,0 +1,249 @@
+package io.andrys.monopoly;
+
+/**
+ * HeadlessGameView.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+import java.util.Arrays;
+
+import io.andrys.monopoly.states.InJailState;
+import io.andrys.monopoly.states.RollDiceState;
+import io.andrys.monopoly.states.UnownedPropertyState;
+
+/**
+ * A GameView that draws nothing, so the engine can run on a plain JVM (tests, simulations, benchmarks).
+ *
+ * Token moves "finish" as soon as they're requested. Prompts that wait on a player (rolling the dice,
+ * buying a property, leaving jail) are only recorded here; call {@link #resolvePendingPrompt()} to answer
+ * the current one. Answering later instead of from inside the prompt keeps the call stack from growing
+ * w/ every turn that's played.
+ *
+ * Decisions are made by each Player's {@link PlayerStrategy}; players w/out one use the default strategy
+ * passed to the constructor. Along the way, the view counts how often each board position is landed on
+ * and records the turn on which each player goes bankrupt.
+ */
+public class HeadlessGameView implements GameView {
+    private final String TAG = this.getClass().getSimpleName();
+
+    private final PlayerStrategy defaultStrategy;
+    // indexed by tokenID; null entries fall back to the default strategy
+    private PlayerStrategy[] strategies;
+
+    // only one of these is non-null at a time
+    private RollDiceState pendingRoll = null;
+    private UnownedPropertyState pendingPurchase = null;
+    private InJailState pendingJail = null;
+
+    private int pendingPurchasePosition;
+    private boolean pendingPurchaseAffordable;
+    private boolean pendingJailCanPayFine;
+    private boolean pendingJailHasCard;
+
+    private int turnCount = 0;
+    private final long[] landingCounts = new long[40];
+    private int[] bankruptcyTurns = new int[0];
+    private int bankruptcyCount = 0;
+    private Player winner = null;
+
+    public HeadlessGameView() {
+        this(new SimplePlayerStrategy());
+    }
+
+    /**
+     * @param defaultStrategy makes decisions for every Player that hasn't been given its own strategy
+     */
+    public HeadlessGameView(PlayerStrategy defaultStrategy) {
+        if (defaultStrategy == null) {
+            throw new IllegalArgumentException("The default PlayerStrategy can't be null!");
+        }
+        this.defaultStrategy = defaultStrategy;
+        this.strategies = new PlayerStrategy[0];
+    }
+
+    /**
+     * Assigns a PlayerStrategy to the Player w/ token 'tokenID'.
+     * @param tokenID token of the Player the strategy plays for
+     * @param strategy PlayerStrategy, or null to use the default strategy
+     */
+    public void setStrategy(int tokenID, PlayerStrategy strategy) {
+        if (tokenID < 0) {
+            throw new IllegalArgumentException(String.format("TokenID '%d' is invalid; token IDs must be non-negative!", tokenID));
+        }
+        if (tokenID >= strategies.length) {
+            strategies = Arrays.copyOf(strategies, tokenID + 1);
+        }
+        strategies[tokenID] = strategy;
+    }
+
+    private PlayerStrategy strategyFor(Player player) {
+        int tokenID = player.getToken();
+        if ((tokenID < strategies.length) && (strategies[tokenID] != null)) {
+            return strategies[tokenID];
+        }
+        return defaultStrategy;
+    }
+
+    /**
+     * @return true if a state is waiting on a decision from the active player
+     */
+    public boolean hasPendingPrompt() {
+        return pendingRoll != null || pendingPurchase != null || pendingJail != null;
+    }
+
+    /**
+     * Answers whichever prompt the engine is currently waiting on.
+     * @return false if there was no prompt (i.e. the game is over), or if the active player has no option
+     * this view can take
+     */
+    public boolean resolvePendingPrompt() {
+        if (pendingRoll != null) {
+            RollDiceState s = pendingRoll;
+            pendingRoll = null;
+            s.rollDice();
+            return true;
+        } else if (pendingPurchase != null) {
+            UnownedPropertyState s = pendingPurchase;
+            pendingPurchase = null;
+            GameContext gc = s.getGameContext();
+            Property prop = gc.pm.inspectProperty(pendingPurchasePosition);
+            if (pendingPurchaseAffordable && strategyFor(gc.activePlayer).shouldBuyProperty(gc, prop)) {
+                s.buyProperty(pendingPurchasePosition);
+            } else {
+                s.declineProperty(pendingPurchasePosition);
+            }
+            return true;
+        } else if (pendingJail != null) {
+            InJailState s = pendingJail;
+            GameContext gc = s.getGameContext();
+            if (pendingJailHasCard && (!pendingJailCanPayFine || strategyFor(gc.activePlayer).shouldUseGetOutOfJailFreeCard(gc))) {
+                pendingJail = null;
+                s.useGetOutOfJailFreeCard();
+                return true;
+            } else if (pendingJailCanPayFine) {
+                pendingJail = null;
+                s.payFine();
+                return true;
+            }
+            return false;
+        }
+        return false;
+    }
+
+    /**
+     * @return number of turns started since this view was created
+     */
+    public int getTurnCount() {
+        return turnCount;
+    }
+
+    // Picks the turn counter up where a saved game left off.
+    void setTurnCount(int turnCount) {
+        this.turnCount = turnCount;
+    }
+
+    /**
+     * Returns the number of times a token has landed on each board position after a roll.
+     * Tokens sent to jail by the Go To Jail space count as landing on Go To Jail, not Jail.
+     * @return array of 40 counts indexed by board position; this is the view's own copy, so don't modify it
+     */
+    public long[] getLandingCounts() {
+        return landingCounts;
+    }
+
+    /**
+     * @return the turn on which each bankruptcy happened, in order
+     */
+    public int[] getBankruptcyTurns() {
+        return Arrays.copyOf(bankruptcyTurns, bankruptcyCount);
+    }
+
+    /**
+     * @return the last Player standing, or null if the game is still going
+     */
+    public Player getWinner() {
+        return winner;
+    }
+
+    @Override
+    public void drawTokenOntoBoard(int tokenID) {
+
+    }
+
+    @Override
+    public void drawTokenAtPosition(int tokenID, int position, TokenMoveListener listener) {
+        if (listener != null) {
+            // only moves that come from a roll have a listener waiting on them
+            landingCounts[position]++;
+            listener.onTokenMoved(tokenID, position);
+        }
+    }
+
+    @Override
+    public void drawDice(int[] diceValues) {
+
+    }
+
+    @Override
+    public void redrawPropertyAtPosition(int position, Player owner, int levelOfDevelopment) {
+
+    }
+
+    @Override
+    public void updatePlayerBalance(Player player) {
+
+    }
+
+    @Override
+    public void setActivePlayer(Player player) {
+
+    }
+
+    @Override
+    public void incrementTurnCount() {
+        turnCount++;
+    }
+
+    @Override
+    public void enableRollDice(RollDiceState caller) {
+        pendingRoll = caller;
+    }
+
+    @Override
+    public void disableRollDice() {
+        pendingRoll = null;
+    }
+
+    @Override
+    public void showPropertyActionModal(UnownedPropertyState caller, int position, boolean shouldEnableBuyButton) {
+        pendingPurchase = caller;
+        pendingPurchasePosition = position;
+        pendingPurchaseAffordable = shouldEnableBuyButton;
+    }
+
+    @Override
+    public void showInJailActionModal(InJailState caller, boolean shouldEnableFineButton, boolean shouldEnableUseCardButton) {
+        pendingJail = caller;
+        pendingJailCanPayFine = shouldEnableFineButton;
+        pendingJailHasCard = shouldEnableUseCardButton;
+    }
+
+    @Override
+    public void showPlayerBankrupt(Player player) {
+        if (bankruptcyCount == bankruptcyTurns.length) {
+            bankruptcyTurns = Arrays.copyOf(bankruptcyTurns, Math.max(4, bankruptcyCount * 2));
+        }
+        bankruptcyTurns[bankruptcyCount++] = turnCount;
+    }
+
+    @Override
+    public void showGameOver(Player winner) {
+        this.winner = winner;
+    }
+
+    @Override
+    public void playSoundEffect(SoundEffect effect) {
+
+    }
+}
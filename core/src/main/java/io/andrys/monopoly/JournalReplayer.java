@@ -0,0 +1,185 @@
+package io.andrys.monopoly;
+
+/**
+ * JournalReplayer.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Rebuilds a journaled game as it was at the start of any turn.
+ *
+ * A turn starts each time the engine enters a RollDiceState, the same moment the on-screen turn counter
+ * goes up, so turn numbers here line up w/ the ones players see (as long as the journal was recording from
+ * the start of the game). Turn 0 is the journal's initial state.
+ *
+ * The replayer makes one pass over the journal up front, noting where each turn starts and keeping a
+ * CompactGameState snapshot every 'snapshotInterval' turns. Seeking copies the nearest snapshot at or before
+ * the requested turn and replays at most 'snapshotInterval' turns of events on top of it.
+ */
+public class JournalReplayer {
+    private final String TAG = this.getClass().getSimpleName();
+
+    public static final int DEFAULT_SNAPSHOT_INTERVAL = 16;
+
+    private final GameJournal journal;
+    private final int snapshotInterval;
+    // seat of each token in the journal's initial state
+    private final int[] tokenSeats;
+
+    // turnStarts[t] = number of events applied at the start of turn t
+    private int[] turnStarts;
+    private int turnCount;
+    // snapshots[k] is the game at the start of turn k * snapshotInterval
+    private final ArrayList<CompactGameState> snapshots;
+
+    private final CompactGameState current;
+
+    public JournalReplayer(GameJournal journal) {
+        this(journal, DEFAULT_SNAPSHOT_INTERVAL);
+    }
+
+    /**
+     * Indexes every turn in 'journal'. Events recorded after this constructor returns aren't seen.
+     * @param journal journal to replay
+     * @param snapshotInterval number of turns between snapshots; smaller is faster to seek but uses more memory
+     */
+    public JournalReplayer(GameJournal journal, int snapshotInterval) {
+        if (snapshotInterval < 1) {
+            throw new IllegalArgumentException(String.format("Snapshot interval '%d' must be positive!", snapshotInterval));
+        }
+        this.journal = journal;
+        this.snapshotInterval = snapshotInterval;
+
+        CompactGameState initial = journal.getInitialState();
+        this.tokenSeats = new int[GameJournal.NO_SUBJECT];
+        Arrays.fill(tokenSeats, -1);
+        for (int seat=0; seat<initial.tokens.length; seat++) {
+            tokenSeats[initial.tokens[seat]] = seat;
+        }
+
+        this.turnStarts = new int[64];
+        this.turnCount = 0;
+        this.snapshots = new ArrayList<>();
+        this.current = initial.copy();
+        snapshots.add(initial.copy());
+        index();
+    }
+
+    // One pass over the journal: find where each turn starts and take the periodic snapshots.
+    private void index() {
+        int size = journal.size();
+        for (int i=0; i<size; i++) {
+            long event = journal.get(i);
+            apply(current, event);
+            if (isTurnStart(event)) {
+                turnCount++;
+                if (turnCount == turnStarts.length) {
+                    turnStarts = Arrays.copyOf(turnStarts, turnCount * 2);
+                }
+                turnStarts[turnCount] = i + 1;
+                if ((turnCount % snapshotInterval) == 0) {
+                    snapshots.add(current.copy());
+                }
+            }
+        }
+    }
+
+    private static boolean isTurnStart(long event) {
+        int type = GameJournal.typeOf(event);
+        return ((type == GameJournal.STATE_PUSH) || (type == GameJournal.STATE_CHANGE))
+                && (GameJournal.valueOf(event) == GameJournal.STATE_ROLL_DICE);
+    }
+
+    // Applies one event to 'state'.
+    private void apply(CompactGameState state, long event) {
+        int subject = GameJournal.subjectOf(event);
+        int value = GameJournal.valueOf(event);
+        switch (GameJournal.typeOf(event)) {
+            case GameJournal.STATE_PUSH:
+            case GameJournal.STATE_CHANGE:
+                if (subject != GameJournal.NO_SUBJECT) {
+                    state.activeSeat = seatOf(subject);
+                }
+                break;
+            case GameJournal.BALANCE_ADD:
+                state.balances[seatOf(subject)] += value;
+                break;
+            case GameJournal.BALANCE_DEDUCT:
+                state.balances[seatOf(subject)] -= value;
+                break;
+            case GameJournal.TOKEN_POSITION:
+                state.positions[seatOf(subject)] = value;
+                break;
+            case GameJournal.JAIL:
+                state.inJail[seatOf(subject)] = (value != 0);
+                break;
+            case GameJournal.JAIL_CARDS:
+                state.jailCards[seatOf(subject)] += value;
+                break;
+            case GameJournal.DICE:
+                state.diceValues[0] = subject;
+                state.diceValues[1] = value;
+                break;
+            case GameJournal.OWNER:
+                state.owners[subject] = value;
+                break;
+            case GameJournal.DEVELOPMENT:
+                state.developmentLevels[subject] = value;
+                break;
+            case GameJournal.MORTGAGE:
+                state.mortgaged[subject] = (value != 0);
+                break;
+            default:
+                // pops don't change anything a CompactGameState holds
+                break;
+        }
+    }
+
+    private int seatOf(int token) {
+        int seat = tokenSeats[token];
+        if (seat == -1) {
+            throw new IllegalStateException(String.format("Journal refers to token '%d', which isn't in the game!", token));
+        }
+        return seat;
+    }
+
+    /**
+     * @return number of turns started in the journal
+     */
+    public int getTurnCount() {
+        return turnCount;
+    }
+
+    /**
+     * Rebuilds the game as it was at the start of turn 'turn', just before the active player rolled.
+     * @param turn turn in [0,getTurnCount()]
+     * @return the game at that turn; this is the replayer's own copy and is overwritten by the next seek
+     */
+    public CompactGameState seek(int turn) {
+        if ((turn < 0) || (turn > turnCount)) {
+            throw new IllegalArgumentException(String.format("Turn '%d' isn't in the journal; it holds turns [0,%d]!", turn, turnCount));
+        }
+        int k = turn / snapshotInterval;
+        current.copyFrom(snapshots.get(k));
+        int from = turnStarts[k * snapshotInterval];
+        int to = turnStarts[turn];
+        for (int i=from; i<to; i++) {
+            apply(current, journal.get(i));
+        }
+        return current;
+    }
+
+    /**
+     * Rebuilds the game at the start of turn 'turn' as a GameContext that the states can pick up from.
+     * @param turn turn in [0,getTurnCount()]
+     * @param properties every purchasable Property on the board
+     * @return a new GameContext
+     */
+    public GameContext contextAt(int turn, ArrayList<Property> properties) {
+        return seek(turn).toGameContext(properties);
+    }
+}
@@ -6,9 +6,6 @@ package io.andrys.monopoly;
  * Copyright 2019 - All rights reserved
  */
 
-import android.graphics.Color;
-import android.util.Log;
-
 /**
  * A Player is a participant in a game controlled by either a human or AI.
  */
@@ -22,6 +19,7 @@ public class Player {
     private int color;                  // color int used next to player on scoreboard, tint owned properties, etc.
     private boolean isInJail;
     private int getOutOfJailFreeCount;  // number of get out of jail free cards currently held
+    GameJournal journal;                // records changes to this player while non-null
 
     /**
      * Creates a new player that starts w/ $1500 (rulebook standard amount for a new player).
@@ -30,14 +28,45 @@ public class Player {
      * @param colorStr  color selected by this player as a "#AARRBBGG" string
      */
     public Player(String name, int token, String colorStr) {
+        this(name, token, parseColor(colorStr));
+    }
+
+    /**
+     * Creates a new player that starts w/ $1500 (rulebook standard amount for a new player).
+     * @param name      Display name for this new player
+     * @param token     ID of the token assigned to this user
+     * @param color     color selected by this player as an ARGB color int
+     */
+    public Player(String name, int token, int color) {
         this.name = name;
         this.balance = 2500;
         this.token = token;
-        this.color = Color.parseColor(colorStr);
+        this.color = color;
         this.isInJail = false;
         this.getOutOfJailFreeCount = 0;
     }
 
+    /**
+     * Converts a "#RRGGBB" or "#AARRGGBB" string into an ARGB color int. Colors w/out an alpha
+     * channel are treated as fully opaque.
+     * @param colorStr color as a hex string
+     * @return ARGB color int
+     */
+    static int parseColor(String colorStr) {
+        if ((colorStr != null) && ((colorStr.length() == 7) || (colorStr.length() == 9)) && (colorStr.charAt(0) == '#')) {
+            long c = 0;
+            for (int i=1; i<colorStr.length(); i++) {
+                int digit = Character.digit(colorStr.charAt(i), 16);
+                if (digit == -1) {
+                    throw new IllegalArgumentException(String.format("Unknown color '%s'; '%c' isn't a hex digit!", colorStr, colorStr.charAt(i)));
+                }
+                c = (c << 4) | digit;
+            }
+            return (colorStr.length() == 7) ? (int) (c | 0xFF000000L) : (int) c;
+        }
+        throw new IllegalArgumentException(String.format("Unknown color '%s'; colors must be formatted as #RRGGBB or #AARRGGBB!", colorStr));
+    }
+
     public String getName() {
         return name;
     }
@@ -56,7 +85,7 @@ public class Player {
      * @return transparent color variation as a color int
      */
     public int getTransparentColor() {
-        return Color.argb(75, Color.red(color), Color.green(color), Color.blue(color));
+        return (75 << 24) | (color & 0x00FFFFFF);
     }
 
     /**
@@ -66,7 +95,10 @@ public class Player {
     public void addToBalance(int addVal) {
         int balanceBefore = this.balance;
         this.balance += addVal;
-        Log.v(TAG, String.format("incremented %s's balance from %d -> %d", this.name, balanceBefore, this.balance));
+        if (journal != null) {
+            journal.append(GameJournal.BALANCE_ADD, token, addVal);
+        }
+        GameLog.v(TAG, "incremented %s's balance from %d -> %d", this.name, balanceBefore, this.balance);
 
     }
 
@@ -77,7 +109,10 @@ public class Player {
     public void deductFromBalance(int deductVal) {
         int balanceBefore = this.balance;
         this.balance -= deductVal;
-        Log.v(TAG, String.format("decremented %s's balance from %d -> %d", this.name, balanceBefore, this.balance));
+        if (journal != null) {
+            journal.append(GameJournal.BALANCE_DEDUCT, token, deductVal);
+        }
+        GameLog.v(TAG, "decremented %s's balance from %d -> %d", this.name, balanceBefore, this.balance);
     }
 
     /**
@@ -90,10 +125,13 @@ public class Player {
 
     public void setIsInJail(boolean isInJail) {
         this.isInJail = isInJail;
+        if (journal != null) {
+            journal.append(GameJournal.JAIL, token, isInJail ? 1 : 0);
+        }
         if (this.isInJail) {
-            Log.v(TAG, String.format("%s is now in jail.", this.name));
+            GameLog.v(TAG, "%s is now in jail.", this.name);
         } else {
-            Log.v(TAG, String.format("%s has been released from jail!", this.name));
+            GameLog.v(TAG, "%s has been released from jail!", this.name);
         }
     }
 
@@ -107,12 +145,18 @@ public class Player {
 
     public void addGetOutOfJailFree() {
         this.getOutOfJailFreeCount++;
-        Log.v(TAG, String.format("%s gains a Get Out Of Jail Free Card! (total held=%d)", this.name, this.getOutOfJailFreeCount));
+        if (journal != null) {
+            journal.append(GameJournal.JAIL_CARDS, token, 1);
+        }
+        GameLog.v(TAG, "%s gains a Get Out Of Jail Free Card! (total held=%d)", this.name, this.getOutOfJailFreeCount);
     }
 
     public void removeGetOutOfJailFree() {
         this.getOutOfJailFreeCount--;
-        Log.v(TAG, String.format("%s loses a Get Out Of Jail Free Card. (total held=%d)", this.name, this.getOutOfJailFreeCount));
+        if (journal != null) {
+            journal.append(GameJournal.JAIL_CARDS, token, -1);
+        }
+        GameLog.v(TAG, "%s loses a Get Out Of Jail Free Card. (total held=%d)", this.name, this.getOutOfJailFreeCount);
     }
 
     @Override
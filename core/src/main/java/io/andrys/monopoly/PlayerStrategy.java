@@ -0,0 +1,28 @@
+package io.andrys.monopoly;
+
+/**
+ * PlayerStrategy.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+/**
+ * Makes decisions on behalf of a scripted (non-human) Player. Used by {@link HeadlessGameView}.
+ */
+public interface PlayerStrategy {
+
+    /**
+     * Asked when the Player lands on an unowned property they can afford.
+     * @param gc context of the state waiting on this decision; gc.activePlayer is the Player deciding
+     * @param property the Property up for sale
+     * @return true to buy it, false to pass
+     */
+    boolean shouldBuyProperty(GameContext gc, Property property);
+
+    /**
+     * Asked when the jailed Player can both pay the fine and use a get out of jail free card.
+     * @param gc context of the state waiting on this decision; gc.activePlayer is the Player deciding
+     * @return true to use the card, false to pay the fine
+     */
+    boolean shouldUseGetOutOfJailFreeCard(GameContext gc);
+}
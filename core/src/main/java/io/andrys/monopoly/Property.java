@@ -6,8 +6,6 @@ package io.andrys.monopoly;
  * Copyright 2019 - All rights reserved
  */
 
-import android.support.annotation.NonNull;
-
 /**
  * 28 of the 40 spaces on a Monopoly board represent real estate (or "property") that a player can
  * purchase. A player who lands on one of these spaces can purchase the property, charge rent
@@ -88,7 +86,7 @@ public class Property implements Comparable<Property>{
      * @return negative integer, 0 if equal, or positive integer
      */
     @Override
-    public int compareTo(@NonNull Property o) {
+    public int compareTo(Property o) {
         return (this.position - o.getPosition());
     }
 }
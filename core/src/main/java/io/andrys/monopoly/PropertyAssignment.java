@@ -6,8 +6,6 @@ package io.andrys.monopoly;
  * Copyright 2019 - All rights reserved
  */
 
-import android.util.Log;
-
 /**
  * Models the ownership -- or lack of ownership -- of a specific Property in a game.
  * An purchased property has both an owner and a level of development. In the case of street
@@ -23,6 +21,7 @@ public class PropertyAssignment {
     private Property property;
     private int ownerToken;
     private int developmentLevel;
+    private boolean isMortgaged;
 
     /**
      * Creates an empty assignment of the Property p.
@@ -104,15 +103,30 @@ public class PropertyAssignment {
         this.ownerToken = newOwnerTokenID;
     }
 
+    /**
+     * @return true if the owner has mortgaged this Property to the bank
+     */
+    public boolean isMortgaged() {
+        return isMortgaged;
+    }
+
+    /**
+     * Marks this Property as mortgaged (or not). Mortgaged properties don't collect rent.
+     * @param isMortgaged true to mortgage this Property, false to lift the mortgage
+     */
+    public void updateMortgaged(boolean isMortgaged) {
+        this.isMortgaged = isMortgaged;
+    }
+
     /**
      * Updates the development level of the property associated with this assignment relationship.
      * @param newDevLevel new development level from [0,5].
      */
     public void updateDevelopmentLevel(int newDevLevel) throws IllegalArgumentException {
-        if ((newDevLevel < 0) || (newDevLevel > 5)) {
+        if ((newDevLevel >= 0) && (newDevLevel <= 5)) {
             if (isPropertyDevelopable()) {
                 this.developmentLevel = newDevLevel;
-                Log.v(TAG, String.format("Property '%s' updated to development level %d", property.getName(), developmentLevel));
+                GameLog.v(TAG, "Property '%s' updated to development level %d", property.getName(), developmentLevel);
             } else {
                 throw new IllegalArgumentException(String.format("Property '%s' cannot be developed; cannot update its development level to '%d'!", property.getName(), newDevLevel));
             }
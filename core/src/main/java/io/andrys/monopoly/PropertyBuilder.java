@@ -6,13 +6,13 @@ package io.andrys.monopoly;
  * Copyright 2019 - All rights reserved
  */
 
-import android.content.Context;
-import android.util.Log;
-
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
@@ -22,7 +22,7 @@ import java.util.Iterator;
  * and use overloaded methods.
  *
  *     private void jsonExperiment() {
- *         ArrayList<Property> properties = PropertyBuilder.loadProperties(this);
+ *         ArrayList<Property> properties = PropertyBuilder.loadProperties(RawUtils.readRawResource(this, R.raw.property_data));
  *         Log.v(TAG, String.format("Loaded '%d' properties from JSON", properties.size()));
  *         for (int i=0; i<properties.size(); i++) {
  *             if (properties.get(i) instanceof StreetProperty) {
@@ -45,22 +45,99 @@ import java.util.Iterator;
 
 /**
  * De-serializes property data from JSON & converts each object to its proper Property subclass.
+ *
+ * The build also compiles the JSON into a binary {@link PropertyTable}; {@link #loadProperties()} reads
+ * that when it's on the classpath and only falls back to parsing JSON when it isn't (or can't be read).
+ *
+ * NOTE: org.json is provided by the Android platform at runtime. JVM-only consumers of this class
+ * (tests, simulations) must put an org.json artifact on their own runtime classpath.
  */
 public class PropertyBuilder {
     final private static String TAG = "PropertyBuilder";
     final private static int NUM_PROPERTIES = 28;
 
+    /** Classpath location of the property data file; mirrors /res/raw/property_data.json in the app. */
+    final private static String PROPERTY_DATA_RESOURCE = "/property_data.json";
+    /** Classpath location of the binary table compiled from the property data file at build time. */
+    final private static String PROPERTY_TABLE_RESOURCE = "/property_data.bin";
+
     enum PropertyType {STREET, RAILROAD, UTILITY}
 
     /**
-     * Reads property data from disk, converts data to Java representation, and returns
-     * all purchasable properties on the board as a set of Property subclasses.
-     * @param context A context that can access R.raw
+     * Reads the property data bundled on the classpath, converts data to Java representation, and
+     * returns all purchasable properties on the board as a set of Property subclasses.
+     * Prefers the binary table compiled at build time; parses the JSON if the table is missing.
+     * @return ArrayList of Properties
+     */
+    public static ArrayList<Property> loadProperties() {
+        ArrayList<Property> properties = loadPropertyTable();
+        if (properties != null) {
+            return properties;
+        }
+        GameLog.w(TAG, "Property table '%s' isn't available; parsing '%s' instead.", PROPERTY_TABLE_RESOURCE, PROPERTY_DATA_RESOURCE);
+        return loadPropertiesFromJSONResource();
+    }
+
+    // Returns the properties in the compiled binary table, or null if it's missing or unreadable.
+    private static ArrayList<Property> loadPropertyTable() {
+        InputStream in = PropertyBuilder.class.getResourceAsStream(PROPERTY_TABLE_RESOURCE);
+        if (in == null) {
+            return null;
+        }
+        try {
+            return PropertyTable.read(in);
+        } catch (IOException e) {
+            GameLog.e(TAG, "Failed to read the property table", e);
+            return null;
+        } catch (IllegalArgumentException e) {
+            GameLog.e(TAG, "Property table doesn't match this build", e);
+            return null;
+        } finally {
+            try {
+                in.close();
+            } catch (IOException closeError) {
+                GameLog.e(TAG, "Failed to close property table resource", closeError);
+            }
+        }
+    }
+
+    /**
+     * Parses the JSON property data bundled on the classpath, skipping the binary table.
+     * @return ArrayList of Properties
+     */
+    public static ArrayList<Property> loadPropertiesFromJSONResource() {
+        InputStream in = PropertyBuilder.class.getResourceAsStream(PROPERTY_DATA_RESOURCE);
+        if (in == null) {
+            throw new IllegalStateException(String.format("Property data resource '%s' is missing from the classpath!", PROPERTY_DATA_RESOURCE));
+        }
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+            byte[] buf = new byte[4096];
+            int n;
+            while ((n = in.read(buf)) != -1) {
+                out.write(buf, 0, n);
+            }
+            return loadProperties(out.toString("UTF-8"));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read property data resource!", e);
+        } finally {
+            try {
+                in.close();
+            } catch (IOException closeError) {
+                GameLog.e(TAG, "Failed to close property data resource", closeError);
+            }
+        }
+    }
+
+    /**
+     * Converts JSON-encoded property data to Java representation, and returns all purchasable
+     * properties on the board as a set of Property subclasses.
+     * @param propertyJSON contents of property_data.json
      * @return ArrayList of Properties
      */
-    public static ArrayList<Property> loadProperties(Context context) {
+    public static ArrayList<Property> loadProperties(String propertyJSON) {
         ArrayList<Property> builtProperties = new ArrayList<>(NUM_PROPERTIES);
-        ArrayList<JSONObject> propObjs = getPropertyResourcesAsJSON(context);
+        ArrayList<JSONObject> propObjs = getPropertyResourcesAsJSON(propertyJSON);
         Iterator<JSONObject> itr = propObjs.iterator();
         while (itr.hasNext()) {
             // construct this Property
@@ -121,12 +198,11 @@ public class PropertyBuilder {
     }
 
     /**
-     * Reads and parses JSON-encoded property data in /res/raw/; returns each property as a JSONObject.
-     * @param context A context that can access R.raw
+     * Parses JSON-encoded property data; returns each property as a JSONObject.
+     * @param jStr contents of the property data file
      * @return list of JSONObjects, one per property in the data file.
      */
-    private static ArrayList<JSONObject> getPropertyResourcesAsJSON(Context context) {
-        String jStr = RawUtils.readRawResource(context, R.raw.property_data);
+    private static ArrayList<JSONObject> getPropertyResourcesAsJSON(String jStr) {
         ArrayList<JSONObject> propObjects = new ArrayList<>(NUM_PROPERTIES);
         try {
             JSONArray propertiesJSON = new JSONArray(jStr);
@@ -134,7 +210,7 @@ public class PropertyBuilder {
                 propObjects.add(propertiesJSON.getJSONObject(i));
             }
         } catch (JSONException e) {
-            Log.e(TAG, "failed to parse JSON property file!", e);
+            GameLog.e(TAG, "failed to parse JSON property file!", e);
         }
         return propObjects;
     }
@@ -0,0 +1,512 @@
+package io.andrys.monopoly;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Iterator;
+
+import io.andrys.monopoly.exceptions.UnownedPropertyException;
+
+/**
+ * PropertyManager.java // Android Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+/**
+ * Provides information about all purchasable properties on the board, keeps track of property
+ * ownership, and maintains each property's current development level.
+ *
+ * The rent owed for landing on each position is kept in a table that's updated whenever a property
+ * changes hands or is developed, along w/ how many railroads, utilities and monopolies each owner has.
+ * Looking up rent is then a single array read (see {@link #getRentDue(int, int)}).
+ */
+public class PropertyManager {
+    private final String TAG = this.getClass().getSimpleName();
+
+    // indexed by board position; positions w/out purchasable property hold null
+    private PropertyAssignment[] positionPropertyMap;
+    // owner token of each board position, kept in step w/ positionPropertyMap; NO_OWNER if the bank owns it
+    // or there's no property there
+    private int[] owners;
+    // associates color groups w/ their associated street properties
+    private EnumMap<StreetProperty.ColorGroup, ArrayList<StreetProperty>> colorPropertyMap;
+
+    // rent owed for landing on each position is rentDue[p] + (rentDiceMultiplier[p] * dice total);
+    // the multiplier is only non-zero for owned utilities. Both are 0 for unowned positions.
+    private int[] rentDue;
+    private int[] rentDiceMultiplier;
+
+    // token of the player that owns every street in each color group (indexed by ordinal), or NO_OWNER
+    private int[] monopolyOwners;
+
+    // indexed by tokenID; grown as new owners show up
+    private int[] railroadCounts;
+    private int[] utilityCounts;
+    private int[] monopolyCounts;
+
+    private int[] railroadPositions;
+    private int[] utilityPositions;
+
+    // records ownership, development and mortgage changes while non-null (see GameJournal#record)
+    GameJournal journal;
+
+    /**
+     * Creates a PropertyManager that tracks the passed properties; all of them start out owned by the bank.
+     * @param properties every purchasable Property on the board (see {@link PropertyBuilder})
+     */
+    public PropertyManager(ArrayList<Property> properties) {
+        this.positionPropertyMap = buildPositionPropertyMap(properties);
+        this.owners = new int[40];
+        Arrays.fill(owners, PropertyAssignment.NO_OWNER);
+        this.colorPropertyMap = buildColorPropertyMap(properties);
+        this.rentDue = new int[40];
+        this.rentDiceMultiplier = new int[40];
+        this.monopolyOwners = new int[StreetProperty.ColorGroup.values().length];
+        Arrays.fill(monopolyOwners, PropertyAssignment.NO_OWNER);
+        this.railroadCounts = new int[0];
+        this.utilityCounts = new int[0];
+        this.monopolyCounts = new int[0];
+        this.railroadPositions = findPositionsOfType(RailroadProperty.class);
+        this.utilityPositions = findPositionsOfType(UtilityProperty.class);
+    }
+
+    // Returns the (ascending) board positions of every property of a given type.
+    private int[] findPositionsOfType(Class<? extends Property> type) {
+        int[] positions = new int[40];
+        int count = 0;
+        for (int p=0; p<positionPropertyMap.length; p++) {
+            if ((positionPropertyMap[p] != null) && type.isInstance(positionPropertyMap[p].getProperty())) {
+                positions[count++] = p;
+            }
+        }
+        return Arrays.copyOf(positions, count);
+    }
+
+    /**
+     * Builds a mapping of each purchasable board position -> a PropertyAssignment containing
+     * both the Property data and owner.
+     *
+     * Since not all positions on the board are property spaces, this will not return a
+     * PropertyAssignment for every valid position on the board.
+     *
+     * @param properties List of Property objects to map to board positions
+     * @return array of 40 elements w/ len(properties) non-null entries s.t.
+     *     (pos -> PropertyAssignment(Property.position==pos, owner=null))
+     */
+    private PropertyAssignment[] buildPositionPropertyMap(ArrayList<Property> properties) {
+        PropertyAssignment[] m = new PropertyAssignment[40];
+        Iterator<Property> itr = properties.iterator();
+        while (itr.hasNext()) {
+            Property p = itr.next();
+            m[p.getPosition()] = new PropertyAssignment(p);
+        }
+        return m;
+    }
+
+    // Builds a mapping of each StreetProperty ColorGroup to its associated StreetProperties
+    private EnumMap<StreetProperty.ColorGroup, ArrayList<StreetProperty>> buildColorPropertyMap(ArrayList<Property> properties) {
+        StreetProperty.ColorGroup[] groups = StreetProperty.ColorGroup.values();
+        EnumMap<StreetProperty.ColorGroup, ArrayList<StreetProperty>> map = new EnumMap<>(StreetProperty.ColorGroup.class);
+
+        // initialize empty lists for every color group in our mapping
+        for (int i=0; i<groups.length; i++) {
+            StreetProperty.ColorGroup cg = groups[i];
+            if (!map.containsKey(cg)) {
+                map.put(cg, new ArrayList<StreetProperty>(3));    // no color group contains more than 3 properties
+            }
+        }
+
+        // assign each street property to its color group
+        Iterator<Property> itr = properties.iterator();
+        while (itr.hasNext()) {
+            Property p = itr.next();
+            if (p instanceof StreetProperty) {
+                StreetProperty sp = (StreetProperty)p;
+                ArrayList<StreetProperty> props = map.get(sp.getColorGroup());
+                props.add(sp);
+                map.put(sp.getColorGroup(), props);
+            }
+        }
+        return map;
+    }
+
+    // True if p is a valid board position with purchasable property
+    private boolean isPositionValid(int p) {
+        if ((p < 0) || (p > 39)) {
+            throw new IllegalArgumentException(String.format("Invalid board position '%d'!", p));
+        } else if (positionPropertyMap[p] == null) {
+            throw new IllegalArgumentException(String.format("No purchasable Property at position '%d'!", p));
+        } else {
+            return true;
+        }
+    }
+
+    /**
+     * Returns the Property at a specific position on the board.
+     * @param p A board position with purchasable property
+     * @return
+     */
+    public Property inspectProperty(int p) {
+        if ((p < 0) || (p > 39)) {
+            throw new IllegalArgumentException(String.format("Invalid board position '%d'!", p));
+        } else if (positionPropertyMap[p] == null) {
+            throw new IllegalArgumentException(String.format("No purchasable Property at position '%d'!", p));
+        } else {
+            return positionPropertyMap[p].getProperty();
+        }
+    }
+
+    /**
+     * Returns a list of all StreetProperties in a given ColorGroup.
+     * @return ArrayList<StreetProperty>
+     */
+    public ArrayList<StreetProperty> inspectPropertiesInColorGroup(StreetProperty.ColorGroup group) {
+        return colorPropertyMap.get(group);
+    }
+
+    /**
+     * Interrogates ownership of the Property at a specific position on the board.
+     * @param p A board position with purchasable property
+     * @return true if owned, false if the bank owns it
+     */
+    public boolean isPropertyOwned(int p) {
+        return ownerOrNone(p) != PropertyAssignment.NO_OWNER;
+    }
+
+    /**
+     * Returns the token of the Player that owns the property at position p. Unlike {@link #getPropertyOwner(int)},
+     * this never throws, so it's the one to use when the bank owning a property is a normal outcome.
+     * @param p any board position
+     * @return tokenID of the owner, or {@link PropertyAssignment#NO_OWNER} if the bank owns it, there's
+     *     no property at p, or p isn't on the board
+     */
+    public int ownerOrNone(int p) {
+        if ((p < 0) || (p > 39)) {
+            return PropertyAssignment.NO_OWNER;
+        }
+        return owners[p];
+    }
+
+    /**
+     * Copies the owner of every board position into 'out', i.e. out[p] == ownerOrNone(p).
+     * @param out array w/ room for at least 40 positions
+     * @return out
+     */
+    public int[] ownerSnapshot(int[] out) {
+        if (out.length < owners.length) {
+            throw new IllegalArgumentException(String.format("Snapshot array needs room for %d positions, not %d!", owners.length, out.length));
+        }
+        System.arraycopy(owners, 0, out, 0, owners.length);
+        return out;
+    }
+
+    /**
+     * Retrieves the token of the Player that owns the property at a specific position on the board.
+     * @param p A board position with purchasable property
+     * @return tokenID of the owner
+     * @throws UnownedPropertyException if property is unowned
+     */
+    public int getPropertyOwner(int p) throws UnownedPropertyException {
+        int tokenID;
+        if ((p < 0) || (p > 39)) {
+            throw new IllegalArgumentException(String.format("Invalid board position '%d'!", p));
+        } else if (positionPropertyMap[p] == null) {
+            throw new IllegalArgumentException(String.format("No purchasable Property at position '%d'!", p));
+        } else if (owners[p] == PropertyAssignment.NO_OWNER) {
+            throw new UnownedPropertyException(String.format("Bank owns property at position '%d'!", p));
+            //throw new IllegalArgumentException(String.format("Bank owns property at position '%d'!", p));
+        } else {
+            tokenID = owners[p];
+        }
+        return tokenID;
+    }
+
+    /**
+     * Assigns ownership to the Property at a specific board position to a player by their tokenID.
+     * @param p A board position with purchasable property
+     * @param tokenID tokenID of the new owner
+     */
+    public void assignPropertyToOwner(int p, int tokenID) {
+        if ((p < 0) || (p > 39)) {
+            throw new IllegalArgumentException(String.format("Invalid board position '%d'!", p));
+        } else if (positionPropertyMap[p] == null) {
+            throw new IllegalArgumentException(String.format("No purchasable Property at position '%d'!", p));
+        } else {
+            PropertyAssignment pa = positionPropertyMap[p];
+            changeOwner(pa, tokenID);
+            GameLog.v(TAG, "NEW ASSIGN: '%s' is now owned by token '%d'.", pa.getProperty().getName(), pa.getOwnerToken());
+        }
+    }
+
+    // Updates a property's owner, then brings the owner counts and rent table up to date.
+    private void changeOwner(PropertyAssignment pa, int newOwner) {
+        int oldOwner = pa.getOwnerToken();
+        pa.updateOwner(newOwner);
+        owners[pa.getProperty().getPosition()] = newOwner;
+        if (journal != null) {
+            journal.append(GameJournal.OWNER, pa.getProperty().getPosition(), newOwner);
+        }
+        if (oldOwner == newOwner) {
+            return;
+        }
+
+        Property prop = pa.getProperty();
+        if (prop instanceof StreetProperty) {
+            updateColorGroup(((StreetProperty) prop).getColorGroup());
+        } else if (prop instanceof RailroadProperty) {
+            railroadCounts = adjustCount(railroadCounts, oldOwner, -1);
+            railroadCounts = adjustCount(railroadCounts, newOwner, 1);
+            for (int rp : railroadPositions) {
+                updateRentDue(rp);
+            }
+        } else if (prop instanceof UtilityProperty) {
+            utilityCounts = adjustCount(utilityCounts, oldOwner, -1);
+            utilityCounts = adjustCount(utilityCounts, newOwner, 1);
+            for (int up : utilityPositions) {
+                updateRentDue(up);
+            }
+        }
+    }
+
+    // Re-checks who (if anyone) has a monopoly on a color group, then refreshes rent for every street in it.
+    private void updateColorGroup(StreetProperty.ColorGroup group) {
+        ArrayList<StreetProperty> streets = colorPropertyMap.get(group);
+        int owner = owners[streets.get(0).getPosition()];
+        for (int i=1; i<streets.size(); i++) {
+            if (owners[streets.get(i).getPosition()] != owner) {
+                owner = PropertyAssignment.NO_OWNER;
+                break;
+            }
+        }
+
+        int previousOwner = monopolyOwners[group.ordinal()];
+        if (previousOwner != owner) {
+            monopolyCounts = adjustCount(monopolyCounts, previousOwner, -1);
+            monopolyCounts = adjustCount(monopolyCounts, owner, 1);
+            monopolyOwners[group.ordinal()] = owner;
+        }
+        for (int i=0; i<streets.size(); i++) {
+            updateRentDue(streets.get(i).getPosition());
+        }
+    }
+
+    // Recalculates the rent owed for landing on position p from its owner's current holdings.
+    private void updateRentDue(int p) {
+        PropertyAssignment pa = positionPropertyMap[p];
+        int rent = 0;
+        int multiplier = 0;
+        if (pa.hasOwner() && !pa.isMortgaged()) {
+            int owner = pa.getOwnerToken();
+            Property prop = pa.getProperty();
+            if (prop instanceof StreetProperty) {
+                StreetProperty sp = (StreetProperty) prop;
+                int level = pa.getDevelopmentLevel();
+                if (level > 0) {
+                    // pay the price dictated by # of houses and/or hotel
+                    rent = sp.calculateRentPayment(level);
+                } else if (monopolyOwners[sp.getColorGroup().ordinal()] == owner) {
+                    // an undeveloped monopoly pays double the basic rent
+                    rent = sp.calculateRentPayment(0) * 2;
+                } else {
+                    rent = sp.calculateRentPayment(0);
+                }
+            } else if (prop instanceof RailroadProperty) {
+                rent = ((RailroadProperty) prop).calculateRentPayment(countFor(railroadCounts, owner));
+            } else if (prop instanceof UtilityProperty) {
+                // utility rent is a multiple of the dice total; see UtilityProperty.calculateRentPayment()
+                multiplier = ((UtilityProperty) prop).calculateRentPayment(countFor(utilityCounts, owner), 1);
+            }
+        }
+        rentDue[p] = rent;
+        rentDiceMultiplier[p] = multiplier;
+    }
+
+    // Adds 'delta' to counts[tokenID], growing the array if needed. The bank's count isn't tracked.
+    private static int[] adjustCount(int[] counts, int tokenID, int delta) {
+        if (tokenID < 0) {
+            return counts;
+        }
+        if (tokenID >= counts.length) {
+            counts = Arrays.copyOf(counts, tokenID + 1);
+        }
+        counts[tokenID] += delta;
+        return counts;
+    }
+
+    private static int countFor(int[] counts, int tokenID) {
+        if ((tokenID < 0) || (tokenID >= counts.length)) {
+            return 0;
+        }
+        return counts[tokenID];
+    }
+
+    /**
+     * Copies the development level of every board position into 'out'; positions w/out a street hold 0.
+     * @param out array w/ room for at least 40 positions
+     * @return out
+     */
+    public int[] developmentSnapshot(int[] out) {
+        if (out.length < positionPropertyMap.length) {
+            throw new IllegalArgumentException(String.format("Snapshot array needs room for %d positions, not %d!", positionPropertyMap.length, out.length));
+        }
+        for (int p=0; p<positionPropertyMap.length; p++) {
+            out[p] = (positionPropertyMap[p] != null) ? positionPropertyMap[p].getDevelopmentLevel() : 0;
+        }
+        return out;
+    }
+
+    /**
+     * Copies the mortgage status of every board position into 'out'; positions w/out a property hold false.
+     * @param out array w/ room for at least 40 positions
+     * @return out
+     */
+    public boolean[] mortgageSnapshot(boolean[] out) {
+        if (out.length < positionPropertyMap.length) {
+            throw new IllegalArgumentException(String.format("Snapshot array needs room for %d positions, not %d!", positionPropertyMap.length, out.length));
+        }
+        for (int p=0; p<positionPropertyMap.length; p++) {
+            out[p] = (positionPropertyMap[p] != null) && positionPropertyMap[p].isMortgaged();
+        }
+        return out;
+    }
+
+    /**
+     * @param p A board position with purchasable property
+     * @return true if the Property at p has been mortgaged
+     */
+    public boolean isMortgaged(int p) {
+        isPositionValid(p);
+        return positionPropertyMap[p].isMortgaged();
+    }
+
+    /**
+     * Mortgages (or lifts the mortgage on) the Property at position p. Mortgaged properties collect no rent,
+     * but still count towards their owner's railroads, utilities and monopolies.
+     * @param p A board position with purchasable property
+     * @param isMortgaged true to mortgage the Property, false to lift the mortgage
+     */
+    public void updateMortgagedAtPosition(int p, boolean isMortgaged) {
+        isPositionValid(p);
+        positionPropertyMap[p].updateMortgaged(isMortgaged);
+        if (journal != null) {
+            journal.append(GameJournal.MORTGAGE, p, isMortgaged ? 1 : 0);
+        }
+        updateRentDue(p);
+    }
+
+    /**
+     * Returns the rent a player owes the owner for landing on position p.
+     * @param p any board position
+     * @param diceTotal sum of the dice that brought the player here (only used by utilities)
+     * @return rent owed, or 0 if nobody owns a property at p
+     */
+    public int getRentDue(int p, int diceTotal) {
+        if ((p < 0) || (p > 39)) {
+            throw new IllegalArgumentException(String.format("Invalid board position '%d'!", p));
+        }
+        return rentDue[p] + (rentDiceMultiplier[p] * diceTotal);
+    }
+
+    /**
+     * @param tokenID token of a player
+     * @return number of railroads the player owns
+     */
+    public int getRailroadCount(int tokenID) {
+        return countFor(railroadCounts, tokenID);
+    }
+
+    /**
+     * @param tokenID token of a player
+     * @return number of utilities the player owns
+     */
+    public int getUtilityCount(int tokenID) {
+        return countFor(utilityCounts, tokenID);
+    }
+
+    /**
+     * @param tokenID token of a player
+     * @return number of color groups the player has a monopoly on
+     */
+    public int getMonopolyCount(int tokenID) {
+        return countFor(monopolyCounts, tokenID);
+    }
+
+    /**
+     * Checks if a street's owner also owns every other street in its color group.
+     * @param p A board position with purchasable property
+     * @return true if p is a street whose owner has a monopoly on its color group
+     */
+    public boolean isPartOfMonopoly(int p) {
+        isPositionValid(p);
+        Property prop = positionPropertyMap[p].getProperty();
+        if (prop instanceof StreetProperty) {
+            int owner = monopolyOwners[((StreetProperty) prop).getColorGroup().ordinal()];
+            return (owner != PropertyAssignment.NO_OWNER) && (owner == positionPropertyMap[p].getOwnerToken());
+        }
+        return false;
+    }
+
+    /**
+     * Hands every Property owned by one player over to another (i.e. when a player goes bankrupt).
+     * Development levels are left as they are.
+     * @param fromTokenID tokenID of the current owner
+     * @param toTokenID tokenID of the new owner, or {@link PropertyAssignment#NO_OWNER} to return them to the bank
+     * @return board positions of the properties that changed hands
+     */
+    public int[] transferAllProperties(int fromTokenID, int toTokenID) {
+        int[] transferred = new int[40];
+        int count = 0;
+        for (int p=0; p<positionPropertyMap.length; p++) {
+            PropertyAssignment pa = positionPropertyMap[p];
+            if ((pa != null) && (pa.hasOwner()) && (pa.getOwnerToken() == fromTokenID)) {
+                changeOwner(pa, toTokenID);
+                transferred[count++] = p;
+            }
+        }
+        GameLog.v(TAG, "Transferred '%d' properties from token '%d' to token '%d'.", count, fromTokenID, toTokenID);
+        return Arrays.copyOf(transferred, count);
+    }
+
+    /**
+     * Returns the development level of the Property at position p.
+     * @param p A board position with purchasable property
+     * @return
+     */
+    public int getDevelopmentLevelAtPosition(int p) {
+        if ((p < 0) || (p > 39)) {
+            throw new IllegalArgumentException(String.format("Invalid board position '%d'!", p));
+        } else if (positionPropertyMap[p] == null) {
+            throw new IllegalArgumentException(String.format("No purchasable Property at position '%d'!", p));
+        } else {
+            PropertyAssignment pa = positionPropertyMap[p];
+            return pa.getDevelopmentLevel();
+
+        }
+    }
+
+    /**
+     * Updates the development level of the Property at position p if it can be developed.
+     * @param p A board position with purchasable property
+     */
+    public void updateDevelopmentLevelAtPosition(int p, int newDevLevel) {
+        if ((p < 0) || (p > 39)) {
+            throw new IllegalArgumentException(String.format("Invalid board position '%d'!", p));
+        } else if (positionPropertyMap[p] == null) {
+            throw new IllegalArgumentException(String.format("No purchasable Property at position '%d'!", p));
+        } else {
+            PropertyAssignment pa = positionPropertyMap[p];
+            if (pa.isPropertyDevelopable()) {
+                pa.updateDevelopmentLevel(newDevLevel);
+                if (journal != null) {
+                    journal.append(GameJournal.DEVELOPMENT, p, newDevLevel);
+                }
+                updateRentDue(p);
+            } else {
+                throw new IllegalArgumentException(String.format("Cannot modify development level of '%s'; property cannot be developed!", pa.getProperty().getName()));
+            }
+        }
+    }
+
+}
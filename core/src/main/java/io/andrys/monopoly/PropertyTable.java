@@ -0,0 +1,172 @@
+package io.andrys.monopoly;
+
+/**
+ * PropertyTable.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The property data in a compact binary form, compiled from property_data.json at build time by the
+ * :core:compilePropertyData task (which runs {@link #main(String[])}). Reading it back is a straight run of
+ * fixed reads, w/ no JSON parsing and no intermediate objects.
+ *
+ * Layout (big-endian): magic, version, property count, then for each property in position order:
+ * type byte, position byte, price short, name (modified UTF-8), and for streets the color group name,
+ * development cost short and six rent shorts.
+ */
+public class PropertyTable {
+    final private static String TAG = "PropertyTable";
+
+    // "MPRP"
+    private static final int MAGIC = 0x4D505250;
+    private static final int VERSION = 1;
+
+    private static final int TYPE_STREET = 0;
+    private static final int TYPE_RAILROAD = 1;
+    private static final int TYPE_UTILITY = 2;
+
+    private static final int NUM_RENT_VALUES = 6;
+
+    private PropertyTable() {}
+
+    /**
+     * Writes properties as a binary table.
+     * @param properties properties to write, in position order
+     * @param out destination; not closed
+     * @throws IOException if 'out' can't be written to
+     */
+    public static void write(List<Property> properties, OutputStream out) throws IOException {
+        DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(out));
+        dos.writeInt(MAGIC);
+        dos.writeInt(VERSION);
+        dos.writeShort(properties.size());
+        for (Property p : properties) {
+            if (p instanceof StreetProperty) {
+                dos.writeByte(TYPE_STREET);
+            } else if (p instanceof RailroadProperty) {
+                dos.writeByte(TYPE_RAILROAD);
+            } else if (p instanceof UtilityProperty) {
+                dos.writeByte(TYPE_UTILITY);
+            } else {
+                throw new IllegalArgumentException(String.format("Property '%s' at position '%d' has no type!", p.getName(), p.getPosition()));
+            }
+            dos.writeByte(p.getPosition());
+            writeShort(dos, p.getPrice());
+            dos.writeUTF(p.getName());
+            if (p instanceof StreetProperty) {
+                StreetProperty s = (StreetProperty) p;
+                dos.writeUTF(s.getColorGroup().name());
+                writeShort(dos, s.getDevelopmentCost());
+                for (int i=0; i<NUM_RENT_VALUES; i++) {
+                    writeShort(dos, s.rentValues[i]);
+                }
+            }
+        }
+        dos.flush();
+    }
+
+    private static void writeShort(DataOutputStream dos, int v) throws IOException {
+        if ((v < 0) || (v > Short.MAX_VALUE)) {
+            throw new IllegalArgumentException(String.format("Value '%d' doesn't fit in the property table!", v));
+        }
+        dos.writeShort(v);
+    }
+
+    /**
+     * Reads a table written by {@link #write(List, OutputStream)}.
+     * @param in source; not closed
+     * @return ArrayList of Properties, sorted by position
+     * @throws IOException if 'in' isn't a property table or ends early
+     */
+    public static ArrayList<Property> read(InputStream in) throws IOException {
+        DataInputStream dis = new DataInputStream(new BufferedInputStream(in));
+        if (dis.readInt() != MAGIC) {
+            throw new IOException("Not a property table!");
+        }
+        int version = dis.readInt();
+        if (version != VERSION) {
+            throw new IOException(String.format("Unsupported property table version '%d'!", version));
+        }
+        int count = dis.readShort();
+        ArrayList<Property> properties = new ArrayList<>(count);
+        for (int i=0; i<count; i++) {
+            int type = dis.readByte();
+            int position = dis.readByte();
+            int price = dis.readShort();
+            String name = dis.readUTF();
+            switch (type) {
+                case TYPE_STREET:
+                    StreetProperty.ColorGroup color = StreetProperty.ColorGroup.valueOf(dis.readUTF());
+                    int developmentCost = dis.readShort();
+                    int[] rentValues = new int[NUM_RENT_VALUES];
+                    for (int r=0; r<NUM_RENT_VALUES; r++) {
+                        rentValues[r] = dis.readShort();
+                    }
+                    properties.add(new StreetProperty(name, price, position, rentValues, developmentCost, color));
+                    break;
+                case TYPE_RAILROAD:
+                    properties.add(new RailroadProperty(name, price, position));
+                    break;
+                case TYPE_UTILITY:
+                    properties.add(new UtilityProperty(name, price, position));
+                    break;
+                default:
+                    throw new IOException(String.format("Unknown property type '%d' at position '%d'!", type, position));
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Compiles property_data.json into a binary table.
+     * Usage: PropertyTable [input.json] [output.bin]
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: PropertyTable [input.json] [output.bin]");
+        }
+        File jsonFile = new File(args[0]);
+        File tableFile = new File(args[1]);
+
+        byte[] json = new byte[(int) jsonFile.length()];
+        DataInputStream in = new DataInputStream(new FileInputStream(jsonFile));
+        try {
+            in.readFully(json);
+        } finally {
+            in.close();
+        }
+        ArrayList<Property> properties = PropertyBuilder.loadProperties(new String(json, "UTF-8"));
+        for (Property p : properties) {
+            // buildProperty() hands back a bare Property when an entry doesn't parse
+            if (p.getClass() == Property.class) {
+                throw new IllegalStateException(String.format("'%s' has an entry that couldn't be parsed!", jsonFile));
+            }
+        }
+
+        File dir = tableFile.getParentFile();
+        if ((dir != null) && !dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException(String.format("Couldn't create directory '%s'!", dir));
+        }
+        OutputStream out = new FileOutputStream(tableFile);
+        try {
+            write(properties, out);
+        } finally {
+            out.close();
+        }
+        System.out.printf("Compiled %d properties into %s (%d bytes).%n", properties.size(), tableFile, tableFile.length());
+    }
+}
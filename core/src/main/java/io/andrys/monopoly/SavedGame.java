@@ -0,0 +1,214 @@
+package io.andrys.monopoly;
+
+/**
+ * SavedGame.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+
+import io.andrys.monopoly.states.GameState;
+import io.andrys.monopoly.states.InJailState;
+import io.andrys.monopoly.states.RollDiceState;
+import io.andrys.monopoly.states.UnownedPropertyState;
+
+/**
+ * A game in progress, frozen so it can be written to disk and picked up again after the process dies.
+ *
+ * Holds the game as a CompactGameState plus the class of every state on the engine's stack (as
+ * {@link GameJournal} state codes), so a save is a few hundred bytes and restoring one is a handful of
+ * array writes and a PropertyManager rebuild.
+ *
+ * A game can only be captured while every state on the stack is waiting on a player (a roll, a purchase,
+ * or leaving jail); see {@link #canCapture(GameEngine)}. Restoring re-enters the state on top of the stack,
+ * which prompts the player all over again and has no other side effects.
+ */
+public class SavedGame {
+    private final String TAG = this.getClass().getSimpleName();
+
+    // "MSAV"
+    private static final int MAGIC = 0x4D534156;
+    private static final int VERSION = 1;
+
+    private final CompactGameState state;
+    // state codes, bottom of the stack first
+    private final int[] stateCodes;
+    private final int turnCount;
+
+    private SavedGame(CompactGameState state, int[] stateCodes, int turnCount) {
+        this.state = state;
+        this.stateCodes = stateCodes;
+        this.turnCount = turnCount;
+    }
+
+    /**
+     * Freezes the game 'engine' is playing.
+     * @param engine GameEngine that's waiting on a player
+     * @param turnCount value of the on-screen turn counter
+     * @return a SavedGame that shares nothing w/ the running game
+     */
+    public static SavedGame capture(GameEngine engine, int turnCount) {
+        GameState top = engine.getCurrentState();
+        if (top == null) {
+            throw new IllegalArgumentException("Can't save a game that hasn't started!");
+        }
+        int[] codes = new int[engine.stateStack.size()];
+        // ArrayDeque iterates from the top of the stack down
+        int i = codes.length - 1;
+        for (GameState s : engine.stateStack) {
+            int code = GameJournal.stateCode(s);
+            if (!isRestorable(code)) {
+                throw new IllegalArgumentException(String.format("Can't save the game while it's in %s!", s));
+            }
+            codes[i--] = code;
+        }
+        return new SavedGame(CompactGameState.capture(top.getGameContext()), codes, turnCount);
+    }
+
+    /**
+     * @return true if 'engine' is waiting on a player, so {@link #capture(GameEngine, int)} can save it
+     */
+    public static boolean canCapture(GameEngine engine) {
+        if (engine.getCurrentState() == null) {
+            return false;
+        }
+        for (GameState s : engine.stateStack) {
+            if (!isRestorable(GameJournal.stateCode(s))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isRestorable(int code) {
+        switch (code) {
+            case GameJournal.STATE_ROLL_DICE:
+            case GameJournal.STATE_UNOWNED_PROPERTY:
+            case GameJournal.STATE_IN_JAIL:
+                return true;
+            default:
+                // every other state acts as soon as it's entered (i.e. moves money), so entering it again
+                // would repeat that
+                return false;
+        }
+    }
+
+    private static GameState buildState(int code, GameEngine engine, GameContext gc) {
+        switch (code) {
+            case GameJournal.STATE_ROLL_DICE:
+                return new RollDiceState(engine, gc);
+            case GameJournal.STATE_UNOWNED_PROPERTY:
+                return new UnownedPropertyState(engine, gc);
+            case GameJournal.STATE_IN_JAIL:
+                return new InJailState(engine, gc);
+            default:
+                throw new IllegalArgumentException(String.format("State code '%d' can't be restored!", code));
+        }
+    }
+
+    /**
+     * Rebuilds the game and puts 'engine' back in the state it was saved in. States under the top of the
+     * stack are put back silently; the top state is entered and executed as usual, so the view gets the
+     * same prompt it was showing when the game was saved.
+     *
+     * Entering a RollDiceState counts a turn, so set the view's turn counter to {@link #getResumeTurnCount()}
+     * before calling this.
+     * @param engine a new GameEngine w/ an empty stack
+     * @param properties every purchasable Property on the board
+     * @return the restored GameContext; the view should draw it once this returns
+     */
+    public GameContext restore(GameEngine engine, ArrayList<Property> properties) {
+        if (engine.getCurrentState() != null) {
+            throw new IllegalArgumentException("Can't restore a game into an engine that's already running!");
+        }
+        GameContext gc = state.toGameContext(properties);
+        for (int i=0; i<stateCodes.length-1; i++) {
+            engine.stateStack.push(buildState(stateCodes[i], engine, gc));
+        }
+        engine.pushState(buildState(stateCodes[stateCodes.length-1], engine, gc));
+        return gc;
+    }
+
+    /**
+     * @return the on-screen turn counter when the game was saved
+     */
+    public int getTurnCount() {
+        return turnCount;
+    }
+
+    /**
+     * @return the value the view's turn counter should have before {@link #restore(GameEngine, ArrayList)}
+     */
+    public int getResumeTurnCount() {
+        boolean countsOnEnter = stateCodes[stateCodes.length-1] == GameJournal.STATE_ROLL_DICE;
+        return countsOnEnter ? turnCount - 1 : turnCount;
+    }
+
+    /**
+     * @return the saved game; don't modify it
+     */
+    public CompactGameState getState() {
+        return state;
+    }
+
+    /**
+     * Writes this game in a compact binary form.
+     * @param out destination; not closed
+     * @throws IOException if 'out' can't be written to
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(out));
+        dos.writeInt(MAGIC);
+        dos.writeInt(VERSION);
+        dos.writeInt(turnCount);
+        dos.writeByte(stateCodes.length);
+        for (int code : stateCodes) {
+            dos.writeByte(code);
+        }
+        state.write(dos);
+        dos.flush();
+    }
+
+    /**
+     * Reads a game written by {@link #writeTo(OutputStream)}. Reads no further than the end of the save,
+     * so whatever follows it in 'in' is left for the caller; buffer 'in' if it's a file.
+     * @param in source; not closed
+     * @return the SavedGame
+     * @throws IOException if 'in' isn't a saved game or ends early
+     */
+    public static SavedGame readFrom(InputStream in) throws IOException {
+        DataInputStream dis = new DataInputStream(in);
+        if (dis.readInt() != MAGIC) {
+            throw new IOException("Not a saved game!");
+        }
+        int version = dis.readInt();
+        if (version != VERSION) {
+            throw new IOException(String.format("Unsupported saved game version '%d'!", version));
+        }
+        int turnCount = dis.readInt();
+        int depth = dis.readByte();
+        if (depth < 1) {
+            throw new IOException(String.format("Saved game has an invalid stack depth '%d'!", depth));
+        }
+        int[] codes = new int[depth];
+        for (int i=0; i<depth; i++) {
+            codes[i] = dis.readByte();
+            if (!isRestorable(codes[i])) {
+                throw new IOException(String.format("Saved game has an unknown state code '%d'!", codes[i]));
+            }
+        }
+        return new SavedGame(CompactGameState.read(dis), codes, turnCount);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SavedGame{turn=%d, depth=%d, %s}", turnCount, stateCodes.length, state);
+    }
+}
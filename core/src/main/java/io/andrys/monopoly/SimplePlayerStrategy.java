@@ -0,0 +1,45 @@
+package io.andrys.monopoly;
+
+/**
+ * SimplePlayerStrategy.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+/**
+ * Buys every property it lands on as long as it keeps at least 'cashReserve' dollars afterwards,
+ * and prefers a get out of jail free card to paying the fine.
+ */
+public class SimplePlayerStrategy implements PlayerStrategy {
+
+    private final int cashReserve;
+
+    public SimplePlayerStrategy() {
+        this(0);
+    }
+
+    /**
+     * @param cashReserve minimum balance to hold onto after buying a property
+     */
+    public SimplePlayerStrategy(int cashReserve) {
+        if (cashReserve < 0) {
+            throw new IllegalArgumentException(String.format("Cash reserve '%d' can't be negative!", cashReserve));
+        }
+        this.cashReserve = cashReserve;
+    }
+
+    @Override
+    public boolean shouldBuyProperty(GameContext gc, Property property) {
+        return (gc.activePlayer.getBalance() - property.getPrice()) >= cashReserve;
+    }
+
+    @Override
+    public boolean shouldUseGetOutOfJailFreeCard(GameContext gc) {
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SimplePlayerStrategy{cashReserve=%d}", cashReserve);
+    }
+}
@@ -0,0 +1,17 @@
+package io.andrys.monopoly;
+
+/**
+ * SoundEffect.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+/**
+ * Sounds the game engine can ask a GameView to play. The view decides which audio file backs each one.
+ */
+public enum SoundEffect {
+    DICE_ROLL,
+    PROPERTY_PURCHASED,
+    SENT_TO_JAIL,
+    FREED_FROM_JAIL
+}
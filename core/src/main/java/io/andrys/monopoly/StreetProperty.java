@@ -6,15 +6,6 @@ package io.andrys.monopoly;
  * Copyright 2019 - All rights reserved
  */
 
-
-import android.annotation.SuppressLint;
-import android.graphics.Color;
-import android.util.Log;
-
-import org.json.JSONArray;
-import org.json.JSONException;
-import org.json.JSONObject;
-
 import java.util.Locale;
 
 /**
@@ -0,0 +1,105 @@
+package io.andrys.monopoly;
+
+/**
+ * XoroshiroDiceSource.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A DiceSource backed by xoroshiro128** (Blackman & Vigna). It's unsynchronized and keeps its whole
+ * state in two longs, so it's much cheaper than java.util.Random and never contends between threads.
+ *
+ * The same seed always rolls the same sequence of faces, so a game can be replayed from {@link #getSeed()}.
+ */
+public class XoroshiroDiceSource implements DiceSource {
+
+    // SplitMix64's increment; used to expand seeds
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final AtomicLong seedUniquifier = new AtomicLong(0x5DEECE66DL);
+
+    private final long seed;
+    private long s0;
+    private long s1;
+
+    /**
+     * Creates a source w/ a seed that's different every time.
+     */
+    public XoroshiroDiceSource() {
+        this(System.nanoTime() ^ seedUniquifier.addAndGet(GOLDEN_GAMMA));
+    }
+
+    /**
+     * @param seed any value; the same seed always produces the same rolls
+     */
+    public XoroshiroDiceSource(long seed) {
+        this.seed = seed;
+        // SplitMix64 turns any seed (even 0) into a well-mixed, non-zero state
+        this.s0 = mix(seed + GOLDEN_GAMMA);
+        this.s1 = mix(seed + 2 * GOLDEN_GAMMA);
+        if ((s0 | s1) == 0) {
+            s1 = GOLDEN_GAMMA;
+        }
+    }
+
+    /**
+     * @return the seed this source was created w/
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * @return the next 64 random bits
+     */
+    public long nextLong() {
+        long a = s0;
+        long b = s1;
+        long result = Long.rotateLeft(a * 5, 7) * 9;
+        b ^= a;
+        s0 = Long.rotateLeft(a, 24) ^ b ^ (b << 16);
+        s1 = Long.rotateLeft(b, 37);
+        return result;
+    }
+
+    // Maps 32 random bits onto [1,6] w/ a multiply and shift instead of a division.
+    private static int toFace(long bits32) {
+        return (int) ((bits32 * 6) >>> 32) + 1;
+    }
+
+    @Override
+    public int nextFace() {
+        return toFace(nextLong() >>> 32);
+    }
+
+    @Override
+    public void fill(int[] faces, int offset, int length) {
+        if ((offset < 0) || (length < 0) || (offset + length > faces.length)) {
+            throw new IllegalArgumentException(String.format("Can't fill %d faces at offset %d of a %d element array!", length, offset, faces.length));
+        }
+        int end = offset + length;
+        int i = offset;
+        // two faces from each 64 bits
+        for (; i + 1 < end; i += 2) {
+            long bits = nextLong();
+            faces[i] = toFace(bits >>> 32);
+            faces[i + 1] = toFace(bits & 0xFFFFFFFFL);
+        }
+        if (i < end) {
+            faces[i] = nextFace();
+        }
+    }
+
+    @Override
+    public DiceSource split() {
+        return new XoroshiroDiceSource(nextLong());
+    }
+}
@@ -0,0 +1,300 @@
+package io.andrys.monopoly.audio;
+
+/**
+ * AudioMixer.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+import java.util.Arrays;
+
+/**
+ * Mixes every sound effect that's playing into a single stream of mono 16-bit PCM.
+ *
+ * Clips are registered once w/ {@link #addClip(short[])} and started w/ {@link #trigger(int, float, boolean)};
+ * the output side pulls mixed audio out w/ {@link #render(short[], int, int)} or {@link #renderInto(PcmRingBuffer)}.
+ * There's a fixed number of voices, and every buffer is allocated up front, so mixing costs the same CPU and
+ * memory no matter how many effects fire at once. When every voice is busy, a new clip takes over the voice
+ * that's been playing longest.
+ *
+ * A clip can duck the others: while it plays, every other voice is turned down to the duck gain (i.e. the
+ * siren plays over a quieter cash ding). Ducking fades in and out over a short ramp so it doesn't click.
+ *
+ * Has no Android dependencies, so it runs (and is tested and benchmarked) on a plain JVM.
+ */
+public class AudioMixer {
+    private final String TAG = this.getClass().getSimpleName();
+
+    public static final int DEFAULT_BLOCK_FRAMES = 256;
+    public static final float DEFAULT_DUCK_GAIN = 0.3f;
+    public static final int DEFAULT_DUCK_RAMP_FRAMES = 1024;
+
+    // registered clips, by id
+    private short[][] clips;
+    private int clipCount;
+
+    // voices; a voice is free when its clip is null
+    private final short[][] voiceClips;
+    private final int[] voicePositions;
+    private final float[] voiceGains;
+    private final boolean[] voiceDucks;
+    private final long[] voiceStarts;
+    private long nextStart;
+    private int activeVoices;
+    private int duckingVoices;
+
+    // scratch buffers for one block
+    private final int blockFrames;
+    private final float[] mix;
+    private final float[] duckEnvelope;
+    private final short[] block;
+
+    private float duckGain;
+    private float duckStep;
+    private float duckLevel;
+
+    private long triggeredCount;
+    private long stolenCount;
+
+    public AudioMixer(int numVoices) {
+        this(numVoices, DEFAULT_BLOCK_FRAMES);
+    }
+
+    /**
+     * @param numVoices number of clips that can play at once
+     * @param blockFrames number of frames mixed at a time; bounds how long a trigger can wait on the mixer
+     */
+    public AudioMixer(int numVoices, int blockFrames) {
+        if (numVoices < 1) {
+            throw new IllegalArgumentException(String.format("Mixer needs at least one voice, not '%d'!", numVoices));
+        }
+        if (blockFrames < 1) {
+            throw new IllegalArgumentException(String.format("Block size '%d' must be positive!", blockFrames));
+        }
+        this.clips = new short[8][];
+        this.voiceClips = new short[numVoices][];
+        this.voicePositions = new int[numVoices];
+        this.voiceGains = new float[numVoices];
+        this.voiceDucks = new boolean[numVoices];
+        this.voiceStarts = new long[numVoices];
+        this.blockFrames = blockFrames;
+        this.mix = new float[blockFrames];
+        this.duckEnvelope = new float[blockFrames];
+        this.block = new short[blockFrames];
+        this.duckLevel = 1f;
+        setDucking(DEFAULT_DUCK_GAIN, DEFAULT_DUCK_RAMP_FRAMES);
+    }
+
+    /**
+     * Sets how far ducking clips turn the others down.
+     * @param gain gain applied to the other voices while a ducking clip plays, in [0,1]
+     * @param rampFrames frames it takes to fade down to 'gain' or back up to 1
+     */
+    public synchronized void setDucking(float gain, int rampFrames) {
+        if ((gain < 0f) || (gain > 1f) || (rampFrames < 1)) {
+            throw new IllegalArgumentException(String.format("Invalid ducking gain '%f' or ramp '%d'!", gain, rampFrames));
+        }
+        this.duckGain = gain;
+        this.duckStep = (1f - gain) / rampFrames;
+    }
+
+    /**
+     * Registers a clip. Call this while loading; the mixer keeps a reference to 'pcm', so don't modify it.
+     * @param pcm mono 16-bit samples at the output sample rate
+     * @return the id to trigger the clip by
+     */
+    public synchronized int addClip(short[] pcm) {
+        if (clipCount == clips.length) {
+            clips = Arrays.copyOf(clips, clipCount * 2);
+        }
+        clips[clipCount] = pcm;
+        return clipCount++;
+    }
+
+    /**
+     * Starts playing a clip on a free voice, or on the longest-playing voice if they're all busy. A clip that
+     * doesn't duck never takes over a voice that's ducking.
+     * @param clipID id returned by {@link #addClip(short[])}
+     * @param gain volume of the clip; 1 plays it as decoded
+     * @param ducks true to turn every other voice down while this clip plays
+     * @return true if the clip started
+     */
+    public synchronized boolean trigger(int clipID, float gain, boolean ducks) {
+        if ((clipID < 0) || (clipID >= clipCount)) {
+            throw new IllegalArgumentException(String.format("Clip '%d' doesn't exist; the mixer holds %d clips!", clipID, clipCount));
+        }
+        if (gain < 0f) {
+            throw new IllegalArgumentException(String.format("Gain '%f' can't be negative!", gain));
+        }
+        int voice = -1;
+        for (int v=0; v<voiceClips.length; v++) {
+            if (voiceClips[v] == null) {
+                voice = v;
+                break;
+            }
+        }
+        if (voice == -1) {
+            for (int v=0; v<voiceClips.length; v++) {
+                if ((ducks || !voiceDucks[v]) && ((voice == -1) || (voiceStarts[v] < voiceStarts[voice]))) {
+                    voice = v;
+                }
+            }
+            if (voice == -1) {
+                return false;
+            }
+            stopVoice(voice);
+            stolenCount++;
+        }
+
+        voiceClips[voice] = clips[clipID];
+        voicePositions[voice] = 0;
+        voiceGains[voice] = gain;
+        voiceDucks[voice] = ducks;
+        voiceStarts[voice] = nextStart++;
+        activeVoices++;
+        if (ducks) {
+            duckingVoices++;
+        }
+        triggeredCount++;
+        // wakes the output thread if it's waiting in awaitActive()
+        notifyAll();
+        return true;
+    }
+
+    private void stopVoice(int v) {
+        voiceClips[v] = null;
+        activeVoices--;
+        if (voiceDucks[v]) {
+            duckingVoices--;
+        }
+    }
+
+    /**
+     * Mixes the next 'frames' frames of every playing voice into 'out'. Silence once nothing is playing.
+     * @param out destination for mono 16-bit samples
+     * @param off index in 'out' of the first sample
+     * @param frames number of samples to write
+     */
+    public synchronized void render(short[] out, int off, int frames) {
+        while (frames > 0) {
+            int n = Math.min(frames, blockFrames);
+            renderBlock(out, off, n);
+            off += n;
+            frames -= n;
+        }
+    }
+
+    private void renderBlock(short[] out, int off, int n) {
+        Arrays.fill(mix, 0, n, 0f);
+
+        // ramp the duck level toward its target one frame at a time
+        float target = (duckingVoices > 0) ? duckGain : 1f;
+        float level = duckLevel;
+        for (int i=0; i<n; i++) {
+            if (level > target) {
+                level = Math.max(target, level - duckStep);
+            } else if (level < target) {
+                level = Math.min(target, level + duckStep);
+            }
+            duckEnvelope[i] = level;
+        }
+        duckLevel = level;
+
+        for (int v=0; v<voiceClips.length; v++) {
+            short[] clip = voiceClips[v];
+            if (clip == null) {
+                continue;
+            }
+            int pos = voicePositions[v];
+            int m = Math.min(n, clip.length - pos);
+            float gain = voiceGains[v];
+            if (voiceDucks[v]) {
+                for (int i=0; i<m; i++) {
+                    mix[i] += clip[pos + i] * gain;
+                }
+            } else {
+                for (int i=0; i<m; i++) {
+                    mix[i] += clip[pos + i] * gain * duckEnvelope[i];
+                }
+            }
+            voicePositions[v] = pos + m;
+            if (pos + m == clip.length) {
+                stopVoice(v);
+            }
+        }
+
+        // hard-clip the sum to 16 bits
+        for (int i=0; i<n; i++) {
+            float s = mix[i];
+            if (s > Short.MAX_VALUE) {
+                s = Short.MAX_VALUE;
+            } else if (s < Short.MIN_VALUE) {
+                s = Short.MIN_VALUE;
+            }
+            out[off + i] = (short) s;
+        }
+    }
+
+    /**
+     * Mixes whole blocks into 'ring' until it's too full for another one.
+     * @param ring ring the output stream drains; this must be its only writer
+     * @return number of frames written
+     */
+    public synchronized int renderInto(PcmRingBuffer ring) {
+        int written = 0;
+        while (ring.free() >= blockFrames) {
+            renderBlock(block, 0, blockFrames);
+            written += ring.write(block, 0, blockFrames);
+        }
+        return written;
+    }
+
+    /**
+     * Waits until at least one voice is playing.
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    public synchronized void awaitActive() throws InterruptedException {
+        while (activeVoices == 0) {
+            wait();
+        }
+    }
+
+    /**
+     * Stops every voice immediately.
+     */
+    public synchronized void stopAll() {
+        for (int v=0; v<voiceClips.length; v++) {
+            if (voiceClips[v] != null) {
+                stopVoice(v);
+            }
+        }
+    }
+
+    public synchronized int getActiveVoices() {
+        return activeVoices;
+    }
+
+    public synchronized int getNumVoices() {
+        return voiceClips.length;
+    }
+
+    public int getBlockFrames() {
+        return blockFrames;
+    }
+
+    /** @return number of clips started */
+    public synchronized long getTriggeredCount() {
+        return triggeredCount;
+    }
+
+    /** @return number of clips cut off to make room for another */
+    public synchronized long getStolenCount() {
+        return stolenCount;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("AudioMixer{voices=%d/%d, clips=%d, triggered=%d, stolen=%d}",
+                activeVoices, voiceClips.length, clipCount, triggeredCount, stolenCount);
+    }
+}
@@ -0,0 +1,100 @@
+package io.andrys.monopoly.audio;
+
+/**
+ * PcmRingBuffer.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+/**
+ * A fixed-size ring of 16-bit PCM samples between one producer and one consumer thread.
+ *
+ * The mixer renders into it in fixed-size blocks, and the output stream drains it in whatever sized writes
+ * the device wants, so neither side has to know the other's buffer size. Memory is allocated once, up front;
+ * reads and writes never block, they just move as many samples as fit.
+ *
+ * Safe for exactly one writing thread and one reading thread at a time.
+ */
+public class PcmRingBuffer {
+    private final String TAG = this.getClass().getSimpleName();
+
+    private final short[] samples;
+    private final int mask;
+
+    // total samples ever written/read; only the writer advances writePos and only the reader advances readPos
+    private volatile long writePos;
+    private volatile long readPos;
+
+    /**
+     * @param capacity number of samples the ring holds; must be a power of two
+     */
+    public PcmRingBuffer(int capacity) {
+        if ((capacity < 1) || (Integer.bitCount(capacity) != 1)) {
+            throw new IllegalArgumentException(String.format("Ring capacity '%d' must be a positive power of two!", capacity));
+        }
+        this.samples = new short[capacity];
+        this.mask = capacity - 1;
+    }
+
+    public int capacity() {
+        return samples.length;
+    }
+
+    /**
+     * @return number of samples waiting to be read
+     */
+    public int available() {
+        return (int) (writePos - readPos);
+    }
+
+    /**
+     * @return number of samples that can be written w/out overwriting unread ones
+     */
+    public int free() {
+        return samples.length - available();
+    }
+
+    /**
+     * Copies as many samples from 'src' as there's room for. Writer thread only.
+     * @return number of samples written, in [0,len]
+     */
+    public int write(short[] src, int off, int len) {
+        long w = writePos;
+        int n = Math.min(len, samples.length - (int) (w - readPos));
+        int start = (int) (w & mask);
+        int first = Math.min(n, samples.length - start);
+        System.arraycopy(src, off, samples, start, first);
+        System.arraycopy(src, off + first, samples, 0, n - first);
+        // publishes the samples to the reader
+        writePos = w + n;
+        return n;
+    }
+
+    /**
+     * Copies as many waiting samples into 'dst' as there are (up to 'len'). Reader thread only.
+     * @return number of samples read, in [0,len]
+     */
+    public int read(short[] dst, int off, int len) {
+        long r = readPos;
+        int n = Math.min(len, (int) (writePos - r));
+        int start = (int) (r & mask);
+        int first = Math.min(n, samples.length - start);
+        System.arraycopy(samples, start, dst, off, first);
+        System.arraycopy(samples, 0, dst, off + first, n - first);
+        // hands the space back to the writer
+        readPos = r + n;
+        return n;
+    }
+
+    /**
+     * Throws away every waiting sample. Reader thread only.
+     */
+    public void clear() {
+        readPos = writePos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PcmRingBuffer{capacity=%d, available=%d}", samples.length, available());
+    }
+}
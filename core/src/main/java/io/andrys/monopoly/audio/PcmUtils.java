@@ -0,0 +1,57 @@
+package io.andrys.monopoly.audio;
+
+/**
+ * PcmUtils.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+/**
+ * Conversions for decoded 16-bit PCM, so every clip the AudioMixer plays shares its output format.
+ * These run once per clip when the clips are loaded, never while mixing.
+ */
+public class PcmUtils {
+    final private static String TAG = "PcmUtils";
+
+    private PcmUtils() {}
+
+    /**
+     * Downmixes interleaved PCM to mono and resamples it (linearly) to a new rate.
+     * @param interleaved decoded samples, one per channel per frame
+     * @param sampleCount number of valid samples in 'interleaved'
+     * @param channels channels per frame
+     * @param srcRate sample rate of 'interleaved', in Hz
+     * @param dstRate sample rate to convert to, in Hz
+     * @return mono samples at 'dstRate'
+     */
+    public static short[] toMono(short[] interleaved, int sampleCount, int channels, int srcRate, int dstRate) {
+        if ((channels < 1) || (srcRate < 1) || (dstRate < 1)) {
+            throw new IllegalArgumentException(String.format("Can't convert PCM w/ %d channels from %dHz to %dHz!", channels, srcRate, dstRate));
+        }
+        int frames = sampleCount / channels;
+        short[] mono = new short[frames];
+        for (int f=0; f<frames; f++) {
+            int sum = 0;
+            for (int c=0; c<channels; c++) {
+                sum += interleaved[f * channels + c];
+            }
+            mono[f] = (short) (sum / channels);
+        }
+        if ((srcRate == dstRate) || (frames == 0)) {
+            return mono;
+        }
+
+        int outFrames = (int) ((long) frames * dstRate / srcRate);
+        short[] out = new short[outFrames];
+        double step = (double) srcRate / dstRate;
+        for (int j=0; j<outFrames; j++) {
+            double pos = j * step;
+            int i = (int) pos;
+            double frac = pos - i;
+            int a = mono[i];
+            int b = mono[Math.min(i + 1, frames - 1)];
+            out[j] = (short) Math.round(a + (b - a) * frac);
+        }
+        return out;
+    }
+}
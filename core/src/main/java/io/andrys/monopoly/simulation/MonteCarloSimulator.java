@@ -0,0 +1,183 @@
+package io.andrys.monopoly.simulation;
+
+/**
+ * MonteCarloSimulator.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import io.andrys.monopoly.Board;
+import io.andrys.monopoly.DiceSource;
+import io.andrys.monopoly.HeadlessGame;
+import io.andrys.monopoly.Player;
+import io.andrys.monopoly.PlayerStrategy;
+import io.andrys.monopoly.Property;
+import io.andrys.monopoly.PropertyBuilder;
+import io.andrys.monopoly.PropertyManager;
+import io.andrys.monopoly.SimplePlayerStrategy;
+import io.andrys.monopoly.XoroshiroDiceSource;
+
+/**
+ * Plays a large number of complete games between scripted players, spread across every core, and
+ * gathers statistics about them (see {@link SimulationResult}). This is how house rules get tuned offline.
+ *
+ * Games are split into fixed-size batches. Each batch is played start to finish on one thread w/ its own
+ * DiceSource, seeded from the simulation seed and the batch's position, and every game builds its own Board,
+ * PropertyManager and Players. Nothing is shared between threads except the (read-only) Property list, so
+ * throughput grows w/ the number of cores, and the same seed always produces the same results no matter
+ * how many threads play them.
+ *
+ * From the command line: gradle :core:simulate -PsimArgs="games players seed maxTurns"
+ */
+public class MonteCarloSimulator {
+    private final String TAG = this.getClass().getSimpleName();
+
+    /** Number of games each worker plays before splitting work any further. */
+    static final int BATCH_SIZE = 64;
+
+    private final ArrayList<Property> properties;
+    private final PlayerStrategy[] seatStrategies;
+    private final int maxTurnsPerGame;
+
+    /**
+     * @param properties every purchasable Property on the board; shared by all games, so it must not be modified
+     * @param seatStrategies one PlayerStrategy per player, in turn order
+     * @param maxTurnsPerGame games still going after this many turns are abandoned
+     */
+    public MonteCarloSimulator(ArrayList<Property> properties, PlayerStrategy[] seatStrategies, int maxTurnsPerGame) {
+        if ((seatStrategies.length < 2) || (seatStrategies.length > 8)) {
+            throw new IllegalArgumentException(String.format("A game needs 2-8 players, not '%d'!", seatStrategies.length));
+        }
+        if (maxTurnsPerGame < 1) {
+            throw new IllegalArgumentException(String.format("Turn limit '%d' must be positive!", maxTurnsPerGame));
+        }
+        this.properties = properties;
+        this.seatStrategies = seatStrategies.clone();
+        this.maxTurnsPerGame = maxTurnsPerGame;
+    }
+
+    /**
+     * Plays 'games' games using every available core.
+     * @param games number of games to play
+     * @param seed master seed; the same seed replays the same games
+     * @return statistics about every game played
+     */
+    public SimulationResult run(long games, long seed) {
+        ForkJoinPool pool = new ForkJoinPool();
+        try {
+            return run(games, seed, pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Plays 'games' games on the threads of 'pool'.
+     * @param games number of games to play
+     * @param seed master seed; the same seed replays the same games
+     * @param pool ForkJoinPool to play the games on
+     * @return statistics about every game played
+     */
+    public SimulationResult run(long games, long seed, ForkJoinPool pool) {
+        if (games < 0) {
+            throw new IllegalArgumentException(String.format("Can't play '%d' games!", games));
+        }
+        long start = System.nanoTime();
+        SimulationResult result = pool.invoke(new GameBatch(0, games, seed));
+        result.setElapsedNanos(System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * Plays one game to completion using dice that roll from 'dice'.
+     * @param dice source of die faces for this game; must not be used by any other thread
+     * @return the finished (or abandoned) game
+     */
+    HeadlessGame playGame(DiceSource dice) {
+        ArrayDeque<Player> players = new ArrayDeque<>(seatStrategies.length);
+        for (int seat=0; seat<seatStrategies.length; seat++) {
+            // tokens start at 1; colors don't matter w/ nothing on screen
+            players.add(new Player(String.format("Seat %d", seat + 1), seat + 1, 0xFF000000));
+        }
+        HeadlessGame game = new HeadlessGame(players, new Board(dice), new PropertyManager(properties), seatStrategies[0]);
+        for (int seat=1; seat<seatStrategies.length; seat++) {
+            game.getView().setStrategy(seat + 1, seatStrategies[seat]);
+        }
+        game.start();
+        game.playToCompletion(maxTurnsPerGame);
+        return game;
+    }
+
+    /**
+     * Derives the seed for the batch starting at game 'index' from the master seed (SplitMix64's mixer),
+     * so neighbouring batches get unrelated dice.
+     */
+    static long batchSeed(long seed, long index) {
+        long z = seed + (index * 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // Plays games [lo, hi), splitting the range in half until it's small enough for one worker.
+    private class GameBatch extends RecursiveTask<SimulationResult> {
+        private static final long serialVersionUID = 1L;
+
+        private final long lo;
+        private final long hi;
+        private final long seed;
+
+        GameBatch(long lo, long hi, long seed) {
+            this.lo = lo;
+            this.hi = hi;
+            this.seed = seed;
+        }
+
+        @Override
+        protected SimulationResult compute() {
+            if (hi - lo <= BATCH_SIZE) {
+                SimulationResult result = new SimulationResult(seatStrategies.length, maxTurnsPerGame);
+                DiceSource dice = new XoroshiroDiceSource(batchSeed(seed, lo));
+                for (long g=lo; g<hi; g++) {
+                    result.record(playGame(dice));
+                }
+                return result;
+            }
+
+            // split on a batch boundary so results don't depend on how the work gets divided
+            long batches = (hi - lo + BATCH_SIZE - 1) / BATCH_SIZE;
+            long mid = lo + (batches / 2) * BATCH_SIZE;
+            GameBatch left = new GameBatch(lo, mid, seed);
+            GameBatch right = new GameBatch(mid, hi, seed);
+            left.fork();
+            SimulationResult result = right.compute();
+            return result.merge(left.join());
+        }
+    }
+
+    /**
+     * Usage: MonteCarloSimulator [games] [players] [seed] [maxTurns]
+     */
+    public static void main(String[] args) {
+        long games = (args.length > 0) ? Long.parseLong(args[0]) : 100000;
+        int numPlayers = (args.length > 1) ? Integer.parseInt(args[1]) : 3;
+        long seed = (args.length > 2) ? Long.parseLong(args[2]) : System.nanoTime();
+        int maxTurns = (args.length > 3) ? Integer.parseInt(args[3]) : 1000;
+
+        PlayerStrategy[] strategies = new PlayerStrategy[numPlayers];
+        for (int i=0; i<numPlayers; i++) {
+            strategies[i] = new SimplePlayerStrategy();
+        }
+
+        MonteCarloSimulator sim = new MonteCarloSimulator(PropertyBuilder.loadProperties(), strategies, maxTurns);
+        System.out.printf("Simulating %d games w/ %d players (seed=%d, max turns=%d) on %d cores...%n",
+                games, numPlayers, seed, maxTurns, Runtime.getRuntime().availableProcessors());
+        SimulationResult result = sim.run(games, seed);
+        System.out.print(result.report());
+    }
+}
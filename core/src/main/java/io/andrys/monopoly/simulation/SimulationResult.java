@@ -0,0 +1,236 @@
+package io.andrys.monopoly.simulation;
+
+/**
+ * SimulationResult.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+import java.util.Locale;
+
+import io.andrys.monopoly.HeadlessGame;
+import io.andrys.monopoly.Player;
+
+/**
+ * Statistics gathered from a batch of simulated games. Each worker fills in its own SimulationResult,
+ * and the results are merged together once every game has been played.
+ *
+ * Landings, bankruptcies and wins only come from games that finished w/ a winner. Games abandoned at the
+ * turn limit are counted on their own, so long stalemates don't skew the histograms.
+ */
+public class SimulationResult {
+
+    private final int numPlayers;
+    private final int maxTurnsPerGame;
+
+    private long gamesPlayed = 0;
+    private long gamesWon = 0;
+    private long gamesTimedOut = 0;
+    private long gamesStalled = 0;
+    private long totalTurns = 0;
+    private long finishedTurns = 0;
+    private long elapsedNanos = 0;
+
+    private final long[] landingCounts = new long[40];
+    private final long[] winsBySeat;
+    // bankruptcies indexed by the turn they happened on
+    private final long[] bankruptcyTurnHistogram;
+    private long bankruptcyCount = 0;
+
+    public SimulationResult(int numPlayers, int maxTurnsPerGame) {
+        this.numPlayers = numPlayers;
+        this.maxTurnsPerGame = maxTurnsPerGame;
+        this.winsBySeat = new long[numPlayers];
+        this.bankruptcyTurnHistogram = new long[maxTurnsPerGame + 1];
+    }
+
+    /**
+     * Adds the outcome of one finished (or abandoned) game to these results.
+     * @param game a HeadlessGame that has stopped advancing
+     */
+    void record(HeadlessGame game) {
+        gamesPlayed++;
+        totalTurns += game.getTurnCount();
+
+        Player winner = game.getView().getWinner();
+        if (winner == null) {
+            if (game.getTurnCount() >= maxTurnsPerGame) {
+                gamesTimedOut++;
+            } else {
+                gamesStalled++;
+            }
+            return;
+        }
+        gamesWon++;
+        finishedTurns += game.getTurnCount();
+        // seats are handed out in token order starting at token 1
+        winsBySeat[winner.getToken() - 1]++;
+
+        long[] landings = game.getView().getLandingCounts();
+        for (int i=0; i<landingCounts.length; i++) {
+            landingCounts[i] += landings[i];
+        }
+
+        int[] bankruptcies = game.getView().getBankruptcyTurns();
+        for (int turn : bankruptcies) {
+            bankruptcyTurnHistogram[Math.min(turn, maxTurnsPerGame)]++;
+        }
+        bankruptcyCount += bankruptcies.length;
+    }
+
+    /**
+     * Folds another batch's results into these ones.
+     * @param other results from games played w/ the same number of players and turn limit
+     * @return this SimulationResult
+     */
+    SimulationResult merge(SimulationResult other) {
+        if ((other.numPlayers != numPlayers) || (other.maxTurnsPerGame != maxTurnsPerGame)) {
+            throw new IllegalArgumentException("Can't merge results from simulations w/ different settings!");
+        }
+        gamesPlayed += other.gamesPlayed;
+        gamesWon += other.gamesWon;
+        gamesTimedOut += other.gamesTimedOut;
+        gamesStalled += other.gamesStalled;
+        totalTurns += other.totalTurns;
+        finishedTurns += other.finishedTurns;
+        bankruptcyCount += other.bankruptcyCount;
+        for (int i=0; i<landingCounts.length; i++) {
+            landingCounts[i] += other.landingCounts[i];
+        }
+        for (int i=0; i<winsBySeat.length; i++) {
+            winsBySeat[i] += other.winsBySeat[i];
+        }
+        for (int i=0; i<bankruptcyTurnHistogram.length; i++) {
+            bankruptcyTurnHistogram[i] += other.bankruptcyTurnHistogram[i];
+        }
+        return this;
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    /** @return number of games that ended w/ one player left standing */
+    public long getGamesWon() {
+        return gamesWon;
+    }
+
+    /** @return number of games abandoned after hitting the turn limit */
+    public long getGamesTimedOut() {
+        return gamesTimedOut;
+    }
+
+    /** @return number of games abandoned because the active player had no move available */
+    public long getGamesStalled() {
+        return gamesStalled;
+    }
+
+    /** @return turns played across every game, including abandoned ones */
+    public long getTotalTurns() {
+        return totalTurns;
+    }
+
+    /** @return turns played across the games that finished w/ a winner */
+    public long getFinishedTurns() {
+        return finishedTurns;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getGamesPerSecond() {
+        if (elapsedNanos == 0) {
+            return 0;
+        }
+        return gamesPlayed / (elapsedNanos / 1e9);
+    }
+
+    /**
+     * @return number of times each board position was landed on in finished games, indexed by position
+     */
+    public long[] getLandingCounts() {
+        return landingCounts.clone();
+    }
+
+    /**
+     * @return share of all landings that happened on each board position, indexed by position
+     */
+    public double[] getLandingFrequencies() {
+        long total = 0;
+        for (long c : landingCounts) {
+            total += c;
+        }
+        double[] freqs = new double[landingCounts.length];
+        if (total > 0) {
+            for (int i=0; i<freqs.length; i++) {
+                freqs[i] = (double) landingCounts[i] / total;
+            }
+        }
+        return freqs;
+    }
+
+    /**
+     * @return number of games won by the player in each seat, indexed by seat (turn order)
+     */
+    public long[] getWinsBySeat() {
+        return winsBySeat.clone();
+    }
+
+    /**
+     * @return number of bankruptcies in finished games that happened on each turn, indexed by turn number
+     */
+    public long[] getBankruptcyTurnHistogram() {
+        return bankruptcyTurnHistogram.clone();
+    }
+
+    public long getBankruptcyCount() {
+        return bankruptcyCount;
+    }
+
+    /**
+     * @return average turn number a player went bankrupt on, or 0 if nobody did
+     */
+    public double getMeanBankruptcyTurn() {
+        if (bankruptcyCount == 0) {
+            return 0;
+        }
+        double sum = 0;
+        for (int i=0; i<bankruptcyTurnHistogram.length; i++) {
+            sum += (double) i * bankruptcyTurnHistogram[i];
+        }
+        return sum / bankruptcyCount;
+    }
+
+    /**
+     * @return a human-readable summary of these results
+     */
+    public String report() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.US, "games=%d in %.2fs -> %.0f games/sec%n",
+                gamesPlayed, elapsedNanos / 1e9, getGamesPerSecond()));
+        sb.append(String.format(Locale.US, "hit the %d turn limit=%d, stalled=%d (left out of everything below)%n",
+                maxTurnsPerGame, gamesTimedOut, gamesStalled));
+        sb.append(String.format(Locale.US, "finished=%d, turns=%d (%.1f per game)%n",
+                gamesWon, finishedTurns, gamesWon == 0 ? 0.0 : (double) finishedTurns / gamesWon));
+        sb.append(String.format(Locale.US, "bankruptcies=%d (mean turn %.1f)%n", bankruptcyCount, getMeanBankruptcyTurn()));
+        for (int i=0; i<winsBySeat.length; i++) {
+            sb.append(String.format(Locale.US, "seat %d wins=%d%n", i + 1, winsBySeat[i]));
+        }
+        double[] freqs = getLandingFrequencies();
+        for (int i=0; i<freqs.length; i++) {
+            sb.append(String.format(Locale.US, "pos %2d: %6.3f%%%n", i, freqs[i] * 100));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "SimulationResult{games=%d, won=%d, timedOut=%d, stalled=%d, gamesPerSecond=%.0f}",
+                gamesPlayed, gamesWon, gamesTimedOut, gamesStalled, getGamesPerSecond());
+    }
+}
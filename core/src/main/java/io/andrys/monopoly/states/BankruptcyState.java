@@ -0,0 +1,90 @@
+package io.andrys.monopoly.states;
+
+import io.andrys.monopoly.GameContext;
+import io.andrys.monopoly.GameEngine;
+import io.andrys.monopoly.GameLog;
+import io.andrys.monopoly.Player;
+import io.andrys.monopoly.PropertyAssignment;
+
+/**
+ * BankruptcyState.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+/**
+ * The active player owes more than they have. Whatever cash they have left and all of their properties
+ * go to their creditor, their token leaves the board, and play passes to the next player. If only one
+ * player is left standing, the game is over.
+ */
+public class BankruptcyState extends GameState {
+    final private static String TAG = "BankruptcyState";
+
+    // the Player that's owed money; null if it's the bank
+    private Player creditor;
+    private int[] transferredPositions;
+
+    public BankruptcyState(GameEngine engine, GameContext gameContext, Player creditor) {
+        super(engine, gameContext);
+        this.creditor = creditor;
+        this.transferredPositions = new int[0];
+    }
+
+    @Override
+    public void onStateEnter() {
+
+    }
+
+    @Override
+    public void execute() {
+        Player bankrupt = gc.activePlayer;
+
+        // hand the creditor everything the bankrupt player has left
+        int remainingCash = bankrupt.getBalance();
+        bankrupt.deductFromBalance(remainingCash);
+        int newOwner = PropertyAssignment.NO_OWNER;
+        if (creditor != null) {
+            creditor.addToBalance(remainingCash);
+            newOwner = creditor.getToken();
+        }
+        transferredPositions = gc.pm.transferAllProperties(bankrupt.getToken(), newOwner);
+        gc.board.removePlayerToken(bankrupt.getToken());
+        GameLog.v(TAG, "%s is bankrupt!", bankrupt.getName());
+
+        render();
+
+        // the bankrupt player doesn't go back into the rotation
+        GameContext next;
+        if (gc.players.size() <= 1) {
+            next = new GameContext(gc.board.getDiceValues(), gc.players.peekFirst(), gc.players, gc.board, gc.pm);
+            changeState(new GameOverState(engine, next));
+            return;
+        }
+
+        Player nextPlayer = gc.players.pollFirst();
+        view().setActivePlayer(nextPlayer);
+        next = new GameContext(gc.board.getDiceValues(), nextPlayer, gc.players, gc.board, gc.pm);
+        if (nextPlayer.isInJail()) {
+            changeState(new InJailState(engine, next));
+        } else {
+            changeState(new RollDiceState(engine, next));
+        }
+    }
+
+    @Override
+    public void onStateExit() {
+
+    }
+
+    @Override
+    protected void render() {
+        view().updatePlayerBalance(gc.activePlayer);
+        view().showPlayerBankrupt(gc.activePlayer);
+        if (creditor != null) {
+            view().updatePlayerBalance(creditor);
+            for (int p : transferredPositions) {
+                view().redrawPropertyAtPosition(p, creditor, gc.pm.getDevelopmentLevelAtPosition(p));
+            }
+        }
+    }
+}
@@ -6,16 +6,15 @@ package io.andrys.monopoly.states;
  * Copyright 2019 - All rights reserved
  */
 
-import android.util.Log;
-
 import io.andrys.monopoly.GameContext;
 import io.andrys.monopoly.GameEngine;
+import io.andrys.monopoly.GameLog;
 
 /**
  * Doesn't do anything but wait; use this as a placeholder/TODO state.
  */
 public class EmptyState extends GameState {
-    private final String TAG = String.format("%s[%s]", this.getClass().getSimpleName(), this.getShortCode());
+    final private static String TAG = "EmptyState";
 
     public EmptyState(GameEngine engine, GameContext gameContext) {
         super(engine, gameContext);
@@ -28,7 +27,7 @@ public class EmptyState extends GameState {
 
     @Override
     public void execute() {
-        Log.v(TAG, "I'm waaaiittttiiinnggg to do something");
+        GameLog.v(TAG, "I'm waaaiittttiiinnggg to do something");
     }
 
     @Override
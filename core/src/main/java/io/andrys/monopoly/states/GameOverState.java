@@ -0,0 +1,43 @@
+package io.andrys.monopoly.states;
+
+import io.andrys.monopoly.GameContext;
+import io.andrys.monopoly.GameEngine;
+import io.andrys.monopoly.GameLog;
+
+/**
+ * GameOverState.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+/**
+ * Every other player has gone bankrupt; the active player has won. Nothing happens after this.
+ */
+public class GameOverState extends GameState {
+    final private static String TAG = "GameOverState";
+
+    public GameOverState(GameEngine engine, GameContext gameContext) {
+        super(engine, gameContext);
+    }
+
+    @Override
+    public void onStateEnter() {
+
+    }
+
+    @Override
+    public void execute() {
+        GameLog.v(TAG, "%s has won the game!", gc.activePlayer.getName());
+        render();
+    }
+
+    @Override
+    public void onStateExit() {
+
+    }
+
+    @Override
+    protected void render() {
+        view().showGameOver(gc.activePlayer);
+    }
+}
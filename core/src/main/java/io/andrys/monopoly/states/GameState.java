@@ -6,17 +6,16 @@ package io.andrys.monopoly.states;
  * Copyright 2019 - All rights reserved
  */
 
-import android.util.Log;
-
-import io.andrys.monopoly.Game;
 import io.andrys.monopoly.GameContext;
 import io.andrys.monopoly.GameEngine;
+import io.andrys.monopoly.GameLog;
+import io.andrys.monopoly.GameView;
 
 /**
  * States must inherit this to be used in the game engine
  */
 public abstract class GameState {
-    private final String TAG = String.format("%s[%s]", this.getClass().getSimpleName(), this.getShortCode());
+    final private static String TAG = "GameState";
 
     GameEngine engine;
 
@@ -38,16 +37,30 @@ public abstract class GameState {
     // do cleanup, re-enable buttons, called when this state is on the way out
     public abstract void onStateExit();
 
-    // touch the UI; gameContext contains a reference to the activity you can use I think?
+    // touch the UI through the engine's GameView (see view())
     protected abstract void render();
 
+    /**
+     * @return the GameView this state should send all visual updates to
+     */
+    protected GameView view() {
+        return engine.getView();
+    }
+
+    /**
+     * @return the Game Context object this state operates on
+     */
+    public GameContext getGameContext() {
+        return gc;
+    }
+
     /**
      * Create a new GameState w/ updated game context object and pass it to this method
      * to transition to it.
      * @param newState GameState to transition to
      */
     protected void changeState(GameState newState) {
-        Log.v(TAG, String.format("=> Trying to transition to new state %s... =>", newState.toString()));
+        GameLog.v(TAG, "%s => Trying to transition to new state %s... =>", this, newState);
         engine.changeState(newState);
     }
 
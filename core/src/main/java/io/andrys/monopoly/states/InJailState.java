@@ -1,13 +1,10 @@
 package io.andrys.monopoly.states;
 
-import android.util.Log;
-
 import io.andrys.monopoly.GameContext;
 import io.andrys.monopoly.GameEngine;
-import io.andrys.monopoly.InJailActionDialogFragment;
+import io.andrys.monopoly.GameLog;
 import io.andrys.monopoly.Player;
-import io.andrys.monopoly.R;
-import io.andrys.monopoly.ScoreTableLayout;
+import io.andrys.monopoly.SoundEffect;
 import io.andrys.monopoly.exceptions.NotYetImplementedException;
 
 /**
@@ -16,11 +13,14 @@ import io.andrys.monopoly.exceptions.NotYetImplementedException;
  * Copyright 2019 - All rights reserved
  */
 
-public class InJailState extends GameState implements InJailActionDialogFragment.ButtonListener {
-
-    private final String TAG = String.format("%s[%s]", this.getClass().getSimpleName(), this.getShortCode());
+/**
+ * Asks the jailed active player how they would like to leave jail, then waits for the GameView to
+ * report their choice through {@link #payFine()}, {@link #useGetOutOfJailFreeCard()} or {@link #rollForDoubles()}.
+ * A player w/ no card who can't afford the fine owes the bank more than they have, and goes bankrupt.
+ */
+public class InJailState extends GameState {
 
-    private ScoreTableLayout scoreTable;
+    final private static String TAG = "InJailState";
 
     // cost to leave jail immediately
     private final int JAIL_FINE = 50;
@@ -31,7 +31,7 @@ public class InJailState extends GameState implements InJailActionDialogFragment
 
     @Override
     public void onStateEnter() {
-        scoreTable = engine.getActivity().findViewById(R.id.score_table_tl);
+
     }
 
     @Override
@@ -47,9 +47,16 @@ public class InJailState extends GameState implements InJailActionDialogFragment
             canPayFine = true;
         }
 
+        if (!hasCard && !canPayFine) {
+            GameLog.v(TAG, "%s can't pay the $%d fine to leave jail (balance=$%d)!", gc.activePlayer.getName(), JAIL_FINE, gc.activePlayer.getBalance());
+            GameContext next = new GameContext(gc.board.getDiceValues(), gc.activePlayer, gc.players, gc.board, gc.pm);
+            changeState(new BankruptcyState(engine, next, null));
+            return;
+        }
+
         // show the jail action modal
-        engine.getActivity().showInJailActionModal(this, canPayFine, hasCard);
-        Log.v(TAG, String.format("Presenting jail action modal for '%s'", gc.activePlayer.getName()));
+        view().showInJailActionModal(this, canPayFine, hasCard);
+        GameLog.v(TAG, "Presenting jail action modal for '%s'", gc.activePlayer.getName());
     }
 
     @Override
@@ -66,31 +73,35 @@ public class InJailState extends GameState implements InJailActionDialogFragment
     // Player should (obviously) be the active player
     private void freePlayerFromJail(Player player) {
         // freedom sound!
-        engine.playAudio(R.raw.jail_freed);
+        engine.playAudio(SoundEffect.FREED_FROM_JAIL);
 
         player.setIsInJail(false);
         GameContext next = new GameContext(gc.board.getDiceValues(), player, gc.players, gc.board, gc.pm);
         changeState(new RollDiceState(engine, next));
     }
 
-    @Override
-    public void onRollButtonClicked(InJailActionDialogFragment df) {
+    /**
+     * The active player tries to roll doubles to leave jail.
+     */
+    public void rollForDoubles() {
         throw new NotYetImplementedException();
     }
 
-    @Override
-    public void onPayButtonClicked(InJailActionDialogFragment df) {
+    /**
+     * The active player pays the fine to leave jail immediately.
+     */
+    public void payFine() {
         gc.activePlayer.deductFromBalance(JAIL_FINE);
-        scoreTable.updatePlayerBalance(gc.activePlayer, gc.activePlayer.getBalance());
-        Log.v(TAG, String.format(TAG, "%s has paid the $%d fine to leave jail.", gc.activePlayer.getName(), JAIL_FINE));
-        df.dismiss();
+        view().updatePlayerBalance(gc.activePlayer);
+        GameLog.v(TAG, "%s has paid the $%d fine to leave jail.", gc.activePlayer.getName(), JAIL_FINE);
         freePlayerFromJail(gc.activePlayer);
     }
 
-    @Override
-    public void onUseCardButtonClicked(InJailActionDialogFragment df) {
+    /**
+     * The active player spends a get out of jail free card to leave jail immediately.
+     */
+    public void useGetOutOfJailFreeCard() {
         gc.activePlayer.removeGetOutOfJailFree();
-        df.dismiss();
         freePlayerFromJail(gc.activePlayer);
     }
 }
@@ -1,11 +1,10 @@
 package io.andrys.monopoly.states;
 
-import android.util.Log;
-
 import java.util.Iterator;
 
 import io.andrys.monopoly.GameContext;
 import io.andrys.monopoly.GameEngine;
+import io.andrys.monopoly.GameLog;
 import io.andrys.monopoly.Player;
 
 /**
@@ -18,7 +17,7 @@ import io.andrys.monopoly.Player;
  * Starts a new game from scratch
  */
 public class NewGameState extends GameState {
-    private final String TAG = String.format("%s[%s]", this.getClass().getSimpleName(), this.getShortCode());
+    final private static String TAG = "NewGameState";
 
     public NewGameState(GameEngine engine, GameContext gameContext) {
         super(engine, gameContext);
@@ -26,7 +25,7 @@ public class NewGameState extends GameState {
 
     @Override
     public void onStateEnter() {
-        Log.v(TAG, "onStateEnter()");
+        GameLog.v(TAG, "onStateEnter()");
     }
 
     @Override
@@ -36,7 +35,7 @@ public class NewGameState extends GameState {
         while (itr.hasNext()) {
             Player p = itr.next();
             gc.board.addPlayerToken(p.getToken());
-            Log.v(TAG, String.format("Token ID '%d' added to the board.", p.getToken()));
+            GameLog.v(TAG, "Token ID '%d' added to the board.", p.getToken());
         }
 
         // tell the view to re-render because we're done changing the model
@@ -60,7 +59,7 @@ public class NewGameState extends GameState {
         Iterator<Player> itr = gc.players.iterator();
         while (itr.hasNext()) {
             Player p = itr.next();
-            engine.getActivity().drawTokenOntoBoard(p.getToken());
+            view().drawTokenOntoBoard(p.getToken());
         }
 
     }
@@ -0,0 +1,144 @@
+package io.andrys.monopoly.states;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+import io.andrys.monopoly.Board;
+import io.andrys.monopoly.GameContext;
+import io.andrys.monopoly.GameEngine;
+import io.andrys.monopoly.GameLog;
+import io.andrys.monopoly.Player;
+import io.andrys.monopoly.Property;
+import io.andrys.monopoly.PropertyAssignment;
+import io.andrys.monopoly.RailroadProperty;
+import io.andrys.monopoly.StreetProperty;
+import io.andrys.monopoly.UtilityProperty;
+
+/**
+ * PayRentState.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+/**
+ * Using the active player's *current* position on the board, calculates the amount of rent owed,
+ * the Player to whom rent is owed, and modifies the balances of both Players to reflect the transaction.
+ */
+public class PayRentState extends GameState {
+    final private static String TAG = "PayRentState";
+
+    public PayRentState(GameEngine engine, GameContext gameContext) {
+        super(engine, gameContext);
+    }
+
+    // The calculate*Rent methods are package-private so the benchmarks module can measure them directly.
+    // PropertyManager keeps rent up to date as properties change hands, so each is a table lookup.
+
+    int calculateStreetRent(int ownerTokenID, StreetProperty prop) {
+        // figure out how much rent the active player owes to the owner
+        int rentPayment = gc.pm.getRentDue(prop.getPosition(), 0);
+        GameLog.v(TAG, "%s owes %s $%d for landing on %s.", gc.activePlayer.getName(), ownerTokenID, rentPayment, prop.getName());
+        return rentPayment;
+    }
+
+    int calculateRailroadRent(int ownerTokenID, RailroadProperty prop) {
+        int rentPayment = gc.pm.getRentDue(prop.getPosition(), 0);
+        GameLog.v(TAG, "%s owes %s $%d for landing on %s (owns %d railroads total).", gc.activePlayer.getName(), ownerTokenID, rentPayment, prop.getName(), gc.pm.getRailroadCount(ownerTokenID));
+        return rentPayment;
+    }
+
+    int calculateUtilityRent(int ownerTokenID, UtilityProperty prop) {
+        int diceTotal = gc.board.getDiceSum();
+        int rentPayment = gc.pm.getRentDue(prop.getPosition(), diceTotal);
+        GameLog.v(TAG, "%s owes %s $%d for landing on %s (%s owns %d utilities; dice sum=%d).", gc.activePlayer.getName(), ownerTokenID, rentPayment, prop.getName(), ownerTokenID, gc.pm.getUtilityCount(ownerTokenID), diceTotal);
+        return rentPayment;
+    }
+
+    // Transfers 'totalPayment' dollars to a different Player designated by their token id.
+    private void payRentToPlayer(int totalPayment, int payeeTokenID) {
+        Player[] players = gc.players.toArray(new Player[]{});
+
+        // get a reference to the Player object of the payee; keep track of its position in the list for updating it later.
+        Player payee = null;
+        int payeePlayerIndex = -1; // position of the owner's Player object in the players list
+        for (int i=0; i<players.length; i++) {
+            payeePlayerIndex = i;
+            Player p = players[i];
+            if (p.getToken() == payeeTokenID) {
+                payee = p;
+                break;
+            }
+        }
+
+        if (payee != null) {
+            // if the current player can afford this payment, make the transfer
+            if (gc.activePlayer.getBalance() >= totalPayment) {
+                // modify both balances
+                gc.activePlayer.deductFromBalance(totalPayment);
+                payee.addToBalance(totalPayment);
+
+
+                // Update the score table to reflect the changed balances of both players involved in this transaction
+                view().updatePlayerBalance(gc.activePlayer);
+                view().updatePlayerBalance(payee);
+
+                // generate an updated deque of Players including the updated payee Player object
+                GameLog.v(TAG, "players[%d]=%s <- %s", payeePlayerIndex, players[payeePlayerIndex], payee);
+                players[payeePlayerIndex] = payee;
+                ArrayDeque<Player> updatedPlayers = new ArrayDeque<>(Arrays.asList(players));
+
+                // end the player's turn
+                GameContext next = new GameContext(gc.board.getDiceValues(), gc.activePlayer, updatedPlayers, gc.board, gc.pm);
+                changeState(new EndTurnState(engine, next));
+            }
+            else {
+                // otherwise, the current player goes bankrupt; mortgaging and selling houses to raise the money don't exist yet
+                GameLog.v(TAG, "Can't process rent payment of %d from %s -> %s; %s has insufficient funds (balance=$%d)!", totalPayment, gc.activePlayer.getName(), payee.getName(), gc.activePlayer.getName(), gc.activePlayer.getBalance());
+                GameContext next = new GameContext(gc.board.getDiceValues(), gc.activePlayer, gc.players, gc.board, gc.pm);
+                changeState(new BankruptcyState(engine, next, payee));
+            }
+        } else {
+            throw new IllegalStateException(String.format("Can't process rent payment of $%d to token ID '%d'; can't find Player with token ID in the current game!", totalPayment, payeeTokenID));
+        }
+    }
+
+
+    @Override
+    public void onStateEnter() {
+
+    }
+
+    @Override
+    public void execute() {
+        int position = gc.board.getTokenPosition(gc.activePlayer.getToken());
+        Board.SpaceType spaceType = gc.board.getSpaceTypeForPosition(position);
+        Property prop = gc.pm.inspectProperty(position);
+        int propertyOwnerID = gc.pm.ownerOrNone(prop.getPosition());
+        if (propertyOwnerID == PropertyAssignment.NO_OWNER) {
+            throw new IllegalStateException("Can't calculate rent for unowned property!");
+        }
+
+        // property type dictates the way we should calculate rent owed
+        int rentPayment = 0;
+        if (prop instanceof StreetProperty) {
+            rentPayment = calculateStreetRent(propertyOwnerID, (StreetProperty) prop);
+        } else if (prop instanceof RailroadProperty) {
+            rentPayment = calculateRailroadRent(propertyOwnerID, (RailroadProperty) prop);
+        } else if (prop instanceof UtilityProperty) {
+            rentPayment = calculateUtilityRent(propertyOwnerID, (UtilityProperty) prop);
+        }
+        payRentToPlayer(rentPayment, propertyOwnerID);
+
+
+    }
+
+    @Override
+    public void onStateExit() {
+
+    }
+
+    @Override
+    protected void render() {
+
+    }
+}
@@ -0,0 +1,137 @@
+package io.andrys.monopoly.states;
+
+import io.andrys.monopoly.Board;
+import io.andrys.monopoly.GameContext;
+import io.andrys.monopoly.GameEngine;
+import io.andrys.monopoly.GameLog;
+import io.andrys.monopoly.GameView;
+import io.andrys.monopoly.Player;
+import io.andrys.monopoly.PropertyAssignment;
+import io.andrys.monopoly.SoundEffect;
+
+/**
+ * RollDiceState.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+/**
+ * Rolls the dice for the active player, lands on a space, constructs the next state based on the
+ * type of space we land on and the context of the game.
+ *
+ * The GameView calls {@link #rollDice()} when the active player rolls.
+ */
+public class RollDiceState extends GameState implements GameView.TokenMoveListener {
+    final private static String TAG = "RollDiceState";
+
+    public RollDiceState(GameEngine engine, GameContext gameContext) {
+        super(engine, gameContext);
+    }
+
+    @Override
+    public void onStateEnter() {
+
+        // let the active player roll the dice
+        view().enableRollDice(this);
+
+        // increment the on-screen turn counter
+        view().incrementTurnCount();
+
+    }
+
+    @Override
+    public void execute() {
+        GameLog.v(TAG, "waiting for the active player ('%s', token '%d') to roll the dice...", gc.activePlayer.getName(), gc.activePlayer.getToken());
+    }
+
+    @Override
+    public void onStateExit() {
+        // silence roll button events
+        view().disableRollDice();
+    }
+
+    @Override
+    protected void render() {
+        // Repaint dice values
+        view().drawDice(gc.board.getDiceValues());
+
+        // move the active player's token forward along the board
+        view().drawTokenAtPosition(gc.activePlayer.getToken(), gc.board.getTokenPosition(gc.activePlayer.getToken()), this);
+    }
+
+    /**
+     * Rolls the dice for the active player and moves their token. Fired when the "Roll" UI button is touched.
+     */
+    public void rollDice() {
+        // roll the dice, increment the position of the active player
+        gc.board.rollDice();
+        engine.playAudio(SoundEffect.DICE_ROLL);
+        int[] r = gc.board.getDiceValues();
+        gc.board.incrementTokenPosition(gc.activePlayer.getToken(), r[0]+r[1]);
+        render();
+    }
+
+    // Returns the next state based on the type of space the player is standing on.
+    private GameState buildNextStateForPosition(int position, Board.SpaceType sType) {
+        GameState newState;
+        GameContext next;
+        switch (sType) {
+
+            case PROPERTY:
+                int ownerTokenID = gc.pm.ownerOrNone(position);
+                next = new GameContext(gc.board.getDiceValues(), gc.activePlayer, gc.players, gc.board, gc.pm);
+                if (ownerTokenID == PropertyAssignment.NO_OWNER) {
+                    // i) if this is an unowned property, show the purchasing modal
+                    newState = new UnownedPropertyState(engine, next);
+                } else if (ownerTokenID == gc.activePlayer.getToken()) {
+                    // ii) if this property is owned by the current player, end turn.
+                    GameLog.v(TAG, "%s owns %s; nothing happens.", gc.activePlayer.getName(), gc.pm.inspectProperty(position).getName());
+                    newState = new EndTurnState(engine, next);
+                } else {
+                    // iii) if property is owned by someone else, pay them their rent.
+                    newState = new PayRentState(engine, next);
+                }
+                break;
+
+            case GO_TO_JAIL:
+                // play the police siren sound effect
+                engine.playAudio(SoundEffect.SENT_TO_JAIL);
+
+                // send the player to jail!
+                int jailPosition = gc.board.POSITION_JAIL;
+                gc.board.setTokenPosition(gc.activePlayer.getToken(), jailPosition);
+                view().drawTokenAtPosition(gc.activePlayer.getToken(), jailPosition, null);
+                GameLog.v(TAG, "%s has been sent to jail!", gc.activePlayer.getName());
+
+                // update the active player's model to show that they're not just visiting
+                Player jailedPlayer = gc.activePlayer;
+                jailedPlayer.setIsInJail(true);
+
+                // end turn after moving the token to Jail
+                next = new GameContext(gc.board.getDiceValues(), jailedPlayer, gc.players, gc.board, gc.pm);
+                newState = new EndTurnState(engine, next);
+                break;
+
+            default:
+                // end this turn
+                next = new GameContext(gc.board.getDiceValues(), gc.activePlayer, gc.players, gc.board, gc.pm);
+                newState = new EndTurnState(engine, next);
+                break;
+        }
+        return newState;
+    }
+
+    /**
+     * Once the token movement animation is over, determine & build the next appropriate state
+     * based on the space we've landed on, then transition to it.
+     * @param tokenID token that was moved
+     * @param position position the token arrived at
+     */
+    @Override
+    public void onTokenMoved(int tokenID, int position) {
+        // the type of the property we landed on determines the next state
+        int p = gc.board.getTokenPosition(gc.activePlayer.getToken());
+        Board.SpaceType sType = gc.board.getSpaceTypeForPosition(p);
+        changeState(buildNextStateForPosition(p, sType));
+    }
+}
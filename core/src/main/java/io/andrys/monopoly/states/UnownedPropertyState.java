@@ -0,0 +1,110 @@
+package io.andrys.monopoly.states;
+
+import io.andrys.monopoly.GameContext;
+import io.andrys.monopoly.GameEngine;
+import io.andrys.monopoly.GameLog;
+import io.andrys.monopoly.Property;
+import io.andrys.monopoly.SoundEffect;
+import io.andrys.monopoly.exceptions.NotYetImplementedException;
+
+/**
+ * UnownedPropertyState.java // Monopoly
+ * Tony Andrys (tony@andrys.io)
+ * Copyright 2019 - All rights reserved
+ */
+
+/**
+ * Presents the purchase/auction/manage modal for the property the active player has landed on
+ * and waits for their input. The GameView reports the player's choice through {@link #buyProperty(int)},
+ * {@link #declineProperty(int)}, {@link #auctionProperty(int)} or {@link #manageProperties()}.
+ */
+public class UnownedPropertyState extends GameState {
+
+    final private static String TAG = "UnownedPropertyState";
+
+    private Property prop;
+
+    public UnownedPropertyState(GameEngine engine, GameContext gameContext) {
+        super(engine, gameContext);
+    }
+
+    @Override
+    public void onStateEnter() {
+        // cache the Property the player has landed on
+        int position = gc.board.getTokenPosition(gc.activePlayer.getToken());
+        prop = gc.pm.inspectProperty(position);
+    }
+
+    @Override
+    public void execute() {
+        // can the active player afford to buy what they landed on?
+        boolean hasSufficientFunds = gc.activePlayer.getBalance() > prop.getPrice();
+
+        // Show the property action modal for the position the player is on
+        view().showPropertyActionModal(this, prop.getPosition(), hasSufficientFunds);
+        GameLog.v(TAG, "Presenting property action modal for '%s'", prop.getName());
+    }
+
+    @Override
+    public void onStateExit() {
+
+    }
+
+    @Override
+    protected void render() {
+        // color the property that was just purchased & update the buying player's balance
+        view().redrawPropertyAtPosition(prop.getPosition(), gc.activePlayer, gc.pm.getDevelopmentLevelAtPosition(prop.getPosition()));
+        view().updatePlayerBalance(gc.activePlayer);
+    }
+
+
+    /**
+     * The active player buys the property at 'position' from the bank.
+     * @param position board position of the property being purchased
+     */
+    public void buyProperty(int position) {
+        // cha-ching!
+        engine.playAudio(SoundEffect.PROPERTY_PURCHASED);
+
+        // deduct purchase price from their balance and assign them ownership
+        gc.activePlayer.deductFromBalance(prop.getPrice());
+        gc.pm.assignPropertyToOwner(position, gc.activePlayer.getToken());
+        GameLog.v(TAG, "%s has purchased %s for $%d.", gc.activePlayer.getName(), prop.getName(), prop.getPrice());
+
+        // redraw the newly purchased property
+        render();
+
+        // end this turn
+        GameContext next = new GameContext(gc.board.getDiceValues(), gc.activePlayer, gc.players, gc.board, gc.pm);
+        changeState(new EndTurnState(engine, next));
+    }
+
+    /**
+     * The active player passes on the property at 'position'. Until auctions are implemented, the
+     * property simply stays w/ the bank and the turn ends.
+     * @param position board position of the property being passed on
+     */
+    public void declineProperty(int position) {
+        GameLog.v(TAG, "%s has declined to buy %s.", gc.activePlayer.getName(), prop.getName());
+
+        GameContext next = new GameContext(gc.board.getDiceValues(), gc.activePlayer, gc.players, gc.board, gc.pm);
+        changeState(new EndTurnState(engine, next));
+    }
+
+    /**
+     * The active player declines to buy the property at 'position' and sends it to auction.
+     * @param position board position of the property being auctioned
+     */
+    public void auctionProperty(int position) {
+        // auction this property
+        throw new NotYetImplementedException();
+    }
+
+    /**
+     * The active player wants to manage their properties before deciding.
+     */
+    public void manageProperties() {
+        // go to the active player's resource management screen
+        throw new NotYetImplementedException();
+    }
+}
@@ -0,0 +1,104 @@
+package io.andrys.monopoly;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BoardGeometryTest {
+    private static final float DELTA = 0.001f;
+    // 10px per unit
+    private static final float SIZE = 370f;
+
+    private BoardGeometry geometry;
+
+    @Before
+    public void setup() {
+        geometry = new BoardGeometry();
+        geometry.layout(SIZE, SIZE, 6f, 1f);
+    }
+
+    private void assertTile(int position, float left, float top, float right, float bottom) {
+        float[] rects = geometry.getTileRects();
+        assertEquals(left, rects[position * 4], DELTA);
+        assertEquals(top, rects[position * 4 + 1], DELTA);
+        assertEquals(right, rects[position * 4 + 2], DELTA);
+        assertEquals(bottom, rects[position * 4 + 3], DELTA);
+    }
+
+    @Test
+    public void test_corners() {
+        assertTile(0, 320, 320, 370, 370);
+        assertTile(10, 0, 320, 50, 370);
+        assertTile(20, 0, 0, 50, 50);
+        assertTile(30, 320, 0, 370, 50);
+    }
+
+    @Test
+    public void test_sides() {
+        // Mediterranean Ave. sits right next to Go, and Boardwalk right below Go to Jail
+        assertTile(1, 290, 320, 320, 370);
+        assertTile(9, 50, 320, 80, 370);
+        assertTile(11, 0, 290, 50, 320);
+        assertTile(21, 50, 0, 80, 50);
+        assertTile(31, 320, 50, 370, 80);
+        assertTile(39, 320, 290, 370, 320);
+    }
+
+    @Test
+    public void test_sideOf() {
+        assertEquals(BoardGeometry.SIDE_BOTTOM, BoardGeometry.sideOf(0));
+        assertEquals(BoardGeometry.SIDE_BOTTOM, BoardGeometry.sideOf(10));
+        assertEquals(BoardGeometry.SIDE_LEFT, BoardGeometry.sideOf(11));
+        assertEquals(BoardGeometry.SIDE_TOP, BoardGeometry.sideOf(21));
+        assertEquals(BoardGeometry.SIDE_RIGHT, BoardGeometry.sideOf(39));
+    }
+
+    @Test
+    public void test_tokenCenter() {
+        assertEquals(345f, geometry.getCenterX(0), DELTA);
+        assertEquals(345f, geometry.getCenterY(0), DELTA);
+        assertEquals(25f, geometry.getCenterX(15), DELTA);
+        assertEquals(185f, geometry.getCenterY(15), DELTA);
+    }
+
+    @Test
+    public void test_housesInsideTheirTile() {
+        float[] tiles = geometry.getTileRects();
+        float[] houses = geometry.getHouseRects();
+        float[] hotels = geometry.getHotelRects();
+        for (int p=0; p<BoardGeometry.NUM_POSITIONS; p++) {
+            for (int h=0; h<BoardGeometry.MAX_HOUSES; h++) {
+                int i = (p * BoardGeometry.MAX_HOUSES + h) * 4;
+                assertTrue(houses[i] >= tiles[p * 4] && houses[i + 2] <= tiles[p * 4 + 2]);
+                assertTrue(houses[i + 1] >= tiles[p * 4 + 1] && houses[i + 3] <= tiles[p * 4 + 3]);
+            }
+            assertTrue(hotels[p * 4] >= tiles[p * 4] && hotels[p * 4 + 2] <= tiles[p * 4 + 2]);
+            assertTrue(hotels[p * 4 + 1] >= tiles[p * 4 + 1] && hotels[p * 4 + 3] <= tiles[p * 4 + 3]);
+        }
+    }
+
+    @Test
+    public void test_housesAlongInnerEdge() {
+        float[] houses = geometry.getHouseRects();
+        // bottom side: houses hug the top of the tile, in a row from left to right
+        int i = 1 * BoardGeometry.MAX_HOUSES * 4;
+        assertTrue(houses[i + 1] < 330);
+        assertTrue(houses[i + 4] > houses[i]);
+        // left side: houses hug the right of the tile, in a column from top to bottom
+        i = 11 * BoardGeometry.MAX_HOUSES * 4;
+        assertTrue(houses[i + 2] > 40);
+        assertTrue(houses[i + 5] > houses[i + 1]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_badPosition() {
+        geometry.getCenterX(40);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_emptyBoard() {
+        geometry.layout(0, 100, 6f, 1f);
+    }
+}
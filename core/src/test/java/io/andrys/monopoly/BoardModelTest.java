@@ -0,0 +1,116 @@
+package io.andrys.monopoly;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class BoardModelTest {
+    // 10px per unit, like BoardGeometryTest
+    private static final float SIZE = 370f;
+    private static final int RED = 0x4BFF0000;
+
+    private BoardModel model;
+
+    @Before
+    public void setup() {
+        model = new BoardModel();
+        model.layout(SIZE, SIZE, 6f, 10f);
+    }
+
+    private int countOps(int ops, int code) {
+        int[] list = model.getDrawList();
+        int count = 0;
+        for (int op=0; op<ops; op++) {
+            if (list[op * BoardModel.OP_SIZE] == code) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void assertOp(int op, int code, int argument, int left, int top, int right, int bottom) {
+        int[] list = model.getDrawList();
+        int i = op * BoardModel.OP_SIZE;
+        assertEquals(code, list[i]);
+        assertEquals(argument, list[i + 1]);
+        assertEquals(left, list[i + 2]);
+        assertEquals(top, list[i + 3]);
+        assertEquals(right, list[i + 4]);
+        assertEquals(bottom, list[i + 5]);
+    }
+
+    @Test
+    public void test_notLaidOut() {
+        assertEquals(0, new BoardModel().buildFrame());
+    }
+
+    @Test
+    public void test_emptyBoard() {
+        int ops = model.buildFrame();
+        assertEquals(BoardGeometry.NUM_POSITIONS, ops);
+        assertOp(0, BoardModel.OP_TILE, 0, 320, 320, 370, 370);
+    }
+
+    @Test
+    public void test_development() {
+        model.setProperty(1, RED, 3);
+        model.setProperty(39, RED, BoardModel.HOTEL_LEVEL);
+        int ops = model.buildFrame();
+        assertEquals(1, countOps(ops, BoardModel.OP_HOTEL));
+        assertEquals(3, countOps(ops, BoardModel.OP_HOUSE));
+        assertEquals(2, countOps(ops, BoardModel.OP_TINT));
+        // Mediterranean Ave.'s tint and houses are drawn right after its tile
+        assertOp(1, BoardModel.OP_TILE, 1, 290, 320, 320, 370);
+        assertOp(2, BoardModel.OP_TINT, RED, 290, 320, 320, 370);
+        assertEquals(BoardModel.OP_HOUSE, model.getDrawList()[3 * BoardModel.OP_SIZE]);
+
+        model.setProperty(1, BoardModel.NO_OWNER, 0);
+        ops = model.buildFrame();
+        assertEquals(0, countOps(ops, BoardModel.OP_HOUSE));
+        assertEquals(1, countOps(ops, BoardModel.OP_TINT));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_badLevel() {
+        model.setProperty(1, RED, BoardModel.HOTEL_LEVEL + 1);
+    }
+
+    @Test
+    public void test_tokenSlides() {
+        model.addToken(7);
+        model.moveToken(7, 10, true);
+        model.setMoveFraction(0.5f);
+        int ops = model.buildFrame();
+        // halfway between Go (345,345) and Jail (25,345)
+        assertOp(ops - 1, BoardModel.OP_TOKEN, 0, 180, 340, 190, 350);
+
+        assertEquals(0, model.finishMove());
+        assertEquals(-1, model.finishMove());
+        ops = model.buildFrame();
+        assertOp(ops - 1, BoardModel.OP_TOKEN, 0, 20, 340, 30, 350);
+    }
+
+    @Test
+    public void test_removeToken() {
+        for (int id=0; id<5; id++) {
+            assertEquals(id, model.addToken(id));
+        }
+        model.moveToken(3, 5, true);
+        assertEquals(1, model.removeToken(1));
+        assertEquals(-1, model.removeToken(1));
+        assertEquals(4, model.getTokenCount());
+        assertEquals(3, model.getTokenID(2));
+        assertEquals(5, model.getTokenPosition(2));
+        // the moving token moved down w/ the rest
+        assertEquals(2, model.getMovingIndex());
+        model.removeToken(3);
+        assertEquals(-1, model.getMovingIndex());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void test_addTokenTwice() {
+        model.addToken(1);
+        model.addToken(1);
+    }
+}
@@ -0,0 +1,91 @@
+package io.andrys.monopoly;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class CompactGameStateTest {
+    private ArrayList<Property> properties;
+    private GameContext gc;
+
+    @Before
+    public void setup() {
+        properties = PropertyBuilder.loadProperties();
+        ArrayDeque<Player> players = new ArrayDeque<>();
+        players.add(new Player("Tony", 1, "#FFB8E986"));
+        players.add(new Player("Alice", 2, "#FF006497"));
+        players.add(new Player("Bob", 3, "#FFD22630"));
+        HeadlessGame game = new HeadlessGame(players, new Board(new XoroshiroDiceSource(7)), new PropertyManager(properties), new SimplePlayerStrategy());
+        game.start();
+        game.playTurns(40);
+        gc = game.getCurrentContext();
+    }
+
+    @Test
+    public void test_roundTrip() {
+        CompactGameState state = CompactGameState.capture(gc);
+        assertEquals(3, state.getNumPlayers());
+        assertEquals(gc.activePlayer.getToken(), state.tokens[state.activeSeat]);
+        assertEquals(gc.activePlayer.getBalance(), state.balances[state.activeSeat]);
+
+        GameContext restored = state.toGameContext(properties);
+        assertEquals(state, CompactGameState.capture(restored));
+        for (int p=0; p<40; p++) {
+            assertEquals(gc.pm.getRentDue(p, 7), restored.pm.getRentDue(p, 7));
+        }
+    }
+
+    @Test
+    public void test_copyIsIndependent() {
+        CompactGameState state = CompactGameState.capture(gc);
+        CompactGameState copy = state.copy();
+        assertEquals(state, copy);
+
+        copy.balances[0] -= 100;
+        copy.owners[39] = 2;
+        assertNotEquals(state, copy);
+
+        copy.copyFrom(state);
+        assertEquals(state, copy);
+    }
+
+    @Test
+    public void test_mortgagedPropertiesCollectNoRent() {
+        CompactGameState state = CompactGameState.capture(gc);
+        state.owners[39] = state.tokens[1];
+        state.mortgaged[39] = true;
+        GameContext restored = state.toGameContext(properties);
+        assertEquals(0, restored.pm.getRentDue(39, 7));
+        assertEquals(state, CompactGameState.capture(restored));
+    }
+
+    @Test
+    public void test_bankruptActiveSeatPassesTurn() {
+        CompactGameState state = CompactGameState.capture(gc);
+        int next = (state.activeSeat + 1) % state.getNumPlayers();
+        state.positions[state.activeSeat] = -1;
+        GameContext restored = state.toGameContext(properties);
+        assertEquals(state.tokens[next], restored.activePlayer.getToken());
+        assertEquals(state.getNumPlayers() - 2, restored.players.size());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void test_everyoneBankrupt() {
+        CompactGameState state = CompactGameState.capture(gc);
+        for (int i=0; i<state.getNumPlayers(); i++) {
+            state.positions[i] = -1;
+        }
+        state.toGameContext(properties);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_copyFromDifferentPlayerCount() {
+        CompactGameState state = CompactGameState.capture(gc);
+        new CompactGameState(new String[]{"A", "B"}, new int[]{0, 0}).copyFrom(state);
+    }
+}
@@ -0,0 +1,44 @@
+package io.andrys.monopoly;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class HeadlessGameTest {
+    private HeadlessGame game;
+
+    @Before
+    public void setup() {
+        ArrayDeque<Player> players = new ArrayDeque<>();
+        players.add(new Player("Tony", 1, "#FFB8E986"));
+        players.add(new Player("Alice", 2, "#FF006497"));
+        players.add(new Player("Bob", 3, "#FFD22630"));
+        game = new HeadlessGame(players);
+    }
+
+    @Test
+    public void test_startWaitsForFirstRoll() {
+        game.start();
+        assertEquals(1, game.getTurnCount());
+        assertTrue(game.getView().hasPendingPrompt());
+        assertEquals("Tony", game.getCurrentContext().activePlayer.getName());
+    }
+
+    @Test
+    public void test_playTurns() {
+        game.start();
+        int played = game.playTurns(30);
+        assertEquals(30, played);
+        assertEquals(31, game.getTurnCount());
+
+        GameContext gc = game.getCurrentContext();
+        assertNotNull(gc.activePlayer);
+        int pos = gc.board.getTokenPosition(gc.activePlayer.getToken());
+        assertTrue(pos >= 0 && pos < gc.board.NUM_BOARD_POSITIONS);
+    }
+}
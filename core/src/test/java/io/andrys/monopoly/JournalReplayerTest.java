@@ -0,0 +1,102 @@
+package io.andrys.monopoly;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class JournalReplayerTest {
+    private ArrayList<Property> properties;
+    private HeadlessGame game;
+    private GameJournal journal;
+    // the live game captured at the start of each turn, indexed by turn
+    private ArrayList<CompactGameState> expected;
+
+    @Before
+    public void setup() {
+        properties = PropertyBuilder.loadProperties();
+        ArrayDeque<Player> players = new ArrayDeque<>();
+        players.add(new Player("Tony", 1, "#FFB8E986"));
+        players.add(new Player("Alice", 2, "#FF006497"));
+        players.add(new Player("Bob", 3, "#FFD22630"));
+        game = new HeadlessGame(players, new Board(new XoroshiroDiceSource(11)), new PropertyManager(properties), new SimplePlayerStrategy());
+        journal = game.recordJournal();
+        game.start();
+
+        expected = new ArrayList<>();
+        expected.add(null);
+        expected.add(CompactGameState.capture(game.getCurrentContext()));
+        while ((game.getTurnCount() < 200) && (game.playTurns(1) == 1)) {
+            expected.add(CompactGameState.capture(game.getCurrentContext()));
+        }
+    }
+
+    private void assertReplaysEveryTurn(JournalReplayer replayer) {
+        assertEquals(game.getTurnCount(), replayer.getTurnCount());
+        for (int turn=1; turn<expected.size(); turn++) {
+            GameContext rebuilt = replayer.contextAt(turn, properties);
+            assertEquals(String.format("turn %d", turn), expected.get(turn), CompactGameState.capture(rebuilt));
+        }
+    }
+
+    @Test
+    public void test_replaysEveryTurn() {
+        assertTrue(expected.size() > 10);
+        assertTrue(journal.size() > 0);
+        assertReplaysEveryTurn(new JournalReplayer(journal));
+        assertReplaysEveryTurn(new JournalReplayer(journal, 1));
+    }
+
+    @Test
+    public void test_seeksBackwards() {
+        JournalReplayer replayer = new JournalReplayer(journal, 8);
+        int last = expected.size() - 1;
+        CompactGameState end = CompactGameState.capture(replayer.contextAt(last, properties));
+        replayer.seek(3);
+        assertEquals(end, CompactGameState.capture(replayer.contextAt(last, properties)));
+        assertEquals(expected.get(3), CompactGameState.capture(replayer.contextAt(3, properties)));
+    }
+
+    @Test
+    public void test_binaryRoundTrip() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        journal.writeTo(out);
+        GameJournal read = GameJournal.readFrom(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(journal.size(), read.size());
+        assertEquals(journal.getInitialState(), read.getInitialState());
+        // fixed-width: 8 bytes per event after the header
+        assertTrue(out.size() < 8 * journal.size() + 512);
+        assertReplaysEveryTurn(new JournalReplayer(read));
+    }
+
+    @Test
+    public void test_readsOnlyItsOwnBytes() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        journal.writeTo(out);
+        out.write(42);
+        ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+        assertEquals(journal.size(), GameJournal.readFrom(in).size());
+        // whatever follows the journal is still there
+        assertEquals(42, in.read());
+    }
+
+    @Test
+    public void test_packing() {
+        long e = GameJournal.pack(GameJournal.OWNER, 39, PropertyAssignment.NO_OWNER);
+        assertEquals(GameJournal.OWNER, GameJournal.typeOf(e));
+        assertEquals(39, GameJournal.subjectOf(e));
+        assertEquals(PropertyAssignment.NO_OWNER, GameJournal.valueOf(e));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_seekPastTheEnd() {
+        JournalReplayer replayer = new JournalReplayer(journal);
+        replayer.seek(replayer.getTurnCount() + 1);
+    }
+}
@@ -0,0 +1,43 @@
+package io.andrys.monopoly;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class PlayerTest {
+
+    @Test
+    public void parseColor_opaque() {
+        assertEquals(0xFF00FF7F, Player.parseColor("#00ff7F"));
+    }
+
+    @Test
+    public void parseColor_withAlpha() {
+        assertEquals(0x4B123456, Player.parseColor("#4B123456"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parseColor_empty() {
+        Player.parseColor("");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parseColor_null() {
+        Player.parseColor(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parseColor_noHash() {
+        Player.parseColor("1234567");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parseColor_notHex() {
+        Player.parseColor("#12345G");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parseColor_signed() {
+        Player.parseColor("#+12345");
+    }
+}
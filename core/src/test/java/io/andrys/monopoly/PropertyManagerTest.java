@@ -0,0 +1,121 @@
+package io.andrys.monopoly;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PropertyManagerTest {
+    private PropertyManager pm;
+
+    @Before
+    public void setup() {
+        pm = new PropertyManager(PropertyBuilder.loadProperties());
+    }
+
+    @Test
+    public void test_unownedRentIsZero() {
+        for (int p=0; p<40; p++) {
+            assertEquals(0, pm.getRentDue(p, 7));
+        }
+    }
+
+    @Test
+    public void test_streetRent() {
+        // Mediterranean Avenue, then Baltic Avenue completes the purple monopoly
+        pm.assignPropertyToOwner(1, 1);
+        assertEquals(2, pm.getRentDue(1, 0));
+        assertFalse(pm.isPartOfMonopoly(1));
+
+        pm.assignPropertyToOwner(3, 1);
+        assertEquals(4, pm.getRentDue(1, 0));
+        assertEquals(8, pm.getRentDue(3, 0));
+        assertTrue(pm.isPartOfMonopoly(1));
+        assertEquals(1, pm.getMonopolyCount(1));
+
+        pm.updateDevelopmentLevelAtPosition(3, 2);
+        assertEquals(60, pm.getRentDue(3, 0));
+        assertEquals(4, pm.getRentDue(1, 0));
+
+        // losing a street breaks the monopoly
+        pm.assignPropertyToOwner(1, 2);
+        assertEquals(2, pm.getRentDue(1, 0));
+        assertEquals(0, pm.getMonopolyCount(1));
+        assertFalse(pm.isPartOfMonopoly(3));
+    }
+
+    @Test
+    public void test_railroadRent() {
+        int[] expected = {25, 50, 100, 200};
+        int[] railroads = {5, 15, 25, 35};
+        for (int i=0; i<railroads.length; i++) {
+            pm.assignPropertyToOwner(railroads[i], 2);
+            assertEquals(i + 1, pm.getRailroadCount(2));
+            for (int j=0; j<=i; j++) {
+                assertEquals(expected[i], pm.getRentDue(railroads[j], 0));
+            }
+        }
+        pm.assignPropertyToOwner(35, 3);
+        assertEquals(100, pm.getRentDue(5, 0));
+        assertEquals(25, pm.getRentDue(35, 0));
+    }
+
+    @Test
+    public void test_utilityRent() {
+        pm.assignPropertyToOwner(12, 3);
+        assertEquals(28, pm.getRentDue(12, 7));
+        pm.assignPropertyToOwner(28, 3);
+        assertEquals(70, pm.getRentDue(12, 7));
+        assertEquals(20, pm.getRentDue(28, 2));
+        assertEquals(2, pm.getUtilityCount(3));
+    }
+
+    @Test
+    public void test_transferAllProperties() {
+        pm.assignPropertyToOwner(37, 1);
+        pm.assignPropertyToOwner(39, 1);
+        pm.assignPropertyToOwner(5, 1);
+        pm.assignPropertyToOwner(15, 2);
+
+        int[] moved = pm.transferAllProperties(1, 2);
+        assertEquals(3, moved.length);
+        assertEquals(0, pm.getMonopolyCount(1));
+        assertEquals(1, pm.getMonopolyCount(2));
+        assertEquals(2, pm.getRailroadCount(2));
+        assertEquals(50, pm.getRentDue(5, 0));
+
+        pm.transferAllProperties(2, PropertyAssignment.NO_OWNER);
+        assertEquals(0, pm.getRentDue(39, 0));
+        assertEquals(0, pm.getRailroadCount(2));
+    }
+
+    @Test
+    public void test_ownerOrNone() {
+        pm.assignPropertyToOwner(39, 4);
+        assertEquals(4, pm.ownerOrNone(39));
+        assertEquals(PropertyAssignment.NO_OWNER, pm.ownerOrNone(37));
+        // no property here, and off the board entirely
+        assertEquals(PropertyAssignment.NO_OWNER, pm.ownerOrNone(0));
+        assertEquals(PropertyAssignment.NO_OWNER, pm.ownerOrNone(-1));
+        assertEquals(PropertyAssignment.NO_OWNER, pm.ownerOrNone(40));
+    }
+
+    @Test
+    public void test_ownerSnapshot() {
+        pm.assignPropertyToOwner(1, 1);
+        pm.assignPropertyToOwner(5, 2);
+        int[] out = pm.ownerSnapshot(new int[40]);
+        for (int p=0; p<40; p++) {
+            assertEquals(pm.ownerOrNone(p), out[p]);
+        }
+        assertEquals(1, out[1]);
+        assertEquals(2, out[5]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_ownerSnapshotTooSmall() {
+        pm.ownerSnapshot(new int[39]);
+    }
+}
@@ -0,0 +1,51 @@
+package io.andrys.monopoly;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class PropertyTableTest {
+
+    private static void assertSameProperties(ArrayList<Property> expected, ArrayList<Property> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i=0; i<expected.size(); i++) {
+            Property e = expected.get(i);
+            Property a = actual.get(i);
+            assertEquals(e.getClass(), a.getClass());
+            assertEquals(e.getName(), a.getName());
+            assertEquals(e.getPrice(), a.getPrice());
+            assertEquals(e.getPosition(), a.getPosition());
+            if (e instanceof StreetProperty) {
+                StreetProperty es = (StreetProperty) e;
+                StreetProperty as = (StreetProperty) a;
+                assertEquals(es.getColorGroup(), as.getColorGroup());
+                assertEquals(es.getDevelopmentCost(), as.getDevelopmentCost());
+                assertArrayEquals(es.rentValues, as.rentValues);
+            }
+        }
+    }
+
+    @Test
+    public void test_roundTrip() throws IOException {
+        ArrayList<Property> fromJSON = PropertyBuilder.loadPropertiesFromJSONResource();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PropertyTable.write(fromJSON, out);
+        assertSameProperties(fromJSON, PropertyTable.read(new ByteArrayInputStream(out.toByteArray())));
+    }
+
+    @Test
+    public void test_loadPropertiesMatchesJSON() {
+        assertSameProperties(PropertyBuilder.loadPropertiesFromJSONResource(), PropertyBuilder.loadProperties());
+    }
+
+    @Test(expected = IOException.class)
+    public void test_rejectsGarbage() throws IOException {
+        PropertyTable.read(new ByteArrayInputStream("[{\"name\": \"x\"}]".getBytes("UTF-8")));
+    }
+}
@@ -0,0 +1,147 @@
+package io.andrys.monopoly;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+
+import io.andrys.monopoly.states.GameState;
+import io.andrys.monopoly.states.InJailState;
+import io.andrys.monopoly.states.RollDiceState;
+import io.andrys.monopoly.states.UnownedPropertyState;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SavedGameTest {
+    private ArrayList<Property> properties;
+    private HeadlessGame game;
+
+    @Before
+    public void setup() {
+        properties = PropertyBuilder.loadProperties();
+        ArrayDeque<Player> players = new ArrayDeque<>();
+        players.add(new Player("Tony", 1, "#FFB8E986"));
+        players.add(new Player("Alice", 2, "#FF006497"));
+        players.add(new Player("Bob", 3, "#FFD22630"));
+        game = new HeadlessGame(players, new Board(new XoroshiroDiceSource(3)), new PropertyManager(properties), new SimplePlayerStrategy());
+        game.start();
+        game.playTurns(60);
+    }
+
+    private static SavedGame roundTrip(SavedGame saved) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        saved.writeTo(out);
+        return SavedGame.readFrom(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    @Test
+    public void test_resumesIntoTheSameState() throws IOException {
+        SavedGame saved = roundTrip(game.save());
+        HeadlessGame resumed = HeadlessGame.resume(saved, properties, new SimplePlayerStrategy());
+
+        GameState before = game.getEngine().getCurrentState();
+        GameState after = resumed.getEngine().getCurrentState();
+        assertEquals(before.getClass(), after.getClass());
+        assertEquals(game.getTurnCount(), resumed.getTurnCount());
+        assertEquals(CompactGameState.capture(game.getCurrentContext()), CompactGameState.capture(resumed.getCurrentContext()));
+        assertTrue(resumed.getView().hasPendingPrompt());
+
+        // the resumed game keeps going on its own
+        assertEquals(20, resumed.playTurns(20));
+    }
+
+    @Test
+    public void test_resumesMidTurn() throws IOException {
+        // advance until the game is waiting on something other than a roll
+        for (int i=0; i<500; i++) {
+            game.advance();
+            if (!(game.getEngine().getCurrentState() instanceof RollDiceState)) {
+                break;
+            }
+        }
+        SavedGame saved = roundTrip(game.save());
+        HeadlessGame resumed = HeadlessGame.resume(saved, properties, new SimplePlayerStrategy());
+        assertEquals(game.getEngine().getCurrentState().getClass(), resumed.getEngine().getCurrentState().getClass());
+        assertEquals(game.getTurnCount(), resumed.getTurnCount());
+        assertEquals(CompactGameState.capture(game.getCurrentContext()), CompactGameState.capture(resumed.getCurrentContext()));
+    }
+
+    // Plays until the game waits in a 'stateClass' state, then checks that resuming it lands in the same place
+    private void assertResumesFrom(Class<? extends GameState> stateClass) throws IOException {
+        for (int i=0; (i<5000) && game.getView().hasPendingPrompt(); i++) {
+            if (stateClass.isInstance(game.getEngine().getCurrentState())) {
+                SavedGame saved = roundTrip(game.save());
+                HeadlessGame resumed = HeadlessGame.resume(saved, properties, new SimplePlayerStrategy());
+                assertEquals(stateClass, resumed.getEngine().getCurrentState().getClass());
+                assertEquals(game.getTurnCount(), resumed.getTurnCount());
+                assertEquals(CompactGameState.capture(game.getCurrentContext()), CompactGameState.capture(resumed.getCurrentContext()));
+                assertTrue(resumed.getView().hasPendingPrompt());
+                return;
+            }
+            assertTrue(SavedGame.canCapture(game.getEngine()));
+            game.advance();
+        }
+        fail(String.format("The game never waited in %s!", stateClass.getSimpleName()));
+    }
+
+    @Test
+    public void test_resumesFromRollDice() throws IOException {
+        assertResumesFrom(RollDiceState.class);
+    }
+
+    @Test
+    public void test_resumesFromUnownedProperty() throws IOException {
+        assertResumesFrom(UnownedPropertyState.class);
+    }
+
+    @Test
+    public void test_resumesFromInJail() throws IOException {
+        assertResumesFrom(InJailState.class);
+    }
+
+    @Test
+    public void test_onlyPromptsAreRestorable() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        game.save().writeTo(out);
+        byte[] bytes = out.toByteArray();
+        // magic, version and turn count come first, then the stack depth and the state codes
+        assertEquals(1, bytes[12]);
+        bytes[13] = (byte) GameJournal.STATE_PAY_RENT;
+        try {
+            SavedGame.readFrom(new ByteArrayInputStream(bytes));
+            fail("A save in PayRentState shouldn't load!");
+        } catch (IOException expected) {
+            // resuming would charge the rent twice
+        }
+
+        // once the game is over there's nothing to prompt for
+        while (game.getView().hasPendingPrompt()) {
+            assertTrue(SavedGame.canCapture(game.getEngine()));
+            game.advance();
+        }
+        assertFalse(SavedGame.canCapture(game.getEngine()));
+    }
+
+    @Test
+    public void test_readsOnlyItsOwnBytes() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        game.save().writeTo(out);
+        out.write(42);
+        ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+        assertEquals(game.getTurnCount(), SavedGame.readFrom(in).getTurnCount());
+        // whatever follows the save is still there
+        assertEquals(42, in.read());
+    }
+
+    @Test(expected = IOException.class)
+    public void test_rejectsGarbage() throws IOException {
+        SavedGame.readFrom(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5, 6, 7, 8}));
+    }
+}
@@ -0,0 +1,91 @@
+package io.andrys.monopoly;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class XoroshiroDiceSourceTest {
+
+    private static int[] roll(DiceSource source, int n) {
+        int[] faces = new int[n];
+        for (int i=0; i<n; i++) {
+            faces[i] = source.nextFace();
+        }
+        return faces;
+    }
+
+    @Test
+    public void sameSeedRollsSameFaces() {
+        assertArrayEquals(roll(new XoroshiroDiceSource(42), 1000), roll(new XoroshiroDiceSource(42), 1000));
+
+        int[] a = new int[1001];
+        int[] b = new int[1001];
+        new XoroshiroDiceSource(42).fill(a, 0, a.length);
+        new XoroshiroDiceSource(42).fill(b, 0, b.length);
+        assertArrayEquals(a, b);
+    }
+
+    @Test
+    public void differentSeedsRollDifferentFaces() {
+        assertFalse(java.util.Arrays.equals(roll(new XoroshiroDiceSource(1), 100), roll(new XoroshiroDiceSource(2), 100)));
+    }
+
+    @Test
+    public void facesAreRoughlyUniform() {
+        int n = 600000;
+        int[] faces = new int[n];
+        new XoroshiroDiceSource(0).fill(faces, 0, n);
+        int[] counts = new int[7];
+        for (int f : faces) {
+            assertTrue(f >= 1 && f <= 6);
+            counts[f]++;
+        }
+        assertEquals(0, counts[0]);
+        for (int f=1; f<=6; f++) {
+            assertEquals(n / 6.0, counts[f], n / 6.0 * 0.02);
+        }
+    }
+
+    @Test
+    public void fillOnlyTouchesItsRange() {
+        int[] faces = new int[10];
+        new XoroshiroDiceSource(3).fill(faces, 2, 5);
+        assertEquals(0, faces[0]);
+        assertEquals(0, faces[1]);
+        for (int i=2; i<7; i++) {
+            assertTrue(faces[i] >= 1 && faces[i] <= 6);
+        }
+        assertEquals(0, faces[7]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fillPastTheEndThrows() {
+        new XoroshiroDiceSource(3).fill(new int[4], 2, 3);
+    }
+
+    @Test
+    public void splitIsReproducible() {
+        DiceSource childA = new XoroshiroDiceSource(9).split();
+        DiceSource childB = new XoroshiroDiceSource(9).split();
+        assertArrayEquals(roll(childA, 100), roll(childB, 100));
+    }
+
+    @Test
+    public void seededBoardsRollTheSameDice() {
+        Board a = new Board(new XoroshiroDiceSource(5));
+        Board b = new Board(new XoroshiroDiceSource(5));
+        for (int i=0; i<100; i++) {
+            a.rollDice();
+            b.rollDice();
+            assertArrayEquals(a.getDiceValues(), b.getDiceValues());
+        }
+        int[] batch = new int[64];
+        a.rollDiceBatch(batch);
+        for (int f : batch) {
+            assertTrue(f >= 1 && f <= 6);
+        }
+    }
+}
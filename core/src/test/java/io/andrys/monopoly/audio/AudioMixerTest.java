@@ -0,0 +1,137 @@
+package io.andrys.monopoly.audio;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AudioMixerTest {
+
+    private static short[] constant(int value, int length) {
+        short[] pcm = new short[length];
+        Arrays.fill(pcm, (short) value);
+        return pcm;
+    }
+
+    @Test
+    public void silentWhenNothingPlays() {
+        AudioMixer mixer = new AudioMixer(2, 16);
+        short[] out = constant(7, 40);
+        mixer.render(out, 0, 40);
+        assertArrayEquals(new short[40], out);
+    }
+
+    @Test
+    public void voicesAreSummedWithTheirGain() {
+        AudioMixer mixer = new AudioMixer(2, 16);
+        int a = mixer.addClip(constant(1000, 40));
+        int b = mixer.addClip(constant(-200, 20));
+        mixer.trigger(a, 0.5f, false);
+        mixer.trigger(b, 2f, false);
+
+        short[] out = new short[50];
+        mixer.render(out, 0, 50);
+        // both clips for 20 frames, then just 'a' until it runs out at 40
+        assertEquals(500 - 400, out[0]);
+        assertEquals(500 - 400, out[19]);
+        assertEquals(500, out[20]);
+        assertEquals(500, out[39]);
+        assertEquals(0, out[40]);
+        assertEquals(0, mixer.getActiveVoices());
+    }
+
+    @Test
+    public void sumIsClippedTo16Bits() {
+        AudioMixer mixer = new AudioMixer(2);
+        int loud = mixer.addClip(constant(30000, 8));
+        int quiet = mixer.addClip(constant(-30000, 8));
+        mixer.trigger(loud, 1f, false);
+        mixer.trigger(loud, 1f, false);
+        short[] out = new short[8];
+        mixer.render(out, 0, 8);
+        assertEquals(Short.MAX_VALUE, out[0]);
+
+        mixer.trigger(quiet, 1f, false);
+        mixer.trigger(quiet, 1f, false);
+        mixer.render(out, 0, 8);
+        assertEquals(Short.MIN_VALUE, out[0]);
+    }
+
+    @Test
+    public void duckingClipTurnsOthersDown() {
+        AudioMixer mixer = new AudioMixer(2, 32);
+        mixer.setDucking(0.25f, 4);
+        int ding = mixer.addClip(constant(1000, 100));
+        int siren = mixer.addClip(constant(100, 50));
+        mixer.trigger(ding, 1f, false);
+        mixer.trigger(siren, 1f, true);
+
+        short[] out = new short[100];
+        mixer.render(out, 0, 100);
+        // fades from 1 down to 0.25 over the 4 frame ramp
+        assertEquals(812 + 100, out[0]);
+        assertEquals(250 + 100, out[3]);
+        assertEquals(250 + 100, out[31]);
+        // the siren ends at 50; the block after it ramps back up
+        assertEquals(250, out[63]);
+        assertEquals(437, out[64]);
+        assertEquals(1000, out[67]);
+        assertEquals(1000, out[99]);
+    }
+
+    @Test
+    public void oldestVoiceIsStolenWhenFull() {
+        AudioMixer mixer = new AudioMixer(2, 16);
+        int first = mixer.addClip(constant(1, 32));
+        int second = mixer.addClip(constant(10, 32));
+        int third = mixer.addClip(constant(100, 32));
+        mixer.trigger(first, 1f, false);
+        mixer.trigger(second, 1f, false);
+        assertTrue(mixer.trigger(third, 1f, false));
+
+        short[] out = new short[1];
+        mixer.render(out, 0, 1);
+        assertEquals(110, out[0]);
+        assertEquals(1, mixer.getStolenCount());
+    }
+
+    @Test
+    public void duckingVoicesAreNotStolenByOthers() {
+        AudioMixer mixer = new AudioMixer(1, 16);
+        int siren = mixer.addClip(constant(100, 32));
+        int ding = mixer.addClip(constant(1, 32));
+        mixer.trigger(siren, 1f, true);
+
+        assertFalse(mixer.trigger(ding, 1f, false));
+        assertTrue(mixer.trigger(siren, 1f, true));
+        assertEquals(1, mixer.getActiveVoices());
+    }
+
+    @Test
+    public void renderIntoFillsRingInWholeBlocks() {
+        AudioMixer mixer = new AudioMixer(1, 16);
+        mixer.trigger(mixer.addClip(constant(5, 100)), 1f, false);
+        PcmRingBuffer ring = new PcmRingBuffer(64);
+
+        assertEquals(64, mixer.renderInto(ring));
+        short[] out = new short[40];
+        assertEquals(40, ring.read(out, 0, 40));
+        // 24 left, room for 2 more blocks
+        assertEquals(32, mixer.renderInto(ring));
+        assertEquals(56, ring.available());
+    }
+
+    @Test
+    public void toMonoAveragesAndResamples() {
+        short[] stereo = {100, 300, -100, -300, 50, 50};
+        assertArrayEquals(new short[] {200, -200, 50}, PcmUtils.toMono(stereo, stereo.length, 2, 44100, 44100));
+
+        short[] mono = {0, 100, 200, 300};
+        assertArrayEquals(new short[] {0, 50, 100, 150, 200, 250, 300, 300}, PcmUtils.toMono(mono, mono.length, 1, 22050, 44100));
+        assertArrayEquals(new short[] {0, 200}, PcmUtils.toMono(mono, mono.length, 1, 44100, 22050));
+    }
+}
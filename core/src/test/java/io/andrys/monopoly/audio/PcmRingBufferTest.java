@@ -0,0 +1,45 @@
+package io.andrys.monopoly.audio;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class PcmRingBufferTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void capacityMustBePowerOfTwo() {
+        new PcmRingBuffer(100);
+    }
+
+    @Test
+    public void writesStopWhenFull() {
+        PcmRingBuffer ring = new PcmRingBuffer(4);
+        assertEquals(4, ring.write(new short[] {1, 2, 3, 4, 5, 6}, 0, 6));
+        assertEquals(0, ring.free());
+        assertEquals(0, ring.write(new short[] {7}, 0, 1));
+    }
+
+    @Test
+    public void readsWrapAround() {
+        PcmRingBuffer ring = new PcmRingBuffer(4);
+        short[] out = new short[4];
+        ring.write(new short[] {1, 2, 3}, 0, 3);
+        assertEquals(2, ring.read(out, 0, 2));
+        assertEquals(3, ring.write(new short[] {4, 5, 6}, 0, 3));
+
+        assertEquals(4, ring.read(out, 0, 4));
+        assertArrayEquals(new short[] {3, 4, 5, 6}, out);
+        assertEquals(0, ring.available());
+        assertEquals(0, ring.read(out, 0, 4));
+    }
+
+    @Test
+    public void clearDropsWaitingSamples() {
+        PcmRingBuffer ring = new PcmRingBuffer(8);
+        ring.write(new short[] {1, 2, 3}, 0, 3);
+        ring.clear();
+        assertEquals(0, ring.available());
+        assertEquals(8, ring.free());
+    }
+}
@@ -0,0 +1,71 @@
+package io.andrys.monopoly.simulation;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import io.andrys.monopoly.PlayerStrategy;
+import io.andrys.monopoly.PropertyBuilder;
+import io.andrys.monopoly.SimplePlayerStrategy;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MonteCarloSimulatorTest {
+    private MonteCarloSimulator sim;
+
+    @Before
+    public void setup() {
+        PlayerStrategy[] strategies = new PlayerStrategy[]{
+                new SimplePlayerStrategy(), new SimplePlayerStrategy(), new SimplePlayerStrategy(200)
+        };
+        sim = new MonteCarloSimulator(PropertyBuilder.loadProperties(), strategies, 500);
+    }
+
+    @Test
+    public void test_everyGameIsAccountedFor() {
+        SimulationResult r = sim.run(200, 1234L);
+        assertEquals(200, r.getGamesPlayed());
+        assertEquals(r.getGamesPlayed(), r.getGamesWon() + r.getGamesTimedOut() + r.getGamesStalled());
+
+        long wins = 0;
+        for (long w : r.getWinsBySeat()) {
+            wins += w;
+        }
+        assertEquals(r.getGamesWon(), wins);
+
+        // each turn of a finished game starts w/ a roll, except the last one, which may not have been played
+        long landings = 0;
+        for (long c : r.getLandingCounts()) {
+            landings += c;
+        }
+        assertTrue(landings <= r.getFinishedTurns());
+        assertTrue(landings >= r.getFinishedTurns() - r.getGamesWon());
+        assertTrue(r.getFinishedTurns() <= r.getTotalTurns());
+
+        // nobody ever stays on Go To Jail, but they do land on it
+        assertTrue(r.getLandingCounts()[30] > 0);
+        assertTrue(r.getGamesWon() > 0);
+        // every finished game had all but one player go bankrupt
+        assertEquals(2 * r.getGamesWon(), r.getBankruptcyCount());
+        // broke jailed players go bankrupt instead of holding the game up
+        assertEquals(0, r.getGamesStalled());
+    }
+
+    @Test
+    public void test_sameSeedSameResults() {
+        SimulationResult single = sim.run(300, 99L, new ForkJoinPool(1));
+        SimulationResult multi = sim.run(300, 99L, new ForkJoinPool(4));
+        assertEquals(single.getTotalTurns(), multi.getTotalTurns());
+        assertArrayEquals(single.getLandingCounts(), multi.getLandingCounts());
+        assertArrayEquals(single.getWinsBySeat(), multi.getWinsBySeat());
+        assertArrayEquals(single.getBankruptcyTurnHistogram(), multi.getBankruptcyTurnHistogram());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_tooFewPlayers() {
+        new MonteCarloSimulator(PropertyBuilder.loadProperties(), new PlayerStrategy[]{new SimplePlayerStrategy()}, 100);
+    }
+}
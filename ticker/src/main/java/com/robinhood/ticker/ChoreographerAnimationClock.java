@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2016 Robinhood Markets, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.robinhood.ticker;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Looper;
+import android.view.Choreographer;
+
+/**
+ * A {@link TickerAnimationClock} driven by the main thread's {@link Choreographer}, so every
+ * ticker that shares it advances in the same vsync callback. Use {@link #getInstance()} to get
+ * the shared clock, and hand it to each view w/ {@link TickerView#setAnimationClock}.
+ */
+@TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+public class ChoreographerAnimationClock extends TickerAnimationClock
+        implements Choreographer.FrameCallback {
+    private static ChoreographerAnimationClock instance;
+
+    private final Choreographer choreographer;
+
+    private ChoreographerAnimationClock() {
+        this.choreographer = Choreographer.getInstance();
+    }
+
+    /**
+     * @return the clock shared by every ticker on the main thread. Must be called from the
+     *         main thread.
+     */
+    public static ChoreographerAnimationClock getInstance() {
+        if (Looper.myLooper() != Looper.getMainLooper()) {
+            throw new IllegalStateException("The shared animation clock must be used from the main thread.");
+        }
+        if (instance == null) {
+            instance = new ChoreographerAnimationClock();
+        }
+        return instance;
+    }
+
+    @Override
+    protected void scheduleFrame() {
+        choreographer.postFrameCallback(this);
+    }
+}
@@ -16,8 +16,8 @@
 
 package com.robinhood.ticker;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Set;
 
 /**
@@ -35,6 +35,9 @@ public class LevenshteinUtils {
      * the current character should be animated or if it should remain in-place.
      *
      * For specific implementation details, see {@link #appendColumnActionsForSegment}.
+     * This allocates its result and scratch space on every call; see
+     * {@link #computeColumnActions(char[], int, char[], int, long[], Scratch, int[])} for a
+     * variant that doesn't.
      *
      * @param source the source char array to animate from
      * @param target the target char array to animate to
@@ -46,36 +49,67 @@ public class LevenshteinUtils {
      */
     public static int[] computeColumnActions(char[] source, char[] target,
             Set<Character> supportedCharacters) {
+        final int[] actions = new int[source.length + target.length];
+        final int size = computeColumnActions(source, source.length, target, target.length,
+                toCharacterBitSet(supportedCharacters), new Scratch(), actions);
+        return Arrays.copyOf(actions, size);
+    }
+
+    /**
+     * Same as {@link #computeColumnActions(char[], char[], Set)}, but writes the actions into
+     * a caller-supplied array and does all of its work in {@code scratch}, so once the scratch
+     * buffers have grown to fit the longest text it allocates nothing.
+     *
+     * @param source the source char array to animate from
+     * @param sourceLength number of chars in {@code source} to use
+     * @param target the target char array to animate to
+     * @param targetLength number of chars in {@code target} to use
+     * @param supportedCharacters bitset of all characters that support custom animation, from
+     *                            {@link #toCharacterBitSet(Collection)}
+     * @param scratch reusable working space; must not be shared between threads
+     * @param actions destination for the actions; must hold at least
+     *                {@code sourceLength + targetLength} elements
+     * @return the number of actions written into {@code actions}
+     */
+    public static int computeColumnActions(char[] source, int sourceLength,
+            char[] target, int targetLength, long[] supportedCharacters, Scratch scratch,
+            int[] actions) {
+        if (actions.length < sourceLength + targetLength) {
+            throw new IllegalArgumentException("Actions array is too small: " + actions.length
+                    + " < " + (sourceLength + targetLength));
+        }
+
         int sourceIndex = 0;
         int targetIndex = 0;
-
-        List<Integer> columnActions = new ArrayList<>();
+        int size = 0;
         while (true) {
             // Check for terminating conditions
-            final boolean reachedEndOfSource = sourceIndex == source.length;
-            final boolean reachedEndOfTarget = targetIndex == target.length;
+            final boolean reachedEndOfSource = sourceIndex == sourceLength;
+            final boolean reachedEndOfTarget = targetIndex == targetLength;
             if (reachedEndOfSource && reachedEndOfTarget) {
                 break;
             } else if (reachedEndOfSource) {
-                fillWithActions(columnActions, target.length - targetIndex, ACTION_INSERT);
+                size = fillWithActions(actions, size, targetLength - targetIndex, ACTION_INSERT);
                 break;
             } else if (reachedEndOfTarget) {
-                fillWithActions(columnActions, source.length - sourceIndex, ACTION_DELETE);
+                size = fillWithActions(actions, size, sourceLength - sourceIndex, ACTION_DELETE);
                 break;
             }
 
-            final boolean containsSourceChar = supportedCharacters.contains(source[sourceIndex]);
-            final boolean containsTargetChar = supportedCharacters.contains(target[targetIndex]);
+            final boolean containsSourceChar = contains(supportedCharacters, source[sourceIndex]);
+            final boolean containsTargetChar = contains(supportedCharacters, target[targetIndex]);
 
             if (containsSourceChar && containsTargetChar) {
                 // We reached a segment that we can perform animations on
-                final int sourceEndIndex =
-                        findNextUnsupportedChar(source, sourceIndex + 1, supportedCharacters);
-                final int targetEndIndex =
-                        findNextUnsupportedChar(target, targetIndex + 1, supportedCharacters);
+                final int sourceEndIndex = findNextUnsupportedChar(
+                        source, sourceIndex + 1, sourceLength, supportedCharacters);
+                final int targetEndIndex = findNextUnsupportedChar(
+                        target, targetIndex + 1, targetLength, supportedCharacters);
 
-                appendColumnActionsForSegment(
-                        columnActions,
+                size = appendColumnActionsForSegment(
+                        actions,
+                        size,
+                        scratch,
                         source,
                         target,
                         sourceIndex,
@@ -87,42 +121,87 @@ public class LevenshteinUtils {
                 targetIndex = targetEndIndex;
             } else if (containsSourceChar) {
                 // We are animating in a target character that isn't supported
-                columnActions.add(ACTION_INSERT);
+                actions[size++] = ACTION_INSERT;
                 targetIndex++;
             } else if (containsTargetChar) {
                 // We are animating out a source character that isn't supported
-                columnActions.add(ACTION_DELETE);
+                actions[size++] = ACTION_DELETE;
                 sourceIndex++;
             } else {
                 // Both characters are not supported, perform default animation to replace
-                columnActions.add(ACTION_SAME);
+                actions[size++] = ACTION_SAME;
                 sourceIndex++;
                 targetIndex++;
             }
         }
+        return size;
+    }
 
-        // Concat all of the actions into one array
-        final int[] result = new int[columnActions.size()];
-        for (int i = 0; i < columnActions.size(); i++) {
-            result[i] = columnActions.get(i);
+    /**
+     * Checks whether every column can simply be updated in place, i.e. whether
+     * {@link #computeColumnActions(char[], int, char[], int, long[], Scratch, int[])} would
+     * return nothing but {@link #ACTION_SAME}. That's the case when both texts are the same
+     * length and every character is supported in one exactly where it's supported in the other,
+     * like a balance going from $1500 to $1450. This is a single pass w/ no edit-distance
+     * matrix, so callers can check it first and skip computing the actions.
+     *
+     * @param source the source char array to animate from
+     * @param sourceLength number of chars in {@code source} to use
+     * @param target the target char array to animate to
+     * @param targetLength number of chars in {@code target} to use
+     * @param supportedCharacters bitset of all characters that support custom animation, from
+     *                            {@link #toCharacterBitSet(Collection)}
+     * @return whether each column maps straight onto the column at the same index.
+     */
+    public static boolean isInPlaceUpdate(char[] source, int sourceLength,
+            char[] target, int targetLength, long[] supportedCharacters) {
+        if (sourceLength != targetLength) {
+            return false;
+        }
+        for (int i = 0; i < sourceLength; i++) {
+            if (source[i] != target[i] && contains(supportedCharacters, source[i])
+                    != contains(supportedCharacters, target[i])) {
+                return false;
+            }
         }
-        return result;
+        return true;
     }
 
-    private static int findNextUnsupportedChar(char[] chars, int startIndex,
-            Set<Character> supportedCharacters) {
-        for (int i = startIndex; i < chars.length; i++) {
-            if (!supportedCharacters.contains(chars[i])) {
+    /**
+     * @return a bitset w/ bit {@code c} set for every char {@code c} in {@code characters},
+     *         sized to the largest one, for the allocation-free
+     *         {@link #computeColumnActions(char[], int, char[], int, long[], Scratch, int[])}.
+     */
+    public static long[] toCharacterBitSet(Collection<Character> characters) {
+        int max = 0;
+        for (Character c : characters) {
+            max = Math.max(max, c);
+        }
+        final long[] bits = new long[(max >> 6) + 1];
+        for (Character c : characters) {
+            bits[c >> 6] |= 1L << c;
+        }
+        return bits;
+    }
+
+    static boolean contains(long[] characterBitSet, char c) {
+        final int word = c >> 6;
+        return word < characterBitSet.length && (characterBitSet[word] & (1L << c)) != 0;
+    }
+
+    private static int findNextUnsupportedChar(char[] chars, int startIndex, int endIndex,
+            long[] supportedCharacters) {
+        for (int i = startIndex; i < endIndex; i++) {
+            if (!contains(supportedCharacters, chars[i])) {
                 return i;
             }
         }
-        return chars.length;
+        return endIndex;
     }
 
-    private static void fillWithActions(List<Integer> actions, int num, int action) {
-        for (int i = 0; i < num; i++) {
-            actions.add(action);
-        }
+    private static int fillWithActions(int[] actions, int size, int num, int action) {
+        Arrays.fill(actions, size, size + num, action);
+        return size + num;
     }
 
     /**
@@ -131,16 +210,21 @@ public class LevenshteinUtils {
      * Unlike the traditional algorithm, we force return all {@link #ACTION_SAME} for inputs that
      * are the same length (so optimize update over insertion/deletion).
      *
-     * @param columnActions the target list to append actions into
+     * @param actions the target array to append actions into
+     * @param size the number of actions already in {@code actions}
+     * @param scratch working space for the matrix and the reverse trace
      * @param source the source character array
      * @param target the target character array
      * @param sourceStart the start index of source to compute column actions (inclusive)
      * @param sourceEnd the end index of source to compute column actions (exclusive)
      * @param targetStart the start index of target to compute column actions (inclusive)
      * @param targetEnd the end index of target to compute column actions (exclusive)
+     * @return the number of actions in {@code actions} afterwards
      */
-    private static void appendColumnActionsForSegment(
-            List<Integer> columnActions,
+    private static int appendColumnActionsForSegment(
+            int[] actions,
+            int size,
+            Scratch scratch,
             char[] source,
             char[] target,
             int sourceStart,
@@ -154,61 +238,63 @@ public class LevenshteinUtils {
 
         if (sourceLength == targetLength) {
             // No modifications needed if the length of the strings are the same
-            fillWithActions(columnActions, resultLength, ACTION_SAME);
-            return;
+            return fillWithActions(actions, size, resultLength, ACTION_SAME);
         }
 
         final int numRows = sourceLength + 1;
         final int numCols = targetLength + 1;
 
-        // Compute the Levenshtein matrix
-        final int[][] matrix = new int[numRows][numCols];
+        // Compute the Levenshtein matrix, stored row-major in a single array
+        final int[] matrix = scratch.ensureMatrix(numRows * numCols);
 
         for (int i = 0; i < numRows; i++) {
-            matrix[i][0] = i;
+            matrix[i * numCols] = i;
         }
         for (int j = 0; j < numCols; j++) {
-            matrix[0][j] = j;
+            matrix[j] = j;
         }
 
         int cost;
         for (int row = 1; row < numRows; row++) {
+            final int rowOffset = row * numCols;
+            final int prevRowOffset = rowOffset - numCols;
             for (int col = 1; col < numCols; col++) {
                 cost = source[row - 1 + sourceStart] == target[col - 1 + targetStart] ? 0 : 1;
 
-                matrix[row][col] = min(
-                        matrix[row-1][col] + 1,
-                        matrix[row][col-1] + 1,
-                        matrix[row-1][col-1] + cost);
+                matrix[rowOffset + col] = min(
+                        matrix[prevRowOffset + col] + 1,
+                        matrix[rowOffset + col - 1] + 1,
+                        matrix[prevRowOffset + col - 1] + cost);
             }
         }
 
         // Reverse trace the matrix to compute the necessary actions
-        final List<Integer> resultList = new ArrayList<>(resultLength * 2);
+        final int[] trace = scratch.ensureTrace(sourceLength + targetLength);
+        int traceSize = 0;
         int row = numRows - 1;
         int col = numCols - 1;
         while (row > 0 || col > 0) {
             if (row == 0) {
                 // At the top row, can only move left, meaning insert column
-                resultList.add(ACTION_INSERT);
+                trace[traceSize++] = ACTION_INSERT;
                 col--;
             } else if (col == 0) {
                 // At the left column, can only move up, meaning delete column
-                resultList.add(ACTION_DELETE);
+                trace[traceSize++] = ACTION_DELETE;
                 row--;
             } else {
-                final int insert = matrix[row][col-1];
-                final int delete = matrix[row-1][col];
-                final int replace = matrix[row-1][col-1];
+                final int insert = matrix[row * numCols + col - 1];
+                final int delete = matrix[(row - 1) * numCols + col];
+                final int replace = matrix[(row - 1) * numCols + col - 1];
 
                 if (insert < delete && insert < replace) {
-                    resultList.add(ACTION_INSERT);
+                    trace[traceSize++] = ACTION_INSERT;
                     col--;
                 } else if (delete < replace) {
-                    resultList.add(ACTION_DELETE);
+                    trace[traceSize++] = ACTION_DELETE;
                     row--;
                 } else {
-                    resultList.add(ACTION_SAME);
+                    trace[traceSize++] = ACTION_SAME;
                     row--;
                     col--;
                 }
@@ -216,13 +302,37 @@ public class LevenshteinUtils {
         }
 
         // Reverse the actions to get the correct ordering
-        final int resultSize = resultList.size();
-        for (int i = resultSize - 1; i >= 0; i--) {
-            columnActions.add(resultList.get(i));
+        for (int i = traceSize - 1; i >= 0; i--) {
+            actions[size++] = trace[i];
         }
+        return size;
     }
 
     private static int min(int first, int second, int third) {
         return Math.min(first, Math.min(second, third));
     }
+
+    /**
+     * Reusable working space for
+     * {@link #computeColumnActions(char[], int, char[], int, long[], Scratch, int[])}. Grows to
+     * fit the longest text it has seen and is then reused as-is. Not thread-safe.
+     */
+    public static final class Scratch {
+        private int[] matrix = new int[0];
+        private int[] trace = new int[0];
+
+        int[] ensureMatrix(int size) {
+            if (matrix.length < size) {
+                matrix = new int[size];
+            }
+            return matrix;
+        }
+
+        int[] ensureTrace(int size) {
+            if (trace.length < size) {
+                trace = new int[size];
+            }
+            return trace;
+        }
+    }
 }
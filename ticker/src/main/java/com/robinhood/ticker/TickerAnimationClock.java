@@ -0,0 +1,217 @@
+/*
+ * Copyright (C) 2016 Robinhood Markets, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.robinhood.ticker;
+
+/**
+ * A single animation clock that many {@link TickerView}s can share. Instead of every view
+ * running its own animator w/ its own frame callback, each animation registers w/ the clock
+ * and one frame callback advances all of them, so N tickers animating at once cost one
+ * callback per frame rather than N.
+ *
+ * <p>This class only keeps time; it doesn't know how frames are produced. Subclasses decide
+ * that in {@link #scheduleFrame()} and call {@link #doFrame(long)} once per frame (see
+ * {@link ChoreographerAnimationClock}). It has no Android dependencies so that the
+ * bookkeeping can be tested and benchmarked on the JVM.
+ *
+ * <p>Not thread-safe; use it from a single (UI) thread.
+ */
+public abstract class TickerAnimationClock {
+    /**
+     * Something that animates on a {@link TickerAnimationClock}.
+     */
+    public interface Client {
+        /**
+         * Called once per frame while the client's animation runs, including a final call w/
+         * a fraction of exactly 1 when it ends.
+         *
+         * @param fraction linear progress of the animation in [0, 1]; apply an interpolator
+         *                 to it as needed.
+         */
+        void onAnimationFrame(float fraction);
+    }
+
+    private static final long NANOS_PER_MILLI = 1000000L;
+    // Marks an animation that starts on the next frame
+    private static final long NOT_STARTED = Long.MIN_VALUE;
+
+    // Running animations, in registration order; a null client marks a cancelled slot that is
+    // compacted away after the current frame.
+    private Client[] clients = new Client[8];
+    private long[] startTimes = new long[8];
+    private long[] delays = new long[8];
+    private long[] durations = new long[8];
+    // Bumped whenever a slot is (re)started so a frame can tell if its client restarted it
+    private int[] generations = new int[8];
+    private int size;
+
+    private boolean frameScheduled;
+    private boolean dispatching;
+
+    /**
+     * Starts animating {@code client}, or restarts it if it's already running.
+     *
+     * @param client the client to drive.
+     * @param delayInMillis delay from the next frame to the start of the animation.
+     * @param durationInMillis length of the animation.
+     */
+    public void start(Client client, long delayInMillis, long durationInMillis) {
+        int slot = indexOf(client);
+        if (slot < 0) {
+            if (size == clients.length) {
+                grow();
+            }
+            slot = size++;
+            clients[slot] = client;
+        }
+        startTimes[slot] = NOT_STARTED;
+        delays[slot] = delayInMillis * NANOS_PER_MILLI;
+        durations[slot] = durationInMillis * NANOS_PER_MILLI;
+        generations[slot]++;
+
+        if (!frameScheduled) {
+            frameScheduled = true;
+            scheduleFrame();
+        }
+    }
+
+    /**
+     * Stops animating {@code client} w/out a final frame. Does nothing if it isn't running.
+     */
+    public void cancel(Client client) {
+        final int slot = indexOf(client);
+        if (slot >= 0) {
+            clients[slot] = null;
+            generations[slot]++;
+            if (!dispatching) {
+                compact();
+            }
+        }
+    }
+
+    /**
+     * @return whether {@code client} is currently animating on this clock.
+     */
+    public boolean isRunning(Client client) {
+        return indexOf(client) >= 0;
+    }
+
+    /**
+     * @return the number of animations running on this clock.
+     */
+    public int getRunningCount() {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (clients[i] != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Advances every running animation to {@code frameTimeNanos}. Animations that reach the end
+     * get a final frame w/ a fraction of 1 and are removed. Clients may start or cancel
+     * animations (including their own) from {@link Client#onAnimationFrame(float)}.
+     *
+     * @param frameTimeNanos the time of this frame, on the same clock as every other frame.
+     */
+    public void doFrame(long frameTimeNanos) {
+        frameScheduled = false;
+        dispatching = true;
+        // Clients started during this frame are appended and picked up by the same loop
+        for (int i = 0; i < size; i++) {
+            final Client client = clients[i];
+            if (client == null) {
+                continue;
+            }
+            if (startTimes[i] == NOT_STARTED) {
+                startTimes[i] = frameTimeNanos + delays[i];
+            }
+            final long elapsed = frameTimeNanos - startTimes[i];
+            if (elapsed < 0) {
+                // Still waiting out the start delay
+                continue;
+            }
+            final float fraction = durations[i] <= 0 || elapsed >= durations[i]
+                    ? 1f : (float) elapsed / durations[i];
+
+            final int generation = generations[i];
+            client.onAnimationFrame(fraction);
+            if (fraction == 1f && generations[i] == generation) {
+                clients[i] = null;
+            }
+        }
+        dispatching = false;
+        compact();
+
+        if (size > 0 && !frameScheduled) {
+            frameScheduled = true;
+            scheduleFrame();
+        }
+    }
+
+    /**
+     * Arrange for {@link #doFrame(long)} to be called once on the next frame.
+     */
+    protected abstract void scheduleFrame();
+
+    private int indexOf(Client client) {
+        for (int i = 0; i < size; i++) {
+            if (clients[i] == client) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void compact() {
+        int to = 0;
+        for (int from = 0; from < size; from++) {
+            if (clients[from] != null) {
+                if (to != from) {
+                    clients[to] = clients[from];
+                    startTimes[to] = startTimes[from];
+                    delays[to] = delays[from];
+                    durations[to] = durations[from];
+                    generations[to] = generations[from];
+                    clients[from] = null;
+                }
+                to++;
+            }
+        }
+        size = to;
+    }
+
+    private void grow() {
+        final int capacity = clients.length * 2;
+        final Client[] newClients = new Client[capacity];
+        System.arraycopy(clients, 0, newClients, 0, size);
+        clients = newClients;
+        startTimes = copyOf(startTimes, capacity);
+        delays = copyOf(delays, capacity);
+        durations = copyOf(durations, capacity);
+        final int[] newGenerations = new int[capacity];
+        System.arraycopy(generations, 0, newGenerations, 0, size);
+        generations = newGenerations;
+    }
+
+    private long[] copyOf(long[] array, int capacity) {
+        final long[] copy = new long[capacity];
+        System.arraycopy(array, 0, copy, 0, size);
+        return copy;
+    }
+}
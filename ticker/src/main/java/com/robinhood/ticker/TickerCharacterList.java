@@ -16,8 +16,8 @@
 
 package com.robinhood.ticker;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Set;
 
 /**
@@ -32,11 +32,16 @@ import java.util.Set;
  * @author Jin Cao, Robinhood
  */
 class TickerCharacterList {
+    /** Returned by {@link #getPackedCharacterIndices} when the inputs are not supported. */
+    static final long NO_INDICES = -1L;
+
     private final int numOriginalCharacters;
     // The saved character list will always be of the format: EMPTY, list, list
     private final char[] characterList;
-    // A minor optimization so that we can cache the indices of each character.
-    private final Map<Character, Integer> characterIndicesMap;
+    // Index of each character in the original list, indexed by (char - minChar); -1 if the
+    // character isn't in the list. Covers just the range of chars the list spans.
+    private final int[] characterIndices;
+    private final char minChar;
 
     TickerCharacterList(String characterList) {
         if (characterList.contains(Character.toString(TickerUtils.EMPTY_CHAR))) {
@@ -48,9 +53,17 @@ class TickerCharacterList {
         final int length = charsArray.length;
         this.numOriginalCharacters = length;
 
-        characterIndicesMap = new HashMap<>(length);
+        char min = Character.MAX_VALUE;
+        char max = Character.MIN_VALUE;
+        for (int i = 0; i < length; i++) {
+            min = (char) Math.min(min, charsArray[i]);
+            max = (char) Math.max(max, charsArray[i]);
+        }
+        this.minChar = length > 0 ? min : 0;
+        this.characterIndices = new int[length > 0 ? max - min + 1 : 0];
+        Arrays.fill(characterIndices, -1);
         for (int i = 0; i < length; i++) {
-            characterIndicesMap.put(charsArray[i], i);
+            characterIndices[charsArray[i] - minChar] = i;
         }
 
         this.characterList = new char[length * 2 + 1];
@@ -67,10 +80,26 @@ class TickerCharacterList {
      * @return a valid pair of start and end indices, or null if the inputs are not supported.
      */
     CharacterIndices getCharacterIndices(char start, char end) {
+        final long packed = getPackedCharacterIndices(start, end);
+        if (packed == NO_INDICES) {
+            return null;
+        }
+        return new CharacterIndices(unpackStartIndex(packed), unpackEndIndex(packed));
+    }
+
+    /**
+     * Same as {@link #getCharacterIndices(char, char)}, but returns the indices packed into a
+     * long so that the lookup doesn't allocate.
+     *
+     * @return the start index in the upper 32 bits and the end index in the lower 32 bits, or
+     *         {@link #NO_INDICES} if the inputs are not supported. Use
+     *         {@link #unpackStartIndex(long)} and {@link #unpackEndIndex(long)} to read them.
+     */
+    long getPackedCharacterIndices(char start, char end) {
         int startIndex = getIndexOfChar(start);
         int endIndex = getIndexOfChar(end);
         if (startIndex < 0 || endIndex < 0) {
-            return null;
+            return NO_INDICES;
         }
 
         // see if the wrap-around animation is shorter distance than the original animation
@@ -91,11 +120,23 @@ class TickerCharacterList {
                 }
             }
         }
-        return new CharacterIndices(startIndex, endIndex);
+        return ((long) startIndex << 32) | (endIndex & 0xFFFFFFFFL);
+    }
+
+    static int unpackStartIndex(long packedIndices) {
+        return (int) (packedIndices >>> 32);
+    }
+
+    static int unpackEndIndex(long packedIndices) {
+        return (int) packedIndices;
     }
 
     Set<Character> getSupportedCharacters() {
-       return characterIndicesMap.keySet();
+        final Set<Character> supported = new HashSet<>(numOriginalCharacters);
+        for (int i = 0; i < numOriginalCharacters; i++) {
+            supported.add(characterList[1 + i]);
+        }
+        return supported;
     }
 
     char[] getCharacterList() {
@@ -105,11 +146,12 @@ class TickerCharacterList {
     private int getIndexOfChar(char c) {
         if (c == TickerUtils.EMPTY_CHAR) {
             return 0;
-        } else if (characterIndicesMap.containsKey(c)) {
-            return characterIndicesMap.get(c) + 1;
-        } else {
+        }
+        final int offset = c - minChar;
+        if (offset < 0 || offset >= characterIndices.length || characterIndices[offset] < 0) {
             return -1;
         }
+        return characterIndices[offset] + 1;
     }
 
     class CharacterIndices {
@@ -40,6 +40,10 @@ class TickerColumn {
     private int startIndex;
     private int endIndex;
 
+    // Reused as the current character list when no list supports both characters
+    private final char[] singleCharList = new char[1];
+    private final char[] charPairList = new char[2];
+
     // Drawing state variables that get updated whenever animation progress gets updated.
     private int bottomCharIndex;
     private float bottomDelta;
@@ -95,6 +99,20 @@ class TickerColumn {
         return targetChar;
     }
 
+    /**
+     * @return the index in the current character list that the animation starts from.
+     */
+    int getStartIndex() {
+        return startIndex;
+    }
+
+    /**
+     * @return the index in the current character list that the animation ends on.
+     */
+    int getEndIndex() {
+        return endIndex;
+    }
+
     float getCurrentWidth() {
         checkForDrawMetricsChanges();
         return currentWidth;
@@ -113,12 +131,12 @@ class TickerColumn {
         currentCharacterList = null;
 
         for (int i = 0; i < characterLists.length; i++) {
-            final TickerCharacterList.CharacterIndices indices =
-                    characterLists[i].getCharacterIndices(currentChar, targetChar);
-            if (indices != null) {
+            final long indices =
+                    characterLists[i].getPackedCharacterIndices(currentChar, targetChar);
+            if (indices != TickerCharacterList.NO_INDICES) {
                 this.currentCharacterList = this.characterLists[i].getCharacterList();
-                this.startIndex = indices.startIndex;
-                this.endIndex = indices.endIndex;
+                this.startIndex = TickerCharacterList.unpackStartIndex(indices);
+                this.endIndex = TickerCharacterList.unpackEndIndex(indices);
             }
         }
 
@@ -126,10 +144,13 @@ class TickerColumn {
         // going straight from source to target
         if (currentCharacterList == null) {
             if (currentChar == targetChar) {
-                currentCharacterList = new char[] {currentChar};
+                singleCharList[0] = currentChar;
+                currentCharacterList = singleCharList;
                 startIndex = endIndex = 0;
             } else {
-                currentCharacterList = new char[] {currentChar, targetChar};
+                charPairList[0] = currentChar;
+                charPairList[1] = targetChar;
+                currentCharacterList = charPairList;
                 startIndex = 0;
                 endIndex = 1;
             }
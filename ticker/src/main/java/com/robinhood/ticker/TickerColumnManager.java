@@ -38,7 +38,12 @@ class TickerColumnManager {
     private final TickerDrawMetrics metrics;
 
     private TickerCharacterList[] characterLists;
-    private Set<Character> supportedCharacters;
+    private long[] supportedCharacterBits;
+
+    // Reused by setText so that steady-state updates don't allocate
+    private final LevenshteinUtils.Scratch levenshteinScratch = new LevenshteinUtils.Scratch();
+    private int[] actionBuffer = new int[0];
+    private char[] currentTextBuffer = new char[0];
 
     TickerColumnManager(TickerDrawMetrics metrics) {
         this.metrics = metrics;
@@ -53,10 +58,19 @@ class TickerColumnManager {
             this.characterLists[i] = new TickerCharacterList(characterLists[i]);
         }
 
-        this.supportedCharacters = new HashSet<>();
+        final Set<Character> supportedCharacters = new HashSet<>();
         for (int i = 0; i < characterLists.length; i++) {
-            this.supportedCharacters.addAll(this.characterLists[i].getSupportedCharacters());
+            supportedCharacters.addAll(this.characterLists[i].getSupportedCharacters());
+        }
+        this.supportedCharacterBits = LevenshteinUtils.toCharacterBitSet(supportedCharacters);
+
+        // Measure every character we might scroll through up front, in one batch
+        final char[] chars = new char[supportedCharacters.size()];
+        int i = 0;
+        for (Character c : supportedCharacters) {
+            chars[i++] = c;
         }
+        metrics.preMeasure(chars);
     }
 
     TickerCharacterList[] getCharacterLists() {
@@ -67,6 +81,14 @@ class TickerColumnManager {
      * Tell the column manager the new target text that it should display.
      */
     void setText(char[] text) {
+        setText(text, text.length);
+    }
+
+    /**
+     * Tell the column manager the new target text that it should display, as the first
+     * {@code length} characters of {@code text}. {@code text} isn't kept.
+     */
+    void setText(char[] text, int length) {
         if (characterLists == null) {
             throw new IllegalStateException("Need to call #setCharacterLists first.");
         }
@@ -81,13 +103,29 @@ class TickerColumnManager {
             }
         }
 
+        final int currentLength = fillCurrentText();
+        if (LevenshteinUtils.isInPlaceUpdate(currentTextBuffer, currentLength, text, length,
+                supportedCharacterBits)) {
+            // Every column keeps its position, so there's nothing to diff. Unchanged columns still
+            // need their target reset, or they'd replay their last animation from the start.
+            for (int i = 0; i < length; i++) {
+                tickerColumns.get(i).setTargetChar(text[i]);
+            }
+            return;
+        }
+
         // Use Levenshtein distance algorithm to figure out how to manipulate the columns
-        final int[] actions = LevenshteinUtils.computeColumnActions(
-                getCurrentText(), text, supportedCharacters
+        if (actionBuffer.length < currentLength + length) {
+            actionBuffer = new int[currentLength + length];
+        }
+        final int[] actions = actionBuffer;
+        final int numActions = LevenshteinUtils.computeColumnActions(
+                currentTextBuffer, currentLength, text, length,
+                supportedCharacterBits, levenshteinScratch, actions
         );
         int columnIndex = 0;
         int textIndex = 0;
-        for (int i = 0; i < actions.length; i++) {
+        for (int i = 0; i < numActions; i++) {
             switch (actions[i]) {
                 case LevenshteinUtils.ACTION_INSERT:
                     tickerColumns.add(columnIndex,
@@ -138,6 +176,22 @@ class TickerColumnManager {
         return width;
     }
 
+    /**
+     * Copies the current text into {@link #currentTextBuffer}, growing it if needed.
+     *
+     * @return the length of the current text
+     */
+    private int fillCurrentText() {
+        final int size = tickerColumns.size();
+        if (currentTextBuffer.length < size) {
+            currentTextBuffer = new char[size];
+        }
+        for (int i = 0; i < size; i++) {
+            currentTextBuffer[i] = tickerColumns.get(i).getCurrentChar();
+        }
+        return size;
+    }
+
     char[] getCurrentText() {
         final int size = tickerColumns.size();
         final char[] currentText = new char[size];
@@ -18,34 +18,79 @@ package com.robinhood.ticker;
 
 import android.graphics.Paint;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 
 /**
  * This wrapper class represents some core drawing metrics that {@link TickerView} and
  * {@link TickerColumnManager} require to calculate the positions and offsets for rendering
  * the text onto the canvas.
  *
+ * <p>Character widths are cached in primitive tables so that looking one up never boxes or
+ * allocates: a flat array indexed by the char for ASCII and Latin-1, and a small open-addressed
+ * table for everything else. Characters registered via {@link #preMeasure(char[])} are measured
+ * in a single batch whenever the paint changes.
+ *
  * @author Jin Cao
  */
 class TickerDrawMetrics {
+    // Chars below this are cached in a flat table indexed by the char itself
+    private static final int DENSE_TABLE_SIZE = 256;
+    private static final int INITIAL_SPARSE_CAPACITY = 16;
+
     private final Paint textPaint;
 
     // These are attributes on the text paint used for measuring and drawing the text on the
     // canvas. These attributes are reset whenever anything on the text paint changes.
-    private final Map<Character, Float> charWidths = new HashMap<>(256);
+    // NaN marks a width that hasn't been measured yet.
+    private final float[] denseWidths = new float[DENSE_TABLE_SIZE];
+    // Open-addressed w/ linear probing; EMPTY_CHAR (which is never measured) marks a free slot.
+    private char[] sparseKeys = new char[INITIAL_SPARSE_CAPACITY];
+    private float[] sparseWidths = new float[INITIAL_SPARSE_CAPACITY];
+    private int sparseSize;
     private float charHeight, charBaseline;
 
+    // Scratch space for measuring a single char w/out allocating a String
+    private final char[] measureBuffer = new char[1];
+    // Characters to measure in bulk whenever the paint changes
+    private char[] preMeasuredChars;
+    private float[] preMeasuredWidths;
+
     TickerDrawMetrics(Paint textPaint) {
         this.textPaint = textPaint;
         invalidate();
     }
 
     void invalidate() {
-        charWidths.clear();
+        Arrays.fill(denseWidths, Float.NaN);
+        Arrays.fill(sparseKeys, TickerUtils.EMPTY_CHAR);
+        sparseSize = 0;
         final Paint.FontMetrics fm = textPaint.getFontMetrics();
         charHeight = fm.bottom - fm.top;
         charBaseline = -fm.top;
+        measurePreMeasuredChars();
+    }
+
+    /**
+     * Measures {@code chars} w/ a single call into the paint, now and after every
+     * {@link #invalidate()}, so that the first frame that shows them doesn't have to.
+     * Replaces the characters passed to any previous call.
+     */
+    void preMeasure(char[] chars) {
+        preMeasuredChars = chars.clone();
+        preMeasuredWidths = new float[chars.length];
+        measurePreMeasuredChars();
+    }
+
+    private void measurePreMeasuredChars() {
+        if (preMeasuredChars == null || preMeasuredChars.length == 0) {
+            return;
+        }
+        textPaint.getTextWidths(preMeasuredChars, 0, preMeasuredChars.length, preMeasuredWidths);
+        for (int i = 0; i < preMeasuredChars.length; i++) {
+            if (preMeasuredChars[i] != TickerUtils.EMPTY_CHAR) {
+                putCharWidth(preMeasuredChars[i], preMeasuredWidths[i]);
+            }
+        }
     }
 
     float getCharWidth(char character) {
@@ -53,14 +98,66 @@ class TickerDrawMetrics {
             return 0;
         }
 
-        // This method will lazily initialize the char width map.
-        final Float value = charWidths.get(character);
-        if (value != null) {
-            return value;
+        // This method will lazily initialize the char width tables.
+        if (character < DENSE_TABLE_SIZE) {
+            final float value = denseWidths[character];
+            if (value == value) {
+                return value;
+            }
         } else {
-            final float width = textPaint.measureText(Character.toString(character));
-            charWidths.put(character, width);
-            return width;
+            final int slot = findSparseSlot(character);
+            if (sparseKeys[slot] == character) {
+                return sparseWidths[slot];
+            }
+        }
+
+        measureBuffer[0] = character;
+        final float width = textPaint.measureText(measureBuffer, 0, 1);
+        putCharWidth(character, width);
+        return width;
+    }
+
+    private void putCharWidth(char character, float width) {
+        if (character < DENSE_TABLE_SIZE) {
+            denseWidths[character] = width;
+            return;
+        }
+
+        // Keep the table at most half full so that probes stay short
+        if ((sparseSize + 1) * 2 > sparseKeys.length) {
+            growSparseTable();
+        }
+        final int slot = findSparseSlot(character);
+        if (sparseKeys[slot] != character) {
+            sparseKeys[slot] = character;
+            sparseSize++;
+        }
+        sparseWidths[slot] = width;
+    }
+
+    /**
+     * @return the slot that holds {@code character}, or the free slot where it would go
+     */
+    private int findSparseSlot(char character) {
+        final int mask = sparseKeys.length - 1;
+        int slot = character & mask;
+        while (sparseKeys[slot] != TickerUtils.EMPTY_CHAR && sparseKeys[slot] != character) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void growSparseTable() {
+        final char[] oldKeys = sparseKeys;
+        final float[] oldWidths = sparseWidths;
+        sparseKeys = new char[oldKeys.length * 2];
+        sparseWidths = new float[oldKeys.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != TickerUtils.EMPTY_CHAR) {
+                final int slot = findSparseSlot(oldKeys[i]);
+                sparseKeys[slot] = oldKeys[i];
+                sparseWidths[slot] = oldWidths[i];
+            }
         }
     }
 
@@ -30,14 +30,16 @@ import android.graphics.Rect;
 import android.graphics.Typeface;
 import android.os.Build;
 import android.text.TextPaint;
-import android.text.TextUtils;
 import android.util.AttributeSet;
 import android.util.TypedValue;
 import android.view.Gravity;
 import android.view.View;
+import android.view.accessibility.AccessibilityManager;
 import android.view.animation.AccelerateDecelerateInterpolator;
 import android.view.animation.Interpolator;
 
+import java.util.ArrayList;
+
 /**
  * The primary view for showing a ticker text view that handles smoothly scrolling from the
  * current text to a given text. The scrolling behavior is defined by
@@ -69,11 +71,30 @@ public class TickerView extends View {
     private final TickerDrawMetrics metrics = new TickerDrawMetrics(textPaint);
     private final TickerColumnManager columnManager = new TickerColumnManager(metrics);
     private final ValueAnimator animator = ValueAnimator.ofFloat(1f);
+    // Drives the transition instead of the animator when the view shares a clock w/ others.
+    private final TickerAnimationClock.Client clockClient = new TickerAnimationClock.Client() {
+        @Override
+        public void onAnimationFrame(float fraction) {
+            columnManager.setAnimationProgress(
+                    animationInterpolator.getInterpolation(fraction));
+            checkForRelayout();
+            invalidate();
+            if (fraction == 1f) {
+                dispatchAnimationEnd();
+            }
+        }
+    };
+    private TickerAnimationClock animationClock;
 
     // Minor optimizations for re-positioning the canvas for the composer.
     private final Rect viewBounds = new Rect();
 
+    // The last set text is kept as chars; the String is only built when getText() or accessibility asks for it
+    private char[] textChars = new char[0];
+    private int textLength;
+    private boolean textIsNull = true;
     private String text;
+    private AccessibilityManager accessibilityManager;
 
     private int lastMeasuredDesiredWidth, lastMeasuredDesiredHeight;
 
@@ -288,7 +309,7 @@ public class TickerView extends View {
      * @param text the text to display.
      */
     public void setText(String text) {
-        setText(text, !TextUtils.isEmpty(this.text));
+        setText(text, textLength > 0);
     }
 
     /**
@@ -299,17 +320,119 @@ public class TickerView extends View {
      * @param animate whether to animate to text.
      */
     public void setText(String text, boolean animate) {
-        if (TextUtils.equals(text, this.text)) {
+        if (text == null ? textIsNull : textEquals(text)) {
             return;
         }
 
+        final int length = text == null ? 0 : text.length();
+        ensureTextCapacity(length);
+        if (text != null) {
+            text.getChars(0, length, textChars, 0);
+        }
+        textLength = length;
+        textIsNull = text == null;
         this.text = text;
-        final char[] targetText = text == null ? new char[0] : text.toCharArray();
 
-        columnManager.setText(targetText);
-        setContentDescription(text);
+        columnManager.setText(textChars, textLength);
+        updateContentDescription();
+        startTransition(animate);
+    }
+
+    /**
+     * Similar to {@link #setText(String, boolean)} but takes the text as the first
+     * {@code length} characters of {@code text}, so callers that update often (e.g. a number
+     * formatted into a reused buffer) don't have to build a string for the view to take apart
+     * again. The characters are copied; {@code text} can be reused as soon as this returns.
+     *
+     * @param text buffer holding the text to display.
+     * @param length number of characters of {@code text} to display.
+     * @param animate whether to animate to text.
+     */
+    public void setText(char[] text, int length, boolean animate) {
+        if (length < 0 || length > text.length) {
+            throw new IllegalArgumentException("Invalid length " + length + " for a buffer of "
+                    + text.length + " characters");
+        }
+        if (textEquals(text, length)) {
+            return;
+        }
+
+        ensureTextCapacity(length);
+        System.arraycopy(text, 0, textChars, 0, length);
+        textLength = length;
+        textIsNull = false;
+        // built on demand by getText()
+        this.text = null;
+
+        columnManager.setText(textChars, textLength);
+        updateContentDescription();
+        startTransition(animate);
+    }
 
-        if (animate) {
+    private void ensureTextCapacity(int length) {
+        if (textChars.length < length) {
+            textChars = new char[Math.max(length, textChars.length * 2)];
+        }
+    }
+
+    private boolean textEquals(char[] chars, int length) {
+        if (textIsNull || textLength != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (textChars[i] != chars[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean textEquals(String other) {
+        if (textIsNull || textLength != other.length()) {
+            return false;
+        }
+        for (int i = 0; i < textLength; i++) {
+            if (textChars[i] != other.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void updateContentDescription() {
+        if (accessibilityManager == null) {
+            accessibilityManager =
+                    (AccessibilityManager) getContext().getSystemService(Context.ACCESSIBILITY_SERVICE);
+        }
+        if (accessibilityManager != null && accessibilityManager.isEnabled()) {
+            // Announce the new text right away
+            setContentDescription(getText());
+        } else {
+            // Nobody's listening; getContentDescription() falls back to the text if asked later
+            setContentDescription(null);
+        }
+    }
+
+    /**
+     * @return the description set on this view, or its text if none has been set.
+     */
+    @Override
+    public CharSequence getContentDescription() {
+        final CharSequence description = super.getContentDescription();
+        return description != null ? description : getText();
+    }
+
+    private void startTransition(boolean animate) {
+        if (animate && animationClock != null) {
+            // Register w/ the shared clock, which draws the transition along w/ every other ticker
+            if (animationClock.isRunning(clockClient)) {
+                animationClock.cancel(clockClient);
+                dispatchAnimationCancel();
+            }
+
+            dispatchAnimationStart();
+            animationClock.start(clockClient, animationDelayInMillis, animationDurationInMillis);
+        } else if (animate) {
             // Kick off the animator that draws the transition
             if (animator.isRunning()) {
                 animator.cancel();
@@ -334,6 +457,9 @@ public class TickerView extends View {
      * @return last set text on this view.
      */
     public String getText() {
+        if (text == null && !textIsNull) {
+            text = new String(textChars, 0, textLength);
+        }
         return text;
     }
 
@@ -455,6 +581,36 @@ public class TickerView extends View {
         this.animationInterpolator = animationInterpolator;
     }
 
+    /**
+     * @return the clock that drives the transition animation, or null if this view runs its own
+     *         animator.
+     */
+    public TickerAnimationClock getAnimationClock() {
+        return animationClock;
+    }
+
+    /**
+     * Sets a clock to drive the transition animation. Views that share a clock (e.g. every
+     * ticker in a list, w/ {@link ChoreographerAnimationClock#getInstance()}) advance together
+     * in a single frame callback rather than each running its own animator. Listeners added w/
+     * {@link #addAnimatorListener(Animator.AnimatorListener)} are notified either way. Any
+     * running animation is cancelled. The default is null, which uses a per-view animator.
+     *
+     * @param animationClock the clock to animate on, or null to use a per-view animator.
+     */
+    public void setAnimationClock(TickerAnimationClock animationClock) {
+        if (this.animationClock == animationClock) {
+            return;
+        }
+        if (this.animationClock != null && this.animationClock.isRunning(clockClient)) {
+            this.animationClock.cancel(clockClient);
+            dispatchAnimationCancel();
+        } else if (animator.isRunning()) {
+            animator.cancel();
+        }
+        this.animationClock = animationClock;
+    }
+
     /**
      * @return the current text gravity used to align the text. Should be one of the values defined
      *         in {@link android.view.Gravity}.
@@ -525,6 +681,41 @@ public class TickerView extends View {
     /********** END PUBLIC API **********/
 
 
+    // The dispatch methods below stand in for the animator's own callbacks when a clock drives
+    // the transition, so listeners (including ours) see the same sequence either way.
+
+    private void dispatchAnimationStart() {
+        final ArrayList<Animator.AnimatorListener> listeners = copyAnimatorListeners();
+        for (int i = 0, size = listeners.size(); i < size; i++) {
+            listeners.get(i).onAnimationStart(animator);
+        }
+    }
+
+    private void dispatchAnimationCancel() {
+        final ArrayList<Animator.AnimatorListener> listeners = copyAnimatorListeners();
+        for (int i = 0, size = listeners.size(); i < size; i++) {
+            listeners.get(i).onAnimationCancel(animator);
+        }
+        // Like Animator.cancel(), a cancelled animation also ends
+        dispatchAnimationEnd();
+    }
+
+    private void dispatchAnimationEnd() {
+        final ArrayList<Animator.AnimatorListener> listeners = copyAnimatorListeners();
+        for (int i = 0, size = listeners.size(); i < size; i++) {
+            listeners.get(i).onAnimationEnd(animator);
+        }
+    }
+
+    // Copied like Animator does, so listeners can remove themselves while being notified
+    @SuppressWarnings("unchecked")
+    private ArrayList<Animator.AnimatorListener> copyAnimatorListeners() {
+        final ArrayList<Animator.AnimatorListener> listeners = animator.getListeners();
+        return listeners == null ? new ArrayList<Animator.AnimatorListener>()
+                : (ArrayList<Animator.AnimatorListener>) listeners.clone();
+    }
+
+
     /**
      * Force the view to call {@link #requestLayout()} if the new text doesn't match the old bounds
      * we set for the previous view state.
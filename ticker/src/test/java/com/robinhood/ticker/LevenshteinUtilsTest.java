@@ -7,9 +7,13 @@ import java.util.HashSet;
 import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class LevenshteinUtilsTest {
     private Set<Character> numbers;
+    private long[] numberBits;
+    private LevenshteinUtils.Scratch scratch;
 
     @Before
     public void setup() {
@@ -17,6 +21,8 @@ public class LevenshteinUtilsTest {
         for (char c : "1234567890".toCharArray()) {
             numbers.add(c);
         }
+        numberBits = LevenshteinUtils.toCharacterBitSet(numbers);
+        scratch = new LevenshteinUtils.Scratch();
     }
 
     @Test
@@ -77,16 +83,90 @@ public class LevenshteinUtilsTest {
         runTest("$1.0000", "$1000.0", "0011100222");
     }
 
+    @Test
+    public void test_bufferedReusesScratch() {
+        // Run a long diff first so the scratch buffers are bigger than the later ones need
+        runBufferedTest("1234567890", "12", "0022222222");
+        runBufferedTest("9", "10", "10");
+        runBufferedTest("15233", "9151", "100220");
+    }
+
+    @Test
+    public void test_bufferedIgnoresCharsPastLength() {
+        final char[] source = "123xxxx".toCharArray();
+        final char[] target = "0213yyy".toCharArray();
+        final int[] actions = new int[source.length + target.length];
+        final int size = LevenshteinUtils.computeColumnActions(
+                source, 3, target, 4, numberBits, scratch, actions);
+        assertEquals("0010", convertArrToString(actions, size));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_bufferedRejectsSmallActionArray() {
+        LevenshteinUtils.computeColumnActions("12".toCharArray(), 2, "123".toCharArray(), 3,
+                numberBits, scratch, new int[4]);
+    }
+
+    @Test
+    public void test_inPlaceUpdate() {
+        assertInPlace("$1500", "$1450");
+        assertInPlace("$123.99", "$456.01");
+        // unsupported chars can change too, as long as they stay unsupported
+        assertInPlace("$1,500", "$1.500");
+        assertInPlace("", "");
+    }
+
+    @Test
+    public void test_notInPlaceUpdate() {
+        assertNotInPlace("$950", "$1050");
+        assertNotInPlace("$1500", "$150.");
+        assertNotInPlace("$1,500", "$12500");
+    }
+
+    @Test
+    public void test_characterBitSet() {
+        assertTrue(LevenshteinUtils.contains(numberBits, '0'));
+        assertTrue(LevenshteinUtils.contains(numberBits, '9'));
+        assertFalse(LevenshteinUtils.contains(numberBits, '$'));
+        // past the end of the bitset
+        assertFalse(LevenshteinUtils.contains(numberBits, '\u20ac'));
+    }
+
+    private void assertInPlace(String source, String target) {
+        assertTrue(LevenshteinUtils.isInPlaceUpdate(source.toCharArray(), source.length(),
+                target.toCharArray(), target.length(), numberBits));
+        // Must agree w/ the full pass
+        final StringBuilder same = new StringBuilder();
+        for (int i = 0; i < source.length(); i++) {
+            same.append(LevenshteinUtils.ACTION_SAME);
+        }
+        runBufferedTest(source, target, same.toString());
+    }
+
+    private void assertNotInPlace(String source, String target) {
+        assertFalse(LevenshteinUtils.isInPlaceUpdate(source.toCharArray(), source.length(),
+                target.toCharArray(), target.length(), numberBits));
+    }
+
     private void runTest(String source, String target, String actions) {
         final int[] result = LevenshteinUtils.computeColumnActions(
                 source.toCharArray(), target.toCharArray(), numbers);
-        assertEquals(actions, convertArrToString(result));
+        assertEquals(actions, convertArrToString(result, result.length));
+        runBufferedTest(source, target, actions);
+    }
+
+    private void runBufferedTest(String source, String target, String actions) {
+        final int[] result = new int[source.length() + target.length()];
+        final int size = LevenshteinUtils.computeColumnActions(
+                source.toCharArray(), source.length(), target.toCharArray(), target.length(),
+                numberBits, scratch, result);
+        assertEquals(actions, convertArrToString(result, size));
     }
 
-    private String convertArrToString(int[] arr) {
-        final StringBuilder result = new StringBuilder(arr.length);
-        for (int resultChar : arr) {
-            result.append(Integer.toString(resultChar));
+    private String convertArrToString(int[] arr, int size) {
+        final StringBuilder result = new StringBuilder(size);
+        for (int i = 0; i < size; i++) {
+            result.append(Integer.toString(arr[i]));
         }
         return result.toString();
     }
@@ -0,0 +1,178 @@
+package com.robinhood.ticker;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TickerAnimationClockTest {
+    private static final long MILLIS = 1000000L;
+
+    private TestClock clock;
+
+    @Before
+    public void setup() {
+        clock = new TestClock();
+    }
+
+    @Test
+    public void test_startSchedulesOneFrame() {
+        clock.start(new RecordingClient(), 0, 100);
+        clock.start(new RecordingClient(), 0, 100);
+        assertEquals(1, clock.scheduled);
+        assertEquals(2, clock.getRunningCount());
+    }
+
+    @Test
+    public void test_fractionAdvancesFromFirstFrame() {
+        final RecordingClient client = new RecordingClient();
+        clock.start(client, 0, 100);
+
+        clock.doFrame(1000 * MILLIS);
+        clock.doFrame(1050 * MILLIS);
+        clock.doFrame(1100 * MILLIS);
+
+        assertEquals(3, client.fractions.size());
+        assertEquals(0f, client.fractions.get(0), 0f);
+        assertEquals(0.5f, client.fractions.get(1), 0.0001f);
+        assertEquals(1f, client.fractions.get(2), 0f);
+        assertFalse(clock.isRunning(client));
+        // no frame is requested once the last animation ends
+        assertEquals(3, clock.scheduled);
+    }
+
+    @Test
+    public void test_delayHoldsBackFrames() {
+        final RecordingClient client = new RecordingClient();
+        clock.start(client, 50, 100);
+
+        clock.doFrame(0);
+        clock.doFrame(25 * MILLIS);
+        assertTrue(client.fractions.isEmpty());
+
+        clock.doFrame(100 * MILLIS);
+        assertEquals(0.5f, client.fractions.get(0), 0.0001f);
+    }
+
+    @Test
+    public void test_zeroDurationEndsOnFirstFrame() {
+        final RecordingClient client = new RecordingClient();
+        clock.start(client, 0, 0);
+        clock.doFrame(0);
+        assertEquals(1, client.fractions.size());
+        assertEquals(1f, client.fractions.get(0), 0f);
+        assertEquals(0, clock.getRunningCount());
+    }
+
+    @Test
+    public void test_clientsShareFrames() {
+        final RecordingClient first = new RecordingClient();
+        final RecordingClient second = new RecordingClient();
+        clock.start(first, 0, 100);
+        clock.start(second, 0, 200);
+
+        clock.doFrame(0);
+        clock.doFrame(100 * MILLIS);
+        assertFalse(clock.isRunning(first));
+        assertTrue(clock.isRunning(second));
+
+        clock.doFrame(200 * MILLIS);
+        assertEquals(2, first.fractions.size());
+        assertEquals(3, second.fractions.size());
+        assertEquals(0, clock.getRunningCount());
+    }
+
+    @Test
+    public void test_cancelStopsWithoutFinalFrame() {
+        final RecordingClient client = new RecordingClient();
+        clock.start(client, 0, 100);
+        clock.doFrame(0);
+        clock.cancel(client);
+        clock.doFrame(100 * MILLIS);
+        assertEquals(1, client.fractions.size());
+        assertEquals(0, clock.getRunningCount());
+    }
+
+    @Test
+    public void test_restartFromFinalFrameKeepsRunning() {
+        final RecordingClient client = new RecordingClient() {
+            @Override
+            public void onAnimationFrame(float fraction) {
+                super.onAnimationFrame(fraction);
+                if (fractions.size() == 2) {
+                    clock.start(this, 0, 100);
+                }
+            }
+        };
+        clock.start(client, 0, 100);
+        clock.doFrame(0);
+        clock.doFrame(100 * MILLIS);
+        assertTrue(clock.isRunning(client));
+
+        clock.doFrame(200 * MILLIS);
+        clock.doFrame(300 * MILLIS);
+        assertEquals(4, client.fractions.size());
+        assertEquals(0f, client.fractions.get(2), 0f);
+        assertEquals(1f, client.fractions.get(3), 0f);
+        assertFalse(clock.isRunning(client));
+    }
+
+    @Test
+    public void test_cancelAnotherClientDuringFrame() {
+        final RecordingClient victim = new RecordingClient();
+        final RecordingClient canceller = new RecordingClient() {
+            @Override
+            public void onAnimationFrame(float fraction) {
+                super.onAnimationFrame(fraction);
+                clock.cancel(victim);
+            }
+        };
+        clock.start(canceller, 0, 100);
+        clock.start(victim, 0, 100);
+        clock.doFrame(0);
+
+        assertTrue(victim.fractions.isEmpty());
+        assertEquals(1, clock.getRunningCount());
+    }
+
+    @Test
+    public void test_growsPastInitialCapacity() {
+        final RecordingClient[] clients = new RecordingClient[20];
+        for (int i = 0; i < clients.length; i++) {
+            clients[i] = new RecordingClient();
+            clock.start(clients[i], 0, 100);
+        }
+        clock.cancel(clients[3]);
+        clock.doFrame(0);
+        clock.doFrame(100 * MILLIS);
+
+        assertEquals(0, clock.getRunningCount());
+        assertTrue(clients[3].fractions.isEmpty());
+        for (int i = 4; i < clients.length; i++) {
+            assertEquals(2, clients[i].fractions.size());
+        }
+    }
+
+    private static class TestClock extends TickerAnimationClock {
+        int scheduled;
+
+        @Override
+        protected void scheduleFrame() {
+            scheduled++;
+        }
+    }
+
+    private static class RecordingClient implements TickerAnimationClock.Client {
+        final List<Float> fractions = new ArrayList<>();
+
+        @Override
+        public void onAnimationFrame(float fraction) {
+            fractions.add(fraction);
+        }
+    }
+}
@@ -2,8 +2,12 @@ package com.robinhood.ticker;
 
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.HashSet;
+
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 public class TickerCharacterListTest {
 
@@ -46,4 +50,29 @@ public class TickerCharacterListTest {
         assertEquals(3, indices.startIndex);
         assertEquals(0, indices.endIndex);
     }
+
+    @Test
+    public void test_getPackedCharacterIndices() {
+        final TickerCharacterList list = new TickerCharacterList("012");
+        final long indices = list.getPackedCharacterIndices('2', '0');
+        assertEquals(3, TickerCharacterList.unpackStartIndex(indices));
+        assertEquals(4, TickerCharacterList.unpackEndIndex(indices));
+    }
+
+    @Test
+    public void test_getPackedCharacterIndicesUnsupported() {
+        final TickerCharacterList list = new TickerCharacterList("135");
+        // Inside the list's range of chars but not in the list
+        assertEquals(TickerCharacterList.NO_INDICES, list.getPackedCharacterIndices('1', '2'));
+        // Outside the range on either side
+        assertEquals(TickerCharacterList.NO_INDICES, list.getPackedCharacterIndices('0', '1'));
+        assertEquals(TickerCharacterList.NO_INDICES, list.getPackedCharacterIndices('1', '9'));
+        assertNull(list.getCharacterIndices('$', '1'));
+    }
+
+    @Test
+    public void test_getSupportedCharacters() {
+        final TickerCharacterList list = new TickerCharacterList("012");
+        assertEquals(new HashSet<>(Arrays.asList('0', '1', '2')), list.getSupportedCharacters());
+    }
 }
@@ -6,6 +6,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.mockito.Matchers.anyChar;
 import static org.mockito.Mockito.when;
 
@@ -70,6 +71,83 @@ public class TickerColumnManagerTest {
         assertEquals('9', tickerColumnAtIndex(2).getTargetChar());
     }
 
+    @Test
+    public void test_setText_inPlace() {
+        tickerColumnManager.setText("$1500".toCharArray());
+        tickerColumnManager.setAnimationProgress(1f);
+        tickerColumnManager.onAnimationEnd();
+        final TickerColumn[] before = tickerColumnManager.tickerColumns.toArray(new TickerColumn[0]);
+
+        tickerColumnManager.setText("$1450".toCharArray());
+        assertEquals(5, numberOfTickerColumns());
+        for (int i = 0; i < before.length; i++) {
+            assertSame(before[i], tickerColumnAtIndex(i));
+        }
+        assertEquals('$', tickerColumnAtIndex(0).getTargetChar());
+        assertEquals('1', tickerColumnAtIndex(1).getTargetChar());
+        assertEquals('4', tickerColumnAtIndex(2).getTargetChar());
+        assertEquals('5', tickerColumnAtIndex(3).getTargetChar());
+        assertEquals('0', tickerColumnAtIndex(4).getTargetChar());
+    }
+
+    @Test
+    public void test_setText_inPlace_interrupted() {
+        tickerColumnManager.setText("$1500".toCharArray());
+        tickerColumnManager.setAnimationProgress(1f);
+        tickerColumnManager.onAnimationEnd();
+
+        // Interrupt "$1500" -> "$1450" before it starts; '5' is still current in the column
+        // that's heading to '4', so it has to be retargeted back.
+        tickerColumnManager.setText("$1450".toCharArray());
+        tickerColumnManager.setText("$1500".toCharArray());
+        assertEquals('5', tickerColumnAtIndex(2).getTargetChar());
+        assertEquals('0', tickerColumnAtIndex(3).getTargetChar());
+    }
+
+    @Test
+    public void test_setText_inPlace_twice() {
+        tickerColumnManager.setText("$1500".toCharArray());
+        tickerColumnManager.setAnimationProgress(1f);
+        tickerColumnManager.onAnimationEnd();
+        tickerColumnManager.setText("$1450".toCharArray());
+        tickerColumnManager.setAnimationProgress(0f);
+        tickerColumnManager.setAnimationProgress(1f);
+        tickerColumnManager.onAnimationEnd();
+
+        // Only the '5' -> '6' column should move; the rest must not replay their last animation
+        tickerColumnManager.setText("$1460".toCharArray());
+        tickerColumnManager.setAnimationProgress(0f);
+        assertEquals(25f, tickerColumnManager.getCurrentWidth(), 0f);
+        for (int i = 0; i < numberOfTickerColumns(); i++) {
+            final TickerColumn column = tickerColumnAtIndex(i);
+            assertEquals(5f, column.getCurrentWidth(), 0f);
+            if (i == 3) {
+                assertEquals('5', column.getCurrentChar());
+                assertEquals(column.getStartIndex() + 1, column.getEndIndex());
+            } else {
+                assertEquals(column.getTargetChar(), column.getCurrentChar());
+                assertEquals(column.getStartIndex(), column.getEndIndex());
+            }
+        }
+
+        // An update that interrupts here keeps every column
+        tickerColumnManager.setText("$1470".toCharArray());
+        assertEquals(5, numberOfTickerColumns());
+    }
+
+    @Test
+    public void test_setText_length() {
+        final char[] buffer = "1234".toCharArray();
+        tickerColumnManager.setText(buffer, 2);
+        assertEquals(2, numberOfTickerColumns());
+        assertEquals('1', tickerColumnAtIndex(0).getTargetChar());
+        assertEquals('2', tickerColumnAtIndex(1).getTargetChar());
+
+        // the buffer isn't kept, so it can be overwritten w/ the next value
+        buffer[0] = '9';
+        assertEquals('1', tickerColumnAtIndex(0).getTargetChar());
+    }
+
     private TickerColumn tickerColumnAtIndex(int index) {
         return tickerColumnManager.tickerColumns.get(index);
     }
@@ -6,9 +6,14 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
 import static org.junit.Assert.assertEquals;
-import static org.mockito.Mockito.mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -27,9 +32,38 @@ public class TickerDrawMetricsTest {
         fontMetrics.bottom = 20f;
         when(paint.getFontMetrics()).thenReturn(fontMetrics);
 
+        // Each char is as wide as its digit value (or its code point, for the rest)
+        when(paint.measureText(any(char[].class), anyInt(), anyInt())).thenAnswer(
+                new Answer<Float>() {
+                    @Override
+                    public Float answer(InvocationOnMock invocation) {
+                        final char[] text = invocation.getArgument(0);
+                        final int index = invocation.getArgument(1);
+                        return widthOf(text[index]);
+                    }
+                });
+        when(paint.getTextWidths(any(char[].class), anyInt(), anyInt(), any(float[].class)))
+                .thenAnswer(new Answer<Integer>() {
+                    @Override
+                    public Integer answer(InvocationOnMock invocation) {
+                        final char[] text = invocation.getArgument(0);
+                        final int index = invocation.getArgument(1);
+                        final int count = invocation.getArgument(2);
+                        final float[] widths = invocation.getArgument(3);
+                        for (int i = 0; i < count; i++) {
+                            widths[i] = widthOf(text[index + i]);
+                        }
+                        return count;
+                    }
+                });
+
         metrics = new TickerDrawMetrics(paint);
     }
 
+    private static float widthOf(char c) {
+        return Character.isDigit(c) ? c - '0' : c;
+    }
+
     @Test
     public void test_fontMetrics() {
         assertEquals(70f, metrics.getCharHeight(), 0f);
@@ -38,10 +72,6 @@ public class TickerDrawMetricsTest {
 
     @Test
     public void test_charWidth() {
-        when(paint.measureText("1")).thenReturn(1f);
-        when(paint.measureText("2")).thenReturn(2f);
-        when(paint.measureText("3")).thenReturn(3f);
-
         assertEquals(1f, metrics.getCharWidth('1'), 0f);
         assertEquals(2f, metrics.getCharWidth('2'), 0f);
         assertEquals(3f, metrics.getCharWidth('3'), 0f);
@@ -58,10 +88,41 @@ public class TickerDrawMetricsTest {
         assertEquals(2f, metrics.getCharWidth('2'), 0f);
         assertEquals(3f, metrics.getCharWidth('3'), 0f);
 
-        verify(paint, times(2)).measureText("1");
-        verify(paint, times(2)).measureText("2");
-        verify(paint, times(2)).measureText("3");
+        verify(paint, times(6)).measureText(any(char[].class), eq(0), eq(1));
         verify(paint, times(2)).getFontMetrics();
         verifyNoMoreInteractions(paint);
     }
+
+    @Test
+    public void test_charWidthOutsideLatin1() {
+        // Enough distinct chars to grow the fallback table a few times
+        for (char c = '\u4e00'; c < '\u4e00' + 100; c++) {
+            assertEquals(c, metrics.getCharWidth(c), 0f);
+        }
+        for (char c = '\u4e00'; c < '\u4e00' + 100; c++) {
+            assertEquals(c, metrics.getCharWidth(c), 0f);
+        }
+        verify(paint, times(100)).measureText(any(char[].class), eq(0), eq(1));
+    }
+
+    @Test
+    public void test_emptyCharHasNoWidth() {
+        assertEquals(0f, metrics.getCharWidth(TickerUtils.EMPTY_CHAR), 0f);
+        verify(paint, never()).measureText(any(char[].class), anyInt(), anyInt());
+    }
+
+    @Test
+    public void test_preMeasure() {
+        metrics.preMeasure(new char[] { '1', '2', '\u20ac' });
+        assertEquals(1f, metrics.getCharWidth('1'), 0f);
+        assertEquals(2f, metrics.getCharWidth('2'), 0f);
+        assertEquals('\u20ac', metrics.getCharWidth('\u20ac'), 0f);
+
+        // Changing the paint measures the same characters again, in one batch
+        metrics.invalidate();
+        assertEquals(2f, metrics.getCharWidth('2'), 0f);
+
+        verify(paint, times(2)).getTextWidths(any(char[].class), eq(0), eq(3), any(float[].class));
+        verify(paint, never()).measureText(any(char[].class), anyInt(), anyInt());
+    }
 }